@@ -106,7 +106,21 @@ tasks.processResources {
 
 // Configure test task (matching Maven surefire configuration)
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        // 计时类的基准测试不参与常规测试，使用 benchmark 任务单独运行
+        excludeTags("benchmark")
+    }
+    include("io/github/sinri/keel/core/**/*Test.class")
+}
+
+tasks.register<Test>("benchmark") {
+    description = "Runs the tests tagged as benchmark."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
     include("io/github/sinri/keel/core/**/*Test.class")
 }
 
@@ -13,6 +13,11 @@ import java.util.Set;
  */
 @NullMarked
 abstract public class Bullet {
+    /**
+     * 因独占锁冲突而被退回弹匣的次数。
+     */
+    private int exclusiveLockBlockedTimes = 0;
+
     abstract public String bulletID();
 
     abstract protected Set<String> exclusiveLockSet();
@@ -20,4 +25,12 @@ abstract public class Bullet {
     abstract protected Future<Object> fire();
 
     abstract protected Future<Void> ejectShell(AsyncResult<Object> fired);
+
+    int increaseExclusiveLockBlockedTimes() {
+        return ++exclusiveLockBlockedTimes;
+    }
+
+    int getExclusiveLockBlockedTimes() {
+        return exclusiveLockBlockedTimes;
+    }
 }
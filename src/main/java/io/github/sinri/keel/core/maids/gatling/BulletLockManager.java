@@ -0,0 +1,30 @@
+package io.github.sinri.keel.core.maids.gatling;
+
+import io.vertx.core.Future;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * 多管加特林任务的独占锁管理器。
+ * <p>
+ * 一个任务的独占锁集合作为整体获取：要么全部获取，要么全部不获取。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+interface BulletLockManager {
+    /**
+     * 尝试获取任务的全部独占锁。
+     *
+     * @param bullet 任务
+     * @return 异步返回是否获取成功；获取失败时不会持有其中任何一个锁
+     */
+    Future<Boolean> acquire(Bullet bullet);
+
+    /**
+     * 释放任务持有的全部独占锁。
+     *
+     * @param bullet 任务
+     * @return 异步释放结果
+     */
+    Future<Void> release(Bullet bullet);
+}
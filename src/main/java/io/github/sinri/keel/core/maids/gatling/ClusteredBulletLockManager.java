@@ -0,0 +1,89 @@
+package io.github.sinri.keel.core.maids.gatling;
+
+import io.github.sinri.keel.base.async.Keel;
+import io.vertx.core.Future;
+import io.vertx.core.shareddata.AsyncMap;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 集群模式下的独占锁管理器。
+ * <p>
+ * 独占锁以集群 {@link AsyncMap} 中锁名到持有者任务标识的键值表示。一个任务的全部锁以并行的
+ * {@code putIfAbsent} 一次性提交，耗时为一次往返而非随锁数量线性增长；遇到冲突时并行撤回已占用的锁。
+ * 释放时仅移除由本任务持有的锁。
+ * <p>
+ * 每个锁带有存活时间，持有锁的节点崩溃或释放请求丢失时，锁在存活时间过后自动失效，不会永久阻塞其他任务。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+final class ClusteredBulletLockManager implements BulletLockManager {
+    private static final String ASYNC_MAP_NAME = "KeelGatling-Bullet-Exclusive-Locks";
+
+    private final Keel keel;
+    private final long lockTtl;
+
+    /**
+     * @param keel    Keel 实例
+     * @param lockTtl 独占锁的存活时间，单位毫秒；应远大于任务的最长运行时间
+     */
+    ClusteredBulletLockManager(Keel keel, long lockTtl) {
+        this.keel = keel;
+        this.lockTtl = lockTtl;
+    }
+
+    @Override
+    public Future<Boolean> acquire(Bullet bullet) {
+        if (bullet.exclusiveLockSet().isEmpty()) {
+            return Future.succeededFuture(true);
+        }
+        String holder = bullet.bulletID();
+        List<String> lockNames = new ArrayList<>(bullet.exclusiveLockSet());
+        return keel.sharedData().<String, String>getAsyncMap(ASYNC_MAP_NAME)
+                   .compose(asyncMap -> {
+                       List<Future<@Nullable String>> puts = new ArrayList<>(lockNames.size());
+                       lockNames.forEach(lockName -> puts.add(asyncMap.putIfAbsent(lockName, holder, lockTtl)));
+                       return Future.join(puts)
+                                    .transform(joined -> {
+                                        List<String> acquired = new ArrayList<>();
+                                        for (int i = 0; i < puts.size(); i++) {
+                                            Future<@Nullable String> put = puts.get(i);
+                                            if (put.succeeded() && (put.result() == null || holder.equals(put.result()))) {
+                                                acquired.add(lockNames.get(i));
+                                            }
+                                        }
+                                        if (acquired.size() == lockNames.size()) {
+                                            return Future.succeededFuture(true);
+                                        }
+                                        return removeAll(asyncMap, holder, acquired)
+                                                .transform(removed -> {
+                                                    if (joined.failed()) {
+                                                        return Future.failedFuture(joined.cause());
+                                                    }
+                                                    return Future.succeededFuture(false);
+                                                });
+                                    });
+                   });
+    }
+
+    @Override
+    public Future<Void> release(Bullet bullet) {
+        if (bullet.exclusiveLockSet().isEmpty()) {
+            return Future.succeededFuture();
+        }
+        String holder = bullet.bulletID();
+        List<String> lockNames = new ArrayList<>(bullet.exclusiveLockSet());
+        return keel.sharedData().<String, String>getAsyncMap(ASYNC_MAP_NAME)
+                   .compose(asyncMap -> removeAll(asyncMap, holder, lockNames));
+    }
+
+    private static Future<Void> removeAll(AsyncMap<String, String> asyncMap, String holder, List<String> lockNames) {
+        List<Future<Boolean>> removes = new ArrayList<>(lockNames.size());
+        lockNames.forEach(lockName -> removes.add(asyncMap.removeIfPresent(lockName, holder)));
+        return Future.join(removes).mapEmpty();
+    }
+}
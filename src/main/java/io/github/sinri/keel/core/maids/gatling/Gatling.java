@@ -7,13 +7,19 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
-import io.vertx.core.shareddata.Counter;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Random;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 
@@ -26,11 +32,29 @@ import java.util.function.Supplier;
  */
 @NullMarked
 abstract public class Gatling extends KeelVerticleBase {
+    /**
+     * 独占锁冲突后首次退回弹匣的延时，此后每次冲突翻倍。
+     */
+    private static final long EXCLUSIVE_LOCK_BASE_BACKOFF = 50L;
     private final GatlingOptions options;
     private final AtomicInteger barrelUsed = new AtomicInteger(0);
     private final LateObject<Logger> lateGatlingLogger = new LateObject<>();
+    /**
+     * 本地弹匣，暂存批量供弹得到、尚未击发的任务；每批供弹数量以供弹时的空闲枪管数为上限。
+     */
+    private final Queue<Bullet> magazine = new ConcurrentLinkedQueue<>();
+    /**
+     * 因独占锁冲突而处于退避中、尚未退回弹匣的任务，及其退避定时器的 ID；定时器尚未设置时为 -1。
+     */
+    private final Map<Bullet, Long> backoffBullets = new ConcurrentHashMap<>();
+    /**
+     * 休眠时，使用此内寄存的 Promise 在有枪管空出或有任务退回弹匣时唤醒。
+     */
+    private final AtomicReference<@Nullable Promise<Void>> wakeUpRef = new AtomicReference<>();
+    private final LateObject<BulletLockManager> lateBulletLockManager = new LateObject<>();
+    private volatile boolean stopped = false;
 
-    private Gatling(GatlingOptions options) {
+    protected Gatling(GatlingOptions options) {
         super();
         this.options = options;
     }
@@ -38,7 +62,13 @@ abstract public class Gatling extends KeelVerticleBase {
     protected Future<Void> rest() {
         long actualRestInterval = new Random().nextLong(Math.toIntExact(options.getAverageRestInterval() / 2));
         actualRestInterval += options.getAverageRestInterval();
-        return getKeel().asyncSleep(actualRestInterval);
+        Promise<Void> wakeUpSignal = Promise.promise();
+        wakeUpRef.set(wakeUpSignal);
+        if (!magazine.isEmpty()) {
+            // 设置唤醒信号前已有任务退回弹匣
+            wakeUpSignal.tryComplete();
+        }
+        return getKeel().asyncSleep(actualRestInterval, wakeUpSignal);
     }
 
     abstract protected Logger buildGatlingLogger();
@@ -47,21 +77,105 @@ abstract public class Gatling extends KeelVerticleBase {
         return lateGatlingLogger.get();
     }
 
+    /**
+     * 等待枪管空出，最长等待一个平均休眠期；有枪管空出时立即唤醒。
+     */
+    private Future<Void> restUntilBarrelFreed() {
+        Promise<Void> wakeUpSignal = Promise.promise();
+        wakeUpRef.set(wakeUpSignal);
+        if (barrelUsed.get() < options.getBarrels()) {
+            // 设置唤醒信号前已有枪管空出
+            wakeUpSignal.tryComplete();
+        }
+        return getKeel().asyncSleep(options.getAverageRestInterval(), wakeUpSignal);
+    }
+
+    private void wakeUp() {
+        Promise<Void> wakeUpSignal = wakeUpRef.getAndSet(null);
+        if (wakeUpSignal != null) {
+            wakeUpSignal.tryComplete();
+        }
+    }
+
     @Override
     protected Future<Void> startVerticle() {
         this.lateGatlingLogger.set(buildGatlingLogger());
+        this.lateBulletLockManager.set(getKeel().isClustered()
+                ? new ClusteredBulletLockManager(getKeel(), options.getExclusiveLockTtl())
+                : LocalBulletLockManager.getInstance());
         barrelUsed.set(0);
-        getKeel().asyncCallRepeatedly(routineResult -> fireOnce());
+        stopped = false;
+        getKeel().asyncCallRepeatedly(routineResult -> {
+            if (stopped) {
+                routineResult.stop();
+                return Future.succeededFuture();
+            }
+            return fireOnce();
+        });
         return Future.succeededFuture();
     }
 
+    /**
+     * 停止击发，并将弹匣中与退避中尚未击发的任务交由 {@link #returnUnfiredBullets(List)} 处理；已击发的任务不受影响。
+     */
+    @Override
+    protected Future<Void> stopVerticle() {
+        stopped = true;
+        wakeUp();
+        List<Bullet> bullets = drainMagazine();
+        bullets.addAll(drainBackoffBullets());
+        return returnUnfiredBullets(bullets);
+    }
+
+    /**
+     * 处理加特林停止时尚未击发的任务，例如将其在任务源中重新标记为待处理。
+     * <p>
+     * 默认仅记录这些任务的标识。
+     *
+     * @param bullets 尚未击发的任务，可能为空
+     * @return 异步处理结果
+     */
+    protected Future<Void> returnUnfiredBullets(List<Bullet> bullets) {
+        if (!bullets.isEmpty()) {
+            getGatlingLogger().warning(r -> r.message("UNFIRED BULLETS LEFT IN MAGAZINE: "
+                    + bullets.stream().map(Bullet::bulletID).toList()));
+        }
+        return Future.succeededFuture();
+    }
+
+    private List<Bullet> drainMagazine() {
+        List<Bullet> bullets = new ArrayList<>();
+        Bullet bullet;
+        while ((bullet = magazine.poll()) != null) {
+            bullets.add(bullet);
+        }
+        return bullets;
+    }
+
+    /**
+     * 取出全部退避中的任务并取消其退避定时器。
+     */
+    private List<Bullet> drainBackoffBullets() {
+        List<Bullet> bullets = new ArrayList<>();
+        for (Bullet bullet : backoffBullets.keySet()) {
+            Long timerID = backoffBullets.remove(bullet);
+            if (timerID != null) {
+                if (timerID >= 0) {
+                    getKeel().cancelTimer(timerID);
+                }
+                bullets.add(bullet);
+            }
+        }
+        return bullets;
+    }
+
     private Future<Void> fireOnce() {
         if (barrelUsed.get() >= options.getBarrels()) {
             getGatlingLogger().debug(r -> r.message("BARREL FULL"));
-            return rest();
+            return restUntilBarrelFreed();
         }
         return Future.succeededFuture()
-                     .compose(v -> loadOneBullet())
+                     .compose(v -> nextBullet())
                      .compose(bullet -> {
                          if (bullet == null) {
                              return rest();
@@ -73,13 +187,14 @@ abstract public class Gatling extends KeelVerticleBase {
                              if (firedAR.failed()) {
                                  getGatlingLogger().error(log -> log.exception(firedAR.cause())
                                                                     .message("BULLET FIRED ERROR"));
-                             } else {
+                             } else if (firedAR.result()) {
                                  getGatlingLogger().info(r -> r.message("BULLET FIRED DONE"));
                              }
                              barrelUsed.decrementAndGet();
+                             wakeUp();
                          });
 
-                         return getKeel().asyncSleep(10L);
+                         return Future.succeededFuture();
                      })
                      .recover(throwable -> {
                          getGatlingLogger().error(log -> log.exception(throwable).message("FAILED TO LOAD BULLET"));
@@ -88,84 +203,154 @@ abstract public class Gatling extends KeelVerticleBase {
     }
 
     /**
-     * 基于 Vertx 集群共享锁机制为当前运行实例寻找可执行的任务。
+     * 从本地弹匣中取出下一个任务；弹匣为空时先行供弹。
      *
      * @return 异步找到的可执行任务；为 null 时表示当前没有可执行的任务
      */
-    private Future<@Nullable Bullet> loadOneBullet() {
-        return getKeel().sharedData()
-                         .getLock("KeelGatling-%s-Load".formatted(this.options.getGatlingName()))
-                         .compose(lock -> {
-                             Supplier<Future<@Nullable Bullet>> bulletLoader = this.options.getBulletLoader();
-                             return bulletLoader.get()
-                                                .andThen(ar -> lock.release())
-                                                .compose(Future::succeededFuture);
-                         });
+    private Future<@Nullable Bullet> nextBullet() {
+        Bullet bullet = magazine.poll();
+        if (bullet != null) {
+            return Future.succeededFuture(bullet);
+        }
+        int freeBarrels = options.getBarrels() - barrelUsed.get();
+        return loadBullets(freeBarrels)
+                .compose(bullets -> {
+                    if (bullets.size() > freeBarrels) {
+                        getGatlingLogger().warning(r -> r.message(
+                                "BATCH BULLET LOADER RETURNED " + bullets.size() + " BULLETS FOR " + freeBarrels + " FREE BARRELS"));
+                    }
+                    if (stopped) {
+                        return returnUnfiredBullets(bullets).<@Nullable Bullet>map(v -> null);
+                    }
+                    magazine.addAll(bullets);
+                    return Future.succeededFuture(magazine.poll());
+                });
     }
 
-    protected Future<Void> requireExclusiveLocksOfBullet(Bullet bullet) {
-        if (!bullet.exclusiveLockSet().isEmpty()) {
-            AtomicBoolean blocked = new AtomicBoolean(false);
-            return getKeel().asyncCallIteratively(
-                    bullet.exclusiveLockSet(),
-                    (exclusiveLock, task) -> {
-                        String exclusiveLockName = "KeelGatling-Bullet-Exclusive-Lock-" + exclusiveLock;
-                        return getKeel().sharedData()
-                                         .getCounter(exclusiveLockName)
-                                         .compose(Counter::incrementAndGet)
-                                         .compose(increased -> {
-                                             if (increased > 1) {
-                                                 blocked.set(true);
-                                             }
-                                             return Future.succeededFuture();
-                                         });
-                    }
-            )
-                    .compose(v -> {
-                        if (blocked.get()) {
-                            return releaseExclusiveLocksOfBullet(bullet)
-                                    .eventually(() -> Future.failedFuture(new Exception("This bullet met Exclusive" +
-                                            " Lock Block.")));
-                        }
-                        return Future.succeededFuture();
-                    });
+    /**
+     * 为当前运行实例寻找可执行的任务。
+     * <p>
+     * 启用 {@link GatlingOptions#isExclusiveLoading()} 时基于 Vertx 集群共享锁机制进行，批量供弹时每批只需一次加锁。
+     *
+     * @param limit 本次最多供弹的数量
+     * @return 异步找到的可执行任务，可能为空
+     */
+    private Future<List<Bullet>> loadBullets(int limit) {
+        Function<Integer, Future<List<Bullet>>> batchBulletLoader = this.options.getBatchBulletLoader();
+        Supplier<Future<List<Bullet>>> loader;
+        if (batchBulletLoader != null) {
+            loader = () -> batchBulletLoader.apply(limit);
         } else {
-            return Future.succeededFuture();
+            Supplier<Future<@Nullable Bullet>> bulletLoader = this.options.getBulletLoader();
+            loader = () -> bulletLoader.get()
+                                       .<List<Bullet>>compose(bullet -> Future.succeededFuture(
+                                               bullet == null ? List.of() : List.of(bullet)));
         }
+
+        if (!this.options.isExclusiveLoading()) {
+            return loader.get();
+        }
+        return getKeel().sharedData()
+                        .getLock("KeelGatling-%s-Load".formatted(this.options.getGatlingName()))
+                        .compose(lock -> loader.get()
+                                               .andThen(ar -> lock.release()));
+    }
+
+    protected Future<Void> requireExclusiveLocksOfBullet(Bullet bullet) {
+        return lateBulletLockManager.get()
+                                    .acquire(bullet)
+                                    .compose(acquired -> {
+                                        if (!acquired) {
+                                            return Future.failedFuture(new ExclusiveLockBlockedException());
+                                        }
+                                        return Future.succeededFuture();
+                                    });
     }
 
     protected Future<Void> releaseExclusiveLocksOfBullet(Bullet bullet) {
-        bullet.exclusiveLockSet();
-        if (!bullet.exclusiveLockSet().isEmpty()) {
-            return getKeel().asyncCallIteratively(bullet.exclusiveLockSet(), (exclusiveLock, task) -> {
-                String exclusiveLockName = "KeelGatling-Bullet-Exclusive-Lock-" + exclusiveLock;
-                return getKeel().sharedData().getCounter(exclusiveLockName)
-                                 .compose(counter -> counter.decrementAndGet()
-                                                            .compose(x -> Future.succeededFuture()));
-            });
-        } else {
-            return Future.succeededFuture();
+        return lateBulletLockManager.get().release(bullet);
+    }
+
+    /**
+     * 将因独占锁冲突而无法击发的任务按指数退避延后退回弹匣。
+     * <p>
+     * 退避中的任务记录在 {@link #backoffBullets} 中：定时器由 Verticle 的上下文持有，卸载时会被取消，
+     * 因此由 {@link #stopVerticle()} 负责取出这些任务并交还。
+     */
+    private void requeueBlockedBullet(Bullet bullet) {
+        if (stopped) {
+            returnUnfiredBullets(List.of(bullet));
+            return;
         }
+        int blockedTimes = bullet.increaseExclusiveLockBlockedTimes();
+        long backoff = Math.min(
+                options.getAverageRestInterval(),
+                EXCLUSIVE_LOCK_BASE_BACKOFF << Math.min(blockedTimes - 1, 16)
+        );
+        getGatlingLogger().info(r -> r.message(
+                "BULLET " + bullet.bulletID() + " BLOCKED BY EXCLUSIVE LOCK, REQUEUE AFTER " + backoff + " ms"));
+        backoffBullets.put(bullet, -1L);
+        long timerID = getKeel().setTimer(backoff, id -> {
+            if (backoffBullets.remove(bullet) == null) {
+                // 已由停止流程取出
+                return;
+            }
+            if (stopped) {
+                returnUnfiredBullets(List.of(bullet));
+                return;
+            }
+            magazine.add(bullet);
+            wakeUp();
+        });
+        backoffBullets.replace(bullet, -1L, timerID);
     }
 
-    private void fireBullet(Bullet bullet, Handler<AsyncResult<Void>> handler) {
-        Promise<Void> promise = Promise.promise();
-        Future.succeededFuture()
-              .compose(v -> requireExclusiveLocksOfBullet(bullet)
-                      .compose(locked -> bullet.fire()
-                                               .andThen(fired -> releaseExclusiveLocksOfBullet(bullet)))
-              )
-              .andThen(firedAR -> bullet.ejectShell(firedAR)
-                                        .onComplete(ejected -> {
-                                            if (firedAR.failed()) {
-                                                promise.fail(firedAR.cause());
-                                            } else {
-                                                promise.complete();
-                                            }
-                                        })
-              );
+    /**
+     * 击发任务。
+     *
+     * @param bullet  任务
+     * @param handler 异步返回任务是否已击发；为 false 时任务因独占锁冲突已退回弹匣
+     */
+    private void fireBullet(Bullet bullet, Handler<AsyncResult<Boolean>> handler) {
+        Promise<Boolean> promise = Promise.promise();
+        requireExclusiveLocksOfBullet(bullet)
+                .onComplete(lockedAR -> {
+                    if (lockedAR.failed()
+                            && lockedAR.cause() instanceof ExclusiveLockBlockedException
+                            && bullet.getExclusiveLockBlockedTimes() < options.getExclusiveLockRetries()) {
+                        requeueBlockedBullet(bullet);
+                        promise.complete(false);
+                        return;
+                    }
+
+                    Future.succeededFuture()
+                          .compose(v -> {
+                              if (lockedAR.failed()) {
+                                  return Future.failedFuture(lockedAR.cause());
+                              }
+                              return bullet.fire()
+                                           .andThen(fired -> releaseExclusiveLocksOfBullet(bullet));
+                          })
+                          .andThen(firedAR -> bullet.ejectShell(firedAR)
+                                                    .onComplete(ejected -> {
+                                                        if (firedAR.failed()) {
+                                                            promise.fail(firedAR.cause());
+                                                        } else {
+                                                            promise.complete(true);
+                                                        }
+                                                    })
+                          );
+                });
 
         promise.future().andThen(handler);
     }
 
+    /**
+     * 任务的独占锁集合与其他正在运行的任务冲突。
+     */
+    private static final class ExclusiveLockBlockedException extends Exception {
+        ExclusiveLockBlockedException() {
+            super("This bullet met Exclusive Lock Block.");
+        }
+    }
 }
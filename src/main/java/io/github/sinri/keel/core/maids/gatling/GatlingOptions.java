@@ -4,7 +4,9 @@ import io.vertx.core.Future;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -18,12 +20,20 @@ public class GatlingOptions {
     private int barrels;
     private long averageRestInterval;
     private Supplier<Future<@Nullable Bullet>> bulletLoader;
+    private @Nullable Function<Integer, Future<List<Bullet>>> batchBulletLoader;
+    private boolean exclusiveLoading;
+    private int exclusiveLockRetries;
+    private long exclusiveLockTtl;
 
     public GatlingOptions(String gatlingName) {
         this.gatlingName = gatlingName;
         this.barrels = 1;
         this.averageRestInterval = 1000;
         this.bulletLoader = () -> Future.succeededFuture(null);
+        this.batchBulletLoader = null;
+        this.exclusiveLoading = true;
+        this.exclusiveLockRetries = 10;
+        this.exclusiveLockTtl = 3_600_000L;
     }
 
     /**
@@ -77,4 +87,84 @@ public class GatlingOptions {
         this.bulletLoader = bulletLoader;
         return this;
     }
+
+    /**
+     * @return 批量供弹器（一次生成多个新任务）；为 null 时使用 {@link #getBulletLoader()} 逐个供弹
+     */
+    public @Nullable Function<Integer, Future<List<Bullet>>> getBatchBulletLoader() {
+        return batchBulletLoader;
+    }
+
+    /**
+     * 设置批量供弹器。
+     * <p>
+     * 批量供弹器的参数为本次最多可供弹的数量，即供弹时空闲的枪管数，返回的任务数量不应超过此数。
+     * 返回的任务会暂存在本地弹匣中，按枪管空闲情况依次击发，弹匣清空后才再次供弹；
+     * 加特林停止时尚未击发的任务交由 {@link Gatling#returnUnfiredBullets(List)} 处理。
+     *
+     * @param batchBulletLoader 批量供弹器（一次生成多个新任务）；返回空列表表示当前没有新任务
+     */
+    public GatlingOptions setBatchBulletLoader(@Nullable Function<Integer, Future<List<Bullet>>> batchBulletLoader) {
+        this.batchBulletLoader = batchBulletLoader;
+        return this;
+    }
+
+    /**
+     * @return 供弹时是否持有集群共享锁，使集群内同名加特林的供弹串行进行
+     */
+    public boolean isExclusiveLoading() {
+        return exclusiveLoading;
+    }
+
+    /**
+     * 设置供弹时是否持有集群共享锁。
+     * <p>
+     * 默认持有，以免多个节点加载到同一个任务；如果供弹器自身能够原子地认领任务（例如基于数据库的条件更新），
+     * 可以关闭此项以消除各节点之间的供弹竞争。
+     *
+     * @param exclusiveLoading 供弹时是否持有集群共享锁
+     */
+    public GatlingOptions setExclusiveLoading(boolean exclusiveLoading) {
+        this.exclusiveLoading = exclusiveLoading;
+        return this;
+    }
+
+    /**
+     * @return 任务因独占锁冲突而退回弹匣重试的最大次数；超过后任务以失败告终
+     */
+    public int getExclusiveLockRetries() {
+        return exclusiveLockRetries;
+    }
+
+    /**
+     * 设置任务因独占锁冲突而退回弹匣重试的最大次数。
+     * <p>
+     * 冲突的任务按指数退避（上限为弹带更换平均等待时长）延后退回弹匣；设为 0 则冲突时直接失败。
+     *
+     * @param exclusiveLockRetries 任务因独占锁冲突而退回弹匣重试的最大次数
+     */
+    public GatlingOptions setExclusiveLockRetries(int exclusiveLockRetries) {
+        this.exclusiveLockRetries = exclusiveLockRetries;
+        return this;
+    }
+
+    /**
+     * @return 集群模式下任务独占锁的存活时间，单位毫秒
+     */
+    public long getExclusiveLockTtl() {
+        return exclusiveLockTtl;
+    }
+
+    /**
+     * 设置集群模式下任务独占锁的存活时间。
+     * <p>
+     * 持有锁的节点崩溃或释放请求丢失时，锁在此时间过后自动失效；
+     * 任务运行超过此时间时其独占锁可能被其他任务取得，因此应远大于任务的最长运行时间。默认为一小时。
+     *
+     * @param exclusiveLockTtl 集群模式下任务独占锁的存活时间，单位毫秒
+     */
+    public GatlingOptions setExclusiveLockTtl(long exclusiveLockTtl) {
+        this.exclusiveLockTtl = exclusiveLockTtl;
+        return this;
+    }
 }
@@ -0,0 +1,110 @@
+package io.github.sinri.keel.core.maids.gatling;
+
+import io.vertx.core.Future;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 单节点模式下的独占锁管理器。
+ * <p>
+ * 锁表按锁名散列为若干分段，获取一组锁时按分段序号升序加锁，在一次本地操作内完成全部检查与占用，
+ * 不同分段上的操作互不阻塞。锁表在同一 JVM 内的全部加特林之间共享。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+final class LocalBulletLockManager implements BulletLockManager {
+    private static final int STRIPES = 16;
+    private static final LocalBulletLockManager instance = new LocalBulletLockManager();
+
+    private final ReentrantLock[] stripeLocks = new ReentrantLock[STRIPES];
+    /**
+     * 各分段中锁名到持有者任务标识的映射。
+     */
+    private final List<Map<String, String>> stripeHolders = new ArrayList<>(STRIPES);
+
+    private LocalBulletLockManager() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripeLocks[i] = new ReentrantLock();
+            stripeHolders.add(new HashMap<>());
+        }
+    }
+
+    static LocalBulletLockManager getInstance() {
+        return instance;
+    }
+
+    @Override
+    public Future<Boolean> acquire(Bullet bullet) {
+        return Future.succeededFuture(tryAcquire(bullet.bulletID(), bullet.exclusiveLockSet()));
+    }
+
+    @Override
+    public Future<Void> release(Bullet bullet) {
+        release(bullet.bulletID(), bullet.exclusiveLockSet());
+        return Future.succeededFuture();
+    }
+
+    boolean tryAcquire(String holder, Set<String> lockNames) {
+        if (lockNames.isEmpty()) {
+            return true;
+        }
+        int[] stripes = stripesOf(lockNames);
+        lockStripes(stripes);
+        try {
+            for (String lockName : lockNames) {
+                String currentHolder = stripeHolders.get(stripeOf(lockName)).get(lockName);
+                if (currentHolder != null && !currentHolder.equals(holder)) {
+                    return false;
+                }
+            }
+            for (String lockName : lockNames) {
+                stripeHolders.get(stripeOf(lockName)).put(lockName, holder);
+            }
+            return true;
+        } finally {
+            unlockStripes(stripes);
+        }
+    }
+
+    void release(String holder, Set<String> lockNames) {
+        if (lockNames.isEmpty()) {
+            return;
+        }
+        int[] stripes = stripesOf(lockNames);
+        lockStripes(stripes);
+        try {
+            for (String lockName : lockNames) {
+                stripeHolders.get(stripeOf(lockName)).remove(lockName, holder);
+            }
+        } finally {
+            unlockStripes(stripes);
+        }
+    }
+
+    private static int stripeOf(String lockName) {
+        return Math.floorMod(lockName.hashCode(), STRIPES);
+    }
+
+    private static int[] stripesOf(Set<String> lockNames) {
+        return lockNames.stream()
+                        .mapToInt(LocalBulletLockManager::stripeOf)
+                        .distinct()
+                        .sorted()
+                        .toArray();
+    }
+
+    private void lockStripes(int[] stripes) {
+        for (int stripe : stripes) {
+            stripeLocks[stripe].lock();
+        }
+    }
+
+    private void unlockStripes(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripeLocks[stripes[i]].unlock();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.sinri.keel.core.maids.pleiades;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * 以微批次处理消息的 {@link Pleiades}。
+ * <p>
+ * 收到的消息先在本地攒成批次，攒满 {@link #maxBatchSize()} 条或自批次首条消息起等待满 {@link #maxBatchLinger()}
+ * 毫秒后，整批交给 {@link #handleMessages(List)} 处理。同时处理中的批次数量不超过 {@link #maxInFlightBatches()}；
+ * 达到上限且本地批次已满时暂停消息消费者，待有批次处理完毕后恢复。
+ * <p>
+ * 注意，暂停期间到达的消息由 Vert.x 的消息消费者缓冲，至多 {@link #maxBufferedMessages()} 条，
+ * <b>超出的消息将被直接丢弃</b>，发送方不会得到通知；因此暂停并不是无损的背压。
+ * 不允许丢失消息时，须将 {@link #maxBufferedMessages()} 设为不小于可能积压的消息数量，
+ * 或在发送方以请求-应答等方式自行限流。
+ * <p>
+ * 停止时先注销消息消费者，再将已攒集的批次交给 {@link #handleMessages(List)}，并等待全部处理中的批次完成；
+ * 消息消费者中尚未交付的缓冲消息随注销丢弃。
+ * <p>
+ * 批次的攒集与派发均在本 Verticle 的上下文中进行，无需额外同步。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+public abstract class BatchPleiades<T> extends Pleiades<T> {
+    private final List<Message<T>> pendingBatch = new ArrayList<>();
+    private @Nullable Context context;
+    private @Nullable Long lingerTimerID;
+    private int inFlightBatches = 0;
+    private boolean consumerPaused = false;
+    /**
+     * 停止时等待处理中的批次全部完成。
+     */
+    private @Nullable Promise<Void> inFlightBatchesDone;
+
+    public BatchPleiades() {
+        super();
+    }
+
+    /**
+     * @return 单个批次的最大消息数量
+     */
+    protected int maxBatchSize() {
+        return 100;
+    }
+
+    /**
+     * @return 批次自首条消息起最长的攒集等待时长，单位毫秒；为 0 时不等待，每条消息到达时立即派发已攒集的批次
+     */
+    protected long maxBatchLinger() {
+        return 10L;
+    }
+
+    /**
+     * @return 同时处理中的批次数量上限
+     */
+    protected int maxInFlightBatches() {
+        return 1;
+    }
+
+    /**
+     * 处理一个批次的消息。
+     *
+     * @param messages 批次中的消息，按到达顺序排列
+     * @return 异步处理结果；完成前该批次计入处理中的批次数量
+     */
+    abstract protected Future<Void> handleMessages(List<Message<T>> messages);
+
+    @Override
+    protected final void handleMessage(Message<T> message) {
+        pendingBatch.add(message);
+        if (pendingBatch.size() >= maxBatchSize() || maxBatchLinger() <= 0) {
+            dispatchPendingBatch();
+        } else if (lingerTimerID == null) {
+            lingerTimerID = getKeel().setTimer(maxBatchLinger(), timerID -> {
+                lingerTimerID = null;
+                dispatchPendingBatch();
+            });
+        }
+    }
+
+    @Override
+    protected Future<Void> startVerticle() {
+        this.context = getKeel().getOrCreateContext();
+        return super.startVerticle();
+    }
+
+    @Override
+    protected Future<Void> stopVerticle() {
+        return super.stopVerticle()
+                    .compose(v -> {
+                        cancelLingerTimer();
+                        if (pendingBatch.isEmpty()) {
+                            return Future.succeededFuture();
+                        }
+                        List<Message<T>> batch = new ArrayList<>(pendingBatch);
+                        pendingBatch.clear();
+                        return handleBatch(batch);
+                    })
+                    .compose(v -> awaitInFlightBatches());
+    }
+
+    private Future<Void> awaitInFlightBatches() {
+        if (inFlightBatches == 0) {
+            return Future.succeededFuture();
+        }
+        Promise<Void> promise = Promise.promise();
+        inFlightBatchesDone = promise;
+        return promise.future();
+    }
+
+    private void dispatchPendingBatch() {
+        cancelLingerTimer();
+        if (pendingBatch.isEmpty()) {
+            return;
+        }
+        if (inFlightBatches >= maxInFlightBatches()) {
+            if (pendingBatch.size() >= maxBatchSize() && !consumerPaused) {
+                getConsumer().pause();
+                consumerPaused = true;
+            }
+            return;
+        }
+
+        List<Message<T>> batch = new ArrayList<>(pendingBatch);
+        pendingBatch.clear();
+        inFlightBatches++;
+        handleBatch(batch)
+                .onComplete(ar -> runOnVerticleContext(() -> {
+                    inFlightBatches--;
+                    Promise<Void> done = inFlightBatchesDone;
+                    if (done != null && inFlightBatches == 0) {
+                        inFlightBatchesDone = null;
+                        done.complete();
+                    }
+                    if (consumerPaused) {
+                        consumerPaused = false;
+                        getConsumer().resume();
+                    }
+                    dispatchPendingBatch();
+                }));
+    }
+
+    private Future<Void> handleBatch(List<Message<T>> batch) {
+        return Future.succeededFuture()
+                     .compose(v -> handleMessages(batch))
+                     .onFailure(throwable -> getPleiadesLogger().error(log -> log
+                             .exception(throwable)
+                             .message("BATCH HANDLE FAILED")
+                             .context("size", String.valueOf(batch.size()))
+                     ))
+                     .recover(throwable -> Future.succeededFuture());
+    }
+
+    private void cancelLingerTimer() {
+        if (lingerTimerID != null) {
+            long x = lingerTimerID;
+            getKeel().cancelTimer(x);
+            lingerTimerID = null;
+        }
+    }
+
+    private void runOnVerticleContext(Runnable runnable) {
+        Context verticleContext = this.context;
+        if (verticleContext == null || verticleContext == Vertx.currentContext()) {
+            runnable.run();
+        } else {
+            verticleContext.runOnContext(v -> runnable.run());
+        }
+    }
+}
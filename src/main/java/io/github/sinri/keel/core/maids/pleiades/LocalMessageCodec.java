@@ -0,0 +1,99 @@
+package io.github.sinri.keel.core.maids.pleiades;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.MessageCodec;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * 仅用于 JVM 内投递的零拷贝消息编解码器。
+ * <p>
+ * 投递时直接传递消息体的对象引用，既不序列化也不复制；因此仅适用于不可变的消息体类型（例如 record），
+ * 发送方在发送后也不应再修改消息体。此编解码器不支持跨节点传输，使用时应同时设置
+ * {@link io.vertx.core.eventbus.DeliveryOptions#setLocalOnly(boolean)}。
+ *
+ * @param <T> 消息体类型
+ * @since 5.0.0
+ */
+@NullMarked
+public final class LocalMessageCodec<T> implements MessageCodec<T, T> {
+    /**
+     * 已注册的编解码器，键为 EventBus 实例（同一 Vert.x 实例的不同包装共享同一 EventBus），值为其中按消息体类型注册的编解码器。
+     * <p>
+     * 以弱引用持有 EventBus，未调用 {@link #unregisterAll(Vertx)} 的 Vert.x 实例关闭后仍可被回收。
+     */
+    private static final Map<EventBus, Map<Class<?>, LocalMessageCodec<?>>> registeredCodecs =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final String name;
+
+    private LocalMessageCodec(Class<T> bodyClass) {
+        this.name = "KeelLocalCodec-" + bodyClass.getName();
+    }
+
+    /**
+     * 在给定的 Vert.x 实例的 EventBus 上注册指定消息体类型的零拷贝编解码器；重复调用返回已注册的实例。
+     * <p>
+     * 由于 Vert.x 对 {@code JsonObject} 等内置类型总是优先使用内置编解码器，发送时需要通过
+     * {@link io.vertx.core.eventbus.DeliveryOptions#setCodecName(String)} 指定 {@link #name()}。
+     *
+     * @param vertx     Vert.x 实例
+     * @param bodyClass 消息体类型
+     * @param <T>       消息体类型
+     * @return 已注册的编解码器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> LocalMessageCodec<T> register(Vertx vertx, Class<T> bodyClass) {
+        return (LocalMessageCodec<T>) registeredCodecs
+                .computeIfAbsent(vertx.eventBus(), eventBus -> new ConcurrentHashMap<>())
+                .computeIfAbsent(bodyClass, c -> {
+                    LocalMessageCodec<T> codec = new LocalMessageCodec<>(bodyClass);
+                    vertx.eventBus().registerCodec(codec);
+                    return codec;
+                });
+    }
+
+    /**
+     * 注销在给定的 Vert.x 实例上注册的全部零拷贝编解码器；Vert.x 实例继续使用但不再需要这些编解码器时调用。
+     *
+     * @param vertx Vert.x 实例
+     */
+    public static void unregisterAll(Vertx vertx) {
+        Map<Class<?>, LocalMessageCodec<?>> codecs = registeredCodecs.remove(vertx.eventBus());
+        if (codecs != null) {
+            codecs.values().forEach(codec -> vertx.eventBus().unregisterCodec(codec.name()));
+        }
+    }
+
+    @Override
+    public void encodeToWire(Buffer buffer, T t) {
+        throw new UnsupportedOperationException("LocalMessageCodec " + name + " cannot be sent across the cluster");
+    }
+
+    @Override
+    public T decodeFromWire(int pos, Buffer buffer) {
+        throw new UnsupportedOperationException("LocalMessageCodec " + name + " cannot be sent across the cluster");
+    }
+
+    @Override
+    public T transform(T t) {
+        return t;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+}
@@ -36,6 +36,36 @@ public abstract class Pleiades<T> extends KeelVerticleBase {
         return vertx.eventBus().sender(address, deliveryOptions);
     }
 
+    /**
+     * 生成消息发送者。
+     * <p>
+     * 启用零拷贝时，以 {@link LocalMessageCodec} 在本 JVM 内直接传递消息体引用，并将投递限定在本地；
+     * 此时消息体类型应当不可变，发送后也不应再修改消息体。
+     *
+     * @param vertx           Vert.x 实例
+     * @param address         消息地址
+     * @param deliveryOptions 投递配置，不会被修改；启用零拷贝时在其副本上指定编解码器并限定本地投递
+     * @param bodyClass       消息体类型
+     * @param zeroCopyLocal   是否启用本地零拷贝投递
+     * @param <T>             消息体类型
+     * @return 消息发送者
+     */
+    public static <T> MessageProducer<T> generateMessageProducer(
+            Vertx vertx,
+            String address,
+            DeliveryOptions deliveryOptions,
+            Class<T> bodyClass,
+            boolean zeroCopyLocal
+    ) {
+        if (!zeroCopyLocal) {
+            return generateMessageProducer(vertx, address, deliveryOptions);
+        }
+        DeliveryOptions localDeliveryOptions = new DeliveryOptions(deliveryOptions)
+                .setCodecName(LocalMessageCodec.register(vertx, bodyClass).name())
+                .setLocalOnly(true);
+        return generateMessageProducer(vertx, address, localDeliveryOptions);
+    }
+
     abstract public String getAddress();
 
     abstract protected void handleMessage(Message<T> message);
@@ -47,10 +77,28 @@ public abstract class Pleiades<T> extends KeelVerticleBase {
         return latePleiadesLogger.get();
     }
 
+    /**
+     * 消息消费者暂停期间最多缓冲的消息数量，超出的消息将被丢弃。
+     *
+     * @return 最多缓冲的消息数量；为 0 时沿用 Vert.x 的默认值
+     * @see MessageConsumer#setMaxBufferedMessages(int)
+     */
+    protected int maxBufferedMessages() {
+        return 0;
+    }
+
+    protected final MessageConsumer<T> getConsumer() {
+        return lateConsumer.get();
+    }
+
     @Override
     protected Future<Void> startVerticle() {
         this.latePleiadesLogger.set(buildPleiadesLogger());
-        lateConsumer.set(getKeel().eventBus().consumer(getAddress(), this::handleMessage));
+        MessageConsumer<T> consumer = getKeel().eventBus().consumer(getAddress(), this::handleMessage);
+        if (maxBufferedMessages() > 0) {
+            consumer.setMaxBufferedMessages(maxBufferedMessages());
+        }
+        lateConsumer.set(consumer);
         return Future.succeededFuture();
     }
 
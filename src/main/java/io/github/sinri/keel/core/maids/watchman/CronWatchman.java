@@ -3,13 +3,17 @@ package io.github.sinri.keel.core.maids.watchman;
 import io.github.sinri.keel.base.async.Keel;
 import io.github.sinri.keel.core.servant.sundial.Sundial;
 import io.github.sinri.keel.core.utils.cron.KeelCronExpression;
+import io.github.sinri.keel.core.utils.cron.ParsedCalenderElements;
+import io.github.sinri.keel.logger.api.factory.LoggerFactory;
+import io.github.sinri.keel.logger.api.logger.Logger;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
 import io.vertx.core.ThreadingModel;
-import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.core.shareddata.Counter;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.Function;
@@ -27,6 +31,8 @@ import java.util.function.Supplier;
 public class CronWatchman extends WatchmanImpl {
     private final WatchmanEventHandler handler;
     private final Function<String, Future<Void>> cronTabUpdateStartup;
+    private @Nullable List<CronJob> cachedCronJobs;
+    private long cachedCronTabVersion = -1L;
 
     protected CronWatchman(
             String watchmanName,
@@ -56,12 +62,23 @@ public class CronWatchman extends WatchmanImpl {
     }
 
 
+    /**
+     * 在 crontab 锁内修改 crontab，并在修改成功后递增 crontab 版本，使各节点缓存的解析结果失效。
+     */
     private static Future<Void> operateCronTab(Keel keel, String asyncMapName, Supplier<Future<Void>> supplier) {
         return keel.sharedData().getLock(asyncMapName)
                    .compose(lock -> supplier.get()
+                                            .compose(v -> keel.sharedData()
+                                                              .getCounter(cronTabVersionCounterName(asyncMapName)))
+                                            .compose(Counter::incrementAndGet)
+                                            .<Void>mapEmpty()
                                             .andThen(ar -> lock.release()));
     }
 
+    private static String cronTabVersionCounterName(String asyncMapName) {
+        return asyncMapName + "@Version";
+    }
+
 
     public static Future<Void> addCronJobToAsyncMap(
             Keel keel,
@@ -200,37 +217,93 @@ public class CronWatchman extends WatchmanImpl {
             String asyncMapName,
             Calendar calendar
     ) {
-        List<WatchmanEventHandler> list = new ArrayList<>();
+        return readAsyncMapForEventHandlers(keel, asyncMapName, calendar, LoggerFactory.getShared().createLogger("Watchman"));
+    }
+
+    /**
+     * @param logger 用于记录无法解析的 crontab 条目的日志记录器
+     */
+    public static Future<List<WatchmanEventHandler>> readAsyncMapForEventHandlers(
+            Keel keel,
+            String asyncMapName,
+            Calendar calendar,
+            Logger logger
+    ) {
         return keel.sharedData().getAsyncMap(asyncMapName)
                    .compose(AsyncMap::entries)
-                   .compose(entries -> {
-                       entries.forEach((k, v) -> {
-                           String cronExpression = String.valueOf(k);
-                           if (new KeelCronExpression(cronExpression).match(calendar)) {
-                               JsonArray eventHandlerClassNameArray = new JsonArray(String.valueOf(v));
-                               eventHandlerClassNameArray.forEach(eventHandlerClassName -> {
-                                   try {
-                                       Class<?> aClass = Class.forName(String.valueOf(eventHandlerClassName));
-                                       if (WatchmanEventHandler.class.isAssignableFrom(aClass)) {
-                                           WatchmanEventHandler eventHandler =
-                                                   (WatchmanEventHandler) aClass.getConstructor()
-                                                                                .newInstance();
-                                           list.add(eventHandler);
-                                       }
-                                   } catch (Throwable e) {
-                                       //Keel.outputLogger().exception(e);
-                                       System.out.println("EXCEPTION: " + e);
-                                   }
-                               });
-                           }
-                       });
-                       return Future.succeededFuture(list);
-                   });
+                   .compose(entries -> Future.succeededFuture(matchCronJobs(parseCronJobs(entries, logger), calendar)));
     }
 
+    /**
+     * 解析 crontab 中的各条任务，处理器在此时一次性实例化，此后各次触发复用同一实例。
+     * <p>
+     * 无法解析或实例化的条目将被忽略并记录日志。
+     */
+    private static List<CronJob> parseCronJobs(Map<Object, Object> entries, Logger logger) {
+        List<CronJob> cronJobs = new ArrayList<>(entries.size());
+        entries.forEach((hash, v) -> {
+            try {
+                JsonObject jsonObject = (JsonObject) v;
+                KeelCronExpression cronExpression = new KeelCronExpression(jsonObject.getString("cron"));
+                Class<?> aClass = Class.forName(jsonObject.getString("handler"));
+                if (WatchmanEventHandler.class.isAssignableFrom(aClass)) {
+                    WatchmanEventHandler handler = aClass
+                            .asSubclass(WatchmanEventHandler.class)
+                            .getConstructor()
+                            .newInstance();
+                    cronJobs.add(new CronJob(cronExpression, handler));
+                } else {
+                    logger.warning(log -> log
+                            .message("Cron job handler is not a WatchmanEventHandler, ignored")
+                            .context("hash", String.valueOf(hash)));
+                }
+            } catch (Throwable e) {
+                logger.error(log -> log
+                        .exception(e)
+                        .message("Failed to parse cron job, ignored")
+                        .context("hash", String.valueOf(hash)));
+            }
+        });
+        return cronJobs;
+    }
 
-    private Future<List<WatchmanEventHandler>> readAsyncMapForEventHandlers(Calendar calendar) {
-        return readAsyncMapForEventHandlers(getKeel(), eventBusAddress(), calendar);
+    private static List<WatchmanEventHandler> matchCronJobs(List<CronJob> cronJobs, Calendar calendar) {
+        ParsedCalenderElements parsedCalenderElements = new ParsedCalenderElements(calendar);
+        List<WatchmanEventHandler> list = new ArrayList<>();
+        cronJobs.forEach(cronJob -> {
+            if (cronJob.cronExpression().match(parsedCalenderElements)) {
+                list.add(cronJob.handler());
+            }
+        });
+        return list;
+    }
+
+    /**
+     * 读取当前时刻应当触发的事件处理器。
+     * <p>
+     * 解析后的 crontab 及其处理器实例缓存在本实例中，每次仅读取 crontab 版本计数器判断是否需要重新加载；
+     * 通过本类的静态方法修改 crontab 时版本会递增，直接修改 AsyncMap 则不会使缓存失效。
+     * 因此同一处理器实例会在多次触发中复用，处理器应当是无状态的或自行保证并发安全。
+     */
+    Future<List<WatchmanEventHandler>> readAsyncMapForEventHandlers(Calendar calendar) {
+        String asyncMapName = eventBusAddress();
+        return getKeel().sharedData().getCounter(cronTabVersionCounterName(asyncMapName))
+                        .compose(Counter::get)
+                        .compose(version -> {
+                            List<CronJob> cronJobs = this.cachedCronJobs;
+                            if (cronJobs != null && version == this.cachedCronTabVersion) {
+                                return Future.succeededFuture(cronJobs);
+                            }
+                            return getKeel().sharedData().getAsyncMap(asyncMapName)
+                                            .compose(AsyncMap::entries)
+                                            .compose(entries -> {
+                                                List<CronJob> parsedCronJobs = parseCronJobs(entries, getWatchmanLogger());
+                                                this.cachedCronJobs = parsedCronJobs;
+                                                this.cachedCronTabVersion = version;
+                                                return Future.succeededFuture(parsedCronJobs);
+                                            });
+                        })
+                        .compose(cronJobs -> Future.succeededFuture(matchCronJobs(cronJobs, calendar)));
     }
 
     @Override
@@ -245,13 +318,24 @@ public class CronWatchman extends WatchmanImpl {
 
     @Override
     protected Future<Void> startVerticle() {
-        Future.succeededFuture()
-              .compose(v -> cronTabUpdateStartup.apply(eventBusAddress()))
-              .onFailure(throwable -> {
-                  getWatchmanLogger().error(log -> log.exception(throwable));
-                  undeployMe();
-              });
-        return Future.succeededFuture();
+        return super.startVerticle()
+                    .compose(started -> {
+                        Future.succeededFuture()
+                              .compose(v -> cronTabUpdateStartup.apply(eventBusAddress()))
+                              .onFailure(throwable -> {
+                                  getWatchmanLogger().error(log -> log.exception(throwable));
+                                  undeployMe();
+                              });
+                        return Future.succeededFuture();
+                    });
     }
 
+    /**
+     * 已解析的 crontab 任务及其处理器实例。
+     */
+    private record CronJob(
+            KeelCronExpression cronExpression,
+            WatchmanEventHandler handler
+    ) {
+    }
 }
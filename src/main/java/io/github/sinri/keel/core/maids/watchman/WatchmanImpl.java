@@ -9,6 +9,7 @@ import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.shareddata.Lock;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 
 /**
@@ -21,6 +22,8 @@ abstract class WatchmanImpl extends KeelVerticleBase implements Watchman {
     private final String watchmanName;
     private final LateObject<Logger> lateWatchmanLogger = new LateObject<>();
     private final LateObject<MessageConsumer<Long>> lateConsumer = new LateObject<>();
+    private @Nullable Long tickTimerID;
+    private long lastTickTimestamp = 0L;
 
     public WatchmanImpl(String watchmanName) {
         super();
@@ -40,30 +43,59 @@ abstract class WatchmanImpl extends KeelVerticleBase implements Watchman {
     protected Future<Void> startVerticle() {
         this.lateWatchmanLogger.set(this.buildWatchmanLogger());
 
-        this.lateConsumer.ensure(() -> getKeel().eventBus().consumer(eventBusAddress()))
-                         .handler(this::consumeHandleMassage)
-                         .exceptionHandler(throwable -> getWatchmanLogger()
-                                 .error(log -> log.message(watchmanName() + " ERROR").exception(throwable))
-                         );
-
-        try {
-            // 强行拟合HH:MM:SS.000-200
-            long x = 1000 - System.currentTimeMillis() % 1_000;
-            if (x < 800) {
-                Thread.sleep(x);
-            }
-        } catch (Exception ignore) {
-            // 拟合不了拉倒
+        if (isDistributed()) {
+            this.lateConsumer.ensure(() -> getKeel().eventBus().consumer(eventBusAddress()))
+                             .handler(this::consumeHandleMassage)
+                             .exceptionHandler(throwable -> getWatchmanLogger()
+                                     .error(log -> log.message(watchmanName() + " ERROR").exception(throwable))
+                             );
         }
-        getKeel().setPeriodic(
-                interval(),
-                timerID -> getKeel().eventBus()
-                                    .send(eventBusAddress(), System.currentTimeMillis())
-        );
+
+        scheduleNextTick();
 
         return Future.succeededFuture();
     }
 
+    /**
+     * 是否以分布式模式运行。
+     * <p>
+     * 分布式模式下，每个周期的触发经由 EventBus 分发，并以集群锁确保只有一个节点执行；
+     * 非分布式模式下，触发直接在本地执行，不产生 EventBus 消息和集群锁。
+     * <p>
+     * 默认在 Vert.x 以集群方式运行时启用。
+     *
+     * @return 是否以分布式模式运行
+     */
+    protected boolean isDistributed() {
+        return getKeel().isClustered();
+    }
+
+    /**
+     * 按墙上时钟对齐的边界设置下一次触发。
+     * <p>
+     * 每次触发时刻都由当前时间重新计算为周期的整数倍，不会像固定周期定时器那样累积漂移，
+     * 各节点对同一周期计算出的触发时间戳也一致。
+     */
+    private void scheduleNextTick() {
+        long now = System.currentTimeMillis();
+        // 定时器按单调时钟计时，可能比墙上时钟略早到期，以上一次的触发时刻为下限避免重复触发同一周期
+        long nextTick = (Math.max(now, lastTickTimestamp) / interval() + 1) * interval();
+        this.tickTimerID = getKeel().setTimer(Math.max(1L, nextTick - now), timerID -> {
+            lastTickTimestamp = nextTick;
+            scheduleNextTick();
+            tick(nextTick);
+        });
+    }
+
+    private void tick(long timestamp) {
+        if (isDistributed()) {
+            getKeel().eventBus().send(eventBusAddress(), timestamp);
+        } else {
+            getWatchmanLogger().debug(r -> r.message(watchmanName() + " TRIGGERED FOR " + timestamp));
+            regularHandler().handle(timestamp);
+        }
+    }
+
     protected void consumeHandleMassage(Message<Long> message) {
         Long timestamp = message.body();
         getWatchmanLogger().debug(r -> r.message(watchmanName() + " TRIGGERED FOR " + timestamp));
@@ -87,6 +119,10 @@ abstract class WatchmanImpl extends KeelVerticleBase implements Watchman {
 
     @Override
     protected Future<Void> stopVerticle() {
+        if (tickTimerID != null) {
+            long x = tickTimerID;
+            getKeel().cancelTimer(x);
+        }
         if (lateConsumer.isInitialized()) {
             lateConsumer.get().unregister();
         }
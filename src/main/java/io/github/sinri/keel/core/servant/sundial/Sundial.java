@@ -2,34 +2,54 @@ package io.github.sinri.keel.core.servant.sundial;
 
 import io.github.sinri.keel.base.async.Keel;
 import io.github.sinri.keel.base.verticles.KeelVerticleBase;
-import io.github.sinri.keel.core.utils.cron.KeelCronExpression;
 import io.github.sinri.keel.core.utils.cron.ParsedCalenderElements;
 import io.github.sinri.keel.logger.api.factory.LoggerFactory;
 import io.github.sinri.keel.logger.api.logger.SpecificLogger;
+import io.vertx.core.Context;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.ThreadingModel;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
 
 
 /**
  * 日晷。
  * <p>
  * 单节点下的定时任务调度器。
+ * <p>
+ * 计划按下次触发时间存放于最小堆中，仅为最早到期的计划设置一个定时器，触发后重新计算并重新设置，
+ * 因此每次触发的开销与计划总数无关，并支持秒级精度的 Cron 表达式。
+ * <p>
+ * 到期的计划交由运行器按各自的 {@link SundialPlanOptions} 处理重叠运行与迟到补跑，
+ * 全局并发可通过 {@link #maxConcurrentPlanRuns()} 限制。
+ * <p>
+ * 计划集按 {@link #planRefreshInterval()} 的周期通过 {@link #fetchPlansIfChangedSince(String)} 增量刷新。
+ * <p>
+ * 通过 {@link #clusterLeadershipName()} 可启用集群模式，由租约选出的领导者负责触发。
  *
  * @since 5.0.0
  */
 @NullMarked
 public abstract class Sundial extends KeelVerticleBase {
+    /**
+     * 单个触发定时器的最长等待时间；到期后即使没有计划需要触发也会重新检查，以应对系统时钟的调整。
+     */
+    private static final long MAX_FIRE_TIMER_DELAY = 60_000L;
 
     private final Map<String, SundialPlan> planMap = new ConcurrentHashMap<>();
-    private @Nullable Long timerID;
+    private final SundialPlanQueue planQueue = new SundialPlanQueue();
+    private @Nullable Long refreshTimerID;
+    private @Nullable Long fireTimerID;
+    private long armedFireTime = Long.MAX_VALUE;
     private @Nullable SpecificLogger<SundialSpecificLog> logger;
+    private @Nullable SundialPlanRunner planRunner;
+    private @Nullable String planVersion;
+    private @Nullable SundialLeaderLease leaderLease;
 
     public Sundial() {
         super();
@@ -43,81 +63,151 @@ public abstract class Sundial extends KeelVerticleBase {
         return Objects.requireNonNull(logger);
     }
 
+    /**
+     * 全局同时运行的计划数量限制，超出限制的运行将排队等待。
+     * <p>
+     * 默认实现为不限制，可以重写本方法修改。
+     *
+     * @return 同时运行的计划数量限制；为 0 表示不限制
+     */
+    protected int maxConcurrentPlanRuns() {
+        return 0;
+    }
+
+    /**
+     * 集群模式下的领导权名称。
+     * <p>
+     * 返回非 null 时启用集群模式：同名的日晷实例之间通过 Vert.x 集群共享数据选举出一个领导者，
+     * 只有领导者触发计划，从而保证每次触发在集群内只运行一次；其他实例保持计划快照与触发队列，
+     * 以便在领导者失联时及时接任。是否为领导者仅在本地判断，不会为每次触发产生集群锁的往返。
+     * <p>
+     * 默认实现为 null，即单节点模式。
+     *
+     * @return 领导权名称；为 null 时不启用集群模式
+     */
+    protected @Nullable String clusterLeadershipName() {
+        return null;
+    }
+
+    /**
+     * 集群模式下领导权租约的租期，单位毫秒。
+     * <p>
+     * 领导者失联后，最长经过一个租期由其他实例接任，期间的触发可能被错过。
+     *
+     * @return 租约租期，默认为 15 秒
+     */
+    protected long clusterLeaseDuration() {
+        return 15_000L;
+    }
+
+    /**
+     * @return 本实例当前是否负责触发计划；单节点模式下总是为 true
+     */
+    public final boolean isFiringNode() {
+        return leaderLease == null || leaderLease.isLeader();
+    }
+
+    private SundialPlanRunner getPlanRunner() {
+        return Objects.requireNonNull(planRunner);
+    }
+
     @Override
     protected Future<Void> startVerticle() {
         this.logger = buildLogger();
-        int delaySeconds = 61 - KeelCronExpression.parseCalenderToElements(Calendar.getInstance()).second;
-        this.timerID = getKeel().setPeriodic(delaySeconds * 1000L, 60_000L, timerID -> {
-            handleEveryMinute(Calendar.getInstance());
-            refreshPlans();
+        return deployEventLoopPlanHost()
+                .compose(eventLoopContext -> {
+                    this.planRunner = new SundialPlanRunner(getKeel(), getLogger(), maxConcurrentPlanRuns(), eventLoopContext);
+                    String leadershipName = clusterLeadershipName();
+                    if (leadershipName != null) {
+                        this.leaderLease = new SundialLeaderLease(getKeel(), leadershipName, clusterLeaseDuration(), getLogger());
+                        this.leaderLease.start();
+                    }
+                    this.refreshTimerID = getKeel().setPeriodic(1L, planRefreshInterval(), timerID -> refreshPlans());
+                    return Future.succeededFuture();
+                });
+    }
+
+    /**
+     * 部署一个常驻的事件循环 Verticle，线程模型为 {@link ThreadingModel#EVENT_LOOP} 的计划都在其上下文中运行，
+     * 不再为每次触发部署临时 Verticle。
+     * <p>
+     * 该 Verticle 由本日晷部署，随本日晷一同卸载。
+     *
+     * @return 该 Verticle 的上下文
+     */
+    private Future<Context> deployEventLoopPlanHost() {
+        Promise<Context> contextPromise = Promise.promise();
+        return KeelVerticleBase.wrap(verticleBase -> {
+                                   contextPromise.complete(verticleBase.getKeel().getOrCreateContext());
+                                   return Future.succeededFuture();
+                               })
+                               .deployMe(getKeel(), new DeploymentOptions().setThreadingModel(ThreadingModel.EVENT_LOOP))
+                               .compose(deploymentId -> contextPromise.future());
+    }
+
+    /**
+     * 确保有一个定时器在最早的计划触发时刻唤醒。
+     * <p>
+     * 已设置的定时器不晚于最早的触发时刻时保持不动，否则取消后重新设置。
+     */
+    private synchronized void armFireTimer() {
+        Long nextFireTime = planQueue.peekFireTime();
+        long target = nextFireTime == null ? Long.MAX_VALUE : nextFireTime;
+        if (fireTimerID != null) {
+            if (armedFireTime <= target) {
+                return;
+            }
+            getKeel().cancelTimer(fireTimerID);
+            fireTimerID = null;
+            armedFireTime = Long.MAX_VALUE;
+        }
+        if (nextFireTime == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long delay = Math.max(1L, Math.min(target - now, MAX_FIRE_TIMER_DELAY));
+        armedFireTime = now + delay;
+        fireTimerID = getKeel().setTimer(delay, timerID -> {
+            synchronized (this) {
+                if (fireTimerID != null && fireTimerID == timerID) {
+                    fireTimerID = null;
+                    armedFireTime = Long.MAX_VALUE;
+                }
+            }
+            fireDuePlans();
         });
-        return Future.succeededFuture();
     }
 
-    private void handleEveryMinute(Calendar now) {
-        ParsedCalenderElements parsedCalenderElements = new ParsedCalenderElements(now);
-        planMap.forEach((key, plan) -> {
-            if (plan.cronExpression().match(parsedCalenderElements)) {
-                getLogger().debug(x -> x
-                        .message("Sundial Plan Matched")
-                        .context("plan_key", plan.key())
-                        .context("plan_cron", plan.cronExpression().getRawCronExpression())
-                        .context("now", parsedCalenderElements.toString())
-                );
-
-                KeelVerticleBase.wrap(new Function<KeelVerticleBase, Future<?>>() {
-                                    @Override
-                                    public Future<?> apply(KeelVerticleBase keelVerticleBase) {
-                                        return plan.execute(
-                                                keelVerticleBase.getKeel(),
-                                                now,
-                                                getLogger()
-                                        );
-                                    }
-                                })
-                                .deployMe(getKeel(), new DeploymentOptions()
-                                        .setThreadingModel(plan.expectedThreadingModel())
-                                )
-                                .onComplete(ar -> {
-                                    if (ar.failed()) {
-                                        getLogger().error(log -> log
-                                                .exception(ar.cause())
-                                                .message("Failed to deploy verticle for " + plan.key())
-                                        );
-                                    } else {
-                                        getLogger().info(log -> log
-                                                .message("Deployed verticle for " + plan.key() + " as " + ar.result())
-                                        );
-                                    }
-                                });
-            } else {
-                getLogger().debug(x -> x
-                        .message("Sundial Plan Not Match")
-                        .context("plan_key", plan.key())
-                        .context("plan_cron", plan.cronExpression().getRawCronExpression())
-                        .context("now", parsedCalenderElements.toString())
-                );
+    private void fireDuePlans() {
+        long nowMillis = System.currentTimeMillis();
+        List<SundialPlanQueue.Entry> dueEntries = planQueue.pollDue(nowMillis);
+        Calendar now = Calendar.getInstance();
+        boolean firing = isFiringNode();
+        dueEntries.forEach(entry -> {
+            SundialPlan plan = entry.plan();
+            planQueue.schedule(plan, now);
+            if (!firing) {
+                return;
             }
+            getLogger().debug(x -> x
+                    .message("Sundial Plan Matched")
+                    .context("plan_key", plan.key())
+                    .context("plan_cron", plan.cronExpression().getRawCronExpression())
+                    .context("now", new ParsedCalenderElements(entry.fireAt()).toString())
+            );
+            getPlanRunner().dispatch(plan, entry.fireAt(), nowMillis);
         });
+        armFireTimer();
     }
 
     private void refreshPlans() {
         getKeel().asyncCallExclusively(
                          "io.github.sinri.keel.servant.sundial.KeelSundial.refreshPlans",
                          1000L,
-                         () -> fetchPlans()
-                                 .compose(plans -> {
-                                     // treat null as NOT MODIFIED
-                                     if (plans != null) {
-                                         Set<String> toDelete = new HashSet<>(planMap.keySet());
-                                         plans.forEach(plan -> {
-                                             toDelete.remove(plan.key());
-                                             planMap.put(plan.key(), plan);
-                                         });
-                                         if (!toDelete.isEmpty()) {
-                                             toDelete.forEach(planMap::remove);
-                                         }
-                                     }
+                         () -> fetchPlansIfChangedSince(planVersion)
+                                 .compose(delta -> {
+                                     applyPlanDelta(delta);
                                      return Future.succeededFuture(null);
                                  })
                  )
@@ -127,19 +217,112 @@ public abstract class Sundial extends KeelVerticleBase {
                  );
     }
 
+    private void applyPlanDelta(SundialPlanDelta delta) {
+        if (delta.getVersion() != null) {
+            this.planVersion = delta.getVersion();
+        }
+        if (!delta.isModified()) {
+            return;
+        }
+
+        Calendar now = Calendar.getInstance();
+        if (delta.isSnapshot()) {
+            Set<String> toDelete = new HashSet<>(planMap.keySet());
+            delta.getAddedPlans().forEach(plan -> {
+                toDelete.remove(plan.key());
+                upsertPlan(plan, now);
+            });
+            toDelete.forEach(this::removePlan);
+        } else {
+            delta.getRemovedPlanKeys().forEach(this::removePlan);
+            delta.getAddedPlans().forEach(plan -> upsertPlan(plan, now));
+            delta.getChangedPlans().forEach(plan -> upsertPlan(plan, now));
+        }
+        armFireTimer();
+
+        getLogger().debug(x -> x
+                .message("Sundial Plans Refreshed")
+                .context("version", String.valueOf(planVersion))
+                .context("snapshot", String.valueOf(delta.isSnapshot()))
+                .context("plans", String.valueOf(planMap.size()))
+        );
+    }
+
+    /**
+     * @return 当前计划快照的只读视图
+     */
+    Map<String, SundialPlan> getPlanSnapshot() {
+        return Collections.unmodifiableMap(planMap);
+    }
+
+    private void upsertPlan(SundialPlan plan, Calendar now) {
+        planMap.put(plan.key(), plan);
+        planQueue.schedule(plan, now);
+    }
+
+    private void removePlan(String planKey) {
+        planMap.remove(planKey);
+        planQueue.remove(planKey);
+    }
+
+    /**
+     * 刷新计划集的周期，单位毫秒。
+     * <p>
+     * 刷新周期与计划的触发相互独立；如果计划集的获取成本较高，可以重写本方法降低刷新频率。
+     *
+     * @return 刷新计划集的周期，默认为 60 秒
+     */
+    protected long planRefreshInterval() {
+        return 60_000L;
+    }
+
     /**
      * 异步获取最新定时任务计划集，根据结果进行全量覆盖或保持不动。
+     * <p>
+     * 重写了 {@link #fetchPlansIfChangedSince(String)} 且不再调用本方法的实现，可以在此返回失败的结果。
      *
      * @return 异步返回的定时任务计划集，用于覆盖更新当前的计划快照；如果异步返回了 null，则表示不更新计划快照。
      */
     abstract protected Future<@Nullable Collection<SundialPlan>> fetchPlans();
 
+    /**
+     * 异步获取自给定版本以来的计划集变更。
+     * <p>
+     * 实现方可以借助版本号、ETag 或更新时间等低成本的手段先行判断计划集是否有变化，
+     * 仅在有变化时读取变更的部分，使每次刷新的开销与变更数量成正比。
+     * <p>
+     * 默认实现调用 {@link #fetchPlans()}，将其结果视为不跟踪版本的全量快照。
+     *
+     * @param version 上一次刷新得到的计划集版本；首次刷新或不跟踪版本时为 null
+     * @return 异步返回的计划集变更
+     */
+    protected Future<SundialPlanDelta> fetchPlansIfChangedSince(@Nullable String version) {
+        return fetchPlans()
+                .compose(plans -> {
+                    // treat null as NOT MODIFIED
+                    if (plans == null) {
+                        return Future.succeededFuture(SundialPlanDelta.notModified(null));
+                    }
+                    return Future.succeededFuture(SundialPlanDelta.snapshot(null, plans));
+                });
+    }
+
     @Override
     protected Future<Void> stopVerticle() {
-        if (this.timerID != null) {
-            long x = timerID;
+        if (this.refreshTimerID != null) {
+            long x = refreshTimerID;
             getKeel().cancelTimer(x);
         }
+        synchronized (this) {
+            if (this.fireTimerID != null) {
+                long x = fireTimerID;
+                getKeel().cancelTimer(x);
+                this.fireTimerID = null;
+            }
+        }
+        if (this.leaderLease != null) {
+            return this.leaderLease.stop();
+        }
         return Future.succeededFuture();
     }
 
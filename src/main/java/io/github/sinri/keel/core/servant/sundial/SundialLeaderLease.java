@@ -0,0 +1,122 @@
+package io.github.sinri.keel.core.servant.sundial;
+
+import io.github.sinri.keel.base.async.Keel;
+import io.github.sinri.keel.logger.api.logger.SpecificLogger;
+import io.vertx.core.Future;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * 基于 Vert.x 集群共享数据的日晷领导权租约。
+ * <p>
+ * 领导权以一个带有存活时间的 {@link io.vertx.core.shareddata.AsyncMap} 键值表示，值为持有者的节点标识。
+ * 持有者每隔三分之一租期续约一次；未能续约的节点在租期内自动失去领导权，其他节点在键值过期后即可接任。
+ * <p>
+ * 判断是否为领导者只读取本地记录的租约有效期，不产生任何集群交互。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+final class SundialLeaderLease {
+    static final String LEADER_KEY = "leader";
+
+    private final Keel keel;
+    private final String asyncMapName;
+    private final long leaseDuration;
+    private final SpecificLogger<SundialSpecificLog> logger;
+    private final String nodeId = UUID.randomUUID().toString();
+    /**
+     * 本节点持有的租约在本地视角下的有效期限（毫秒时间戳），以发起续约请求的时刻起算，偏保守。
+     */
+    private volatile long leaseValidUntil = 0L;
+    private @Nullable Long timerID;
+
+    /**
+     * @param keel           Keel 实例
+     * @param leadershipName 领导权名称，集群中同一组日晷实例应当一致
+     * @param leaseDuration  租期，单位毫秒
+     * @param logger         日晷定时任务特定日志记录器
+     */
+    SundialLeaderLease(Keel keel, String leadershipName, long leaseDuration, SpecificLogger<SundialSpecificLog> logger) {
+        this.keel = keel;
+        this.asyncMapName = "KeelSundial-%s-Leadership".formatted(leadershipName);
+        this.leaseDuration = leaseDuration;
+        this.logger = logger;
+    }
+
+    void start() {
+        acquireOrRenew();
+        this.timerID = keel.setPeriodic(Math.max(1L, leaseDuration / 3), timerID -> acquireOrRenew());
+    }
+
+    Future<Void> stop() {
+        if (timerID != null) {
+            long x = timerID;
+            keel.cancelTimer(x);
+            timerID = null;
+        }
+        if (!isLeader()) {
+            return Future.succeededFuture();
+        }
+        leaseValidUntil = 0L;
+        return keel.sharedData().<String, String>getAsyncMap(asyncMapName)
+                   .compose(asyncMap -> asyncMap.removeIfPresent(LEADER_KEY, nodeId))
+                   .compose(removed -> Future.succeededFuture());
+    }
+
+    /**
+     * @return 本节点当前是否持有有效的领导权租约
+     */
+    boolean isLeader() {
+        return System.currentTimeMillis() < leaseValidUntil;
+    }
+
+    private void acquireOrRenew() {
+        long requestedAt = System.currentTimeMillis();
+        boolean wasLeader = isLeader();
+        keel.sharedData().<String, String>getAsyncMap(asyncMapName)
+            .compose(asyncMap -> {
+                if (wasLeader) {
+                    return asyncMap.replaceIfPresent(LEADER_KEY, nodeId, nodeId, leaseDuration);
+                }
+                return asyncMap.putIfAbsent(LEADER_KEY, nodeId, leaseDuration)
+                               .compose(holder -> {
+                                   if (holder == null) {
+                                       return Future.succeededFuture(true);
+                                   }
+                                   if (nodeId.equals(holder)) {
+                                       // 本节点的租约尚未过期，续约以刷新存活时间
+                                       return asyncMap.replaceIfPresent(LEADER_KEY, nodeId, nodeId, leaseDuration);
+                                   }
+                                   return Future.succeededFuture(false);
+                               });
+            })
+            .onComplete(ar -> {
+                if (ar.succeeded() && ar.result()) {
+                    leaseValidUntil = requestedAt + leaseDuration;
+                    if (!wasLeader) {
+                        logger.notice(x -> x
+                                .message("Sundial Leadership Acquired")
+                                .context("node", nodeId)
+                        );
+                    }
+                } else {
+                    leaseValidUntil = 0L;
+                    if (wasLeader && ar.failed()) {
+                        logger.warning(x -> x
+                                .exception(ar.cause())
+                                .message("Sundial Leadership Lost")
+                                .context("node", nodeId)
+                        );
+                    } else if (wasLeader) {
+                        logger.warning(x -> x
+                                .message("Sundial Leadership Lost")
+                                .context("node", nodeId)
+                        );
+                    }
+                }
+            });
+    }
+}
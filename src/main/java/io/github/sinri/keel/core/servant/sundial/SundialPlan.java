@@ -7,6 +7,7 @@ import io.github.sinri.keel.logger.api.factory.LoggerFactory;
 import io.github.sinri.keel.logger.api.logger.SpecificLogger;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.ThreadingModel;
 import org.jspecify.annotations.NullMarked;
 
@@ -19,16 +20,25 @@ import java.util.Calendar;
  */
 @NullMarked
 public interface SundialPlan {
+    /**
+     * 部署一个临时 Verticle 执行计划，执行结束后即卸载；不论计划的线程模型为何，总是部署。
+     * <p>
+     * 无论计划执行成功与否，临时 Verticle 都会被卸载；返回的结果在卸载完成（或卸载失败）后完成，并带有计划的执行结果。
+     *
+     * @param keel                  Keel 实例
+     * @param plan                  定时任务计划
+     * @param now                   本次运行对应的触发时间
+     * @param sundialSpecificLogger 日晷定时任务特定日志记录器
+     * @return 计划的执行结果
+     */
     static Future<Void> executeAndAwait(Keel keel, SundialPlan plan, Calendar now, SpecificLogger<SundialSpecificLog> sundialSpecificLogger) {
+        Promise<Void> executed = Promise.promise();
         KeelVerticleBase keelVerticleBase = KeelVerticleBase.wrap(
                 verticleBase -> {
                     verticleBase.getKeel().asyncSleep(1)
-                                .compose(v -> {
-                                    return plan.execute(keel, now, sundialSpecificLogger);
-                                })
-                                .compose(v -> {
-                                    return verticleBase.undeployMe();
-                                });
+                                .compose(v -> plan.execute(keel, now, sundialSpecificLogger))
+                                .onComplete(ar -> verticleBase.undeployMe()
+                                                              .onComplete(undeployed -> executed.handle(ar)));
 
                     return Future.succeededFuture();
                 }
@@ -38,9 +48,7 @@ public interface SundialPlan {
                                        new DeploymentOptions()
                                                .setThreadingModel(plan.expectedThreadingModel())
                                )
-                               .compose(deploymentId -> {
-                                   return keelVerticleBase.undeployed();
-                               });
+                               .compose(deploymentId -> executed.future());
     }
 
     static Future<Void> executeAndAwait(Keel keel, SundialPlan plan) {
@@ -59,7 +67,7 @@ public interface SundialPlan {
 
     /**
      *
-     * @return 任务计划 Cron 表达式，精确到分钟
+     * @return 任务计划 Cron 表达式，五段式精确到分钟，六段式精确到秒
      */
     KeelCronExpression cronExpression();
 
@@ -72,7 +80,26 @@ public interface SundialPlan {
      */
     Future<Void> execute(Keel keel, Calendar now, SpecificLogger<SundialSpecificLog> sundialSpecificLogger);
 
+    /**
+     * 任务计划期望的线程模型。
+     * <p>
+     * 由日晷触发时，{@link ThreadingModel#EVENT_LOOP} 的计划直接在日晷持有的常驻事件循环上下文中运行，不部署临时 Verticle，
+     * 因此不得阻塞，且与同一日晷的其他事件循环计划共用同一线程；
+     * 其他线程模型的计划每次触发时按此线程模型部署一个临时 Verticle 执行，执行结束后即卸载，
+     * 计划执行过程中的所有异步回调都在该 Verticle 的上下文中运行。
+     *
+     * @return 线程模型，默认为 {@link ThreadingModel#WORKER}
+     */
     default ThreadingModel expectedThreadingModel() {
         return ThreadingModel.WORKER;
     }
+
+    /**
+     * 任务计划的运行策略配置，每次触发时读取。
+     *
+     * @return 运行策略配置，默认为不限制并发、迟到仅补跑一次
+     */
+    default SundialPlanOptions options() {
+        return new SundialPlanOptions();
+    }
 }
@@ -0,0 +1,120 @@
+package io.github.sinri.keel.core.servant.sundial;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 定时任务计划集的变更。
+ * <p>
+ * 由 {@link Sundial#fetchPlansIfChangedSince(String)} 返回，有三种形态：
+ * <ul>
+ *     <li>未变更：计划快照保持不动；</li>
+ *     <li>全量快照：以给定的计划集覆盖当前的计划快照；</li>
+ *     <li>增量变更：仅新增、修改、删除给定的计划，开销与变更数量成正比。</li>
+ * </ul>
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+public final class SundialPlanDelta {
+    private final @Nullable String version;
+    private final boolean modified;
+    private final boolean snapshot;
+    private final Collection<SundialPlan> addedPlans;
+    private final Collection<SundialPlan> changedPlans;
+    private final Collection<String> removedPlanKeys;
+
+    private SundialPlanDelta(
+            @Nullable String version,
+            boolean modified,
+            boolean snapshot,
+            Collection<SundialPlan> addedPlans,
+            Collection<SundialPlan> changedPlans,
+            Collection<String> removedPlanKeys
+    ) {
+        this.version = version;
+        this.modified = modified;
+        this.snapshot = snapshot;
+        this.addedPlans = addedPlans;
+        this.changedPlans = changedPlans;
+        this.removedPlanKeys = removedPlanKeys;
+    }
+
+    /**
+     * @param version 当前的计划集版本，可以为 null 表示沿用已知版本
+     * @return 表示计划集未变更的实例
+     */
+    public static SundialPlanDelta notModified(@Nullable String version) {
+        return new SundialPlanDelta(version, false, false, List.of(), List.of(), List.of());
+    }
+
+    /**
+     * @param version 计划集版本，下次刷新时作为参数传入；可以为 null 表示不跟踪版本
+     * @param plans   完整的计划集
+     * @return 表示以给定计划集全量覆盖的实例
+     */
+    public static SundialPlanDelta snapshot(@Nullable String version, Collection<SundialPlan> plans) {
+        return new SundialPlanDelta(version, true, true, plans, List.of(), List.of());
+    }
+
+    /**
+     * @param version         计划集版本，下次刷新时作为参数传入
+     * @param addedPlans      新增的计划
+     * @param changedPlans    内容有修改的计划，按计划名称替换
+     * @param removedPlanKeys 删除的计划名称
+     * @return 表示增量变更的实例
+     */
+    public static SundialPlanDelta changes(
+            @Nullable String version,
+            Collection<SundialPlan> addedPlans,
+            Collection<SundialPlan> changedPlans,
+            Collection<String> removedPlanKeys
+    ) {
+        return new SundialPlanDelta(version, true, false, addedPlans, changedPlans, removedPlanKeys);
+    }
+
+    /**
+     * @return 计划集版本；为 null 时沿用已知版本
+     */
+    public @Nullable String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return 计划集是否有变更
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * @return 是否为全量快照；为全量快照时，{@link #getAddedPlans()} 即为完整的计划集
+     */
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return 新增的计划；全量快照时为完整的计划集
+     */
+    public Collection<SundialPlan> getAddedPlans() {
+        return addedPlans;
+    }
+
+    /**
+     * @return 内容有修改的计划
+     */
+    public Collection<SundialPlan> getChangedPlans() {
+        return changedPlans;
+    }
+
+    /**
+     * @return 删除的计划名称
+     */
+    public Collection<String> getRemovedPlanKeys() {
+        return removedPlanKeys;
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.sinri.keel.core.servant.sundial;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * 定时任务计划的运行策略配置。
+ * <p>
+ * 默认配置与早期行为保持一致：不限制同一计划的并发运行，迟到的触发仅补跑一次。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+public class SundialPlanOptions {
+    private OverlapPolicy overlapPolicy;
+    private int maxConcurrentRuns;
+    private int maxQueuedRuns;
+    private MisfirePolicy misfirePolicy;
+    private long misfireThreshold;
+    private int maxCatchUpRuns;
+
+    public SundialPlanOptions() {
+        this.overlapPolicy = OverlapPolicy.CONCURRENT;
+        this.maxConcurrentRuns = 0;
+        this.maxQueuedRuns = 16;
+        this.misfirePolicy = MisfirePolicy.FIRE_ONCE;
+        this.misfireThreshold = 5_000L;
+        this.maxCatchUpRuns = 100;
+    }
+
+    /**
+     * @return 上一次运行尚未结束时再次触发的处理策略
+     */
+    public OverlapPolicy getOverlapPolicy() {
+        return overlapPolicy;
+    }
+
+    /**
+     * @param overlapPolicy 上一次运行尚未结束时再次触发的处理策略
+     */
+    public SundialPlanOptions setOverlapPolicy(OverlapPolicy overlapPolicy) {
+        this.overlapPolicy = overlapPolicy;
+        return this;
+    }
+
+    /**
+     * @return 在 {@link OverlapPolicy#CONCURRENT} 策略下同一计划允许同时运行的数量；为 0 表示不限制
+     */
+    public int getMaxConcurrentRuns() {
+        return maxConcurrentRuns;
+    }
+
+    /**
+     * @param maxConcurrentRuns 在 {@link OverlapPolicy#CONCURRENT} 策略下同一计划允许同时运行的数量；为 0 表示不限制
+     */
+    public SundialPlanOptions setMaxConcurrentRuns(int maxConcurrentRuns) {
+        this.maxConcurrentRuns = maxConcurrentRuns;
+        return this;
+    }
+
+    /**
+     * @return 在 {@link OverlapPolicy#QUEUE} 策略下最多排队等待的触发数量，超出的触发将被丢弃
+     */
+    public int getMaxQueuedRuns() {
+        return maxQueuedRuns;
+    }
+
+    /**
+     * @param maxQueuedRuns 在 {@link OverlapPolicy#QUEUE} 策略下最多排队等待的触发数量，超出的触发将被丢弃
+     */
+    public SundialPlanOptions setMaxQueuedRuns(int maxQueuedRuns) {
+        this.maxQueuedRuns = maxQueuedRuns;
+        return this;
+    }
+
+    /**
+     * @return 触发迟到（例如 GC 停顿或线程阻塞导致）时的处理策略
+     */
+    public MisfirePolicy getMisfirePolicy() {
+        return misfirePolicy;
+    }
+
+    /**
+     * @param misfirePolicy 触发迟到（例如 GC 停顿或线程阻塞导致）时的处理策略
+     */
+    public SundialPlanOptions setMisfirePolicy(MisfirePolicy misfirePolicy) {
+        this.misfirePolicy = misfirePolicy;
+        return this;
+    }
+
+    /**
+     * @return 判定触发迟到的阈值，单位毫秒
+     */
+    public long getMisfireThreshold() {
+        return misfireThreshold;
+    }
+
+    /**
+     * @param misfireThreshold 判定触发迟到的阈值，单位毫秒
+     */
+    public SundialPlanOptions setMisfireThreshold(long misfireThreshold) {
+        this.misfireThreshold = misfireThreshold;
+        return this;
+    }
+
+    /**
+     * @return 在 {@link MisfirePolicy#FIRE_ALL} 策略下单次最多补跑的触发数量
+     */
+    public int getMaxCatchUpRuns() {
+        return maxCatchUpRuns;
+    }
+
+    /**
+     * @param maxCatchUpRuns 在 {@link MisfirePolicy#FIRE_ALL} 策略下单次最多补跑的触发数量
+     */
+    public SundialPlanOptions setMaxCatchUpRuns(int maxCatchUpRuns) {
+        this.maxCatchUpRuns = maxCatchUpRuns;
+        return this;
+    }
+
+    /**
+     * 同一计划的运行重叠策略。
+     */
+    public enum OverlapPolicy {
+        /**
+         * 上一次运行（或排队中的运行）尚未结束时，忽略本次触发。
+         */
+        SKIP_IF_RUNNING,
+        /**
+         * 上一次运行尚未结束时，本次触发排队，待前序运行结束后依次运行。
+         */
+        QUEUE,
+        /**
+         * 允许同时运行，数量受 {@link SundialPlanOptions#getMaxConcurrentRuns()} 限制，超出的触发将被忽略。
+         */
+        CONCURRENT
+    }
+
+    /**
+     * 触发迟到时的处理策略。
+     */
+    public enum MisfirePolicy {
+        /**
+         * 放弃迟到的触发，等待下一次按时的触发。
+         */
+        SKIP,
+        /**
+         * 迟到的触发补跑一次，期间错过的其他触发合并到这一次中。
+         */
+        FIRE_ONCE,
+        /**
+         * 迟到的触发以及期间错过的每一次触发都补跑，数量受 {@link SundialPlanOptions#getMaxCatchUpRuns()} 限制。
+         */
+        FIRE_ALL
+    }
+}
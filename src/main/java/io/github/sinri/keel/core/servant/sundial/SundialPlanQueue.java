@@ -0,0 +1,141 @@
+package io.github.sinri.keel.core.servant.sundial;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * 日晷的计划触发队列。
+ * <p>
+ * 以下次触发时间为序的最小堆，堆顶即为最早需要触发的计划；
+ * 计划的替换与移除采用惰性失效，过期的堆元素在出堆时丢弃，并在堆过度膨胀时整体重建。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+final class SundialPlanQueue {
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>(Comparator.comparingLong(Entry::fireAtMillis));
+    /**
+     * 各计划当前有效的堆元素，键为计划名称。
+     */
+    private final Map<String, Entry> activeEntries = new HashMap<>();
+
+    /**
+     * 为计划安排严格晚于给定时刻的下一次触发。
+     * <p>
+     * 如果该计划已有有效的触发安排且 Cron 表达式未变化，则仅替换计划实例，不改变已安排的触发时间。
+     *
+     * @param plan  定时任务计划
+     * @param after 起算时刻
+     */
+    synchronized void schedule(SundialPlan plan, Calendar after) {
+        Entry existing = activeEntries.get(plan.key());
+        String rawCron = plan.cronExpression().getRawCronExpression();
+        if (existing != null && existing.rawCron.equals(rawCron)) {
+            existing.plan = plan;
+            return;
+        }
+
+        Calendar next = plan.cronExpression().nextMatchAfter(after);
+        if (next == null) {
+            activeEntries.remove(plan.key());
+            return;
+        }
+        Entry entry = new Entry(plan, rawCron, next);
+        activeEntries.put(plan.key(), entry);
+        heap.add(entry);
+        compactIfNeeded();
+    }
+
+    /**
+     * 移除计划的触发安排。
+     *
+     * @param key 计划名称
+     */
+    synchronized void remove(String key) {
+        activeEntries.remove(key);
+        compactIfNeeded();
+    }
+
+    /**
+     * @return 最早的有效触发时间（毫秒时间戳）；队列为空时返回 null
+     */
+    synchronized @Nullable Long peekFireTime() {
+        Entry head = peekActive();
+        return head == null ? null : head.fireAtMillis();
+    }
+
+    /**
+     * 取出所有触发时间不晚于给定时刻的有效安排；取出后的计划需要重新调用 {@link #schedule(SundialPlan, Calendar)}
+     * 才会再次触发。
+     *
+     * @param nowMillis 当前时刻（毫秒时间戳）
+     * @return 按触发时间排序的到期安排
+     */
+    synchronized List<Entry> pollDue(long nowMillis) {
+        List<Entry> due = new ArrayList<>();
+        Entry head;
+        while ((head = peekActive()) != null && head.fireAtMillis() <= nowMillis) {
+            heap.poll();
+            activeEntries.remove(head.plan.key());
+            due.add(head);
+        }
+        return due;
+    }
+
+    /**
+     * @return 当前有效的计划安排数量
+     */
+    synchronized int size() {
+        return activeEntries.size();
+    }
+
+    private @Nullable Entry peekActive() {
+        Entry head;
+        while ((head = heap.peek()) != null && activeEntries.get(head.plan.key()) != head) {
+            heap.poll();
+        }
+        return head;
+    }
+
+    private void compactIfNeeded() {
+        if (heap.size() > 2 * activeEntries.size() + 16) {
+            heap.clear();
+            heap.addAll(activeEntries.values());
+        }
+    }
+
+    /**
+     * 一次计划触发安排。
+     */
+    @NullMarked
+    static final class Entry {
+        private final String rawCron;
+        private final Calendar fireAt;
+        private final long fireAtMillis;
+        private SundialPlan plan;
+
+        private Entry(SundialPlan plan, String rawCron, Calendar fireAt) {
+            this.plan = plan;
+            this.rawCron = rawCron;
+            this.fireAt = fireAt;
+            this.fireAtMillis = fireAt.getTimeInMillis();
+        }
+
+        SundialPlan plan() {
+            return plan;
+        }
+
+        /**
+         * @return 计划触发时刻，不应被修改
+         */
+        Calendar fireAt() {
+            return fireAt;
+        }
+
+        long fireAtMillis() {
+            return fireAtMillis;
+        }
+    }
+}
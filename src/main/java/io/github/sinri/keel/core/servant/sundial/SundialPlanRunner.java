@@ -0,0 +1,209 @@
+package io.github.sinri.keel.core.servant.sundial;
+
+import io.github.sinri.keel.base.async.Keel;
+import io.github.sinri.keel.core.utils.cron.ParsedCalenderElements;
+import io.github.sinri.keel.logger.api.logger.SpecificLogger;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.ThreadingModel;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.*;
+
+/**
+ * 日晷的计划运行器。
+ * <p>
+ * 按照计划的 {@link SundialPlanOptions} 处理迟到补跑与重叠运行，并在全局层面限制同时运行的计划数量；
+ * 超出全局限制的运行按触发顺序排队等待空位。
+ * <p>
+ * 线程模型为 {@link ThreadingModel#EVENT_LOOP} 的计划直接在日晷持有的事件循环上下文中运行；
+ * 其他线程模型的计划每次运行时部署一个临时 Verticle，见 {@link SundialPlan#executeAndAwait}。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+final class SundialPlanRunner {
+    private final Keel keel;
+    private final SpecificLogger<SundialSpecificLog> logger;
+    /**
+     * 事件循环计划运行所在的上下文。
+     */
+    private final Context eventLoopContext;
+    private final int maxConcurrentRuns;
+    private final Map<String, PlanRunState> planRunStates = new HashMap<>();
+    private final Deque<PendingRun> pendingRuns = new ArrayDeque<>();
+    private int runningCount = 0;
+
+    /**
+     * @param keel              运行计划的 Keel 实例
+     * @param logger            日晷定时任务特定日志记录器
+     * @param maxConcurrentRuns 全局同时运行的计划数量限制；为 0 表示不限制
+     * @param eventLoopContext  事件循环计划运行所在的事件循环上下文
+     */
+    SundialPlanRunner(Keel keel, SpecificLogger<SundialSpecificLog> logger, int maxConcurrentRuns, Context eventLoopContext) {
+        this.keel = keel;
+        this.logger = logger;
+        this.maxConcurrentRuns = maxConcurrentRuns;
+        this.eventLoopContext = eventLoopContext;
+    }
+
+    /**
+     * 处理一次到期的计划触发。
+     *
+     * @param plan      到期的计划
+     * @param fireAt    计划的触发时刻
+     * @param nowMillis 实际处理的时刻（毫秒时间戳），用于判定迟到
+     */
+    synchronized void dispatch(SundialPlan plan, Calendar fireAt, long nowMillis) {
+        SundialPlanOptions options = plan.options();
+        if (nowMillis - fireAt.getTimeInMillis() <= options.getMisfireThreshold()) {
+            accept(plan, options, fireAt);
+            return;
+        }
+
+        switch (options.getMisfirePolicy()) {
+            case SKIP -> logger.warning(x -> x
+                    .message("Sundial Plan Misfired, skipped")
+                    .context("plan_key", plan.key())
+                    .context("fire_at", new ParsedCalenderElements(fireAt).toString())
+            );
+            case FIRE_ONCE -> accept(plan, options, fireAt);
+            case FIRE_ALL -> {
+                Calendar missed = fireAt;
+                for (int i = 0; i < options.getMaxCatchUpRuns(); i++) {
+                    accept(plan, options, missed);
+                    missed = plan.cronExpression().nextMatchAfter(missed);
+                    if (missed == null || missed.getTimeInMillis() > nowMillis) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private void accept(SundialPlan plan, SundialPlanOptions options, Calendar fireAt) {
+        PlanRunState state = planRunStates.computeIfAbsent(plan.key(), k -> new PlanRunState(plan));
+        state.plan = plan;
+        int active = state.running + state.waiting + state.queued.size();
+        switch (options.getOverlapPolicy()) {
+            case SKIP_IF_RUNNING -> {
+                if (active > 0) {
+                    logOverlapSkipped(plan, fireAt);
+                    return;
+                }
+            }
+            case QUEUE -> {
+                if (active > 0) {
+                    if (state.queued.size() >= options.getMaxQueuedRuns()) {
+                        logOverlapSkipped(plan, fireAt);
+                    } else {
+                        state.queued.add(fireAt);
+                    }
+                    return;
+                }
+            }
+            case CONCURRENT -> {
+                if (options.getMaxConcurrentRuns() > 0 && active >= options.getMaxConcurrentRuns()) {
+                    logOverlapSkipped(plan, fireAt);
+                    return;
+                }
+            }
+        }
+        submit(plan, state, fireAt);
+    }
+
+    private void submit(SundialPlan plan, PlanRunState state, Calendar fireAt) {
+        if (maxConcurrentRuns > 0 && runningCount >= maxConcurrentRuns) {
+            state.waiting++;
+            pendingRuns.add(new PendingRun(plan, state, fireAt));
+            return;
+        }
+        start(plan, state, fireAt);
+    }
+
+    private void start(SundialPlan plan, PlanRunState state, Calendar fireAt) {
+        runningCount++;
+        state.running++;
+        execute(plan, fireAt)
+                .onComplete(ar -> {
+                    if (ar.failed()) {
+                        logger.error(log -> log
+                                .exception(ar.cause())
+                                .message("Sundial Plan Failed")
+                                .context("plan_key", plan.key())
+                        );
+                    } else {
+                        logger.info(log -> log
+                                .message("Sundial Plan Executed")
+                                .context("plan_key", plan.key())
+                        );
+                    }
+                    finish(plan.key(), state);
+                });
+    }
+
+    private synchronized void finish(String planKey, PlanRunState state) {
+        runningCount--;
+        state.running--;
+
+        if (state.running == 0 && state.waiting == 0) {
+            Calendar queuedFireAt = state.queued.poll();
+            if (queuedFireAt != null) {
+                submit(state.plan, state, queuedFireAt);
+            }
+        }
+
+        while (maxConcurrentRuns <= 0 || runningCount < maxConcurrentRuns) {
+            PendingRun pendingRun = pendingRuns.poll();
+            if (pendingRun == null) {
+                break;
+            }
+            pendingRun.state.waiting--;
+            start(pendingRun.plan, pendingRun.state, pendingRun.fireAt);
+        }
+
+        if (state.running == 0 && state.waiting == 0 && state.queued.isEmpty()) {
+            planRunStates.remove(planKey, state);
+        }
+    }
+
+    private Future<Void> execute(SundialPlan plan, Calendar fireAt) {
+        if (plan.expectedThreadingModel() != ThreadingModel.EVENT_LOOP) {
+            return Future.succeededFuture()
+                         .compose(v -> SundialPlan.executeAndAwait(keel, plan, fireAt, logger));
+        }
+        // 事件循环计划不需要独立的上下文，直接在日晷持有的事件循环上下文中运行，省去每次部署与卸载临时 Verticle
+        Promise<Void> promise = Promise.promise();
+        eventLoopContext.runOnContext(x -> Future.succeededFuture()
+                                        .compose(v -> plan.execute(keel, fireAt, logger))
+                                        .onComplete(promise));
+        return promise.future();
+    }
+
+    private void logOverlapSkipped(SundialPlan plan, Calendar fireAt) {
+        logger.warning(x -> x
+                .message("Sundial Plan Overlapped, skipped")
+                .context("plan_key", plan.key())
+                .context("fire_at", new ParsedCalenderElements(fireAt).toString())
+        );
+    }
+
+    /**
+     * 单个计划的运行状态。
+     */
+    @NullMarked
+    private static final class PlanRunState {
+        private final Deque<Calendar> queued = new ArrayDeque<>();
+        private SundialPlan plan;
+        private int running = 0;
+        private int waiting = 0;
+
+        private PlanRunState(SundialPlan plan) {
+            this.plan = plan;
+        }
+    }
+
+    private record PendingRun(SundialPlan plan, PlanRunState state, Calendar fireAt) {
+    }
+}
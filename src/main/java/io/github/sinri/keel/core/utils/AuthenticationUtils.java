@@ -4,6 +4,7 @@ import io.github.sinri.keel.core.utils.authenticator.googleauth.GoogleAuthentica
 import io.github.sinri.keel.core.utils.authenticator.googleauth.async.AsyncGoogleAuthenticator;
 import io.github.sinri.keel.core.utils.authenticator.googleauth.sync.GoogleAuthenticator;
 import io.github.sinri.keel.core.utils.encryption.bcrypt.BCrypt;
+import io.github.sinri.keel.core.utils.encryption.bcrypt.BCryptService;
 import io.vertx.core.Handler;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
@@ -25,6 +26,7 @@ public class AuthenticationUtils {
     /**
      * 使用 BCrypt 算法对密码进行哈希处理。
      * <p>此方法类似于 PHP 的 password_hash 函数，使用 BCrypt 算法生成密码哈希值。
+     * <p>此方法在调用线程中同步计算；在事件循环中应改用 {@link BCryptService}。
      *
      * @param password 待哈希的原始密码
      * @return 哈希后的密码字符串
@@ -37,6 +39,7 @@ public class AuthenticationUtils {
     /**
      * 验证密码是否与哈希值匹配。
      * <p>此方法类似于 PHP 的 password_verify 函数，使用 BCrypt 算法验证密码。
+     * <p>此方法在调用线程中同步计算；在事件循环中应改用 {@link BCryptService}。
      *
      * @param password 待验证的原始密码
      * @param hash     已存储的密码哈希值
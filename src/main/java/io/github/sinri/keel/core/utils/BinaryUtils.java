@@ -1,13 +1,20 @@
 package io.github.sinri.keel.core.utils;
 
 import io.github.sinri.keel.core.utils.encryption.base32.Base32;
+import io.github.sinri.keel.core.utils.io.internal.BufferIO;
 import io.vertx.core.buffer.Buffer;
 import org.jspecify.annotations.NullMarked;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Base64;
 
 /**
  * 二进制工具类。
+ * <p>
+ * 十六进制、Base64 与 Base32 编解码除返回新字符串或新数组的方法外，还提供写入调用方给定的
+ * {@code char[]}、{@link ByteBuffer} 与 {@link Buffer} 的方法；这些方法以查表方式成组处理，不产生中间对象。
  *
  * @since 5.0.0
  */
@@ -15,19 +22,85 @@ import java.util.Base64;
 public class BinaryUtils {
     final static char[] HEX_DIGITS_LOWER = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
     final static char[] HEX_DIGITS_UPPER = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+    private final static byte[] HEX_BYTES_LOWER = new byte[16];
+    private final static byte[] HEX_BYTES_UPPER = new byte[16];
+    /**
+     * 十六进制字符到数值的查找表，以字符本身为索引，非法字符为 -1；大小写均可。
+     */
+    private final static byte[] HEX_LOOKUP = new byte[128];
+    private final static char[] BASE64_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private final static byte[] BASE64_BYTES = new byte[64];
+    /**
+     * Base64 字符到数值的查找表，以字符本身为索引，非法字符（包括填充字符）为 -1。
+     */
+    private final static byte[] BASE64_LOOKUP = new byte[128];
+
+    static {
+        Arrays.fill(HEX_LOOKUP, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_BYTES_LOWER[i] = (byte) HEX_DIGITS_LOWER[i];
+            HEX_BYTES_UPPER[i] = (byte) HEX_DIGITS_UPPER[i];
+            HEX_LOOKUP[HEX_DIGITS_LOWER[i]] = (byte) i;
+            HEX_LOOKUP[HEX_DIGITS_UPPER[i]] = (byte) i;
+        }
+        Arrays.fill(BASE64_LOOKUP, (byte) -1);
+        for (int i = 0; i < 64; i++) {
+            BASE64_BYTES[i] = (byte) BASE64_CHARS[i];
+            BASE64_LOOKUP[BASE64_CHARS[i]] = (byte) i;
+        }
+    }
 
     private BinaryUtils() {
     }
 
     private static String encodeHexWithDigits(final char[] HEX_DIGITS, Buffer buffer, int since, int length) {
-        StringBuilder hex = new StringBuilder();
-        for (int i = since; i < since + length; i++) {
-            hex
-                    .append(HEX_DIGITS[(0xF0 & buffer.getByte(i)) >>> 4])
-                    .append(HEX_DIGITS[0x0F & buffer.getByte(i)])
-            ;
+        char[] hex = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.getByte(since + i);
+            hex[i * 2] = HEX_DIGITS[(0xF0 & b) >>> 4];
+            hex[i * 2 + 1] = HEX_DIGITS[0x0F & b];
+        }
+        return new String(hex);
+    }
+
+    private static int encodeHexWithDigits(final char[] HEX_DIGITS, byte[] data, int since, int length, char[] target, int targetOffset) {
+        if (target.length - targetOffset < length * 2) {
+            throw new IndexOutOfBoundsException("Target has no room for " + (length * 2) + " hex digits");
+        }
+        for (int i = 0; i < length; i++) {
+            byte b = data[since + i];
+            target[targetOffset + i * 2] = HEX_DIGITS[(0xF0 & b) >>> 4];
+            target[targetOffset + i * 2 + 1] = HEX_DIGITS[0x0F & b];
         }
-        return hex.toString();
+        return length * 2;
+    }
+
+    /**
+     * 将字节数组的指定部分以小写十六进制写入给定的字符数组，不产生任何内存分配。
+     *
+     * @param data         待编码的字节数组
+     * @param since        起始索引位置
+     * @param length       要编码的字节长度
+     * @param target       写入的字符数组，需有 {@code length * 2} 个字符的空间
+     * @param targetOffset 字符数组中的写入起始位置
+     * @return 写入的字符数
+     */
+    public static int encodeHexWithLowerDigits(byte[] data, int since, int length, char[] target, int targetOffset) {
+        return encodeHexWithDigits(HEX_DIGITS_LOWER, data, since, length, target, targetOffset);
+    }
+
+    /**
+     * 将字节数组的指定部分以大写十六进制写入给定的字符数组，不产生任何内存分配。
+     *
+     * @param data         待编码的字节数组
+     * @param since        起始索引位置
+     * @param length       要编码的字节长度
+     * @param target       写入的字符数组，需有 {@code length * 2} 个字符的空间
+     * @param targetOffset 字符数组中的写入起始位置
+     * @return 写入的字符数
+     */
+    public static int encodeHexWithUpperDigits(byte[] data, int since, int length, char[] target, int targetOffset) {
+        return encodeHexWithDigits(HEX_DIGITS_UPPER, data, since, length, target, targetOffset);
     }
 
     /**
@@ -38,7 +111,9 @@ public class BinaryUtils {
      * @return 十六进制字符串（小写）
      */
     public static String encodeHexWithLowerDigits(final byte[] data) {
-        return encodeHexWithLowerDigits(Buffer.buffer(data));
+        char[] hex = new char[data.length * 2];
+        encodeHexWithLowerDigits(data, 0, data.length, hex, 0);
+        return new String(hex);
     }
 
     /**
@@ -73,7 +148,9 @@ public class BinaryUtils {
      * @return 十六进制字符串（大写）
      */
     public static String encodeHexWithUpperDigits(final byte[] data) {
-        return encodeHexWithUpperDigits(Buffer.buffer(data));
+        char[] hex = new char[data.length * 2];
+        encodeHexWithUpperDigits(data, 0, data.length, hex, 0);
+        return new String(hex);
     }
 
     /**
@@ -178,4 +255,462 @@ public class BinaryUtils {
     public static String decodeWithBase32ToString(byte[] bytes) {
         return new String(decodeWithBase32(bytes));
     }
+
+    private static int encodeHexWithDigits(final byte[] HEX_BYTES, ByteBuffer source, ByteBuffer target) {
+        int since = source.position(), length = source.remaining();
+        if (target.remaining() < length * 2) {
+            throw new BufferOverflowException();
+        }
+        int offset = target.position();
+        for (int i = 0; i < length; i++) {
+            int b = source.get(since + i);
+            target.put(offset++, HEX_BYTES[(b >> 4) & 0x0F]);
+            target.put(offset++, HEX_BYTES[b & 0x0F]);
+        }
+        source.position(since + length);
+        target.position(offset);
+        return length * 2;
+    }
+
+    /**
+     * 将源 ByteBuffer 的剩余字节以小写十六进制 ASCII 字符写入目标 ByteBuffer，两者的位置随之前移，不产生任何内存分配。
+     *
+     * @param source 待编码的字节
+     * @param target 写入的目标，需有 {@code source.remaining() * 2} 字节的剩余空间
+     * @return 写入的字节数
+     * @throws BufferOverflowException 如果目标的剩余空间不足
+     */
+    public static int encodeHexWithLowerDigits(ByteBuffer source, ByteBuffer target) {
+        return encodeHexWithDigits(HEX_BYTES_LOWER, source, target);
+    }
+
+    /**
+     * 将源 ByteBuffer 的剩余字节以大写十六进制 ASCII 字符写入目标 ByteBuffer，两者的位置随之前移，不产生任何内存分配。
+     *
+     * @param source 待编码的字节
+     * @param target 写入的目标，需有 {@code source.remaining() * 2} 字节的剩余空间
+     * @return 写入的字节数
+     * @throws BufferOverflowException 如果目标的剩余空间不足
+     */
+    public static int encodeHexWithUpperDigits(ByteBuffer source, ByteBuffer target) {
+        return encodeHexWithDigits(HEX_BYTES_UPPER, source, target);
+    }
+
+    /**
+     * 将源 Buffer 的全部字节以小写十六进制 ASCII 字符追加到目标 Buffer 的末尾。
+     *
+     * @param source 待编码的 Buffer
+     * @param target 追加写入的目标 Buffer
+     * @return 写入的字节数
+     */
+    public static int encodeHexWithLowerDigits(Buffer source, Buffer target) {
+        return BufferIO.append(target, source.length() * 2, window -> encodeHexWithDigits(HEX_BYTES_LOWER, BufferIO.readableByteBuffer(source), window));
+    }
+
+    /**
+     * 将源 Buffer 的全部字节以大写十六进制 ASCII 字符追加到目标 Buffer 的末尾。
+     *
+     * @param source 待编码的 Buffer
+     * @param target 追加写入的目标 Buffer
+     * @return 写入的字节数
+     */
+    public static int encodeHexWithUpperDigits(Buffer source, Buffer target) {
+        return BufferIO.append(target, source.length() * 2, window -> encodeHexWithDigits(HEX_BYTES_UPPER, BufferIO.readableByteBuffer(source), window));
+    }
+
+    private static int hexDigit(int c) {
+        return c < 128 ? HEX_LOOKUP[c] : -1;
+    }
+
+    /**
+     * 将十六进制字符序列的指定部分解码后写入给定的字节数组，大小写均可，不产生任何内存分配。
+     *
+     * @param hex          十六进制字符序列
+     * @param since        起始索引位置
+     * @param length       要解码的字符数，须为偶数
+     * @param target       写入的字节数组，需有 {@code length / 2} 字节的空间
+     * @param targetOffset 字节数组中的写入起始位置
+     * @return 写入的字节数
+     * @throws IllegalArgumentException  如果长度为奇数或含有非十六进制字符
+     * @throws IndexOutOfBoundsException 如果字节数组的空间不足
+     */
+    public static int decodeHex(CharSequence hex, int since, int length, byte[] target, int targetOffset) {
+        if ((length & 1) != 0) {
+            throw new IllegalArgumentException("Hex string length must be even");
+        }
+        int decodedLength = length / 2;
+        if (target.length - targetOffset < decodedLength) {
+            throw new IndexOutOfBoundsException("Target has no room for " + decodedLength + " bytes");
+        }
+        for (int i = 0; i < decodedLength; i++) {
+            int high = hexDigit(hex.charAt(since + i * 2));
+            int low = hexDigit(hex.charAt(since + i * 2 + 1));
+            if ((high | low) < 0) {
+                throw new IllegalArgumentException("Invalid hex character");
+            }
+            target[targetOffset + i] = (byte) ((high << 4) | low);
+        }
+        return decodedLength;
+    }
+
+    /**
+     * 将源 ByteBuffer 中剩余的十六进制 ASCII 字符解码后写入目标 ByteBuffer，大小写均可，不产生任何内存分配；
+     * 仅在解码成功时前移两者的位置。
+     *
+     * @param source 十六进制 ASCII 字符
+     * @param target 写入的目标，需有 {@code source.remaining() / 2} 字节的剩余空间
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 如果长度为奇数或含有非十六进制字符
+     * @throws BufferOverflowException  如果目标的剩余空间不足
+     */
+    public static int decodeHex(ByteBuffer source, ByteBuffer target) {
+        int since = source.position(), length = source.remaining();
+        if ((length & 1) != 0) {
+            throw new IllegalArgumentException("Hex string length must be even");
+        }
+        int decodedLength = length / 2;
+        if (target.remaining() < decodedLength) {
+            throw new BufferOverflowException();
+        }
+        int offset = target.position();
+        for (int i = 0; i < decodedLength; i++) {
+            int high = hexDigit(source.get(since + i * 2) & 0xff);
+            int low = hexDigit(source.get(since + i * 2 + 1) & 0xff);
+            if ((high | low) < 0) {
+                throw new IllegalArgumentException("Invalid hex character");
+            }
+            target.put(offset + i, (byte) ((high << 4) | low));
+        }
+        source.position(since + length);
+        target.position(offset + decodedLength);
+        return decodedLength;
+    }
+
+    /**
+     * 将源 Buffer 中的十六进制 ASCII 字符解码后追加到目标 Buffer 的末尾；解码失败时目标 Buffer 保持不变。
+     *
+     * @param source 十六进制 ASCII 字符
+     * @param target 追加写入的目标 Buffer
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 如果长度为奇数或含有非十六进制字符
+     */
+    public static int decodeHex(Buffer source, Buffer target) {
+        return BufferIO.append(target, source.length() / 2, window -> decodeHex(BufferIO.readableByteBuffer(source), window));
+    }
+
+    /**
+     * @param byteLength 待编码的字节数
+     * @return 按带填充的标准 Base64 编码后的字符数
+     */
+    public static int getBase64EncodedLength(int byteLength) {
+        return (byteLength + 2) / 3 * 4;
+    }
+
+    /**
+     * 将字节数组的指定部分按带填充的标准 Base64（与 {@link Base64#getEncoder()} 一致）写入给定的字符数组，不产生任何内存分配。
+     *
+     * @param data         待编码的字节数组
+     * @param since        起始索引位置
+     * @param length       要编码的字节长度
+     * @param target       写入的字符数组，需有 {@link #getBase64EncodedLength(int)} 个字符的空间
+     * @param targetOffset 字符数组中的写入起始位置
+     * @return 写入的字符数
+     * @throws IndexOutOfBoundsException 如果字符数组的空间不足
+     */
+    public static int encodeWithBase64(byte[] data, int since, int length, char[] target, int targetOffset) {
+        int encodedLength = getBase64EncodedLength(length);
+        if (target.length - targetOffset < encodedLength) {
+            throw new IndexOutOfBoundsException("Target has no room for " + encodedLength + " characters");
+        }
+        int i = since, end = since + length, offset = targetOffset;
+        for (; end - i >= 3; i += 3) {
+            int v = ((data[i] & 0xff) << 16) | ((data[i + 1] & 0xff) << 8) | (data[i + 2] & 0xff);
+            target[offset++] = BASE64_CHARS[v >>> 18];
+            target[offset++] = BASE64_CHARS[(v >>> 12) & 0x3F];
+            target[offset++] = BASE64_CHARS[(v >>> 6) & 0x3F];
+            target[offset++] = BASE64_CHARS[v & 0x3F];
+        }
+        int rest = end - i;
+        if (rest > 0) {
+            int v = (data[i] & 0xff) << 16;
+            if (rest == 2) {
+                v |= (data[i + 1] & 0xff) << 8;
+            }
+            target[offset++] = BASE64_CHARS[v >>> 18];
+            target[offset++] = BASE64_CHARS[(v >>> 12) & 0x3F];
+            target[offset++] = rest == 2 ? BASE64_CHARS[(v >>> 6) & 0x3F] : '=';
+            target[offset++] = '=';
+        }
+        return offset - targetOffset;
+    }
+
+    /**
+     * 将源 ByteBuffer 的剩余字节按带填充的标准 Base64 以 ASCII 字符写入目标 ByteBuffer，两者的位置随之前移，不产生任何内存分配。
+     *
+     * @param source 待编码的字节
+     * @param target 写入的目标，需有 {@link #getBase64EncodedLength(int)} 字节的剩余空间
+     * @return 写入的字节数
+     * @throws BufferOverflowException 如果目标的剩余空间不足
+     */
+    public static int encodeWithBase64(ByteBuffer source, ByteBuffer target) {
+        int i = source.position(), end = source.limit();
+        int encodedLength = getBase64EncodedLength(end - i);
+        if (target.remaining() < encodedLength) {
+            throw new BufferOverflowException();
+        }
+        int offset = target.position();
+        for (; end - i >= 3; i += 3) {
+            int v = ((source.get(i) & 0xff) << 16) | ((source.get(i + 1) & 0xff) << 8) | (source.get(i + 2) & 0xff);
+            target.put(offset++, BASE64_BYTES[v >>> 18]);
+            target.put(offset++, BASE64_BYTES[(v >>> 12) & 0x3F]);
+            target.put(offset++, BASE64_BYTES[(v >>> 6) & 0x3F]);
+            target.put(offset++, BASE64_BYTES[v & 0x3F]);
+        }
+        int rest = end - i;
+        if (rest > 0) {
+            int v = (source.get(i) & 0xff) << 16;
+            if (rest == 2) {
+                v |= (source.get(i + 1) & 0xff) << 8;
+            }
+            target.put(offset++, BASE64_BYTES[v >>> 18]);
+            target.put(offset++, BASE64_BYTES[(v >>> 12) & 0x3F]);
+            target.put(offset++, rest == 2 ? BASE64_BYTES[(v >>> 6) & 0x3F] : (byte) '=');
+            target.put(offset++, (byte) '=');
+        }
+        source.position(end);
+        target.position(offset);
+        return encodedLength;
+    }
+
+    /**
+     * 将源 Buffer 的全部字节按带填充的标准 Base64 以 ASCII 字符追加到目标 Buffer 的末尾。
+     *
+     * @param source 待编码的 Buffer
+     * @param target 追加写入的目标 Buffer
+     * @return 写入的字节数
+     */
+    public static int encodeWithBase64(Buffer source, Buffer target) {
+        return BufferIO.append(target, getBase64EncodedLength(source.length()), window -> encodeWithBase64(BufferIO.readableByteBuffer(source), window));
+    }
+
+    private static int base64Digit(int c) {
+        return c < 128 ? BASE64_LOOKUP[c] : -1;
+    }
+
+    /**
+     * 计算 Base64 字符去掉末尾填充后的有效长度；规则与 {@link Base64#getDecoder()} 一致：填充可以省略，但出现时须补齐到 4 的倍数。
+     *
+     * @param length  字符总数
+     * @param padding 末尾的填充字符数
+     * @return 有效字符数
+     */
+    private static int base64DataLength(int length, int padding) {
+        int dataLength = length - padding;
+        if ((padding > 0 && (length & 3) != 0) || (dataLength & 3) == 1) {
+            throw new IllegalArgumentException("Invalid Base64 length");
+        }
+        return dataLength;
+    }
+
+    private static int base64DecodedLength(int dataLength) {
+        return dataLength / 4 * 3 + ((dataLength & 3) == 0 ? 0 : (dataLength & 3) - 1);
+    }
+
+    /**
+     * 将标准 Base64 字符序列的指定部分解码后写入给定的字节数组，不产生任何内存分配；
+     * 与 {@link Base64#getDecoder()} 一样，末尾的填充可以省略。
+     *
+     * @param base64       Base64 字符序列
+     * @param since        起始索引位置
+     * @param length       要解码的字符数
+     * @param target       写入的字节数组，需有 {@code length / 4 * 3} 字节的空间
+     * @param targetOffset 字节数组中的写入起始位置
+     * @return 写入的字节数
+     * @throws IllegalArgumentException  如果不是合法的 Base64
+     * @throws IndexOutOfBoundsException 如果字节数组的空间不足
+     */
+    public static int decodeWithBase64(CharSequence base64, int since, int length, byte[] target, int targetOffset) {
+        int padding = 0;
+        while (padding < 2 && padding < length && base64.charAt(since + length - 1 - padding) == '=') {
+            padding++;
+        }
+        int dataLength = base64DataLength(length, padding);
+        int decodedLength = base64DecodedLength(dataLength);
+        if (target.length - targetOffset < decodedLength) {
+            throw new IndexOutOfBoundsException("Target has no room for " + decodedLength + " bytes");
+        }
+        int i = since, end = since + dataLength, offset = targetOffset;
+        for (; end - i >= 4; i += 4) {
+            int d0 = base64Digit(base64.charAt(i)), d1 = base64Digit(base64.charAt(i + 1)),
+                    d2 = base64Digit(base64.charAt(i + 2)), d3 = base64Digit(base64.charAt(i + 3));
+            if ((d0 | d1 | d2 | d3) < 0) {
+                throw new IllegalArgumentException("Invalid Base64 character");
+            }
+            int v = (d0 << 18) | (d1 << 12) | (d2 << 6) | d3;
+            target[offset++] = (byte) (v >> 16);
+            target[offset++] = (byte) (v >> 8);
+            target[offset++] = (byte) v;
+        }
+        int rest = end - i;
+        if (rest > 0) {
+            int d0 = base64Digit(base64.charAt(i)), d1 = base64Digit(base64.charAt(i + 1)),
+                    d2 = rest == 3 ? base64Digit(base64.charAt(i + 2)) : 0;
+            if ((d0 | d1 | d2) < 0) {
+                throw new IllegalArgumentException("Invalid Base64 character");
+            }
+            int v = (d0 << 18) | (d1 << 12) | (d2 << 6);
+            target[offset++] = (byte) (v >> 16);
+            if (rest == 3) {
+                target[offset++] = (byte) (v >> 8);
+            }
+        }
+        return offset - targetOffset;
+    }
+
+    /**
+     * 将源 ByteBuffer 中剩余的标准 Base64 ASCII 字符解码后写入目标 ByteBuffer，不产生任何内存分配；
+     * 仅在解码成功时前移两者的位置。与 {@link Base64#getDecoder()} 一样，末尾的填充可以省略。
+     *
+     * @param source Base64 ASCII 字符
+     * @param target 写入的目标，需有足够的剩余空间（不超过 {@code source.remaining() / 4 * 3} 字节）
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 如果不是合法的 Base64
+     * @throws BufferOverflowException  如果目标的剩余空间不足
+     */
+    public static int decodeWithBase64(ByteBuffer source, ByteBuffer target) {
+        int since = source.position(), length = source.remaining();
+        int padding = 0;
+        while (padding < 2 && padding < length && source.get(since + length - 1 - padding) == '=') {
+            padding++;
+        }
+        int dataLength = base64DataLength(length, padding);
+        int decodedLength = base64DecodedLength(dataLength);
+        if (target.remaining() < decodedLength) {
+            throw new BufferOverflowException();
+        }
+        int i = since, end = since + dataLength, offset = target.position();
+        for (; end - i >= 4; i += 4) {
+            int d0 = base64Digit(source.get(i) & 0xff), d1 = base64Digit(source.get(i + 1) & 0xff),
+                    d2 = base64Digit(source.get(i + 2) & 0xff), d3 = base64Digit(source.get(i + 3) & 0xff);
+            if ((d0 | d1 | d2 | d3) < 0) {
+                throw new IllegalArgumentException("Invalid Base64 character");
+            }
+            int v = (d0 << 18) | (d1 << 12) | (d2 << 6) | d3;
+            target.put(offset++, (byte) (v >> 16));
+            target.put(offset++, (byte) (v >> 8));
+            target.put(offset++, (byte) v);
+        }
+        int rest = end - i;
+        if (rest > 0) {
+            int d0 = base64Digit(source.get(i) & 0xff), d1 = base64Digit(source.get(i + 1) & 0xff),
+                    d2 = rest == 3 ? base64Digit(source.get(i + 2) & 0xff) : 0;
+            if ((d0 | d1 | d2) < 0) {
+                throw new IllegalArgumentException("Invalid Base64 character");
+            }
+            int v = (d0 << 18) | (d1 << 12) | (d2 << 6);
+            target.put(offset++, (byte) (v >> 16));
+            if (rest == 3) {
+                target.put(offset++, (byte) (v >> 8));
+            }
+        }
+        source.position(since + length);
+        target.position(offset);
+        return decodedLength;
+    }
+
+    /**
+     * 将源 Buffer 中的标准 Base64 ASCII 字符解码后追加到目标 Buffer 的末尾；解码失败时目标 Buffer 保持不变。
+     *
+     * @param source Base64 ASCII 字符
+     * @param target 追加写入的目标 Buffer
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 如果不是合法的 Base64
+     */
+    public static int decodeWithBase64(Buffer source, Buffer target) {
+        ByteBuffer view = BufferIO.readableByteBuffer(source);
+        int length = view.remaining();
+        int padding = 0;
+        while (padding < 2 && padding < length && view.get(view.position() + length - 1 - padding) == '=') {
+            padding++;
+        }
+        return BufferIO.append(target, base64DecodedLength(base64DataLength(length, padding)), window -> decodeWithBase64(view, window));
+    }
+
+    /**
+     * 将字节数组的指定部分按 Base32 写入给定的字符数组，不产生任何内存分配。
+     *
+     * @param data         待编码的字节数组
+     * @param since        起始索引位置
+     * @param length       要编码的字节长度
+     * @param target       写入的字符数组，需有 {@link Base32#getEncodedLength(int)} 个字符的空间
+     * @param targetOffset 字符数组中的写入起始位置
+     * @return 写入的字符数
+     * @see Base32#encode(byte[], int, int, char[], int)
+     */
+    public static int encodeWithBase32(byte[] data, int since, int length, char[] target, int targetOffset) {
+        return Base32.encode(data, since, length, target, targetOffset);
+    }
+
+    /**
+     * 将源 ByteBuffer 的剩余字节按 Base32 以 ASCII 字符写入目标 ByteBuffer，两者的位置随之前移，不产生任何内存分配。
+     *
+     * @param source 待编码的字节
+     * @param target 写入的目标，需有 {@link Base32#getEncodedLength(int)} 字节的剩余空间
+     * @return 写入的字节数
+     * @see Base32#encode(ByteBuffer, ByteBuffer)
+     */
+    public static int encodeWithBase32(ByteBuffer source, ByteBuffer target) {
+        return Base32.encode(source, target);
+    }
+
+    /**
+     * 将源 Buffer 的全部字节按 Base32 以 ASCII 字符追加到目标 Buffer 的末尾。
+     *
+     * @param source 待编码的 Buffer
+     * @param target 追加写入的目标 Buffer
+     * @return 写入的字节数
+     */
+    public static int encodeWithBase32(Buffer source, Buffer target) {
+        return BufferIO.append(target, Base32.getEncodedLength(source.length()), window -> Base32.encode(BufferIO.readableByteBuffer(source), window));
+    }
+
+    /**
+     * 将 Base32 字符序列的 [start, end) 部分解码后写入给定的字节数组，大小写均可，不产生任何内存分配。
+     *
+     * @param base32       Base32 字符序列
+     * @param start        起始索引位置
+     * @param end          结束索引位置（不含）
+     * @param target       写入的字节数组，需有 {@link Base32#getDecodedLength(int)} 字节的空间
+     * @param targetOffset 字节数组中的写入起始位置
+     * @return 写入的字节数
+     * @see Base32#decode(CharSequence, int, int, byte[], int)
+     */
+    public static int decodeWithBase32(CharSequence base32, int start, int end, byte[] target, int targetOffset) {
+        return Base32.decode(base32, start, end, target, targetOffset);
+    }
+
+    /**
+     * 将源 ByteBuffer 中剩余的 Base32 ASCII 字符解码后写入目标 ByteBuffer，大小写均可，不产生任何内存分配；
+     * 仅在解码成功时前移两者的位置。
+     *
+     * @param source Base32 ASCII 字符
+     * @param target 写入的目标，需有 {@link Base32#getDecodedLength(int)} 字节的剩余空间
+     * @return 写入的字节数
+     * @see Base32#decode(ByteBuffer, ByteBuffer)
+     */
+    public static int decodeWithBase32(ByteBuffer source, ByteBuffer target) {
+        return Base32.decode(source, target);
+    }
+
+    /**
+     * 将源 Buffer 中的 Base32 ASCII 字符解码后追加到目标 Buffer 的末尾；解码失败时目标 Buffer 保持不变。
+     *
+     * @param source Base32 ASCII 字符
+     * @param target 追加写入的目标 Buffer
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 如果不是规范的 Base32
+     */
+    public static int decodeWithBase32(Buffer source, Buffer target) {
+        return BufferIO.append(target, Base32.getDecodedLength(source.length()), window -> Base32.decode(BufferIO.readableByteBuffer(source), window));
+    }
 }
@@ -1,18 +1,25 @@
 package io.github.sinri.keel.core.utils;
 
+import io.github.sinri.keel.base.async.Keel;
+import io.github.sinri.keel.core.utils.internal.ThreadLocalLruCache;
+import io.github.sinri.keel.core.utils.io.DigestReadStream;
+import io.github.sinri.keel.core.utils.io.internal.BufferIO;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
 import org.jspecify.annotations.NullMarked;
 
 import javax.crypto.Mac;
-import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
-import java.io.UnsupportedEncodingException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
-import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.*;
 
 
 /**
@@ -27,22 +34,144 @@ public class DigestUtils {
     public static final String DIGEST_ALGO_SHA_512 = "SHA-512";
     public static final String DIGEST_ALGO_MD5 = "MD5";
     public static final String DIGEST_ALGO_SHA_1 = "SHA";
-    private static final Map<String, MessageDigest> messageDigestCache = new ConcurrentHashMap<>();
+    public static final String HMAC_ALGO_SHA_1 = "HmacSHA1";
+    public static final String HMAC_ALGO_SHA_256 = "HmacSHA256";
+    public static final String HMAC_ALGO_SHA_512 = "HmacSHA512";
+    /**
+     * 各线程按算法缓存的摘要实例；{@link MessageDigest} 不是线程安全的，不能跨线程共享。
+     */
+    private static final ThreadLocal<Map<String, MessageDigest>> threadLocalMessageDigests = ThreadLocal.withInitial(HashMap::new);
+    /**
+     * 每个线程最多缓存的已初始化 {@link Mac} 实例数量，超出时淘汰最久未使用的实例。
+     */
+    private static final int MAC_CACHE_SIZE_PER_THREAD = 64;
+    /**
+     * 各线程按算法与密钥缓存的已初始化 {@link Mac} 实例，按访问顺序做 LRU 淘汰。
+     * <p>
+     * 创建 {@link Mac} 需要查找安全提供者，以密钥初始化需要做密钥编排，二者在短消息的 HMAC 计算中占据了大部分开销。
+     */
+    private static final ThreadLocalLruCache<MacCacheKey, Mac> threadLocalMacs = new ThreadLocalLruCache<>(MAC_CACHE_SIZE_PER_THREAD);
+
+    /**
+     * 计算文件摘要时每次内存映射的分段大小。
+     */
+    private static final long FILE_DIGEST_SEGMENT_SIZE = 16L * 1024 * 1024;
 
     private DigestUtils() {
 
     }
 
+    /**
+     * 获取当前线程专属的摘要实例，已重置，可直接使用。
+     * <p>
+     * 返回的实例仅可在当前线程内使用，且在下一次对同一算法调用本方法（包括本类中其他摘要方法的内部调用）之前用完。
+     *
+     * @param algorithm 摘要算法名称
+     * @return 当前线程专属的摘要实例
+     * @throws RuntimeException 如果指定的算法不可用
+     */
     public static MessageDigest getMessageDigest(String algorithm) {
-        return Objects.requireNonNull(messageDigestCache.computeIfAbsent(algorithm, key -> {
-            synchronized (messageDigestCache) {
-                try {
-                    return MessageDigest.getInstance(key);
-                } catch (NoSuchAlgorithmException e) {
-                    throw new RuntimeException(e);
-                }
+        try {
+            return threadLocalMessageDigest(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static MessageDigest threadLocalMessageDigest(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, MessageDigest> messageDigests = threadLocalMessageDigests.get();
+        MessageDigest messageDigest = messageDigests.get(algorithm);
+        if (messageDigest == null) {
+            messageDigest = MessageDigest.getInstance(algorithm);
+            messageDigests.put(algorithm, messageDigest);
+        } else {
+            messageDigest.reset();
+        }
+        return messageDigest;
+    }
+
+    /**
+     * 使用指定算法计算字节数组的摘要值，使用当前线程专属的摘要实例，线程安全。
+     *
+     * @param algorithm 摘要算法名称（如 "SHA-256", "SHA-512" 等）
+     * @param raw       原始字节数组
+     * @return 摘要值的原始字节数组
+     * @throws NoSuchAlgorithmException 如果指定的算法不可用
+     */
+    public static byte[] digest(String algorithm, byte[] raw) throws NoSuchAlgorithmException {
+        return threadLocalMessageDigest(algorithm).digest(raw);
+    }
+
+    /**
+     * 以 Vert.x Buffer 更新摘要，直接读取其底层缓冲区，不经过 {@link Buffer#getBytes()} 复制。
+     *
+     * @param messageDigest 摘要实例
+     * @param buffer        数据
+     */
+    public static void update(MessageDigest messageDigest, Buffer buffer) {
+        messageDigest.update(BufferIO.readableByteBuffer(buffer));
+    }
+
+    /**
+     * 使用指定算法计算 Vert.x Buffer 的摘要值，不复制数据。
+     *
+     * @param algorithm 摘要算法名称（如 "SHA-256", "SHA-512" 等）
+     * @param buffer    数据
+     * @return 摘要值的原始字节数组
+     * @throws NoSuchAlgorithmException 如果指定的算法不可用
+     */
+    public static byte[] digest(String algorithm, Buffer buffer) throws NoSuchAlgorithmException {
+        MessageDigest messageDigest = threadLocalMessageDigest(algorithm);
+        update(messageDigest, buffer);
+        return messageDigest.digest();
+    }
+
+    /**
+     * 使用指定算法计算文件的摘要值。
+     * <p>
+     * 以内存映射分段读取文件并逐段更新摘要，占用的堆内存与文件大小无关。本方法会阻塞，不应在事件循环线程中调用。
+     *
+     * @param algorithm 摘要算法名称（如 "SHA-256", "SHA-512" 等）
+     * @param file      文件路径
+     * @return 摘要值的原始字节数组
+     * @throws NoSuchAlgorithmException 如果指定的算法不可用
+     * @throws IOException              如果读取文件失败
+     */
+    public static byte[] digestFile(String algorithm, Path file) throws NoSuchAlgorithmException, IOException {
+        MessageDigest messageDigest = threadLocalMessageDigest(algorithm);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += FILE_DIGEST_SEGMENT_SIZE) {
+                long segmentSize = Math.min(FILE_DIGEST_SEGMENT_SIZE, size - position);
+                messageDigest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, segmentSize));
             }
-        }));
+        }
+        return messageDigest.digest();
+    }
+
+    /**
+     * 在工作线程中使用指定算法计算文件的摘要值。
+     *
+     * @param keel      Keel 实例
+     * @param algorithm 摘要算法名称（如 "SHA-256", "SHA-512" 等）
+     * @param file      文件路径
+     * @return 异步返回摘要值的原始字节数组
+     * @see #digestFile(String, Path)
+     */
+    public static Future<byte[]> digestFile(Keel keel, String algorithm, Path file) {
+        return keel.executeBlocking(() -> digestFile(algorithm, file), false);
+    }
+
+    /**
+     * 包装读取流，在数据流经时计算摘要。
+     *
+     * @param source    原始流
+     * @param algorithm 摘要算法名称（如 "SHA-256", "SHA-512" 等）
+     * @return 计算摘要的读取流，用于代替原始流进行读取或 {@link ReadStream#pipeTo}
+     * @throws NoSuchAlgorithmException 如果指定的算法不可用
+     */
+    public static DigestReadStream tap(ReadStream<Buffer> source, String algorithm) throws NoSuchAlgorithmException {
+        return new DigestReadStream(source, algorithm);
     }
 
     /**
@@ -63,8 +192,7 @@ public class DigestUtils {
      * @return MD5 摘要值，使用小写字母和数字的十六进制表示
      */
     public static String md5(byte[] raw) {
-        MessageDigest digest = getMessageDigest(DIGEST_ALGO_MD5);
-        byte[] digested = digest.digest(raw);
+        byte[] digested = getMessageDigest(DIGEST_ALGO_MD5).digest(raw);
         return BinaryUtils.encodeHexWithLowerDigits(digested);
     }
 
@@ -86,8 +214,7 @@ public class DigestUtils {
      * @return MD5 摘要值，使用大写字母和数字的十六进制表示
      */
     public static String MD5(byte[] raw) {
-        MessageDigest digest = getMessageDigest(DIGEST_ALGO_MD5);
-        byte[] digested = digest.digest(raw);
+        byte[] digested = getMessageDigest(DIGEST_ALGO_MD5).digest(raw);
         return BinaryUtils.encodeHexWithUpperDigits(digested);
     }
 
@@ -100,9 +227,7 @@ public class DigestUtils {
      * @throws NoSuchAlgorithmException 如果指定的算法不可用
      */
     public static String digestToLower(String algorithm, byte[] raw) throws NoSuchAlgorithmException {
-        MessageDigest md = MessageDigest.getInstance(algorithm);
-        md.update(raw);
-        return BinaryUtils.encodeHexWithLowerDigits(md.digest());
+        return BinaryUtils.encodeHexWithLowerDigits(digest(algorithm, raw));
     }
 
     /**
@@ -126,9 +251,7 @@ public class DigestUtils {
      * @throws NoSuchAlgorithmException 如果指定的算法不可用
      */
     public static String digestToUpper(String algorithm, byte[] raw) throws NoSuchAlgorithmException {
-        MessageDigest md = MessageDigest.getInstance(algorithm);
-        md.update(raw);
-        return BinaryUtils.encodeHexWithUpperDigits(md.digest());
+        return BinaryUtils.encodeHexWithUpperDigits(digest(algorithm, raw));
     }
 
     /**
@@ -208,32 +331,62 @@ public class DigestUtils {
     }
 
     /**
-     * 计算字符串的 HMAC-SHA1 摘要值（原始字节数组）。
+     * 获取当前线程专属的、已用给定密钥初始化的 {@link Mac} 实例，已重置，可直接使用。
      * <p>
-     * 使用 UTF-8 编码处理输入字符串和密钥。
+     * 实例按算法与密钥缓存在当前线程内，每个线程最多缓存 {@value #MAC_CACHE_SIZE_PER_THREAD} 个，超出时淘汰最久未使用的实例。
+     * 返回的实例仅可在当前线程内使用，且在下一次对同一算法与密钥调用本方法（包括本类中其他 HMAC 方法的内部调用）之前用完；
+     * 不应对其调用 {@link Mac#init(java.security.Key)}。
      *
-     * @param raw 原始字符串
-     * @param key 密钥字符串
-     * @return HMAC-SHA1 摘要的原始字节数组
-     * @throws UnsupportedEncodingException 如果 UTF-8 编码不可用
-     * @throws NoSuchAlgorithmException     如果 HMAC-SHA1 算法不可用
-     * @throws InvalidKeyException          如果密钥无效
+     * @param algorithm HMAC 算法名称（如 {@link #HMAC_ALGO_SHA_256}）
+     * @param key       密钥
+     * @return 当前线程专属的 Mac 实例
+     * @throws NoSuchAlgorithmException 如果指定的算法不可用
+     * @throws InvalidKeyException      如果密钥无效
      */
-    private static byte[] compute_hmac_sha1(String raw, String key) throws UnsupportedEncodingException, NoSuchAlgorithmException, InvalidKeyException {
-        String MAC_NAME = "HmacSHA1";
-        String ENCODING = "UTF-8";
+    public static Mac getMac(String algorithm, byte[] key) throws NoSuchAlgorithmException, InvalidKeyException {
+        Mac mac = threadLocalMacs.get(new MacCacheKey(algorithm, key));
+        if (mac == null) {
+            mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(key, algorithm));
+            // 缓存键持有密钥的副本，调用方之后修改密钥数组不影响缓存
+            threadLocalMacs.put(new MacCacheKey(algorithm, key.clone()), mac);
+        } else {
+            mac.reset();
+        }
+        return mac;
+    }
 
-        byte[] data = key.getBytes(ENCODING);
-        //根据给定的字节数组构造一个密钥,第二个参数指定一个密钥算法的名称
-        SecretKey secretKey = new SecretKeySpec(data, MAC_NAME);
-        //生成一个指定 Mac 算法 的 Mac 对象
-        Mac mac = Mac.getInstance(MAC_NAME);
-        //用给定密钥初始化 Mac 对象
-        mac.init(secretKey);
+    /**
+     * 使用指定算法与密钥计算字节数组的 HMAC 值，使用当前线程缓存的 Mac 实例，线程安全。
+     *
+     * @param algorithm HMAC 算法名称（如 {@link #HMAC_ALGO_SHA_256}）
+     * @param key       密钥
+     * @param raw       原始字节数组
+     * @return HMAC 值的原始字节数组
+     * @throws NoSuchAlgorithmException 如果指定的算法不可用
+     * @throws InvalidKeyException      如果密钥无效
+     */
+    public static byte[] hmac(String algorithm, byte[] key, byte[] raw) throws NoSuchAlgorithmException, InvalidKeyException {
+        return getMac(algorithm, key).doFinal(raw);
+    }
 
-        byte[] text = raw.getBytes(ENCODING);
-        //完成 Mac 操作
-        return mac.doFinal(text);
+    /**
+     * 计算字符串的 HMAC 摘要值（原始字节数组）。
+     * <p>
+     * 使用 UTF-8 编码处理输入字符串和密钥。
+     *
+     * @param algorithm HMAC 算法名称
+     * @param raw       原始字符串
+     * @param key       密钥字符串
+     * @return HMAC 摘要的原始字节数组
+     * @throws RuntimeException 如果算法不可用或密钥无效
+     */
+    private static byte[] computeHmac(String algorithm, String raw, String key) {
+        try {
+            return hmac(algorithm, key.getBytes(StandardCharsets.UTF_8), raw.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
@@ -246,13 +399,7 @@ public class DigestUtils {
      */
 
     public static String hmac_sha1_base64(String raw, String key) {
-        byte[] bytes;
-        try {
-            bytes = compute_hmac_sha1(raw, key);
-        } catch (UnsupportedEncodingException | NoSuchAlgorithmException | InvalidKeyException e) {
-            throw new RuntimeException(e);
-        }
-        return Base64.getEncoder().encodeToString(bytes);
+        return Base64.getEncoder().encodeToString(computeHmac(HMAC_ALGO_SHA_1, raw, key));
     }
 
     /**
@@ -265,13 +412,7 @@ public class DigestUtils {
      */
 
     public static String hmac_sha1_hex(String raw, String key) {
-        byte[] bytes;
-        try {
-            bytes = compute_hmac_sha1(raw, key);
-        } catch (UnsupportedEncodingException | NoSuchAlgorithmException | InvalidKeyException e) {
-            throw new RuntimeException(e);
-        }
-        return BinaryUtils.encodeHexWithLowerDigits(bytes);
+        return BinaryUtils.encodeHexWithLowerDigits(computeHmac(HMAC_ALGO_SHA_1, raw, key));
     }
 
     /**
@@ -283,12 +424,111 @@ public class DigestUtils {
      * @throws RuntimeException 如果计算过程中发生异常
      */
     public static String HMAC_SHA1_HEX(String raw, String key) {
-        byte[] bytes;
-        try {
-            bytes = compute_hmac_sha1(raw, key);
-        } catch (UnsupportedEncodingException | NoSuchAlgorithmException | InvalidKeyException e) {
-            throw new RuntimeException(e);
+        return BinaryUtils.encodeHexWithUpperDigits(computeHmac(HMAC_ALGO_SHA_1, raw, key));
+    }
+
+    /**
+     * 计算字符串的 HMAC-SHA256 摘要值（Base64 编码）。
+     *
+     * @param raw 原始字符串
+     * @param key 密钥字符串
+     * @return HMAC-SHA256 摘要值，使用 Base64 编码
+     * @throws RuntimeException 如果计算过程中发生异常
+     */
+    public static String hmac_sha256_base64(String raw, String key) {
+        return Base64.getEncoder().encodeToString(computeHmac(HMAC_ALGO_SHA_256, raw, key));
+    }
+
+    /**
+     * 计算字符串的 HMAC-SHA256 摘要值（小写十六进制）。
+     *
+     * @param raw 原始字符串
+     * @param key 密钥字符串
+     * @return HMAC-SHA256 摘要值，使用小写字母和数字的十六进制表示
+     * @throws RuntimeException 如果计算过程中发生异常
+     */
+    public static String hmac_sha256_hex(String raw, String key) {
+        return BinaryUtils.encodeHexWithLowerDigits(computeHmac(HMAC_ALGO_SHA_256, raw, key));
+    }
+
+    /**
+     * 计算字符串的 HMAC-SHA256 摘要值（大写十六进制）。
+     *
+     * @param raw 原始字符串
+     * @param key 密钥字符串
+     * @return HMAC-SHA256 摘要值，使用大写字母和数字的十六进制表示
+     * @throws RuntimeException 如果计算过程中发生异常
+     */
+    public static String HMAC_SHA256_HEX(String raw, String key) {
+        return BinaryUtils.encodeHexWithUpperDigits(computeHmac(HMAC_ALGO_SHA_256, raw, key));
+    }
+
+    /**
+     * 计算字符串的 HMAC-SHA512 摘要值（Base64 编码）。
+     *
+     * @param raw 原始字符串
+     * @param key 密钥字符串
+     * @return HMAC-SHA512 摘要值，使用 Base64 编码
+     * @throws RuntimeException 如果计算过程中发生异常
+     */
+    public static String hmac_sha512_base64(String raw, String key) {
+        return Base64.getEncoder().encodeToString(computeHmac(HMAC_ALGO_SHA_512, raw, key));
+    }
+
+    /**
+     * 计算字符串的 HMAC-SHA512 摘要值（小写十六进制）。
+     *
+     * @param raw 原始字符串
+     * @param key 密钥字符串
+     * @return HMAC-SHA512 摘要值，使用小写字母和数字的十六进制表示
+     * @throws RuntimeException 如果计算过程中发生异常
+     */
+    public static String hmac_sha512_hex(String raw, String key) {
+        return BinaryUtils.encodeHexWithLowerDigits(computeHmac(HMAC_ALGO_SHA_512, raw, key));
+    }
+
+    /**
+     * 计算字符串的 HMAC-SHA512 摘要值（大写十六进制）。
+     *
+     * @param raw 原始字符串
+     * @param key 密钥字符串
+     * @return HMAC-SHA512 摘要值，使用大写字母和数字的十六进制表示
+     * @throws RuntimeException 如果计算过程中发生异常
+     */
+    public static String HMAC_SHA512_HEX(String raw, String key) {
+        return BinaryUtils.encodeHexWithUpperDigits(computeHmac(HMAC_ALGO_SHA_512, raw, key));
+    }
+
+    /**
+     * {@link Mac} 实例缓存的键，按算法名称与密钥内容比较。
+     */
+    private static final class MacCacheKey {
+        private final String algorithm;
+        private final byte[] key;
+        private final int hash;
+
+        private MacCacheKey(String algorithm, byte[] key) {
+            this.algorithm = algorithm;
+            this.key = key;
+            this.hash = 31 * algorithm.hashCode() + Arrays.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MacCacheKey that)) {
+                return false;
+            }
+            return hash == that.hash
+                    && algorithm.equals(that.algorithm)
+                    && MessageDigest.isEqual(key, that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
         }
-        return BinaryUtils.encodeHexWithUpperDigits(bytes);
     }
 }
@@ -2,8 +2,11 @@ package io.github.sinri.keel.core.utils;
 
 import io.github.sinri.keel.base.annotations.TechnicalPreview;
 import io.github.sinri.keel.base.async.Keel;
+import io.github.sinri.keel.core.utils.io.AsyncChannelReadStream;
+import io.github.sinri.keel.core.utils.io.AsyncChannelWriteStream;
 import io.github.sinri.keel.core.utils.io.AsyncInputWriteStream;
 import io.github.sinri.keel.core.utils.io.AsyncOutputReadStream;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.streams.ReadStream;
@@ -12,6 +15,10 @@ import org.jspecify.annotations.NullMarked;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * IO工具类
@@ -40,4 +47,87 @@ public class IOUtils {
         writeStream.wrap(outputStream);
         return writeStream;
     }
+
+    /**
+     * 将通道封装为读取流，按位置读取，不改变通道的当前位置。
+     *
+     * @param keel    Keel 实例
+     * @param channel 数据来源通道，读取结束后不会关闭
+     * @param handler 在开始读取前配置读取流，例如设置读取范围、内存映射或 {@link ReadStream#pipeTo}
+     * @return 读取流
+     */
+    @TechnicalPreview(since = "5.0.0")
+    public static AsyncChannelReadStream toReadStream(Keel keel, SeekableByteChannel channel, Handler<AsyncChannelReadStream> handler) {
+        var readStream = AsyncChannelReadStream.create(keel, channel);
+        handler.handle(readStream);
+        readStream.resume();
+        return readStream;
+    }
+
+    /**
+     * 将通道封装为写入流，排队中的写入合并写出。
+     *
+     * @param keel    Keel 实例
+     * @param channel 数据去向通道，写入流结束时关闭
+     * @param handler 配置写入流
+     * @return 写入流
+     */
+    @TechnicalPreview(since = "5.0.0")
+    public static AsyncChannelWriteStream toWriteStream(Keel keel, WritableByteChannel channel, Handler<WriteStream<Buffer>> handler) {
+        var writeStream = AsyncChannelWriteStream.create(keel, channel);
+        handler.handle(writeStream);
+        return writeStream;
+    }
+
+    /**
+     * 以 {@link FileChannel#transferTo(long, long, WritableByteChannel)} 将文件的指定区域传输到目标通道。
+     * <p>
+     * 在操作系统支持时（例如文件到套接字、文件到文件）由内核直接传输，数据不经过 JVM 堆。
+     *
+     * @param keel     Keel 实例
+     * @param source   来源文件通道
+     * @param position 来源文件中的起始位置
+     * @param count    最多传输的字节数
+     * @param target   目标通道
+     * @return 异步返回实际传输的字节数
+     */
+    @TechnicalPreview(since = "5.0.0")
+    public static Future<Long> transferTo(Keel keel, FileChannel source, long position, long count, WritableByteChannel target) {
+        return keel.executeBlocking(() -> {
+            long transferred = 0;
+            while (transferred < count) {
+                long n = source.transferTo(position + transferred, count - transferred, target);
+                if (n <= 0) {
+                    break;
+                }
+                transferred += n;
+            }
+            return transferred;
+        }, false);
+    }
+
+    /**
+     * 以 {@link FileChannel#transferFrom(ReadableByteChannel, long, long)} 将来源通道的数据传输到文件的指定位置。
+     *
+     * @param keel     Keel 实例
+     * @param source   来源通道
+     * @param target   目标文件通道
+     * @param position 目标文件中的起始位置
+     * @param count    最多传输的字节数
+     * @return 异步返回实际传输的字节数
+     */
+    @TechnicalPreview(since = "5.0.0")
+    public static Future<Long> transferFrom(Keel keel, ReadableByteChannel source, FileChannel target, long position, long count) {
+        return keel.executeBlocking(() -> {
+            long transferred = 0;
+            while (transferred < count) {
+                long n = target.transferFrom(source, position + transferred, count - transferred);
+                if (n <= 0) {
+                    break;
+                }
+                transferred += n;
+            }
+            return transferred;
+        }, false);
+    }
 }
@@ -41,6 +41,9 @@ public class GoogleAuthenticatorConfig {
     private int secretBits = 160;
     private KeyRepresentation keyRepresentation = KeyRepresentation.BASE32;
     private HmacHashFunction hmacHashFunction = HmacHashFunction.HmacSHA1;
+    private long secretCacheTtlInMillis = 0;
+    private int secretCacheMaxSize = 10_000;
+    private boolean windowCodeCacheEnabled = false;
 
     /**
      * Returns the key module.
@@ -130,6 +133,42 @@ public class GoogleAuthenticatorConfig {
         return hmacHashFunction;
     }
 
+    /**
+     * Returns how long, in milliseconds, the decoded bytes of a secret key are
+     * kept in memory to save repeated decoding when the same secret is
+     * verified again.  A value of 0 disables the cache.  The default value is
+     * 0: the cache is opt-in, since it keeps the decoded secrets in memory.
+     *
+     * @return the time to live of a decoded secret in milliseconds.
+     */
+    public long getSecretCacheTtlInMillis() {
+        return secretCacheTtlInMillis;
+    }
+
+    /**
+     * Returns the maximum number of decoded secrets kept in memory.  The
+     * default value is 10.000.
+     *
+     * @return the maximum number of cached secrets.
+     */
+    public int getSecretCacheMaxSize() {
+        return secretCacheMaxSize;
+    }
+
+    /**
+     * Returns whether the validation codes of all the windows around the
+     * current time step are precomputed and kept with each cached secret, so
+     * that verifying several codes of the same secret within one time step
+     * computes the HMACs only once.  This cache takes effect only when the
+     * secret cache is enabled.  It is disabled by default.
+     *
+     * @return <code>true</code> if the window-code cache is enabled.
+     * @see #getSecretCacheTtlInMillis()
+     */
+    public boolean isWindowCodeCacheEnabled() {
+        return windowCodeCacheEnabled;
+    }
+
     public static class GoogleAuthenticatorConfigBuilder {
         private final GoogleAuthenticatorConfig config = new GoogleAuthenticatorConfig();
 
@@ -216,5 +255,28 @@ public class GoogleAuthenticatorConfig {
             config.hmacHashFunction = hmacHashFunction;
             return this;
         }
+
+        public GoogleAuthenticatorConfigBuilder setSecretCacheTtlInMillis(long secretCacheTtlInMillis) {
+            if (secretCacheTtlInMillis < 0) {
+                throw new IllegalArgumentException("Secret cache TTL must not be negative.");
+            }
+
+            config.secretCacheTtlInMillis = secretCacheTtlInMillis;
+            return this;
+        }
+
+        public GoogleAuthenticatorConfigBuilder setSecretCacheMaxSize(int secretCacheMaxSize) {
+            if (secretCacheMaxSize <= 0) {
+                throw new IllegalArgumentException("Secret cache size must be positive.");
+            }
+
+            config.secretCacheMaxSize = secretCacheMaxSize;
+            return this;
+        }
+
+        public GoogleAuthenticatorConfigBuilder setWindowCodeCacheEnabled(boolean windowCodeCacheEnabled) {
+            config.windowCodeCacheEnabled = windowCodeCacheEnabled;
+            return this;
+        }
     }
 }
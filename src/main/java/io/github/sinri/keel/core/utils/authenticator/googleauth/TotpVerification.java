@@ -0,0 +1,11 @@
+package io.github.sinri.keel.core.utils.authenticator.googleauth;
+
+/**
+ * A verification code to be checked against the secret key it was generated
+ * from, used to verify many codes in one batch.
+ *
+ * @param secret           the encoded secret key.
+ * @param verificationCode the verification code to check.
+ */
+public record TotpVerification(String secret, int verificationCode) {
+}
@@ -33,6 +33,7 @@ package io.github.sinri.keel.core.utils.authenticator.googleauth.async;
 
 import io.github.sinri.keel.base.logger.factory.StdoutLoggerFactory;
 import io.github.sinri.keel.core.utils.BinaryUtils;
+import io.github.sinri.keel.core.utils.DigestUtils;
 import io.github.sinri.keel.core.utils.StringUtils;
 import io.github.sinri.keel.core.utils.authenticator.googleauth.GoogleAuthenticatorConfig;
 import io.github.sinri.keel.core.utils.authenticator.googleauth.GoogleAuthenticatorException;
@@ -42,7 +43,6 @@ import io.github.sinri.keel.logger.api.logger.Logger;
 import io.vertx.core.Future;
 
 import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
@@ -262,15 +262,10 @@ public final class AsyncGoogleAuthenticator implements AsyncIGoogleAuthenticator
             data[i] = (byte) value;
         }
 
-        // Building the secret key specification for the HmacSHA1 algorithm.
-        SecretKeySpec signKey = new SecretKeySpec(key, config.getHmacHashFunction().toString());
-
         try {
-            // Getting an HmacSHA1/HmacSHA256 algorithm implementation from the JCE.
-            Mac mac = Mac.getInstance(config.getHmacHashFunction().toString());
-
-            // Initializing the MAC algorithm.
-            mac.init(signKey);
+            // Getting an HmacSHA1/HmacSHA256 algorithm implementation initialized
+            // with the key, cached per thread to skip provider lookup and key setup.
+            Mac mac = DigestUtils.getMac(config.getHmacHashFunction().toString(), key);
 
             // Processing the instant of time and getting the encrypted data.
             byte[] hash = mac.doFinal(data);
@@ -357,7 +352,8 @@ public final class AsyncGoogleAuthenticator implements AsyncIGoogleAuthenticator
         // Decoding the secret key to get its raw byte representation.
         switch (config.getKeyRepresentation()) {
             case BASE32:
-                return StringUtils.decodeWithBase32ToBytes(secret.toUpperCase());
+                // Base32 decoding is case-insensitive, no need to upper-case the secret.
+                return StringUtils.decodeWithBase32ToBytes(secret);
 
             //                Base32 codec32 = new Base32();
             // See: https://issues.apache.org/jira/browse/CODEC-234
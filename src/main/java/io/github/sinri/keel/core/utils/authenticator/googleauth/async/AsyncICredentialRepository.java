@@ -32,7 +32,7 @@ package io.github.sinri.keel.core.utils.authenticator.googleauth.async;
 
 import io.vertx.core.Future;
 
-import java.util.List;
+import java.util.*;
 
 /**
  * @author Sinri Edogawa
@@ -47,6 +47,44 @@ public interface AsyncICredentialRepository {
      */
     Future<String> getSecretKey(String userName);
 
+    /**
+     * This method retrieves the Base32-encoded private keys of the given users
+     * in one call.
+     * <p>
+     * The default implementation looks the users up one by one with
+     * {@link #getSecretKey(String)}; users whose lookup yields no key are
+     * absent from the result.  If any of the lookups fails, the result fails
+     * with a {@link SecretKeysLookupException} carrying the keys found and the
+     * cause of each failed lookup.  Implementations backed by a database should
+     * override it with a single query.
+     *
+     * @param userNames the users whose private keys shall be retrieved.
+     * @return the private keys, keyed by user name.
+     * @since 5.0.0
+     */
+    default Future<Map<String, String>> getSecretKeys(Collection<String> userNames) {
+        List<String> users = new ArrayList<>(userNames);
+        List<Future<String>> lookups = new ArrayList<>(users.size());
+        users.forEach(userName -> lookups.add(getSecretKey(userName)));
+        return Future.join(lookups)
+                     .transform(ar -> {
+                         Map<String, String> secretKeys = new HashMap<>();
+                         Map<String, Throwable> failures = new HashMap<>();
+                         for (int i = 0; i < users.size(); i++) {
+                             Future<String> lookup = lookups.get(i);
+                             if (lookup.failed()) {
+                                 failures.put(users.get(i), lookup.cause());
+                             } else if (lookup.result() != null) {
+                                 secretKeys.put(users.get(i), lookup.result());
+                             }
+                         }
+                         if (!failures.isEmpty()) {
+                             return Future.failedFuture(new SecretKeysLookupException(secretKeys, failures));
+                         }
+                         return Future.succeededFuture(secretKeys);
+                     });
+    }
+
     /**
      * This method saves the user credentials.
      *
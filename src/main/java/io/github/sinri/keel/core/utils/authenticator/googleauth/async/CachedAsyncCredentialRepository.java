@@ -0,0 +1,281 @@
+package io.github.sinri.keel.core.utils.authenticator.googleauth.async;
+
+import io.github.sinri.keel.base.async.Keel;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A decorator of {@link AsyncICredentialRepository} that caches, deduplicates
+ * and batches the secret key lookups.
+ * <p>
+ * Secret keys are kept for a time to live after being loaded.  Concurrent
+ * lookups of the same user share one pending result, and the lookups missing
+ * the cache within a short batch window are sent to the underlying repository
+ * in one {@link AsyncICredentialRepository#getSecretKeys(Collection)} call.
+ * Saving the credentials of a user drops the cached key of the user.
+ * <p>
+ * When the cache reaches its maximum size, expired keys are purged first; if
+ * it is still full, the oldest keys are evicted until one eighth of the
+ * capacity is free again.
+ * <p>
+ * A failed batch lookup fails the pending lookups of all its users with the
+ * same cause, except that a {@link SecretKeysLookupException} resolves each
+ * user with its own result or cause.
+ *
+ * @since 5.0.0
+ */
+public final class CachedAsyncCredentialRepository implements AsyncICredentialRepository {
+    public static final long DEFAULT_SECRET_TTL = 60_000L;
+    public static final long DEFAULT_BATCH_WINDOW = 5L;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final int DEFAULT_MAX_CACHE_SIZE = 10_000;
+
+    private final Keel keel;
+    private final AsyncICredentialRepository delegate;
+    private final Map<String, CachedSecret> cachedSecrets = new ConcurrentHashMap<>();
+    /**
+     * The pending lookups, either waiting in the batch or sent to the underlying repository.
+     */
+    private final Map<String, Promise<String>> pendingLookups = new ConcurrentHashMap<>();
+    private final List<String> batch = new ArrayList<>();
+    /**
+     * Increased on every invalidation, so that a lookup sent before it does not cache a stale key.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+    /**
+     * The insertion order of the cached secret keys, used to find the oldest ones.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+    private Long batchTimerID;
+
+    private long secretTtl = DEFAULT_SECRET_TTL;
+    private long batchWindow = DEFAULT_BATCH_WINDOW;
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private int maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+
+    /**
+     * @param keel     the Keel instance running the batch timers.
+     * @param delegate the underlying repository.
+     */
+    public CachedAsyncCredentialRepository(Keel keel, AsyncICredentialRepository delegate) {
+        this.keel = keel;
+        this.delegate = delegate;
+    }
+
+    /**
+     * @param secretTtl how long, in milliseconds, a loaded secret key is kept; 0 disables the cache.
+     * @return this instance.
+     */
+    public CachedAsyncCredentialRepository setSecretTtl(long secretTtl) {
+        if (secretTtl < 0) {
+            throw new IllegalArgumentException("Secret TTL must not be negative.");
+        }
+        this.secretTtl = secretTtl;
+        return this;
+    }
+
+    /**
+     * @param batchWindow how long, in milliseconds, a lookup waits for others to join its batch;
+     *                    0 sends every lookup at once.
+     * @return this instance.
+     */
+    public CachedAsyncCredentialRepository setBatchWindow(long batchWindow) {
+        if (batchWindow < 0) {
+            throw new IllegalArgumentException("Batch window must not be negative.");
+        }
+        this.batchWindow = batchWindow;
+        return this;
+    }
+
+    /**
+     * @param maxBatchSize the number of lookups that sends the batch without waiting for the window to end.
+     * @return this instance.
+     */
+    public CachedAsyncCredentialRepository setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * @param maxCacheSize the maximum number of cached secret keys.
+     * @return this instance.
+     */
+    public CachedAsyncCredentialRepository setMaxCacheSize(int maxCacheSize) {
+        if (maxCacheSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive.");
+        }
+        this.maxCacheSize = maxCacheSize;
+        return this;
+    }
+
+    @Override
+    public Future<String> getSecretKey(String userName) {
+        CachedSecret cachedSecret = cachedSecrets.get(userName);
+        if (cachedSecret != null && cachedSecret.expiresAt() > System.currentTimeMillis()) {
+            return Future.succeededFuture(cachedSecret.secretKey());
+        }
+
+        List<String> fullBatch = null;
+        Promise<String> promise;
+        synchronized (batch) {
+            Promise<String> pending = pendingLookups.get(userName);
+            if (pending != null) {
+                return pending.future();
+            }
+            promise = Promise.promise();
+            pendingLookups.put(userName, promise);
+            batch.add(userName);
+            if (batch.size() >= maxBatchSize || batchWindow <= 0) {
+                fullBatch = takeBatch();
+            } else if (batchTimerID == null) {
+                batchTimerID = keel.setTimer(batchWindow, timerID -> {
+                    List<String> lingeredBatch;
+                    synchronized (batch) {
+                        batchTimerID = null;
+                        lingeredBatch = takeBatch();
+                    }
+                    lookUp(lingeredBatch);
+                });
+            }
+        }
+        if (fullBatch != null) {
+            lookUp(fullBatch);
+        }
+        return promise.future();
+    }
+
+    @Override
+    public Future<Void> saveUserCredentials(String userName, String secretKey, int validationCode, List<Integer> scratchCodes) {
+        invalidate(userName);
+        return delegate.saveUserCredentials(userName, secretKey, validationCode, scratchCodes)
+                       .onComplete(ar -> invalidate(userName));
+    }
+
+    /**
+     * Drops the cached secret key of the given user.
+     *
+     * @param userName the user whose cached secret key shall be dropped.
+     */
+    public void invalidate(String userName) {
+        invalidations.incrementAndGet();
+        cachedSecrets.remove(userName);
+    }
+
+    /**
+     * Drops all the cached secret keys.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cachedSecrets.clear();
+    }
+
+    /**
+     * Takes the lookups waiting in the batch; must be called while holding the lock of the batch.
+     */
+    private List<String> takeBatch() {
+        if (batchTimerID != null) {
+            long x = batchTimerID;
+            keel.cancelTimer(x);
+            batchTimerID = null;
+        }
+        List<String> taken = new ArrayList<>(batch);
+        batch.clear();
+        return taken;
+    }
+
+    private void lookUp(List<String> userNames) {
+        if (userNames.isEmpty()) {
+            return;
+        }
+        long invalidationsAtStart = invalidations.get();
+        Future<Map<String, String>> lookup;
+        if (userNames.size() == 1) {
+            // A single lookup keeps the failure cause of the underlying repository.
+            String userName = userNames.get(0);
+            lookup = delegate.getSecretKey(userName)
+                             .map(secretKey -> {
+                                 Map<String, String> secretKeys = new HashMap<>();
+                                 if (secretKey != null) {
+                                     secretKeys.put(userName, secretKey);
+                                 }
+                                 return secretKeys;
+                             });
+        } else {
+            lookup = Future.succeededFuture(userNames)
+                           .compose(delegate::getSecretKeys);
+        }
+        lookup.onComplete(ar -> {
+            long expiresAt = System.currentTimeMillis() + secretTtl;
+            Map<String, String> secretKeys;
+            Map<String, Throwable> failures;
+            if (ar.succeeded()) {
+                secretKeys = ar.result();
+                failures = Map.of();
+            } else if (ar.cause() instanceof SecretKeysLookupException partial) {
+                secretKeys = partial.getSecretKeys();
+                failures = partial.getFailures();
+            } else {
+                secretKeys = Map.of();
+                failures = null;
+            }
+            for (String userName : userNames) {
+                Promise<String> promise = pendingLookups.remove(userName);
+                if (promise == null) {
+                    continue;
+                }
+                Throwable failure = failures == null ? ar.cause() : failures.get(userName);
+                if (failure != null) {
+                    promise.fail(failure);
+                    continue;
+                }
+                String secretKey = secretKeys.get(userName);
+                if (secretKey != null && secretTtl > 0 && invalidations.get() == invalidationsAtStart) {
+                    cacheSecret(userName, secretKey, expiresAt);
+                }
+                promise.complete(secretKey);
+            }
+        });
+    }
+
+    private void cacheSecret(String userName, String secretKey, long expiresAt) {
+        if (cachedSecrets.size() >= maxCacheSize) {
+            evict(System.currentTimeMillis());
+        }
+        cachedSecrets.put(userName, new CachedSecret(secretKey, expiresAt, sequence.incrementAndGet()));
+    }
+
+    private synchronized void evict(long now) {
+        if (cachedSecrets.size() < maxCacheSize) {
+            // Another thread has just made room.
+            return;
+        }
+        cachedSecrets.values().removeIf(x -> x.expiresAt() <= now);
+        int excess = cachedSecrets.size() - (maxCacheSize - Math.max(1, maxCacheSize / 8));
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<String, CachedSecret>> oldest = new ArrayList<>(cachedSecrets.entrySet());
+        oldest.sort(Comparator.comparingLong(x -> x.getValue().sequence()));
+        for (int i = 0; i < excess && i < oldest.size(); i++) {
+            Map.Entry<String, CachedSecret> evicted = oldest.get(i);
+            cachedSecrets.remove(evicted.getKey(), evicted.getValue());
+        }
+    }
+
+    /**
+     * @return the number of cached secret keys.
+     */
+    int cacheSize() {
+        return cachedSecrets.size();
+    }
+
+    private record CachedSecret(String secretKey, long expiresAt, long sequence) {
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.sinri.keel.core.utils.authenticator.googleauth.async;
+
+import io.github.sinri.keel.core.utils.authenticator.googleauth.GoogleAuthenticatorException;
+
+import java.util.Map;
+
+/**
+ * Thrown by {@link AsyncICredentialRepository#getSecretKeys(java.util.Collection)}
+ * when the lookups of some of the users fail, so that the callers can tell
+ * each user's failure from a missing key.
+ *
+ * @since 5.0.0
+ */
+public class SecretKeysLookupException extends GoogleAuthenticatorException {
+    private final Map<String, String> secretKeys;
+    private final Map<String, Throwable> failures;
+
+    /**
+     * @param secretKeys the private keys found, keyed by user name.
+     * @param failures   the causes of the failed lookups, keyed by user name.
+     */
+    public SecretKeysLookupException(Map<String, String> secretKeys, Map<String, Throwable> failures) {
+        super("Failed to retrieve the secret keys of " + failures.size() + " user(s): " + failures.keySet(),
+                failures.values().iterator().next());
+        this.secretKeys = Map.copyOf(secretKeys);
+        this.failures = Map.copyOf(failures);
+    }
+
+    /**
+     * @return the private keys found, keyed by user name.
+     */
+    public Map<String, String> getSecretKeys() {
+        return secretKeys;
+    }
+
+    /**
+     * @return the causes of the failed lookups, keyed by user name.
+     */
+    public Map<String, Throwable> getFailures() {
+        return failures;
+    }
+}
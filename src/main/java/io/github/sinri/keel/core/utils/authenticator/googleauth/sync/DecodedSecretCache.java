@@ -0,0 +1,124 @@
+package io.github.sinri.keel.core.utils.authenticator.googleauth.sync;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A short-lived, size-bounded cache of decoded secret keys, each one carrying
+ * the validation codes last computed for its time windows.
+ * <p>
+ * Entries expire after a fixed time to live counted from their decoding.
+ * When the cache reaches its maximum size, expired entries are purged first;
+ * if it is still full, the oldest entries are evicted until one eighth of the
+ * capacity is free again, so that the cost of the scan is shared by the
+ * following insertions and the recently decoded secrets stay cached.
+ */
+final class DecodedSecretCache {
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final long ttlInMillis;
+    private final int maxSize;
+
+    DecodedSecretCache(long ttlInMillis, int maxSize) {
+        this.ttlInMillis = ttlInMillis;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param secret  the encoded secret key.
+     * @param decoder the function decoding the secret key into bytes.
+     * @return the cached entry of the secret key, decoding it if absent or expired.
+     */
+    Entry get(String secret, Function<String, byte[]> decoder) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(secret);
+        if (entry != null && entry.expiresAt > now) {
+            return entry;
+        }
+
+        entry = new Entry(decoder.apply(secret), now + ttlInMillis, sequence.incrementAndGet());
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(secret, entry);
+        return entry;
+    }
+
+    /**
+     * @return the number of cached secrets.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    private synchronized void evict(long now) {
+        if (entries.size() < maxSize) {
+            // Another thread has just made room.
+            return;
+        }
+        entries.values().removeIf(x -> x.expiresAt <= now);
+        int excess = entries.size() - (maxSize - Math.max(1, maxSize / 8));
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<String, Entry>> oldest = new ArrayList<>(entries.entrySet());
+        oldest.sort(Comparator.comparingLong(x -> x.getValue().sequence));
+        for (int i = 0; i < excess && i < oldest.size(); i++) {
+            Map.Entry<String, Entry> evicted = oldest.get(i);
+            entries.remove(evicted.getKey(), evicted.getValue());
+        }
+    }
+
+    /**
+     * A decoded secret key with the validation codes of its latest time windows.
+     */
+    static final class Entry {
+        private final byte[] key;
+        private final long expiresAt;
+        /**
+         * The insertion order of the entry, used to find the oldest entries.
+         */
+        private final long sequence;
+        private volatile WindowCodes windowCodes;
+
+        Entry(byte[] key, long expiresAt, long sequence) {
+            this.key = key;
+            this.expiresAt = expiresAt;
+            this.sequence = sequence;
+        }
+
+        /**
+         * @return the decoded secret key.
+         */
+        byte[] key() {
+            return key;
+        }
+
+        /**
+         * @return the validation codes last computed for this secret key,
+         *         or <code>null</code> if none.
+         */
+        WindowCodes windowCodes() {
+            return windowCodes;
+        }
+
+        void windowCodes(WindowCodes windowCodes) {
+            this.windowCodes = windowCodes;
+        }
+    }
+
+    /**
+     * The validation codes of the windows around a time window.
+     *
+     * @param timeWindow the central time window.
+     * @param windowSize the window size the codes were computed for.
+     * @param codes      the validation codes, from the earliest window to the latest.
+     */
+    record WindowCodes(long timeWindow, int windowSize, int[] codes) {
+    }
+}
@@ -35,18 +35,20 @@ package io.github.sinri.keel.core.utils.authenticator.googleauth.sync;
 
 import io.github.sinri.keel.base.logger.factory.StdoutLoggerFactory;
 import io.github.sinri.keel.core.utils.BinaryUtils;
+import io.github.sinri.keel.core.utils.DigestUtils;
 import io.github.sinri.keel.core.utils.StringUtils;
 import io.github.sinri.keel.core.utils.authenticator.googleauth.GoogleAuthenticatorConfig;
 import io.github.sinri.keel.core.utils.authenticator.googleauth.GoogleAuthenticatorException;
 import io.github.sinri.keel.core.utils.authenticator.googleauth.GoogleAuthenticatorKey;
 import io.github.sinri.keel.core.utils.authenticator.googleauth.ReseedingSecureRandom;
+import io.github.sinri.keel.core.utils.authenticator.googleauth.TotpVerification;
 import io.github.sinri.keel.logger.api.logger.Logger;
 
 import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.stream.IntStream;
 
 
 /**
@@ -107,6 +109,11 @@ public final class GoogleAuthenticator implements IGoogleAuthenticator {
      * Magic number representing an invalid scratch code.
      */
     private static final int SCRATCH_CODE_INVALID = -1;
+
+    /**
+     * Batches of verifications at least this large are validated in parallel.
+     */
+    private static final int PARALLEL_AUTHORIZATION_THRESHOLD = 64;
     /**
      * Length in bytes of each scratch code. We're using Google's default of
      * using 4 bytes per scratch code.
@@ -147,6 +154,12 @@ public final class GoogleAuthenticator implements IGoogleAuthenticator {
      */
     private ReseedingSecureRandom secureRandom;
 
+    /**
+     * The cache of decoded secret keys, or <code>null</code> if disabled by
+     * the configuration.
+     */
+    private final DecodedSecretCache secretCache;
+
     private ICredentialRepository credentialRepository;
     private boolean credentialRepositorySearched;
 
@@ -155,6 +168,7 @@ public final class GoogleAuthenticator implements IGoogleAuthenticator {
      */
     public GoogleAuthenticator() {
         config = new GoogleAuthenticatorConfig();
+        secretCache = createSecretCache(config);
 
         this.secureRandom = new ReseedingSecureRandom(
                 getRandomNumberAlgorithm(),
@@ -173,6 +187,7 @@ public final class GoogleAuthenticator implements IGoogleAuthenticator {
         }
 
         this.config = config;
+        this.secretCache = createSecretCache(config);
 
         this.secureRandom = new ReseedingSecureRandom(
                 getRandomNumberAlgorithm(),
@@ -210,6 +225,7 @@ public final class GoogleAuthenticator implements IGoogleAuthenticator {
         }
 
         this.config = config;
+        this.secretCache = createSecretCache(config);
 
         if (randomNumberAlgorithm == null && randomNumberAlgorithmProvider == null) {
             this.secureRandom = new ReseedingSecureRandom();
@@ -220,6 +236,13 @@ public final class GoogleAuthenticator implements IGoogleAuthenticator {
         }
     }
 
+    private static DecodedSecretCache createSecretCache(GoogleAuthenticatorConfig config) {
+        if (config.getSecretCacheTtlInMillis() <= 0) {
+            return null;
+        }
+        return new DecodedSecretCache(config.getSecretCacheTtlInMillis(), config.getSecretCacheMaxSize());
+    }
+
     /**
      * @return the default random number generator algorithm.
      * @since 0.5.0
@@ -261,15 +284,10 @@ public final class GoogleAuthenticator implements IGoogleAuthenticator {
             data[i] = (byte) value;
         }
 
-        // Building the secret key specification for the HmacSHA1 algorithm.
-        SecretKeySpec signKey = new SecretKeySpec(key, config.getHmacHashFunction().toString());
-
         try {
-            // Getting an HmacSHA1/HmacSHA256 algorithm implementation from the JCE.
-            Mac mac = Mac.getInstance(config.getHmacHashFunction().toString());
-
-            // Initializing the MAC algorithm.
-            mac.init(signKey);
+            // Getting an HmacSHA1/HmacSHA256 algorithm implementation initialized
+            // with the key, cached per thread to skip provider lookup and key setup.
+            Mac mac = DigestUtils.getMac(config.getHmacHashFunction().toString(), key);
 
             // Processing the instant of time and getting the encrypted data.
             byte[] hash = mac.doFinal(data);
@@ -328,12 +346,33 @@ public final class GoogleAuthenticator implements IGoogleAuthenticator {
             long code,
             long timestamp,
             int window) {
-        byte[] decodedKey = decodeSecret(secret);
-
         // convert unix time into a 30 second "window" as specified by the
         // TOTP specification. Using Google's default interval of 30 seconds.
         final long timeWindow = getTimeWindowFromTime(timestamp);
 
+        if (secretCache == null) {
+            return checkCode(decodeSecret(secret), code, timeWindow, window);
+        }
+
+        DecodedSecretCache.Entry entry = secretCache.get(secret, this::decodeSecret);
+        if (!config.isWindowCodeCacheEnabled()) {
+            return checkCode(entry.key(), code, timeWindow, window);
+        }
+
+        // Comparing with the codes precomputed for the current time window.
+        for (int hash : getWindowCodes(entry, timeWindow, window)) {
+            if (hash == code) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean checkCode(
+            byte[] decodedKey,
+            long code,
+            long timeWindow,
+            int window) {
         // Calculating the verification code of the given key in each of the
         // time intervals and returning true if the provided code is equal to
         // one of them.
@@ -352,11 +391,50 @@ public final class GoogleAuthenticator implements IGoogleAuthenticator {
         return false;
     }
 
+    /**
+     * Returns the verification codes of all the windows around the given time
+     * window, computing them only when the cached ones belong to another time
+     * window.
+     *
+     * @param entry      the cached secret key.
+     * @param timeWindow the current time window.
+     * @param window     the window size.
+     * @return the verification codes, from the earliest window to the latest.
+     */
+    private int[] getWindowCodes(DecodedSecretCache.Entry entry, long timeWindow, int window) {
+        DecodedSecretCache.WindowCodes windowCodes = entry.windowCodes();
+        if (windowCodes == null || windowCodes.timeWindow() != timeWindow || windowCodes.windowSize() != window) {
+            int[] codes = new int[window];
+            int first = -((window - 1) / 2);
+            for (int i = 0; i < window; ++i) {
+                codes[i] = calculateCode(entry.key(), timeWindow + first + i);
+            }
+            windowCodes = new DecodedSecretCache.WindowCodes(timeWindow, window, codes);
+            entry.windowCodes(windowCodes);
+        }
+        return windowCodes.codes();
+    }
+
+    /**
+     * Decodes the secret key, reusing the cached result when the secret cache
+     * is enabled.
+     *
+     * @param secret the encoded secret key.
+     * @return the raw bytes of the secret key.
+     */
+    private byte[] decodeSecretWithCache(String secret) {
+        if (secretCache == null) {
+            return decodeSecret(secret);
+        }
+        return secretCache.get(secret, this::decodeSecret).key();
+    }
+
     private byte[] decodeSecret(String secret) {
         // Decoding the secret key to get its raw byte representation.
         switch (config.getKeyRepresentation()) {
             case BASE32:
-                return StringUtils.decodeWithBase32ToBytes(secret.toUpperCase());
+                // Base32 decoding is case-insensitive, no need to upper-case the secret.
+                return StringUtils.decodeWithBase32ToBytes(secret);
 
             //                Base32 codec32 = new Base32();
             // See: https://issues.apache.org/jira/browse/CODEC-234
@@ -503,7 +581,7 @@ public final class GoogleAuthenticator implements IGoogleAuthenticator {
     }
 
     public int getTotpPassword(String secret, long time) {
-        return calculateCode(decodeSecret(secret), getTimeWindowFromTime(time));
+        return calculateCode(decodeSecretWithCache(secret), getTimeWindowFromTime(time));
     }
 
     public int getTotpPasswordOfUser(String userName) {
@@ -514,7 +592,7 @@ public final class GoogleAuthenticator implements IGoogleAuthenticator {
         ICredentialRepository repository = getValidCredentialRepository();
 
         return calculateCode(
-                decodeSecret(repository.getSecretKey(userName)),
+                decodeSecretWithCache(repository.getSecretKey(userName)),
                 getTimeWindowFromTime(time));
     }
 
@@ -574,6 +652,27 @@ public final class GoogleAuthenticator implements IGoogleAuthenticator {
         return authorize(repository.getSecretKey(userName), verificationCode, time);
     }
 
+    /**
+     * Validates large batches in parallel on the common fork-join pool; see
+     * {@link IGoogleAuthenticator#authorizeAll(List, long)} for the threading
+     * requirements.
+     */
+    @Override
+    public List<Boolean> authorizeAll(List<TotpVerification> verifications, long time) {
+        TotpVerification[] batch = verifications.toArray(new TotpVerification[0]);
+        Boolean[] results = new Boolean[batch.length];
+
+        // The HMAC instances are cached per thread, so that the verifications
+        // can be spread over the common fork-join pool without contention.
+        IntStream indexes = IntStream.range(0, batch.length);
+        if (batch.length >= PARALLEL_AUTHORIZATION_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> results[i] = authorize(batch[i].secret(), batch[i].verificationCode(), time));
+
+        return Arrays.asList(results);
+    }
+
     /**
      * This method loads the first available and valid ICredentialRepository
      * registered using the Java service loader API.
@@ -32,6 +32,11 @@ package io.github.sinri.keel.core.utils.authenticator.googleauth.sync;
 
 import io.github.sinri.keel.core.utils.authenticator.googleauth.GoogleAuthenticatorException;
 import io.github.sinri.keel.core.utils.authenticator.googleauth.GoogleAuthenticatorKey;
+import io.github.sinri.keel.core.utils.authenticator.googleauth.TotpVerification;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 
 /**
  * Google Authenticator library interface.
@@ -175,6 +180,46 @@ public interface IGoogleAuthenticator {
      */
     boolean authorizeUser(String userName, int verificationCode, long time);
 
+    /**
+     * This method validates a batch of verification codes against their
+     * secret keys using the current time.  This method delegates the
+     * validation to the {@link #authorizeAll(List, long)} method.
+     *
+     * @param verifications The verification codes with their secret keys.
+     * @return the validation results, in the order of the provided
+     * verifications.
+     * @throws GoogleAuthenticatorException if an unexpected error occurs.
+     * @since 5.0.0
+     */
+    default List<Boolean> authorizeAll(List<TotpVerification> verifications) {
+        return authorizeAll(verifications, new Date().getTime());
+    }
+
+    /**
+     * This method validates a batch of verification codes against their
+     * secret keys, each one as {@link #authorize(String, int, long)} does.
+     * The default implementation validates them one after another;
+     * implementations may validate large batches in parallel.
+     * <p>
+     * The validation is blocking CPU work (and may run on the common
+     * fork-join pool), so this method must not be called on an event loop
+     * thread; call it from a worker or a virtual thread instead.
+     *
+     * @param verifications The verification codes with their secret keys.
+     * @param time          The time to use to calculate the TOTP password.
+     * @return the validation results, in the order of the provided
+     * verifications.
+     * @throws GoogleAuthenticatorException if an unexpected error occurs.
+     * @since 5.0.0
+     */
+    default List<Boolean> authorizeAll(List<TotpVerification> verifications, long time) {
+        List<Boolean> results = new ArrayList<>(verifications.size());
+        for (TotpVerification verification : verifications) {
+            results.add(authorize(verification.secret(), verification.verificationCode(), time));
+        }
+        return results;
+    }
+
     /**
      * This method returns the credential repository used by this instance, or
      * {@code null} if none is set or none can be found using the ServiceLoader
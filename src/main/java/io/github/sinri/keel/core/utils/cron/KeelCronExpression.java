@@ -2,6 +2,7 @@ package io.github.sinri.keel.core.utils.cron;
 
 
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 import java.util.*;
 import java.util.regex.Matcher;
@@ -10,17 +11,36 @@ import java.util.regex.Pattern;
 
 /**
  * 分钟级 CRON 表达式。
+ * <p>
+ * 额外支持在标准五段式之前加入秒段的六段式写法，用于秒级精度的调度。
  *
  * @since 5.0.0
  */
 @NullMarked
 public class KeelCronExpression {
+    /**
+     * 搜索下一个触发时间的最大跨度（年）。
+     * <p>
+     * 闰日与星期的组合周期为 28 年，超过此跨度仍未找到匹配的表达式视为永不触发。
+     */
+    private static final int NEXT_MATCH_SEARCH_YEARS = 28;
+
+    final Set<Integer> secondOptions = new HashSet<>();
     final Set<Integer> minuteOptions = new HashSet<>();
     final Set<Integer> hourOptions = new HashSet<>();
     final Set<Integer> dayOptions = new HashSet<>();
     final Set<Integer> monthOptions = new HashSet<>();
     final Set<Integer> weekdayOptions = new HashSet<>();
     private final String rawCronExpression;
+    /**
+     * 各段允许值的位掩码，第 n 位为 1 表示允许值 n，用于匹配时的快速判断。
+     */
+    private final long secondMask;
+    private final long minuteMask;
+    private final long hourMask;
+    private final long dayMask;
+    private final long monthMask;
+    private final long weekdayMask;
 
     /**
      * 解析一个非空的分钟级 CRON 字符串，并构造本类的实例。
@@ -32,6 +52,8 @@ public class KeelCronExpression {
      * {@code DAY} 是天，范围是 1-31<br>
      * {@code MONTH} 是月，范围是 1-12<br>
      * {@code WEEKDAY} 是星期，范围是 0-6，其中 0 是星期日<br>
+     * 也可以在最前面加入秒段，即 {@code SECOND MINUTE HOUR DAY MONTH WEEKDAY}，
+     * {@code SECOND} 是秒，范围是 0-59；省略时秒段视为 {@code 0}。<br>
      * 各项中，除指定可选数字外，还可以使用{@code -}和{@code *}表示返回，
      * 使用{@code /}表示在范围内的步进。
      *
@@ -44,7 +66,12 @@ public class KeelCronExpression {
         this.rawCronExpression = rawCronExpression;
 
         String[] parts = rawCronExpression.trim().split("\\s+");
-        if (parts.length != 5) {
+        if (parts.length == 6) {
+            parseField(parts[0], secondOptions, 0, 59);
+            parts = Arrays.copyOfRange(parts, 1, 6);
+        } else if (parts.length == 5) {
+            secondOptions.add(0);
+        } else {
             throw new IllegalArgumentException("Invalid Cron Expression");
         }
 
@@ -59,6 +86,25 @@ public class KeelCronExpression {
         parseField(dayExpression, dayOptions, 1, 31);
         parseField(monthExpression, monthOptions, 1, 12);
         parseField(weekdayExpression, weekdayOptions, 0, 6);
+
+        secondMask = toMask(secondOptions);
+        minuteMask = toMask(minuteOptions);
+        hourMask = toMask(hourOptions);
+        dayMask = toMask(dayOptions);
+        monthMask = toMask(monthOptions);
+        weekdayMask = toMask(weekdayOptions);
+    }
+
+    private static long toMask(Set<Integer> options) {
+        long mask = 0L;
+        for (int option : options) {
+            mask |= 1L << option;
+        }
+        return mask;
+    }
+
+    private static boolean hasBit(long mask, int value) {
+        return (mask & (1L << value)) != 0;
     }
 
     /**
@@ -92,17 +138,73 @@ public class KeelCronExpression {
      * 判断给定的已解析日历元素是否匹配当前的 CRON 表达式。
      * <p>
      * 该方法会检查 ParsedCalenderElements 中的各个时间组件（分钟、小时、日期、月份、星期）
-     * 是否都在 CRON 表达式对应的允许值集合中。
+     * 是否都在 CRON 表达式对应的允许值集合中；秒段不参与此匹配，以保持分钟级调度的语义。
      *
      * @param parsedCalenderElements 要与 CRON 表达式进行匹配的 ParsedCalenderElements 实例，不能为 null
      * @return 如果 ParsedCalenderElements 匹配 CRON 表达式则返回 true，否则返回 false
      */
     public boolean match(ParsedCalenderElements parsedCalenderElements) {
-        return minuteOptions.contains(parsedCalenderElements.minute)
-                && hourOptions.contains(parsedCalenderElements.hour)
-                && dayOptions.contains(parsedCalenderElements.day)
-                && monthOptions.contains(parsedCalenderElements.month)
-                && weekdayOptions.contains(parsedCalenderElements.weekday);
+        return hasBit(minuteMask, parsedCalenderElements.minute)
+                && hasBit(hourMask, parsedCalenderElements.hour)
+                && hasBit(dayMask, parsedCalenderElements.day)
+                && hasBit(monthMask, parsedCalenderElements.month)
+                && hasBit(weekdayMask, parsedCalenderElements.weekday);
+    }
+
+    /**
+     * 计算严格晚于给定时刻的下一个匹配时刻，精确到秒。
+     * <p>
+     * 与 {@link #match(ParsedCalenderElements)} 不同，本方法同时考虑秒段；五段式表达式的秒段为 {@code 0}。
+     * 计算按月、日、时、分、秒逐级跳跃，不会逐秒遍历。
+     *
+     * @param after 起算时刻，不会被修改；其时区决定各时间组件的取值
+     * @return 下一个匹配时刻（毫秒为 0）；如果在可搜索的跨度内不存在匹配（例如 2 月 30 日），则返回 null
+     */
+    public @Nullable Calendar nextMatchAfter(Calendar after) {
+        Calendar candidate = (Calendar) after.clone();
+        candidate.set(Calendar.MILLISECOND, 0);
+        candidate.add(Calendar.SECOND, 1);
+
+        Calendar limit = (Calendar) after.clone();
+        limit.add(Calendar.YEAR, NEXT_MATCH_SEARCH_YEARS);
+
+        while (!candidate.after(limit)) {
+            if (!hasBit(monthMask, candidate.get(Calendar.MONTH) + 1)) {
+                candidate.set(Calendar.DAY_OF_MONTH, 1);
+                truncateToDay(candidate);
+                candidate.add(Calendar.MONTH, 1);
+                continue;
+            }
+            if (!hasBit(dayMask, candidate.get(Calendar.DAY_OF_MONTH))
+                    || !hasBit(weekdayMask, candidate.get(Calendar.DAY_OF_WEEK) - 1)) {
+                truncateToDay(candidate);
+                candidate.add(Calendar.DAY_OF_MONTH, 1);
+                continue;
+            }
+            if (!hasBit(hourMask, candidate.get(Calendar.HOUR_OF_DAY))) {
+                candidate.set(Calendar.MINUTE, 0);
+                candidate.set(Calendar.SECOND, 0);
+                candidate.add(Calendar.HOUR_OF_DAY, 1);
+                continue;
+            }
+            if (!hasBit(minuteMask, candidate.get(Calendar.MINUTE))) {
+                candidate.set(Calendar.SECOND, 0);
+                candidate.add(Calendar.MINUTE, 1);
+                continue;
+            }
+            if (!hasBit(secondMask, candidate.get(Calendar.SECOND))) {
+                candidate.add(Calendar.SECOND, 1);
+                continue;
+            }
+            return candidate;
+        }
+        return null;
+    }
+
+    private static void truncateToDay(Calendar calendar) {
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
     }
 
     /**
@@ -0,0 +1,238 @@
+package io.github.sinri.keel.core.utils.encryption.aes;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.security.GeneralSecurityException;
+
+/**
+ * 以 {@link KeelAesUsingRandomIv#encryptInChunks(byte[], int)} 的分块格式流式加解密的 {@link ReadStream} 包装。
+ * <p>
+ * 数据按固定长度分块，每个分块独立加解密；由于只有在原始流结束时才能确定最后一个分块，
+ * 本流始终暂存一个分块，直到收到其后的数据或原始流结束。占用的内存以一个分块的大小为上限，与数据总量无关。
+ * 流控操作全部委托给原始流；加解密出错时，错误交给异常处理器，此后不再输出数据，也不再结束。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+final class ChunkedCipherReadStream implements ReadStream<Buffer> {
+    private final ReadStream<Buffer> source;
+    private final int headerLength;
+    private final @Nullable ChunkTransformerFactory transformerFactory;
+    private @Nullable ChunkTransformer transformer;
+    /**
+     * 加密时尚未输出的头部。
+     */
+    private @Nullable Buffer headerToEmit;
+    /**
+     * 解密时已读取的头部。
+     */
+    private final Buffer headerReceived = Buffer.buffer();
+    /**
+     * 尚未处理的分块数据，长度不超过一个分块。
+     */
+    private Buffer pending = Buffer.buffer();
+    private int chunkIndex = 0;
+    private @Nullable Handler<Buffer> handler;
+    private @Nullable Handler<Throwable> exceptionHandler;
+    private @Nullable Handler<Void> endHandler;
+    private boolean failed = false;
+
+    /**
+     * @param source      原始流
+     * @param header      在全部输出之前输出的头部
+     * @param transformer 分块加密器，由本流独占
+     */
+    ChunkedCipherReadStream(ReadStream<Buffer> source, Buffer header, ChunkTransformer transformer) {
+        this(source, header, transformer, 0, null);
+    }
+
+    /**
+     * @param source             原始流
+     * @param headerLength       原始流开头的头部长度，头部不参与解密
+     * @param transformerFactory 以读取到的头部创建分块解密器，由本流独占
+     */
+    ChunkedCipherReadStream(ReadStream<Buffer> source, int headerLength, ChunkTransformerFactory transformerFactory) {
+        this(source, null, null, headerLength, transformerFactory);
+    }
+
+    private ChunkedCipherReadStream(
+            ReadStream<Buffer> source,
+            @Nullable Buffer header,
+            @Nullable ChunkTransformer transformer,
+            int headerLength,
+            @Nullable ChunkTransformerFactory transformerFactory
+    ) {
+        this.source = source;
+        this.headerToEmit = header;
+        this.transformer = transformer;
+        this.headerLength = headerLength;
+        this.transformerFactory = transformerFactory;
+        source.exceptionHandler(this::fail);
+        source.endHandler(v -> {
+            if (failed) {
+                return;
+            }
+            ChunkTransformer t = this.transformer;
+            if (t == null) {
+                fail(new GeneralSecurityException("Stream ended within the header"));
+                return;
+            }
+            try {
+                flush(t, true);
+            } catch (GeneralSecurityException e) {
+                fail(e);
+                return;
+            }
+            Handler<Void> e = this.endHandler;
+            if (e != null) {
+                e.handle(null);
+            }
+        });
+    }
+
+    private void fail(Throwable throwable) {
+        failed = true;
+        Handler<Throwable> h = this.exceptionHandler;
+        if (h != null) {
+            h.handle(throwable);
+        }
+    }
+
+    private void emit(Buffer buffer) {
+        Handler<Buffer> h = this.handler;
+        if (h == null) {
+            return;
+        }
+        Buffer header = this.headerToEmit;
+        if (header != null) {
+            this.headerToEmit = null;
+            h.handle(header);
+        }
+        if (buffer.length() > 0) {
+            h.handle(buffer);
+        }
+    }
+
+    private void flush(ChunkTransformer t, boolean lastChunk) throws GeneralSecurityException {
+        byte[] chunk = pending.getBytes();
+        pending = Buffer.buffer();
+        emit(Buffer.buffer(t.transform(chunkIndex++, lastChunk, chunk)));
+    }
+
+    private void receive(Buffer buffer) throws GeneralSecurityException {
+        int offset = 0;
+        ChunkTransformer t = this.transformer;
+        if (t == null) {
+            ChunkTransformerFactory factory = this.transformerFactory;
+            if (factory == null) {
+                throw new IllegalStateException("No transformer");
+            }
+            int needed = headerLength - headerReceived.length();
+            if (buffer.length() < needed) {
+                headerReceived.appendBuffer(buffer);
+                return;
+            }
+            headerReceived.appendBuffer(buffer, 0, needed);
+            t = factory.create(headerReceived.getBytes());
+            this.transformer = t;
+            offset = needed;
+        }
+
+        int chunkLength = t.chunkLength();
+        while (offset < buffer.length()) {
+            if (pending.length() == chunkLength) {
+                // 其后还有数据，暂存的分块不是最后一个
+                flush(t, false);
+            }
+            int length = Math.min(chunkLength - pending.length(), buffer.length() - offset);
+            pending.appendBuffer(buffer, offset, length);
+            offset += length;
+        }
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(@Nullable Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(@Nullable Handler<Buffer> handler) {
+        this.handler = handler;
+        if (handler == null) {
+            source.handler(null);
+        } else {
+            source.handler(buffer -> {
+                if (failed) {
+                    return;
+                }
+                try {
+                    receive(buffer);
+                } catch (GeneralSecurityException e) {
+                    fail(e);
+                }
+            });
+        }
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        source.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        source.resume();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+        source.fetch(amount);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(@Nullable Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    /**
+     * 分块加密器或解密器。
+     */
+    interface ChunkTransformer {
+        /**
+         * @return 除最后一个分块外，每个输入分块的字节数
+         */
+        int chunkLength();
+
+        /**
+         * @param chunkIndex 分块序号
+         * @param lastChunk  是否为最后一个分块
+         * @param chunk      输入分块
+         * @return 输出分块
+         * @throws GeneralSecurityException 如果加解密失败
+         */
+        byte[] transform(int chunkIndex, boolean lastChunk, byte[] chunk) throws GeneralSecurityException;
+    }
+
+    /**
+     * 以流开头读取到的头部创建分块解密器。
+     */
+    @FunctionalInterface
+    interface ChunkTransformerFactory {
+        /**
+         * @param header 读取到的头部
+         * @return 分块解密器
+         * @throws GeneralSecurityException 如果头部无效或无法创建
+         */
+        ChunkTransformer create(byte[] header) throws GeneralSecurityException;
+    }
+}
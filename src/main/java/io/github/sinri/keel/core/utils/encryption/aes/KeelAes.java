@@ -1,9 +1,12 @@
 package io.github.sinri.keel.core.utils.encryption.aes;
 
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
 import org.jspecify.annotations.NullMarked;
 
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
@@ -33,6 +36,8 @@ public interface KeelAes {
             case AesEcbPkcs5Padding -> new KeelAesEcbPkcs5Padding(key);
             case AesEcbPkcs7Padding -> new KeelAesEcbPkcs7Padding(key);
             case AesEcbNoPadding -> new KeelAesEcbNoPadding(key);
+            case AesGcmNoPadding -> new KeelAesGcmNoPadding(key);
+            case AesCtrNoPadding -> new KeelAesCtrNoPadding(key);
         };
     }
 
@@ -62,16 +67,84 @@ public interface KeelAes {
      */
     SupportedCipherAlgorithm getCipherAlgorithm();
 
+    /**
+     * @param source 源字符串，按 {@link #ENCODING} 编码
+     * @return Base64 编码的密文
+     */
     String encrypt(String source);
 
+    /**
+     * @param encryptStr Base64 编码的密文
+     * @return 源字符串
+     */
     String decrypt(String encryptStr);
 
+    /**
+     * @param source 源数据
+     * @return 密文
+     */
+    byte[] encrypt(byte[] source);
+
+    /**
+     * @param encrypted 密文
+     * @return 源数据
+     */
+    byte[] decrypt(byte[] encrypted);
+
+    /**
+     * 加密 {@code source} 中剩余的全部数据，写入 {@code target}，不产生中间数组。
+     *
+     * @param source 源数据
+     * @param target 密文的写入位置，剩余空间不少于 {@link #getEncryptedLength(int)}
+     * @return 写入的密文字节数
+     */
+    int encrypt(ByteBuffer source, ByteBuffer target);
+
+    /**
+     * 解密 {@code encrypted} 中剩余的全部数据，写入 {@code target}，不产生中间数组。
+     *
+     * @param encrypted 密文
+     * @param target    源数据的写入位置，剩余空间不少于密文长度
+     * @return 写入的源数据字节数
+     */
+    int decrypt(ByteBuffer encrypted, ByteBuffer target);
+
+    /**
+     * @param sourceLength 源数据字节数
+     * @return 加密后密文字节数的上限
+     */
+    int getEncryptedLength(int sourceLength);
+
+    /**
+     * 流式加密，数据分块经过时即时加密，占用的内存与数据总量无关。
+     *
+     * @param source 源数据流
+     * @return 密文流，流控操作委托给源数据流
+     */
+    ReadStream<Buffer> encryptStream(ReadStream<Buffer> source);
+
+    /**
+     * 流式解密，数据分块经过时即时解密，占用的内存与数据总量无关。
+     *
+     * @param encrypted 密文流
+     * @return 源数据流，流控操作委托给密文流
+     */
+    ReadStream<Buffer> decryptStream(ReadStream<Buffer> encrypted);
+
     enum SupportedCipherAlgorithm {
         AesCbcPkcs5Padding("AES/CBC/PKCS5Padding"),
         AesCbcPkcs7Padding("AES/CBC/PKCS7Padding"),
         AesEcbPkcs5Padding("AES/ECB/PKCS5Padding"),
         AesEcbPkcs7Padding("AES/ECB/PKCS7Padding"),
         AesEcbNoPadding("AES/ECB/NoPadding"),
+        /**
+         * 认证加密，每次加密使用随机偏移量
+         */
+        AesGcmNoPadding("AES/GCM/NoPadding"),
+        /**
+         * 计数器模式，每次加密使用随机初始计数器
+         */
+        AesCtrNoPadding("AES/CTR/NoPadding"),
         ;
 
         private final String expression;
@@ -1,25 +1,225 @@
 package io.github.sinri.keel.core.utils.encryption.aes;
 
+import io.github.sinri.keel.core.utils.internal.ThreadLocalLruCache;
+import io.github.sinri.keel.core.utils.io.CipherReadStream;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
 
 /**
+ * AES 加解密的基础实现。
+ * <p>
+ * 密钥规格在构造时一次性生成；各线程按算法、密钥与偏移量缓存已初始化的 {@link Cipher} 实例，
+ * 加解密时直接复用，省去提供者查找与密钥编排的开销。流式加解密则为每个流创建独占的实例。
+ *
  * @since 5.0.0
  */
 @NullMarked
 abstract public class KeelAesBase implements KeelAes {
+    /**
+     * 每个线程最多缓存的已初始化 {@link Cipher} 实例数量，超出时淘汰最久未使用的实例。
+     */
+    private static final int CIPHER_CACHE_SIZE_PER_THREAD = 32;
+    /**
+     * 各线程缓存的已初始化 {@link Cipher} 实例，按访问顺序做 LRU 淘汰；{@link Cipher} 不是线程安全的，不能跨线程共享。
+     */
+    private static final ThreadLocalLruCache<String, Cipher> threadLocalCiphers = new ThreadLocalLruCache<>(CIPHER_CACHE_SIZE_PER_THREAD);
+
     /**
      * 密钥
      */
     private final String key;
+    private final SecretKeySpec secretKeySpec;
+    /**
+     * 本实例的 Cipher 缓存键前缀，首次使用时生成。
+     */
+    private @Nullable String cipherCacheKey;
 
     /**
      * @param key AES要求密钥长度为128位或192位或256位，java默认限制AES密钥长度最多128位
      */
     public KeelAesBase(String key) {
         this.key = key;
+        this.secretKeySpec = new SecretKeySpec(key.getBytes(ENCODING), KEY_ALGORITHM);
     }
 
     protected String getKey() {
         return key;
     }
+
+    /**
+     * @return 预先生成的密钥规格
+     */
+    protected final SecretKeySpec getSecretKeySpec() {
+        return secretKeySpec;
+    }
+
+    /**
+     * @return 安全提供者名称；为 null 时使用默认的提供者
+     */
+    protected @Nullable String getProviderName() {
+        return null;
+    }
+
+    /**
+     * @return 偏移量；为 null 时表示工作模式不需要偏移量
+     */
+    protected byte @Nullable [] getIv() {
+        return null;
+    }
+
+    /**
+     * @return 本实例算法的未初始化的新 {@link Cipher} 实例
+     * @throws GeneralSecurityException 如果算法或安全提供者不可用
+     */
+    protected final Cipher getCipherInstance() throws GeneralSecurityException {
+        String providerName = getProviderName();
+        return providerName == null
+                ? Cipher.getInstance(getCipherAlgorithm().getExpression())
+                : Cipher.getInstance(getCipherAlgorithm().getExpression(), providerName);
+    }
+
+    /**
+     * 创建一个以本实例的密钥与偏移量初始化的新 {@link Cipher} 实例，由调用方独占。
+     *
+     * @param mode {@link Cipher#ENCRYPT_MODE} 或 {@link Cipher#DECRYPT_MODE}
+     * @return 已初始化的 Cipher 实例
+     * @throws GeneralSecurityException 如果算法不可用或密钥无效
+     */
+    protected Cipher createCipher(int mode) throws GeneralSecurityException {
+        Cipher cipher = getCipherInstance();
+        byte[] iv = getIv();
+        if (iv == null) {
+            cipher.init(mode, secretKeySpec);
+        } else {
+            cipher.init(mode, secretKeySpec, new IvParameterSpec(iv));
+        }
+        return cipher;
+    }
+
+    /**
+     * 获取当前线程缓存的、以本实例的密钥与偏移量初始化的 {@link Cipher} 实例。
+     * <p>
+     * 返回的实例仅可在当前线程内使用，且须在一次 {@code doFinal} 中用完；
+     * 操作失败时应调用 {@link #evictCachedCipher(int)} 丢弃状态不明的实例。
+     *
+     * @param mode {@link Cipher#ENCRYPT_MODE} 或 {@link Cipher#DECRYPT_MODE}
+     * @return 已初始化的 Cipher 实例
+     * @throws GeneralSecurityException 如果算法不可用或密钥无效
+     */
+    protected final Cipher getCachedCipher(int mode) throws GeneralSecurityException {
+        String cacheKey = mode + getCipherCacheKey();
+        Cipher cipher = threadLocalCiphers.get(cacheKey);
+        if (cipher == null) {
+            cipher = createCipher(mode);
+            threadLocalCiphers.put(cacheKey, cipher);
+        }
+        return cipher;
+    }
+
+    /**
+     * 丢弃当前线程缓存的指定模式的 {@link Cipher} 实例。
+     *
+     * @param mode {@link Cipher#ENCRYPT_MODE} 或 {@link Cipher#DECRYPT_MODE}
+     */
+    protected final void evictCachedCipher(int mode) {
+        threadLocalCiphers.remove(mode + getCipherCacheKey());
+    }
+
+    private String getCipherCacheKey() {
+        String x = cipherCacheKey;
+        if (x == null) {
+            Base64.Encoder encoder = Base64.getEncoder();
+            byte[] iv = getIv();
+            x = ":" + getCipherAlgorithm().getExpression()
+                    + ":" + getProviderName()
+                    + ":" + encoder.encodeToString(secretKeySpec.getEncoded())
+                    + ":" + (iv == null ? "" : encoder.encodeToString(iv));
+            cipherCacheKey = x;
+        }
+        return x;
+    }
+
+    private byte[] doFinal(int mode, byte[] input) {
+        try {
+            return getCachedCipher(mode).doFinal(input);
+        } catch (GeneralSecurityException e) {
+            evictCachedCipher(mode);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private int doFinal(int mode, ByteBuffer input, ByteBuffer output) {
+        try {
+            return getCachedCipher(mode).doFinal(input, output);
+        } catch (GeneralSecurityException e) {
+            evictCachedCipher(mode);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String encrypt(String source) {
+        return Base64.getEncoder().encodeToString(encrypt(source.getBytes(ENCODING)));
+    }
+
+    @Override
+    public String decrypt(String encryptStr) {
+        return new String(decrypt(Base64.getDecoder().decode(encryptStr)), ENCODING);
+    }
+
+    @Override
+    public byte[] encrypt(byte[] source) {
+        return doFinal(Cipher.ENCRYPT_MODE, source);
+    }
+
+    @Override
+    public byte[] decrypt(byte[] encrypted) {
+        return doFinal(Cipher.DECRYPT_MODE, encrypted);
+    }
+
+    @Override
+    public int encrypt(ByteBuffer source, ByteBuffer target) {
+        return doFinal(Cipher.ENCRYPT_MODE, source, target);
+    }
+
+    @Override
+    public int decrypt(ByteBuffer encrypted, ByteBuffer target) {
+        return doFinal(Cipher.DECRYPT_MODE, encrypted, target);
+    }
+
+    @Override
+    public int getEncryptedLength(int sourceLength) {
+        try {
+            return getCachedCipher(Cipher.ENCRYPT_MODE).getOutputSize(sourceLength);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public ReadStream<Buffer> encryptStream(ReadStream<Buffer> source) {
+        try {
+            return new CipherReadStream(source, createCipher(Cipher.ENCRYPT_MODE));
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public ReadStream<Buffer> decryptStream(ReadStream<Buffer> encrypted) {
+        try {
+            return new CipherReadStream(encrypted, createCipher(Cipher.DECRYPT_MODE));
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
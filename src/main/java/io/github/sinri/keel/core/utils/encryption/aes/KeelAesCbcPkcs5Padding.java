@@ -2,12 +2,8 @@ package io.github.sinri.keel.core.utils.encryption.aes;
 
 import org.jspecify.annotations.NullMarked;
 
-import javax.crypto.*;
-import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
-import java.security.InvalidAlgorithmParameterException;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
 import java.util.Base64;
 
 /**
@@ -52,35 +48,7 @@ public class KeelAesCbcPkcs5Padding extends KeelAesUsingPkcs5Padding {
     }
 
     @Override
-    public String encrypt(String source) {
-        try {
-            Cipher encryptionCipher = Cipher.getInstance(getCipherAlgorithm().getExpression());
-            byte[] keyBytes = getKey().getBytes(ENCODING);
-            IvParameterSpec parameterSpec = new IvParameterSpec(new byte[16]);
-            encryptionCipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(keyBytes, KEY_ALGORITHM), parameterSpec);
-            byte[] encryptedMessageBytes = encryptionCipher.doFinal(source.getBytes(ENCODING));
-            //System.out.println("encrypt output bytes: "+encryptedMessageBytes.length);
-            return Base64.getEncoder().encodeToString(encryptedMessageBytes);
-        } catch (InvalidAlgorithmParameterException | NoSuchPaddingException |
-                 IllegalBlockSizeException | NoSuchAlgorithmException | BadPaddingException | InvalidKeyException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    @Override
-    public String decrypt(String encryptStr) {
-        try {
-            byte[] encryptedBase64 = Base64.getDecoder().decode(encryptStr);
-            //System.out.println("decrypt input bytes: "+encryptedBase64.length);
-            Cipher decryptionCipher = Cipher.getInstance(getCipherAlgorithm().getExpression());
-            byte[] keyBytes = getKey().getBytes(ENCODING);
-            IvParameterSpec parameterSpec = new IvParameterSpec(new byte[16]);
-            decryptionCipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(keyBytes, KEY_ALGORITHM), parameterSpec);
-            byte[] decryptedMessageBytes = decryptionCipher.doFinal(encryptedBase64);
-            return new String(decryptedMessageBytes, ENCODING);
-        } catch (InvalidAlgorithmParameterException | NoSuchPaddingException |
-                 IllegalBlockSizeException | NoSuchAlgorithmException | BadPaddingException | InvalidKeyException e) {
-            throw new RuntimeException(e);
-        }
+    protected byte[] getIv() {
+        return new byte[16];
     }
 }
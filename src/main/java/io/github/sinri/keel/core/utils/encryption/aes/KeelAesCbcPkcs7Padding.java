@@ -2,13 +2,8 @@ package io.github.sinri.keel.core.utils.encryption.aes;
 
 import org.jspecify.annotations.NullMarked;
 
-import javax.crypto.*;
-import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
-import java.security.InvalidAlgorithmParameterException;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
-import java.security.NoSuchProviderException;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
 import java.util.Base64;
 
 /**
@@ -59,47 +54,8 @@ public class KeelAesCbcPkcs7Padding extends KeelAesUsingPkcs7Padding {
         return SupportedCipherAlgorithm.AesCbcPkcs7Padding;
     }
 
-    /**
-     * AES加密
-     *
-     * @param source 源字符串
-     * @return 加密后的密文
-     *  使用本方法需要加载BouncyCastle相关的库！
-     */
-    public String encrypt(String source) {
-        try {
-            byte[] sourceBytes = source.getBytes(ENCODING);
-            byte[] keyBytes = getKey().getBytes(ENCODING);
-            Cipher cipher = Cipher.getInstance(getCipherAlgorithm().getExpression(), "BC");
-            IvParameterSpec iv = new IvParameterSpec(ivParameter.getBytes(ENCODING));
-            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(keyBytes, KEY_ALGORITHM), iv);
-            byte[] decrypted = cipher.doFinal(sourceBytes);
-            return Base64.getEncoder().encodeToString(decrypted);
-        } catch (InvalidAlgorithmParameterException | NoSuchPaddingException | IllegalBlockSizeException |
-                 NoSuchAlgorithmException | BadPaddingException | InvalidKeyException | NoSuchProviderException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    /**
-     * AES解密
-     *
-     * @param encryptStr 加密后的密文
-     * @return 源字符串
-     */
-    public String decrypt(String encryptStr) {
-        try {
-            byte[] sourceBytes = Base64.getDecoder().decode(encryptStr);
-            byte[] keyBytes = getKey().getBytes(ENCODING);
-            Cipher cipher = Cipher.getInstance(getCipherAlgorithm().getExpression(), "BC");
-            IvParameterSpec iv = new IvParameterSpec(ivParameter.getBytes(ENCODING));
-            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(keyBytes, KEY_ALGORITHM), iv);
-            byte[] decoded = cipher.doFinal(sourceBytes);
-            return new String(decoded, ENCODING);
-        } catch (InvalidAlgorithmParameterException | NoSuchPaddingException |
-                 IllegalBlockSizeException | NoSuchAlgorithmException | BadPaddingException | NoSuchProviderException |
-                 InvalidKeyException e) {
-            throw new RuntimeException(e);
-        }
+    @Override
+    protected byte[] getIv() {
+        return ivParameter.getBytes(ENCODING);
     }
 }
@@ -0,0 +1,62 @@
+package io.github.sinri.keel.core.utils.encryption.aes;
+
+import org.jspecify.annotations.NullMarked;
+
+import javax.crypto.spec.IvParameterSpec;
+import java.security.spec.AlgorithmParameterSpec;
+
+/**
+ * AES-CTR 流式加密，使用 16 字节的随机初始计数器，密文与源数据等长。
+ * <p>
+ * 此模式不做认证，不能发现密文被篡改；需要认证时应使用 {@link KeelAesGcmNoPadding}。
+ * 加解密均可随数据流经即时输出，适合流式处理大文件。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+public class KeelAesCtrNoPadding extends KeelAesUsingRandomIv {
+    private static final int IV_LENGTH = 16;
+    private static final int BLOCK_SIZE = 16;
+
+    /**
+     * @param key AES要求密钥长度为128位或192位或256位，java默认限制AES密钥长度最多128位
+     */
+    public KeelAesCtrNoPadding(String key) {
+        super(key);
+    }
+
+    @Override
+    public SupportedCipherAlgorithm getCipherAlgorithm() {
+        return SupportedCipherAlgorithm.AesCtrNoPadding;
+    }
+
+    @Override
+    protected int getIvLength() {
+        return IV_LENGTH;
+    }
+
+    @Override
+    protected int getTagLength() {
+        return 0;
+    }
+
+    @Override
+    protected AlgorithmParameterSpec createParameterSpec(byte[] iv, int offset) {
+        return new IvParameterSpec(iv, offset, IV_LENGTH);
+    }
+
+    /**
+     * 将初始计数器按 128 位大端整数加上此前各分块占用的块数，使各分块的密钥流互不重叠。
+     */
+    @Override
+    protected byte[] deriveChunkIv(byte[] baseIv, int chunkIndex, int chunkSize) {
+        byte[] iv = baseIv.clone();
+        long carry = (long) chunkIndex * ((chunkSize + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        for (int i = IV_LENGTH - 1; i >= 0 && carry != 0; i--) {
+            long sum = (iv[i] & 0xFF) + (carry & 0xFF);
+            iv[i] = (byte) sum;
+            carry = (carry >>> 8) + (sum >>> 8);
+        }
+        return iv;
+    }
+}
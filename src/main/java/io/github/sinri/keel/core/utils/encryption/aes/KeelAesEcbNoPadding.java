@@ -1,19 +1,13 @@
 package io.github.sinri.keel.core.utils.encryption.aes;
 
 
-import io.github.sinri.keel.core.utils.BinaryUtils;
-import io.github.sinri.keel.core.utils.StringUtils;
 import org.jspecify.annotations.NullMarked;
 
-import javax.crypto.BadPaddingException;
-import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.NoSuchPaddingException;
-import javax.crypto.spec.SecretKeySpec;
-import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 
 /**
+ * AES 的 NoPadding 模式，加密的数据字节数必须为 16 的倍数。
+ *
  * @since 5.0.0
  */
 @NullMarked
@@ -39,43 +33,4 @@ public class KeelAesEcbNoPadding extends KeelAesBase {
     public SupportedCipherAlgorithm getCipherAlgorithm() {
         return SupportedCipherAlgorithm.AesEcbNoPadding;
     }
-
-    /**
-     * @param source AES的NoPadding模式加密的key和data的byte字节数必须为16的倍数。
-     */
-    @Override
-    public String encrypt(String source) {
-        try {
-//            System.out.println("source: " + source);
-            SecretKeySpec secretKeySpec = new SecretKeySpec(getKey().getBytes(ENCODING), KEY_ALGORITHM);
-            Cipher cipher = Cipher.getInstance(getCipherAlgorithm().getExpression());
-            cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec);
-            byte[] sourceBytes = source.getBytes(ENCODING);
-//            System.out.println("source bytes: " + KeelHelpers.binaryHelper().encodeHexWithUpperDigits(sourceBytes));
-            byte[] encryptedBytes = cipher.doFinal(sourceBytes);
-//            System.out.println("encrypted bytes: " + KeelHelpers.binaryHelper().encodeHexWithUpperDigits(encryptedBytes));
-            return BinaryUtils.encodeWithBase64ToString(encryptedBytes);
-        } catch (NoSuchPaddingException | IllegalBlockSizeException | NoSuchAlgorithmException | BadPaddingException |
-                 InvalidKeyException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    @Override
-    public String decrypt(String encryptStr) {
-        try {
-            SecretKeySpec secretKeySpec = new SecretKeySpec(getKey().getBytes(ENCODING), KEY_ALGORITHM);
-            Cipher cipher = Cipher.getInstance(getCipherAlgorithm().getExpression());
-            cipher.init(Cipher.DECRYPT_MODE, secretKeySpec);
-            byte[] encryptedBytes = StringUtils.decodeWithBase64ToBytes(encryptStr);
-//            System.out.println("encrypted bytes: " + KeelHelpers.binaryHelper().encodeHexWithUpperDigits(encryptedBytes));
-            var decryptedBytes = cipher.doFinal(encryptedBytes);
-//            System.out.println("decrypted bytes: " + KeelHelpers.binaryHelper().encodeHexWithUpperDigits(decryptedBytes));
-            //            System.out.println("decrypted text: " + s);
-            return new String(decryptedBytes, ENCODING);
-        } catch (NoSuchPaddingException | IllegalBlockSizeException | NoSuchAlgorithmException | BadPaddingException |
-                 InvalidKeyException e) {
-            throw new RuntimeException(e);
-        }
-    }
 }
@@ -2,10 +2,8 @@ package io.github.sinri.keel.core.utils.encryption.aes;
 
 import org.jspecify.annotations.NullMarked;
 
-import javax.crypto.*;
-import javax.crypto.spec.SecretKeySpec;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
 import java.util.Base64;
 
 /**
@@ -49,33 +47,4 @@ public class KeelAesEcbPkcs5Padding extends KeelAesUsingPkcs5Padding {
     public SupportedCipherAlgorithm getCipherAlgorithm() {
         return SupportedCipherAlgorithm.AesEcbPkcs5Padding;
     }
-
-    @Override
-    public String encrypt(String source) {
-        try {
-            Cipher encryptionCipher = Cipher.getInstance(getCipherAlgorithm().getExpression());
-            byte[] keyBytes = getKey().getBytes(ENCODING);
-            encryptionCipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(keyBytes, KEY_ALGORITHM));
-            byte[] encryptedMessageBytes = encryptionCipher.doFinal(source.getBytes(ENCODING));
-            return Base64.getEncoder().encodeToString(encryptedMessageBytes);
-        } catch (NoSuchPaddingException | IllegalBlockSizeException | NoSuchAlgorithmException | BadPaddingException |
-                 InvalidKeyException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    @Override
-    public String decrypt(String encryptStr) {
-        try {
-            byte[] encryptedBase64 = Base64.getDecoder().decode(encryptStr);
-            Cipher decryptionCipher = Cipher.getInstance(getCipherAlgorithm().getExpression());
-            byte[] keyBytes = getKey().getBytes(ENCODING);
-            decryptionCipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(keyBytes, KEY_ALGORITHM));
-            byte[] decryptedMessageBytes = decryptionCipher.doFinal(encryptedBase64);
-            return new String(decryptedMessageBytes, ENCODING);
-        } catch (NoSuchPaddingException | IllegalBlockSizeException | NoSuchAlgorithmException | BadPaddingException |
-                 InvalidKeyException e) {
-            throw new RuntimeException(e);
-        }
-    }
 }
@@ -0,0 +1,89 @@
+package io.github.sinri.keel.core.utils.encryption.aes;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.jspecify.annotations.NullMarked;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import java.security.spec.AlgorithmParameterSpec;
+
+/**
+ * AES-GCM 认证加密，使用 12 字节的随机偏移量与 16 字节的认证标签。
+ * <p>
+ * 解密时校验认证标签，密文被篡改时抛出异常。JDK 在支持 AES-NI 与 CLMUL 指令的平台上对此模式有硬件加速。
+ * 需要注意，GCM 解密须在校验认证标签后才输出数据，以单个 Cipher 流式解密时 JDK 会在内部缓存全部密文；
+ * 因此 {@link #encryptStream(ReadStream)} 与 {@link #decryptStream(ReadStream)} 采用
+ * {@link #encryptInChunks(byte[], int)} 的分块格式，每个分块独立认证，占用的内存以一个分块为上限。
+ * 分块加密时以附加认证数据标记最后一个分块，防止截断。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+public class KeelAesGcmNoPadding extends KeelAesUsingRandomIv {
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH = 16;
+    private static final byte[] AAD_LAST_CHUNK = {1};
+    private static final byte[] AAD_NOT_LAST_CHUNK = {0};
+
+    /**
+     * @param key AES要求密钥长度为128位或192位或256位，java默认限制AES密钥长度最多128位
+     */
+    public KeelAesGcmNoPadding(String key) {
+        super(key);
+    }
+
+    @Override
+    public SupportedCipherAlgorithm getCipherAlgorithm() {
+        return SupportedCipherAlgorithm.AesGcmNoPadding;
+    }
+
+    @Override
+    protected int getIvLength() {
+        return IV_LENGTH;
+    }
+
+    @Override
+    protected int getTagLength() {
+        return TAG_LENGTH;
+    }
+
+    @Override
+    protected AlgorithmParameterSpec createParameterSpec(byte[] iv, int offset) {
+        return new GCMParameterSpec(TAG_LENGTH * 8, iv, offset, IV_LENGTH);
+    }
+
+    /**
+     * 以默认分块大小分块流式加密，等同于 {@link #encryptStreamInChunks(ReadStream)}。
+     */
+    @Override
+    public ReadStream<Buffer> encryptStream(ReadStream<Buffer> source) {
+        return encryptStreamInChunks(source);
+    }
+
+    /**
+     * 分块流式解密，等同于 {@link #decryptStreamInChunks(ReadStream)}。
+     */
+    @Override
+    public ReadStream<Buffer> decryptStream(ReadStream<Buffer> encrypted) {
+        return decryptStreamInChunks(encrypted);
+    }
+
+    /**
+     * 以分块序号异或基础偏移量的末 4 字节。
+     */
+    @Override
+    protected byte[] deriveChunkIv(byte[] baseIv, int chunkIndex, int chunkSize) {
+        byte[] iv = baseIv.clone();
+        iv[IV_LENGTH - 4] ^= (byte) (chunkIndex >>> 24);
+        iv[IV_LENGTH - 3] ^= (byte) (chunkIndex >>> 16);
+        iv[IV_LENGTH - 2] ^= (byte) (chunkIndex >>> 8);
+        iv[IV_LENGTH - 1] ^= (byte) chunkIndex;
+        return iv;
+    }
+
+    @Override
+    protected void updateChunkAad(Cipher cipher, boolean lastChunk) {
+        cipher.updateAAD(lastChunk ? AAD_LAST_CHUNK : AAD_NOT_LAST_CHUNK);
+    }
+}
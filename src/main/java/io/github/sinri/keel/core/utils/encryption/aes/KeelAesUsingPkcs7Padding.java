@@ -40,6 +40,11 @@ abstract public class KeelAesUsingPkcs7Padding extends KeelAesBase {
         super(key);
     }
 
+    @Override
+    protected String getProviderName() {
+        return "BC";
+    }
+
     /**
      * 直接使用static代码块引用 org.bouncycastle.jce.provider.BouncyCastleProvider 会引起shade问题：
      * `Invalid signature file digest for Manifest main attributes`。
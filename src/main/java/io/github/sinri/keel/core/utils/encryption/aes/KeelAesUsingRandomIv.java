@@ -0,0 +1,358 @@
+package io.github.sinri.keel.core.utils.encryption.aes;
+
+import io.github.sinri.keel.core.utils.io.CipherReadStream;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.jspecify.annotations.NullMarked;
+
+import javax.crypto.Cipher;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.stream.IntStream;
+
+/**
+ * 每次加密使用随机偏移量的 AES 工作模式。
+ * <p>
+ * 密文的格式为：偏移量 + 加密数据（含认证标签，如有）。偏移量由 {@link SecureRandom} 生成，
+ * 同一密钥下不会重复使用；Cipher 实例按线程缓存，每次加解密仅以新的偏移量重新初始化。
+ * <p>
+ * 对于大块数据，{@link #encryptInChunks(byte[], int)} 将数据切分为固定大小的分块，各分块以由基础偏移量派生的偏移量独立加密，
+ * 在公共 Fork/Join 线程池中并行处理；其密文格式为：基础偏移量 + 4 字节分块大小 + 依次排列的各分块密文，
+ * 须以 {@link #decryptInChunks(byte[])} 解密。{@link #encryptStreamInChunks(ReadStream, int)} 与
+ * {@link #decryptStreamInChunks(ReadStream)} 以同样的格式流式加解密，占用的内存以一个分块为上限。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+abstract public class KeelAesUsingRandomIv extends KeelAesBase {
+    /**
+     * 分块加密时的默认分块大小。
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    private static final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * @param key AES要求密钥长度为128位或192位或256位，java默认限制AES密钥长度最多128位
+     */
+    public KeelAesUsingRandomIv(String key) {
+        super(key);
+    }
+
+    /**
+     * @return 偏移量的字节数
+     */
+    protected abstract int getIvLength();
+
+    /**
+     * @return 每次加密附加的认证标签的字节数；不做认证的工作模式为 0
+     */
+    protected abstract int getTagLength();
+
+    /**
+     * @param iv     偏移量所在的数组
+     * @param offset 偏移量在数组中的起始位置
+     * @return 工作模式的参数
+     */
+    protected abstract AlgorithmParameterSpec createParameterSpec(byte[] iv, int offset);
+
+    /**
+     * @param baseIv     基础偏移量
+     * @param chunkIndex 分块序号
+     * @param chunkSize  分块大小
+     * @return 分块使用的偏移量，各分块之间互不重复
+     */
+    protected abstract byte[] deriveChunkIv(byte[] baseIv, int chunkIndex, int chunkSize);
+
+    /**
+     * 在加解密分块之前向 Cipher 提交附加认证数据；默认不提交。
+     *
+     * @param cipher    已初始化的 Cipher 实例
+     * @param lastChunk 是否为最后一个分块
+     */
+    protected void updateChunkAad(Cipher cipher, boolean lastChunk) {
+    }
+
+    /**
+     * @return 新生成的随机偏移量
+     */
+    protected final byte[] generateIv() {
+        byte[] iv = new byte[getIvLength()];
+        secureRandom.nextBytes(iv);
+        return iv;
+    }
+
+    @Override
+    protected Cipher createCipher(int mode) throws GeneralSecurityException {
+        Cipher cipher = getCipherInstance();
+        cipher.init(mode, getSecretKeySpec(), createParameterSpec(generateIv(), 0));
+        return cipher;
+    }
+
+    private Cipher initCachedCipher(int mode, byte[] iv, int offset) throws GeneralSecurityException {
+        Cipher cipher = getCachedCipher(mode);
+        cipher.init(mode, getSecretKeySpec(), createParameterSpec(iv, offset));
+        return cipher;
+    }
+
+    @Override
+    public byte[] encrypt(byte[] source) {
+        int ivLength = getIvLength();
+        byte[] output = new byte[getEncryptedLength(source.length)];
+        System.arraycopy(generateIv(), 0, output, 0, ivLength);
+        try {
+            initCachedCipher(Cipher.ENCRYPT_MODE, output, 0)
+                    .doFinal(source, 0, source.length, output, ivLength);
+            return output;
+        } catch (GeneralSecurityException e) {
+            evictCachedCipher(Cipher.ENCRYPT_MODE);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public byte[] decrypt(byte[] encrypted) {
+        int ivLength = getIvLength();
+        if (encrypted.length < ivLength + getTagLength()) {
+            throw new IllegalArgumentException("Encrypted data is too short");
+        }
+        try {
+            return initCachedCipher(Cipher.DECRYPT_MODE, encrypted, 0)
+                    .doFinal(encrypted, ivLength, encrypted.length - ivLength);
+        } catch (GeneralSecurityException e) {
+            evictCachedCipher(Cipher.DECRYPT_MODE);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public int encrypt(ByteBuffer source, ByteBuffer target) {
+        byte[] iv = generateIv();
+        try {
+            Cipher cipher = initCachedCipher(Cipher.ENCRYPT_MODE, iv, 0);
+            target.put(iv);
+            return iv.length + cipher.doFinal(source, target);
+        } catch (GeneralSecurityException e) {
+            evictCachedCipher(Cipher.ENCRYPT_MODE);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public int decrypt(ByteBuffer encrypted, ByteBuffer target) {
+        byte[] iv = new byte[getIvLength()];
+        encrypted.get(iv);
+        try {
+            return initCachedCipher(Cipher.DECRYPT_MODE, iv, 0).doFinal(encrypted, target);
+        } catch (GeneralSecurityException e) {
+            evictCachedCipher(Cipher.DECRYPT_MODE);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public int getEncryptedLength(int sourceLength) {
+        return getIvLength() + sourceLength + getTagLength();
+    }
+
+    @Override
+    public ReadStream<Buffer> encryptStream(ReadStream<Buffer> source) {
+        byte[] iv = generateIv();
+        try {
+            Cipher cipher = getCipherInstance();
+            cipher.init(Cipher.ENCRYPT_MODE, getSecretKeySpec(), createParameterSpec(iv, 0));
+            return new CipherReadStream(source, Buffer.buffer(iv), cipher);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public ReadStream<Buffer> decryptStream(ReadStream<Buffer> encrypted) {
+        return new CipherReadStream(encrypted, getIvLength(), iv -> {
+            Cipher cipher = getCipherInstance();
+            cipher.init(Cipher.DECRYPT_MODE, getSecretKeySpec(), createParameterSpec(iv, 0));
+            return cipher;
+        });
+    }
+
+    /**
+     * 以默认分块大小 {@link #DEFAULT_CHUNK_SIZE} 分块并行加密。
+     *
+     * @param source 源数据
+     * @return 分块格式的密文
+     */
+    public byte[] encryptInChunks(byte[] source) {
+        return encryptInChunks(source, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 分块并行加密。
+     *
+     * @param source    源数据
+     * @param chunkSize 分块大小
+     * @return 分块格式的密文
+     */
+    public byte[] encryptInChunks(byte[] source, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        int ivLength = getIvLength();
+        int tagLength = getTagLength();
+        int headerLength = ivLength + 4;
+        int chunks = Math.max(1, (int) ((source.length + (long) chunkSize - 1) / chunkSize));
+        long outputLength = headerLength + (long) source.length + (long) chunks * tagLength;
+        if (outputLength > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Source data is too large");
+        }
+
+        byte[] output = new byte[(int) outputLength];
+        byte[] baseIv = generateIv();
+        System.arraycopy(baseIv, 0, output, 0, ivLength);
+        ByteBuffer.wrap(output, ivLength, 4).putInt(chunkSize);
+
+        runChunks(Cipher.ENCRYPT_MODE, chunks, i -> {
+            int offset = (int) ((long) i * chunkSize);
+            int length = Math.min(chunkSize, source.length - offset);
+            Cipher cipher = initCachedCipher(Cipher.ENCRYPT_MODE, deriveChunkIv(baseIv, i, chunkSize), 0);
+            updateChunkAad(cipher, i == chunks - 1);
+            cipher.doFinal(source, offset, length, output, headerLength + offset + i * tagLength);
+        });
+        return output;
+    }
+
+    /**
+     * 分块并行解密由 {@link #encryptInChunks(byte[], int)} 加密的数据。
+     *
+     * @param encrypted 分块格式的密文
+     * @return 源数据
+     */
+    public byte[] decryptInChunks(byte[] encrypted) {
+        int ivLength = getIvLength();
+        int tagLength = getTagLength();
+        int headerLength = ivLength + 4;
+        if (encrypted.length < headerLength + tagLength) {
+            throw new IllegalArgumentException("Encrypted data is too short");
+        }
+        byte[] baseIv = new byte[ivLength];
+        System.arraycopy(encrypted, 0, baseIv, 0, ivLength);
+        int chunkSize = ByteBuffer.wrap(encrypted, ivLength, 4).getInt();
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid chunk size");
+        }
+
+        long encryptedChunkSize = (long) chunkSize + tagLength;
+        int payloadLength = encrypted.length - headerLength;
+        int chunks = Math.max(1, (int) ((payloadLength + encryptedChunkSize - 1) / encryptedChunkSize));
+        long outputLength = payloadLength - (long) chunks * tagLength;
+        if (outputLength < 0) {
+            throw new IllegalArgumentException("Encrypted data is truncated");
+        }
+
+        byte[] output = new byte[(int) outputLength];
+        runChunks(Cipher.DECRYPT_MODE, chunks, i -> {
+            int offset = (int) (headerLength + i * encryptedChunkSize);
+            int length = (int) Math.min(encryptedChunkSize, encrypted.length - offset);
+            Cipher cipher = initCachedCipher(Cipher.DECRYPT_MODE, deriveChunkIv(baseIv, i, chunkSize), 0);
+            updateChunkAad(cipher, i == chunks - 1);
+            cipher.doFinal(encrypted, offset, length, output, (int) ((long) i * chunkSize));
+        });
+        return output;
+    }
+
+    /**
+     * 以默认分块大小 {@link #DEFAULT_CHUNK_SIZE} 分块流式加密。
+     *
+     * @param source 源数据流
+     * @return 分块格式的密文流，流控操作委托给源数据流
+     */
+    public ReadStream<Buffer> encryptStreamInChunks(ReadStream<Buffer> source) {
+        return encryptStreamInChunks(source, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 分块流式加密，密文格式与 {@link #encryptInChunks(byte[], int)} 相同。
+     * <p>
+     * 各分块使用本流独占的 Cipher 实例依次加密；最后一个分块须等到源数据流结束才能确定，
+     * 因此本流始终暂存至多一个分块。
+     *
+     * @param source    源数据流
+     * @param chunkSize 分块大小
+     * @return 分块格式的密文流，流控操作委托给源数据流
+     */
+    public ReadStream<Buffer> encryptStreamInChunks(ReadStream<Buffer> source, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        int ivLength = getIvLength();
+        byte[] baseIv = generateIv();
+        Buffer header = Buffer.buffer(ivLength + 4).appendBytes(baseIv).appendInt(chunkSize);
+        try {
+            return new ChunkedCipherReadStream(source, header,
+                    createChunkTransformer(Cipher.ENCRYPT_MODE, baseIv, chunkSize, chunkSize));
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 分块流式解密由 {@link #encryptStreamInChunks(ReadStream, int)} 或 {@link #encryptInChunks(byte[], int)}
+     * 加密的数据。
+     *
+     * @param encrypted 分块格式的密文流
+     * @return 源数据流，流控操作委托给密文流
+     */
+    public ReadStream<Buffer> decryptStreamInChunks(ReadStream<Buffer> encrypted) {
+        int ivLength = getIvLength();
+        int tagLength = getTagLength();
+        return new ChunkedCipherReadStream(encrypted, ivLength + 4, header -> {
+            byte[] baseIv = new byte[ivLength];
+            System.arraycopy(header, 0, baseIv, 0, ivLength);
+            int chunkSize = ByteBuffer.wrap(header, ivLength, 4).getInt();
+            if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE - 8 - tagLength) {
+                throw new GeneralSecurityException("Invalid chunk size");
+            }
+            return createChunkTransformer(Cipher.DECRYPT_MODE, baseIv, chunkSize, chunkSize + tagLength);
+        });
+    }
+
+    private ChunkedCipherReadStream.ChunkTransformer createChunkTransformer(
+            int mode, byte[] baseIv, int chunkSize, int chunkLength
+    ) throws GeneralSecurityException {
+        Cipher cipher = getCipherInstance();
+        return new ChunkedCipherReadStream.ChunkTransformer() {
+            @Override
+            public int chunkLength() {
+                return chunkLength;
+            }
+
+            @Override
+            public byte[] transform(int chunkIndex, boolean lastChunk, byte[] chunk) throws GeneralSecurityException {
+                cipher.init(mode, getSecretKeySpec(), createParameterSpec(deriveChunkIv(baseIv, chunkIndex, chunkSize), 0));
+                updateChunkAad(cipher, lastChunk);
+                return cipher.doFinal(chunk);
+            }
+        };
+    }
+
+    private void runChunks(int mode, int chunks, ChunkTask task) {
+        IntStream indexes = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> {
+            try {
+                task.run(i);
+            } catch (GeneralSecurityException e) {
+                evictCachedCipher(mode);
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        void run(int chunkIndex) throws GeneralSecurityException;
+    }
+}
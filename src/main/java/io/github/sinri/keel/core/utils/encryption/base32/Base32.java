@@ -1,24 +1,73 @@
 package io.github.sinri.keel.core.utils.encryption.base32;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 /**
+ * RFC 4648 Base32 codec without padding; decoding is case-insensitive.
+ * <p>
+ * Besides the {@code String} based methods, there are methods that encode
+ * into and decode from caller-provided arrays and {@link ByteBuffer}s. These
+ * work on whole 5-byte / 8-character groups through lookup tables and do not
+ * allocate anything.
+ *
  * @since 5.0.0
  */
 public class Base32 {
     /* lookup table used to encode() groups of 5 bits of data */
-    private static final String base32Chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
-    /* lookup table used to decode() characters in Base32 strings */
-    private static final byte[] base32Lookup = {26, 27, 28, 29, 30, 31, -1,
-            -1, -1, -1, -1, -1, -1, -1, // 23456789:;<=>?
-            -1, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, // @ABCDEFGHIJKLMNO
-            15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, -1, -1, -1, -1, -1, // PQRSTUVWXYZ[\]^_
-            -1, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, // `abcdefghijklmno
-            15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25 // pqrstuvwxyz
-    };
+    private static final char[] base32Chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray();
+    /* the same lookup table as ASCII bytes, for ByteBuffer targets */
+    private static final byte[] base32Bytes = new byte[32];
+    /* lookup table used to decode() characters, indexed by the character itself, -1 for invalid ones */
+    private static final byte[] base32Lookup = new byte[128];
     /* Messsages for Illegal Parameter Exceptions in decode() */
     private static final String errorCanonicalLength = "non canonical Base32 string length";
     private static final String errorCanonicalEnd = "non canonical bits at end of Base32 string";
     private static final String errorInvalidChar = "invalid character in Base32 string";
 
+    static {
+        Arrays.fill(base32Lookup, (byte) -1);
+        for (int i = 0; i < base32Chars.length; i++) {
+            char c = base32Chars[i];
+            base32Bytes[i] = (byte) c;
+            base32Lookup[c] = (byte) i;
+            base32Lookup[Character.toLowerCase(c)] = (byte) i;
+        }
+    }
+
+    /**
+     * Returns the number of characters produced by encoding the given number of bytes.
+     */
+    public static int getEncodedLength(int byteLength) {
+        return (byteLength * 8 + 4) / 5;
+    }
+
+    /**
+     * Returns the number of bytes produced by decoding a canonical Base32
+     * string of the given length.
+     */
+    public static int getDecodedLength(int charLength) {
+        return charLength * 5 / 8;
+    }
+
+    private static void checkCanonicalLength(int length) {
+        // A canonical Base32 length modulo 8 cannot be:
+        // 1 (5 bits in subblock: 0 useful bits but 5 discarded),
+        // 3 (15 bits in subblock: 8 useful bits but 7 discarded),
+        // 6 (30 bits in subblock: 24 useful bits but 6 discarded)
+        switch (length % 8) {
+            case 1:
+            case 3:
+            case 6:
+                throw new IllegalArgumentException(errorCanonicalLength);
+        }
+    }
+
+    private static int digit(int c) {
+        return c < 128 ? base32Lookup[c] : -1;
+    }
+
     /**
      * Decode a Base32 string into an array of binary bytes. May fail if the
      * parameter is a non canonical Base32 string (the only other possible
@@ -26,157 +75,121 @@ public class Base32 {
      */
     static public byte[] decode(final String base32)
             throws IllegalArgumentException {
-        // Note that the code below detects could detect non canonical
-        // Base32 length within the loop. However canonical Base32 length
-        // can be tested before entering the loop.
-        // A canonical Base32 length modulo 8 cannot be:
-        // 1 (aborts discarding 5 bits at STEP n=0 which produces no byte),
-        // 3 (aborts discarding 7 bits at STEP n=2 which produces no byte),
-        // 6 (aborts discarding 6 bits at STEP n=1 which produces no byte)
-        // So these tests could be avoided within the loop.
-        switch (base32.length() % 8) { // test the length of last subblock
-            case 1: // 5 bits in subblock: 0 useful bits but 5 discarded
-            case 3: // 15 bits in subblock: 8 useful bits but 7 discarded
-            case 6: // 30 bits in subblock: 24 useful bits but 6 discarded
-                throw new IllegalArgumentException(errorCanonicalLength);
+        checkCanonicalLength(base32.length());
+        byte[] bytes = new byte[getDecodedLength(base32.length())];
+        decode(base32, 0, base32.length(), bytes, 0);
+        return bytes;
+    }
+
+    /**
+     * Decode the characters in [start, end) of a Base32 string into the
+     * given array, starting at targetOffset. Does not allocate.
+     *
+     * @return the number of bytes written
+     * @throws IllegalArgumentException  if the characters are not canonical Base32
+     * @throws IndexOutOfBoundsException if the target has no room for the decoded bytes
+     */
+    static public int decode(final CharSequence base32, int start, int end, byte[] target, int targetOffset)
+            throws IllegalArgumentException {
+        int length = end - start;
+        checkCanonicalLength(length);
+        int decodedLength = getDecodedLength(length);
+        if (target.length - targetOffset < decodedLength) {
+            throw new IndexOutOfBoundsException("Target has no room for " + decodedLength + " bytes");
         }
-        byte[] bytes = new byte[base32.length() * 5 / 8];
-        int offset = 0, i = 0, lookup;
-        byte nextByte, digit;
-        // Also the code below does test that other discarded bits
-        // (1 to 4 bits at end) are effectively 0.
-        while (i < base32.length()) {
-            // Read the 1st char in a 8-chars subblock
-            // check that chars are not outside the lookup table and valid
-            lookup = base32.charAt(i++) - '2';
-            if (lookup < 0 || lookup >= base32Lookup.length) {
-                throw new IllegalArgumentException(errorInvalidChar);
-            }
-            digit = base32Lookup[lookup];
-            if (digit == -1) {
-                throw new IllegalArgumentException(errorInvalidChar);
-            }
-            // // STEP n = 0: leave 5 bits
-            nextByte = (byte) (digit << 3);
-            // Assert(i < base32.length) // tested before loop
-            // Read the 2nd char in a 8-chars subblock
-            // Check that chars are not outside the lookup table and valid
-            lookup = base32.charAt(i++) - '2';
-            if (lookup < 0 || lookup >= base32Lookup.length) {
-                throw new IllegalArgumentException(errorInvalidChar);
-            }
-            digit = base32Lookup[lookup];
-            if (digit == -1) {
-                throw new IllegalArgumentException(errorInvalidChar);
-            }
-            // // STEP n = 5: insert 3 bits, leave 2 bits
-            bytes[offset++] = (byte) (nextByte | (digit >> 2));
-            nextByte = (byte) ((digit & 3) << 6);
-            if (i >= base32.length()) {
-                if (nextByte != (byte) 0) {
-                    throw new IllegalArgumentException(errorCanonicalEnd);
-                }
-                break; // discard the remaining 2 bits
-            }
-            // Read the 3rd char in a 8-chars subblock
-            // Check that chars are not outside the lookup table and valid
-            lookup = base32.charAt(i++) - '2';
-            if (lookup < 0 || lookup >= base32Lookup.length) {
-                throw new IllegalArgumentException(errorInvalidChar);
-            }
-            digit = base32Lookup[lookup];
-            if (digit == -1) {
-                throw new IllegalArgumentException(errorInvalidChar);
-            }
-            // // STEP n = 2: leave 7 bits
-            nextByte |= (byte) (digit << 1);
-            // Assert(i < base32.length) // tested before loop
-            // Read the 4th char in a 8-chars subblock
-            // Check that chars are not outside the lookup table and valid
-            lookup = base32.charAt(i++) - '2';
-            if (lookup < 0 || lookup >= base32Lookup.length) {
-                throw new IllegalArgumentException(errorInvalidChar);
-            }
-            digit = base32Lookup[lookup];
-            if (digit == -1) {
-                throw new IllegalArgumentException(errorInvalidChar);
-            }
-            // // STEP n = 7: insert 1 bit, leave 4 bits
-            bytes[offset++] = (byte) (nextByte | (digit >> 4));
-            nextByte = (byte) ((digit & 15) << 4);
-            if (i >= base32.length()) {
-                if (nextByte != (byte) 0) {
-                    throw new IllegalArgumentException(errorCanonicalEnd);
-                }
-                break; // discard the remaining 4 bits
-            }
-            // Read the 5th char in a 8-chars subblock
-            // Assert that chars are not outside the lookup table and valid
-            lookup = base32.charAt(i++) - '2';
-            if (lookup < 0 || lookup >= base32Lookup.length) {
-                throw new IllegalArgumentException(errorInvalidChar);
-            }
-            digit = base32Lookup[lookup];
-            if (digit == -1) {
+        int i = start, offset = targetOffset;
+        // whole 8-chars subblocks: 40 bits into 5 bytes
+        for (; end - i >= 8; i += 8) {
+            int d0 = digit(base32.charAt(i)), d1 = digit(base32.charAt(i + 1)),
+                    d2 = digit(base32.charAt(i + 2)), d3 = digit(base32.charAt(i + 3)),
+                    d4 = digit(base32.charAt(i + 4)), d5 = digit(base32.charAt(i + 5)),
+                    d6 = digit(base32.charAt(i + 6)), d7 = digit(base32.charAt(i + 7));
+            if ((d0 | d1 | d2 | d3 | d4 | d5 | d6 | d7) < 0) {
                 throw new IllegalArgumentException(errorInvalidChar);
             }
-            // // STEP n = 4: insert 4 bits, leave 1 bit
-            bytes[offset++] = (byte) (nextByte | (digit >> 1));
-            nextByte = (byte) ((digit & 1) << 7);
-            if (i >= base32.length()) {
-                if (nextByte != (byte) 0) {
-                    throw new IllegalArgumentException(errorCanonicalEnd);
-                }
-                break; // discard the remaining 1 bit
-            }
-            // Read the 6th char in a 8-chars subblock
-            // Check that chars are not outside the lookup table and valid
-            lookup = base32.charAt(i++) - '2';
-            if (lookup < 0 || lookup >= base32Lookup.length) {
+            long v = ((long) d0 << 35) | ((long) d1 << 30) | ((long) d2 << 25) | ((long) d3 << 20)
+                    | ((long) d4 << 15) | ((long) d5 << 10) | ((long) d6 << 5) | d7;
+            target[offset++] = (byte) (v >> 32);
+            target[offset++] = (byte) (v >> 24);
+            target[offset++] = (byte) (v >> 16);
+            target[offset++] = (byte) (v >> 8);
+            target[offset++] = (byte) v;
+        }
+        // trailing partial subblock
+        int buffer = 0, bits = 0;
+        for (; i < end; i++) {
+            int d = digit(base32.charAt(i));
+            if (d < 0) {
                 throw new IllegalArgumentException(errorInvalidChar);
             }
-            digit = base32Lookup[lookup];
-            if (digit == -1) {
-                throw new IllegalArgumentException(errorInvalidChar);
+            buffer = (buffer << 5) | d;
+            bits += 5;
+            if (bits >= 8) {
+                bits -= 8;
+                target[offset++] = (byte) (buffer >> bits);
             }
-            // // STEP n = 1: leave 6 bits
-            nextByte |= (byte) (digit << 2);
-            // Assert(i < base32.length) // tested before loop
-            // Read the 7th char in a 8-chars subblock
-            // Check that chars are not outside the lookup table and valid
-            lookup = base32.charAt(i++) - '2';
-            if (lookup < 0 || lookup >= base32Lookup.length) {
+        }
+        // the discarded trailing bits must be 0
+        if ((buffer & ((1 << bits) - 1)) != 0) {
+            throw new IllegalArgumentException(errorCanonicalEnd);
+        }
+        return offset - targetOffset;
+    }
+
+    /**
+     * Decode the remaining ASCII bytes of the source buffer into the target
+     * buffer. Both positions are advanced only when decoding succeeds. Does
+     * not allocate.
+     *
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the source is not canonical Base32
+     * @throws BufferOverflowException  if the target has no room for the decoded bytes
+     */
+    static public int decode(ByteBuffer source, ByteBuffer target)
+            throws IllegalArgumentException {
+        int start = source.position(), end = source.limit();
+        int length = end - start;
+        checkCanonicalLength(length);
+        int decodedLength = getDecodedLength(length);
+        if (target.remaining() < decodedLength) {
+            throw new BufferOverflowException();
+        }
+        int i = start, offset = target.position();
+        for (; end - i >= 8; i += 8) {
+            int d0 = digit(source.get(i) & 0xff), d1 = digit(source.get(i + 1) & 0xff),
+                    d2 = digit(source.get(i + 2) & 0xff), d3 = digit(source.get(i + 3) & 0xff),
+                    d4 = digit(source.get(i + 4) & 0xff), d5 = digit(source.get(i + 5) & 0xff),
+                    d6 = digit(source.get(i + 6) & 0xff), d7 = digit(source.get(i + 7) & 0xff);
+            if ((d0 | d1 | d2 | d3 | d4 | d5 | d6 | d7) < 0) {
                 throw new IllegalArgumentException(errorInvalidChar);
             }
-            digit = base32Lookup[lookup];
-            if (digit == -1) {
+            long v = ((long) d0 << 35) | ((long) d1 << 30) | ((long) d2 << 25) | ((long) d3 << 20)
+                    | ((long) d4 << 15) | ((long) d5 << 10) | ((long) d6 << 5) | d7;
+            target.put(offset++, (byte) (v >> 32));
+            target.put(offset++, (byte) (v >> 24));
+            target.put(offset++, (byte) (v >> 16));
+            target.put(offset++, (byte) (v >> 8));
+            target.put(offset++, (byte) v);
+        }
+        int buffer = 0, bits = 0;
+        for (; i < end; i++) {
+            int d = digit(source.get(i) & 0xff);
+            if (d < 0) {
                 throw new IllegalArgumentException(errorInvalidChar);
             }
-            // // STEP n = 6: insert 2 bits, leave 3 bits
-            bytes[offset++] = (byte) (nextByte | (digit >> 3));
-            nextByte = (byte) ((digit & 7) << 5);
-            if (i >= base32.length()) {
-                if (nextByte != (byte) 0) {
-                    throw new IllegalArgumentException(errorCanonicalEnd);
-                }
-                break; // discard the remaining 3 bits
+            buffer = (buffer << 5) | d;
+            bits += 5;
+            if (bits >= 8) {
+                bits -= 8;
+                target.put(offset++, (byte) (buffer >> bits));
             }
-            // Read the 8th char in a 8-chars subblock
-            // Check that chars are not outside the lookup table and valid
-            lookup = base32.charAt(i++) - '2';
-            if (lookup < 0 || lookup >= base32Lookup.length) {
-                throw new IllegalArgumentException(errorInvalidChar);
-            }
-            digit = base32Lookup[lookup];
-            if (digit == -1) {
-                throw new IllegalArgumentException(errorInvalidChar);
-            }
-            // // STEP n = 3: insert 5 bits, leave 0 bit
-            bytes[offset++] = (byte) (nextByte | digit);
-            // // possible end of string here with no trailing bits
         }
-        // On loop exit, discard trialing n bits.
-        return bytes;
+        if ((buffer & ((1 << bits) - 1)) != 0) {
+            throw new IllegalArgumentException(errorCanonicalEnd);
+        }
+        source.position(end);
+        target.position(offset);
+        return decodedLength;
     }
 
     /**
@@ -185,52 +198,93 @@ public class Base32 {
      * allocated in memory)
      */
     static public String encode(final byte[] bytes) {
-        StringBuilder base32 = new StringBuilder((bytes.length * 8 + 4) / 5);
-        int currByte, digit, i = 0;
-        while (i < bytes.length) {
-            // INVARIANTS FOR EACH STEP n in [0..5[; digit in [0..31[;
-            // The remaining n bits are already aligned on top positions
-            // of the 5 least bits of digit, the other bits are 0.
-            // //// STEP n = 0; insert new 5 bits, leave 3 bits
-            currByte = bytes[i++] & 255;
-            base32.append(base32Chars.charAt(currByte >> 3));
-            digit = (currByte & 7) << 2;
-            if (i >= bytes.length) { // put the last 3 bits
-                base32.append(base32Chars.charAt(digit));
-                break;
-            }
-            // //// STEP n = 3: insert 2 new bits, then 5 bits, leave 1 bit
-            currByte = bytes[i++] & 255;
-            base32.append(base32Chars.charAt(digit | (currByte >> 6)));
-            base32.append(base32Chars.charAt((currByte >> 1) & 31));
-            digit = (currByte & 1) << 4;
-            if (i >= bytes.length) { // put the last 1 bit
-                base32.append(base32Chars.charAt(digit));
-                break;
-            }
-            // //// STEP n = 1: insert 4 new bits, leave 4 bit
-            currByte = bytes[i++] & 255;
-            base32.append(base32Chars.charAt(digit | (currByte >> 4)));
-            digit = (currByte & 15) << 1;
-            if (i >= bytes.length) { // put the last 4 bits
-                base32.append(base32Chars.charAt(digit));
-                break;
+        char[] base32 = new char[getEncodedLength(bytes.length)];
+        encode(bytes, 0, bytes.length, base32, 0);
+        return new String(base32);
+    }
+
+    /**
+     * Encode the given range of binary bytes into the given character array,
+     * starting at targetOffset. Does not allocate.
+     *
+     * @return the number of characters written
+     * @throws IndexOutOfBoundsException if the target has no room for the encoded characters
+     */
+    static public int encode(final byte[] bytes, int since, int length, char[] target, int targetOffset) {
+        int encodedLength = getEncodedLength(length);
+        if (target.length - targetOffset < encodedLength) {
+            throw new IndexOutOfBoundsException("Target has no room for " + encodedLength + " characters");
+        }
+        int i = since, end = since + length, offset = targetOffset;
+        // whole 5-bytes groups: 40 bits into 8 characters
+        for (; end - i >= 5; i += 5) {
+            long v = ((long) (bytes[i] & 0xff) << 32) | ((long) (bytes[i + 1] & 0xff) << 24)
+                    | ((bytes[i + 2] & 0xff) << 16) | ((bytes[i + 3] & 0xff) << 8) | (bytes[i + 4] & 0xff);
+            target[offset++] = base32Chars[(int) (v >> 35) & 31];
+            target[offset++] = base32Chars[(int) (v >> 30) & 31];
+            target[offset++] = base32Chars[(int) (v >> 25) & 31];
+            target[offset++] = base32Chars[(int) (v >> 20) & 31];
+            target[offset++] = base32Chars[(int) (v >> 15) & 31];
+            target[offset++] = base32Chars[(int) (v >> 10) & 31];
+            target[offset++] = base32Chars[(int) (v >> 5) & 31];
+            target[offset++] = base32Chars[(int) v & 31];
+        }
+        // trailing partial group, the last digit padded with 0 bits
+        int buffer = 0, bits = 0;
+        for (; i < end; i++) {
+            buffer = (buffer << 8) | (bytes[i] & 0xff);
+            bits += 8;
+            while (bits >= 5) {
+                bits -= 5;
+                target[offset++] = base32Chars[(buffer >> bits) & 31];
             }
-            // //// STEP n = 4: insert 1 new bit, then 5 bits, leave 2 bits
-            currByte = bytes[i++] & 255;
-            base32.append(base32Chars.charAt(digit | (currByte >> 7)));
-            base32.append(base32Chars.charAt((currByte >> 2) & 31));
-            digit = (currByte & 3) << 3;
-            if (i >= bytes.length) { // put the last 2 bits
-                base32.append(base32Chars.charAt(digit));
-                break;
+        }
+        if (bits > 0) {
+            target[offset++] = base32Chars[(buffer << (5 - bits)) & 31];
+        }
+        return offset - targetOffset;
+    }
+
+    /**
+     * Encode the remaining bytes of the source buffer into the target buffer
+     * as ASCII characters. Both positions are advanced. Does not allocate.
+     *
+     * @return the number of characters written
+     * @throws BufferOverflowException if the target has no room for the encoded characters
+     */
+    static public int encode(ByteBuffer source, ByteBuffer target) {
+        int i = source.position(), end = source.limit();
+        int encodedLength = getEncodedLength(end - i);
+        if (target.remaining() < encodedLength) {
+            throw new BufferOverflowException();
+        }
+        int offset = target.position();
+        for (; end - i >= 5; i += 5) {
+            long v = ((long) (source.get(i) & 0xff) << 32) | ((long) (source.get(i + 1) & 0xff) << 24)
+                    | ((source.get(i + 2) & 0xff) << 16) | ((source.get(i + 3) & 0xff) << 8) | (source.get(i + 4) & 0xff);
+            target.put(offset++, base32Bytes[(int) (v >> 35) & 31]);
+            target.put(offset++, base32Bytes[(int) (v >> 30) & 31]);
+            target.put(offset++, base32Bytes[(int) (v >> 25) & 31]);
+            target.put(offset++, base32Bytes[(int) (v >> 20) & 31]);
+            target.put(offset++, base32Bytes[(int) (v >> 15) & 31]);
+            target.put(offset++, base32Bytes[(int) (v >> 10) & 31]);
+            target.put(offset++, base32Bytes[(int) (v >> 5) & 31]);
+            target.put(offset++, base32Bytes[(int) v & 31]);
+        }
+        int buffer = 0, bits = 0;
+        for (; i < end; i++) {
+            buffer = (buffer << 8) | (source.get(i) & 0xff);
+            bits += 8;
+            while (bits >= 5) {
+                bits -= 5;
+                target.put(offset++, base32Bytes[(buffer >> bits) & 31]);
             }
-            // /// STEP n = 2: insert 3 new bits, then 5 bits, leave 0 bit
-            currByte = bytes[i++] & 255;
-            base32.append(base32Chars.charAt(digit | (currByte >> 5)));
-            base32.append(base32Chars.charAt(currByte & 31));
-            // // This point is reached for bytes.length multiple of 5
         }
-        return base32.toString();
+        if (bits > 0) {
+            target.put(offset++, base32Bytes[(buffer << (5 - bits)) & 31]);
+        }
+        source.position(end);
+        target.position(offset);
+        return encodedLength;
     }
 }
@@ -18,6 +18,7 @@ import org.jspecify.annotations.NonNull;
 
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 /**
  * BCrypt implements OpenBSD-style Blowfish password hashing using
@@ -373,9 +374,16 @@ public class BCrypt {
             51, 52, 53, -1, -1, -1, -1, -1
     };
 
+    // Per-thread instances reused by hashpw, so that the key schedule
+    // arrays are not reallocated for every hash
+    private static final ThreadLocal<BCrypt> threadLocalInstance = ThreadLocal.withInitial(BCrypt::new);
+
+    // Source of randomness for gensalt(int); SecureRandom is thread-safe
+    private static final SecureRandom sharedRandom = new SecureRandom();
+
     // Expanded Blowfish key
-    private int[] P;
-    private int[] S;
+    private final int[] P = new int[P_orig.length];
+    private final int[] S = new int[S_orig.length];
 
     /**
      * Encode a byte array using bcrypt's slightly-modified base64
@@ -555,7 +563,7 @@ public class BCrypt {
 
         saltb = decode_base64(real_salt, BCRYPT_SALT_LEN);
 
-        B = new BCrypt();
+        B = threadLocalInstance.get();
         hashed = B.crypt_raw(passwordb, saltb, rounds,
                 bf_crypt_ciphertext.clone());
 
@@ -614,7 +622,7 @@ public class BCrypt {
      * @return an encoded salt value
      */
     public static String gensalt(int log_rounds) {
-        return gensalt(log_rounds, new SecureRandom());
+        return gensalt(log_rounds, sharedRandom);
     }
 
     /**
@@ -681,11 +689,12 @@ public class BCrypt {
     }
 
     /**
-     * Initialise the Blowfish key schedule
+     * Initialise the Blowfish key schedule, overwriting the arrays
+     * in place rather than allocating new ones
      */
     private void init_key() {
-        P = P_orig.clone();
-        S = S_orig.clone();
+        System.arraycopy(P_orig, 0, P, 0, P_orig.length);
+        System.arraycopy(S_orig, 0, S, 0, S_orig.length);
     }
 
     /**
@@ -772,16 +781,23 @@ public class BCrypt {
         if (salt.length != BCRYPT_SALT_LEN)
             throw new IllegalArgumentException("Bad salt length");
 
-        init_key();
-        ekskey(salt, password);
-        for (i = 0; i != rounds; i++) {
-            key(password);
-            key(salt);
-        }
+        try {
+            init_key();
+            ekskey(salt, password);
+            for (i = 0; i != rounds; i++) {
+                key(password);
+                key(salt);
+            }
 
-        for (i = 0; i < 64; i++) {
-            for (j = 0; j < (clen >> 1); j++)
-                encipher(cdata, j << 1);
+            for (i = 0; i < 64; i++) {
+                for (j = 0; j < (clen >> 1); j++)
+                    encipher(cdata, j << 1);
+            }
+        } finally {
+            // The instance outlives this call when reused per thread, so
+            // do not leave the password-derived key schedule behind
+            Arrays.fill(P, 0);
+            Arrays.fill(S, 0);
         }
 
         ret = new byte[clen * 4];
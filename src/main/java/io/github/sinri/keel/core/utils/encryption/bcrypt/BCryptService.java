@@ -0,0 +1,211 @@
+package io.github.sinri.keel.core.utils.encryption.bcrypt;
+
+import io.github.sinri.keel.base.async.Keel;
+import io.vertx.core.Future;
+import io.vertx.core.WorkerExecutor;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 在专用的有界工作线程池中执行 BCrypt 哈希与校验的异步服务。
+ * <p>
+ * BCrypt 的计算开销随 log_rounds 指数增长，直接在事件循环中调用会阻塞，在登录高峰时也会无节制地占满 CPU。
+ * 本服务将计算交给固定大小的工作线程池，同时执行的计算数量不超过线程池大小；
+ * 排队中与执行中的任务总数超过上限时，新的请求直接以 {@link RejectedExecutionException} 失败，不再继续堆积。
+ * <p>
+ * 未指定线程池名称时，每个实例使用各自独立命名的线程池，池大小与排队上限互不影响；
+ * 需要多个实例共用一个线程池时，可以显式传入相同的名称。
+ * <p>
+ * 可在启动时调用 {@link #calibrate(long)}，按目标耗时测定并采用合适的 log_rounds。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+public class BCryptService {
+    /**
+     * BCrypt 允许的最小 log_rounds。
+     */
+    public static final int MIN_LOG_ROUNDS = 4;
+    /**
+     * BCrypt 允许的最大 log_rounds。
+     */
+    public static final int MAX_LOG_ROUNDS = 30;
+    /**
+     * 默认的 log_rounds，与 {@link BCrypt#gensalt()} 一致。
+     */
+    public static final int DEFAULT_LOG_ROUNDS = 10;
+    /**
+     * 校准时每个 log_rounds 的测量次数，取其中的最短耗时以排除偶发的调度与 GC 干扰。
+     */
+    private static final int CALIBRATION_SAMPLES = 3;
+    private static final AtomicInteger instanceCounter = new AtomicInteger();
+
+    private final WorkerExecutor workerExecutor;
+    private final int maxPendingTasks;
+    private final AtomicInteger pendingTasks = new AtomicInteger();
+    private volatile int logRounds = DEFAULT_LOG_ROUNDS;
+
+    /**
+     * 以 CPU 核数的一半（至少为 1）作为线程池大小，排队上限为线程池大小的 64 倍。
+     *
+     * @param keel Keel 实例
+     */
+    public BCryptService(Keel keel) {
+        this(keel, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /**
+     * 排队上限为线程池大小的 64 倍。
+     *
+     * @param keel     Keel 实例
+     * @param poolSize 线程池大小，即同时执行的计算数量上限
+     */
+    public BCryptService(Keel keel, int poolSize) {
+        this(keel, poolSize, poolSize * 64);
+    }
+
+    /**
+     * 使用本实例独占的线程池。
+     *
+     * @param keel            Keel 实例
+     * @param poolSize        线程池大小，即同时执行的计算数量上限
+     * @param maxPendingTasks 排队中与执行中的任务总数上限
+     */
+    public BCryptService(Keel keel, int poolSize, int maxPendingTasks) {
+        this(keel, "keel-bcrypt-" + instanceCounter.incrementAndGet(), poolSize, maxPendingTasks);
+    }
+
+    /**
+     * @param keel            Keel 实例
+     * @param poolName        工作线程池名称；同名的线程池在 Vert.x 实例内共享，其大小以最先创建时为准
+     * @param poolSize        线程池大小，即同时执行的计算数量上限
+     * @param maxPendingTasks 本实例排队中与执行中的任务总数上限
+     */
+    public BCryptService(Keel keel, String poolName, int poolSize, int maxPendingTasks) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("poolSize must be positive");
+        }
+        if (maxPendingTasks < poolSize) {
+            throw new IllegalArgumentException("maxPendingTasks must not be less than poolSize");
+        }
+        this.workerExecutor = keel.createSharedWorkerExecutor(poolName, poolSize);
+        this.maxPendingTasks = maxPendingTasks;
+    }
+
+    /**
+     * @return 生成哈希时使用的 log_rounds
+     */
+    public int getLogRounds() {
+        return logRounds;
+    }
+
+    /**
+     * @param logRounds 生成哈希时使用的 log_rounds，取值范围为 4 到 30
+     * @return 本实例
+     */
+    public BCryptService setLogRounds(int logRounds) {
+        if (logRounds < MIN_LOG_ROUNDS || logRounds > MAX_LOG_ROUNDS) {
+            throw new IllegalArgumentException("logRounds must be between " + MIN_LOG_ROUNDS + " and " + MAX_LOG_ROUNDS);
+        }
+        this.logRounds = logRounds;
+        return this;
+    }
+
+    /**
+     * @return 当前排队中与执行中的任务数量
+     */
+    public int getPendingTasks() {
+        return pendingTasks.get();
+    }
+
+    /**
+     * 以当前的 log_rounds 与随机盐对密码进行哈希处理。
+     *
+     * @param password 待哈希的原始密码
+     * @return 异步返回哈希后的密码字符串；排队已满时以 {@link RejectedExecutionException} 失败
+     */
+    public Future<String> hash(String password) {
+        int rounds = logRounds;
+        return submit(() -> BCrypt.hashpw(password, BCrypt.gensalt(rounds)));
+    }
+
+    /**
+     * 验证密码是否与哈希值匹配；哈希值所用的 log_rounds 由哈希值自身决定，与当前设置无关。
+     *
+     * @param password 待验证的原始密码
+     * @param hashed   已存储的密码哈希值
+     * @return 异步返回是否匹配；排队已满时以 {@link RejectedExecutionException} 失败
+     */
+    public Future<Boolean> verify(String password, String hashed) {
+        return submit(() -> BCrypt.checkpw(password, hashed));
+    }
+
+    /**
+     * 在工作线程池中按目标耗时校准 log_rounds，并采用校准结果。
+     *
+     * @param targetMillis 单次哈希的目标耗时，单位毫秒
+     * @return 异步返回采用的 log_rounds
+     * @see #calibrate(long)
+     */
+    public Future<Integer> calibrateAsync(long targetMillis) {
+        return workerExecutor.executeBlocking(() -> calibrate(targetMillis), false);
+    }
+
+    /**
+     * 在当前线程中按目标耗时校准 log_rounds，并采用校准结果。
+     * <p>
+     * 从最小的 log_rounds 起逐级测量单次哈希的耗时，直到超过目标耗时为止，采用不超过目标耗时的最大 log_rounds；
+     * 即使最小的 log_rounds 也超过目标耗时，仍采用最小值。
+     * 每一级测量 3 次取最短耗时；由于每提高一级耗时约翻倍，校准本身的总耗时约为目标耗时的六倍。此方法会阻塞，不应在事件循环中调用。
+     *
+     * @param targetMillis 单次哈希的目标耗时，单位毫秒
+     * @return 采用的 log_rounds
+     */
+    public int calibrate(long targetMillis) {
+        if (targetMillis <= 0) {
+            throw new IllegalArgumentException("targetMillis must be positive");
+        }
+        long targetNanos = targetMillis * 1_000_000L;
+        int chosen = MIN_LOG_ROUNDS;
+        for (int rounds = MIN_LOG_ROUNDS; rounds <= MAX_LOG_ROUNDS; rounds++) {
+            if (measureHashNanos(rounds) > targetNanos) {
+                break;
+            }
+            chosen = rounds;
+        }
+        this.logRounds = chosen;
+        return chosen;
+    }
+
+    /**
+     * 关闭工作线程池；与其他实例共用同名线程池时，线程池在最后一个使用者关闭后才真正释放。
+     *
+     * @return 异步关闭结果
+     */
+    public Future<Void> close() {
+        return workerExecutor.close();
+    }
+
+    private static long measureHashNanos(int rounds) {
+        String salt = BCrypt.gensalt(rounds);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private <T> Future<T> submit(Callable<T> callable) {
+        if (pendingTasks.incrementAndGet() > maxPendingTasks) {
+            pendingTasks.decrementAndGet();
+            return Future.failedFuture(new RejectedExecutionException("Too many pending BCrypt tasks (" + maxPendingTasks + ")"));
+        }
+        return workerExecutor.executeBlocking(callable, false)
+                             .andThen(ar -> pendingTasks.decrementAndGet());
+    }
+}
@@ -1,8 +1,11 @@
 package io.github.sinri.keel.core.utils.encryption.rsa;
 
 
+import io.github.sinri.keel.base.async.Keel;
 import io.github.sinri.keel.core.utils.BinaryUtils;
 import io.github.sinri.keel.core.utils.StringUtils;
+import io.github.sinri.keel.core.utils.internal.ThreadLocalLruCache;
+import io.vertx.core.Future;
 import org.jspecify.annotations.NullMarked;
 
 import javax.crypto.BadPaddingException;
@@ -11,16 +14,75 @@ import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import java.security.*;
 import java.security.spec.InvalidKeySpecException;
-import java.security.spec.PKCS8EncodedKeySpec;
-import java.security.spec.X509EncodedKeySpec;
-import java.util.Objects;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
 
 /**
+ * RSA 加解密与签名。
+ * <p>
+ * 加载后的公钥与私钥直接使用，不再在每次调用时重新编码与解析；
+ * 各线程按算法、模式与密钥缓存已初始化的 {@link Cipher} 与 {@link Signature} 实例，省去提供者查找与密钥初始化的开销。
+ *
  * @since 5.0.0
  */
 @NullMarked
 public class KeelRSA extends KeelRSAKeyPair {
     public static final String SIGN_ALGORITHMS = "SHA1WithRSA";
+    public static final String SIGN_ALGORITHM_SHA256 = "SHA256WithRSA";
+    /**
+     * 批量校验签名时，数量达到此值则并行校验。
+     */
+    private static final int PARALLEL_VERIFICATION_THRESHOLD = 16;
+    /**
+     * 每个线程最多缓存的已初始化实例数量，超出时淘汰最久未使用的实例。
+     */
+    private static final int INSTANCE_CACHE_SIZE_PER_THREAD = 32;
+    private static final ThreadLocalLruCache<InstanceCacheKey, Cipher> threadLocalCiphers = new ThreadLocalLruCache<>(INSTANCE_CACHE_SIZE_PER_THREAD);
+    private static final ThreadLocalLruCache<InstanceCacheKey, Signature> threadLocalSignatures = new ThreadLocalLruCache<>(INSTANCE_CACHE_SIZE_PER_THREAD);
+
+    /**
+     * 以当前线程缓存的、已用给定密钥初始化的 Cipher 实例完成一次加解密；出错时丢弃该实例。
+     */
+    private static byte[] doFinal(int mode, Key key, byte[] data) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        InstanceCacheKey cacheKey = new InstanceCacheKey("RSA", mode, key);
+        Cipher cipher = threadLocalCiphers.get(cacheKey);
+        if (cipher == null) {
+            // 使用默认RSA
+            cipher = Cipher.getInstance("RSA");
+            // cipher= Cipher.getInstance("RSA", new BouncyCastleProvider());
+            cipher.init(mode, key);
+            threadLocalCiphers.put(cacheKey, cipher);
+        }
+        try {
+            return cipher.doFinal(data);
+        } catch (IllegalBlockSizeException | BadPaddingException e) {
+            threadLocalCiphers.remove(cacheKey);
+            throw e;
+        }
+    }
+
+    /**
+     * 获取当前线程缓存的、已用给定密钥初始化的 Signature 实例；实例在每次签名或校验后回到初始化后的状态，可直接复用。
+     */
+    private static Signature signature(String algorithm, boolean signing, Key key) throws NoSuchAlgorithmException, InvalidKeyException {
+        InstanceCacheKey cacheKey = new InstanceCacheKey(algorithm, signing ? 1 : 0, key);
+        Signature signature = threadLocalSignatures.get(cacheKey);
+        if (signature == null) {
+            signature = Signature.getInstance(algorithm);
+            if (signing) {
+                signature.initSign((PrivateKey) key);
+            } else {
+                signature.initVerify((PublicKey) key);
+            }
+            threadLocalSignatures.put(cacheKey, signature);
+        }
+        return signature;
+    }
+
+    private static void evictSignature(String algorithm, boolean signing, Key key) {
+        threadLocalSignatures.remove(new InstanceCacheKey(algorithm, signing ? 1 : 0, key));
+    }
 
     /**
      * @param plainTextData data to encrypt
@@ -32,11 +94,7 @@ public class KeelRSA extends KeelRSAKeyPair {
      * @throws BadPaddingException       明文数据已损坏
      */
     public byte[] encryptWithPublicKey(byte[] plainTextData) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        // 使用默认RSA
-        Cipher cipher = Cipher.getInstance("RSA");
-        // cipher= Cipher.getInstance("RSA", new BouncyCastleProvider());
-        cipher.init(Cipher.ENCRYPT_MODE, Objects.requireNonNull(getPublicKey()));
-        return cipher.doFinal(plainTextData);
+        return doFinal(Cipher.ENCRYPT_MODE, getPublicKey(), plainTextData);
     }
 
     /**
@@ -49,9 +107,7 @@ public class KeelRSA extends KeelRSAKeyPair {
      * @throws BadPaddingException       明文数据已损坏
      */
     public byte[] encryptWithPrivateKey(byte[] plainTextData) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        Cipher cipher = Cipher.getInstance("RSA");
-        cipher.init(Cipher.ENCRYPT_MODE, Objects.requireNonNull(getPrivateKey()));
-        return cipher.doFinal(plainTextData);
+        return doFinal(Cipher.ENCRYPT_MODE, getPrivateKey(), plainTextData);
     }
 
     /**
@@ -64,11 +120,7 @@ public class KeelRSA extends KeelRSAKeyPair {
      * @throws BadPaddingException       密文数据已损坏
      */
     public byte[] decryptWithPrivateKey(byte[] cipherData) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        // 使用默认RSA
-        Cipher cipher = Cipher.getInstance("RSA");
-        // cipher= Cipher.getInstance("RSA", new BouncyCastleProvider());
-        cipher.init(Cipher.DECRYPT_MODE, Objects.requireNonNull(getPrivateKey()));
-        return cipher.doFinal(cipherData);
+        return doFinal(Cipher.DECRYPT_MODE, getPrivateKey(), cipherData);
     }
 
     /**
@@ -81,15 +133,11 @@ public class KeelRSA extends KeelRSAKeyPair {
      * @throws BadPaddingException       密文数据已损坏
      */
     public byte[] decryptWithPublicKey(byte[] cipherData) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        // 使用默认RSA
-        Cipher cipher = Cipher.getInstance("RSA");
-        // cipher= Cipher.getInstance("RSA", new BouncyCastleProvider());
-        cipher.init(Cipher.DECRYPT_MODE, Objects.requireNonNull(getPublicKey()));
-        return cipher.doFinal(cipherData);
+        return doFinal(Cipher.DECRYPT_MODE, getPublicKey(), cipherData);
     }
 
     /**
-     * 利用私钥进行RSA签名.
+     * 利用私钥进行RSA签名，签名算法为 {@link #SIGN_ALGORITHMS}。
      *
      * @param content 待签名的数据块
      * @return RSA签名结果
@@ -99,19 +147,34 @@ public class KeelRSA extends KeelRSAKeyPair {
      * @throws SignatureException 签名异常
      */
     public String signWithPrivateKey(byte[] content) throws NoSuchAlgorithmException, InvalidKeySpecException, InvalidKeyException, SignatureException {
-        byte[] bytesOfPrivateKey = this.getPrivateKey().getEncoded();
-        PKCS8EncodedKeySpec priPKCS8 = new PKCS8EncodedKeySpec(bytesOfPrivateKey);
-        KeyFactory keyf = KeyFactory.getInstance("RSA");
-        PrivateKey priKey = keyf.generatePrivate(priPKCS8);
-        java.security.Signature signature = java.security.Signature.getInstance(SIGN_ALGORITHMS);
-        signature.initSign(priKey);
-        signature.update(content);
-        byte[] signed = signature.sign();
-        return BinaryUtils.encodeWithBase64ToString(signed);
+        return signWithPrivateKey(content, SIGN_ALGORITHMS);
     }
 
     /**
-     * 利用公钥进行RSA签名校验。
+     * 利用私钥进行RSA签名.
+     *
+     * @param content   待签名的数据块
+     * @param algorithm 签名算法，如 {@link #SIGN_ALGORITHMS} 或 {@link #SIGN_ALGORITHM_SHA256}
+     * @return RSA签名结果，Base64 编码
+     * @throws NoSuchAlgorithmException 无此加密算法
+     * @throws InvalidKeyException      不对劲的密钥
+     * @throws SignatureException       签名异常
+     */
+    public String signWithPrivateKey(byte[] content, String algorithm) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        PrivateKey privateKey = getPrivateKey();
+        Signature signature = signature(algorithm, true, privateKey);
+        try {
+            signature.update(content);
+            byte[] signed = signature.sign();
+            return BinaryUtils.encodeWithBase64ToString(signed);
+        } catch (SignatureException e) {
+            evictSignature(algorithm, true, privateKey);
+            throw e;
+        }
+    }
+
+    /**
+     * 利用公钥进行RSA签名校验，签名算法为 {@link #SIGN_ALGORITHMS}。
      *
      * @param content 被签名的数据块
      * @param sign    RSA签名
@@ -122,14 +185,89 @@ public class KeelRSA extends KeelRSAKeyPair {
      * @throws SignatureException 签名不对劲
      */
     public boolean verifySignWithPublicKey(byte[] content, String sign) throws NoSuchAlgorithmException, InvalidKeySpecException, InvalidKeyException, SignatureException {
-        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-        byte[] encodedKey = getPublicKey().getEncoded();
-        PublicKey pubKey = keyFactory.generatePublic(new X509EncodedKeySpec(encodedKey));
+        return verifySignWithPublicKey(content, sign, SIGN_ALGORITHMS);
+    }
 
-        java.security.Signature signature = java.security.Signature.getInstance(SIGN_ALGORITHMS);
-        signature.initVerify(pubKey);
-        signature.update(content);
+    /**
+     * 利用公钥进行RSA签名校验。
+     *
+     * @param content   被签名的数据块
+     * @param sign      RSA签名，Base64 编码
+     * @param algorithm 签名算法，如 {@link #SIGN_ALGORITHMS} 或 {@link #SIGN_ALGORITHM_SHA256}
+     * @return 校验结果
+     * @throws NoSuchAlgorithmException 没有这种算法
+     * @throws InvalidKeyException      不对劲的密钥
+     * @throws SignatureException       签名不对劲
+     */
+    public boolean verifySignWithPublicKey(byte[] content, String sign, String algorithm) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        PublicKey publicKey = getPublicKey();
+        Signature signature = signature(algorithm, false, publicKey);
+        try {
+            signature.update(content);
+            return signature.verify(StringUtils.decodeWithBase64ToBytes(sign));
+        } catch (SignatureException | IllegalArgumentException e) {
+            // 校验失败后实例的状态不明，丢弃
+            evictSignature(algorithm, false, publicKey);
+            throw e;
+        }
+    }
 
-        return signature.verify(StringUtils.decodeWithBase64ToBytes(sign));
+    /**
+     * 利用公钥批量校验RSA签名；数量较多时在公共 Fork/Join 线程池中并行校验。
+     * <p>
+     * 单个签名格式有误（如不是合法的 Base64 或长度不符）时，其校验结果为 false，不影响其他签名的校验。
+     *
+     * @param signedContents 被签名的数据块及其签名
+     * @param algorithm      签名算法，如 {@link #SIGN_ALGORITHMS} 或 {@link #SIGN_ALGORITHM_SHA256}
+     * @return 各签名的校验结果，与给定的顺序一致
+     * @throws NoSuchAlgorithmException 没有这种算法
+     * @throws InvalidKeyException      不对劲的密钥
+     */
+    public List<Boolean> verifySignsWithPublicKey(List<SignedContent> signedContents, String algorithm) throws NoSuchAlgorithmException, InvalidKeyException {
+        // 先在当前线程内检查算法与密钥，使其错误直接抛出
+        signature(algorithm, false, getPublicKey());
+
+        SignedContent[] batch = signedContents.toArray(new SignedContent[0]);
+        Boolean[] results = new Boolean[batch.length];
+        IntStream indexes = IntStream.range(0, batch.length);
+        if (batch.length >= PARALLEL_VERIFICATION_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> {
+            try {
+                results[i] = verifySignWithPublicKey(batch[i].content(), batch[i].sign(), algorithm);
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                results[i] = false;
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 在工作线程中利用公钥批量校验RSA签名，不阻塞事件循环。
+     *
+     * @param keel           Keel 实例
+     * @param signedContents 被签名的数据块及其签名
+     * @param algorithm      签名算法，如 {@link #SIGN_ALGORITHMS} 或 {@link #SIGN_ALGORITHM_SHA256}
+     * @return 异步返回各签名的校验结果，与给定的顺序一致
+     * @see #verifySignsWithPublicKey(List, String)
+     */
+    public Future<List<Boolean>> verifySignsWithPublicKey(Keel keel, List<SignedContent> signedContents, String algorithm) {
+        return keel.executeBlocking(() -> verifySignsWithPublicKey(signedContents, algorithm), false);
+    }
+
+    /**
+     * 被签名的数据块及其签名。
+     *
+     * @param content 被签名的数据块
+     * @param sign    RSA签名，Base64 编码
+     */
+    public record SignedContent(byte[] content, String sign) {
+    }
+
+    /**
+     * 实例缓存的键；RSA 密钥按其内容比较。
+     */
+    private record InstanceCacheKey(String algorithm, int mode, Key key) {
     }
 }
@@ -0,0 +1,64 @@
+package io.github.sinri.keel.core.utils.internal;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 各线程独立的 LRU 缓存，用于缓存不是线程安全的、已初始化的实例（如 {@link javax.crypto.Cipher}、{@link javax.crypto.Mac}）。
+ * <p>
+ * 每个线程持有按访问顺序排列的映射，条目数超过上限时淘汰最久未使用的条目；
+ * 取得的实例仅可在当前线程内使用。
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @since 5.0.0
+ */
+@NullMarked
+public final class ThreadLocalLruCache<K, V> {
+    private final ThreadLocal<Map<K, V>> threadLocalMap;
+
+    /**
+     * @param maxSizePerThread 每个线程最多缓存的条目数量
+     */
+    public ThreadLocalLruCache(int maxSizePerThread) {
+        if (maxSizePerThread <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.threadLocalMap = ThreadLocal.withInitial(() -> new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSizePerThread;
+            }
+        });
+    }
+
+    /**
+     * @param key 缓存键
+     * @return 当前线程缓存的值；未缓存时返回 null
+     */
+    public @Nullable V get(K key) {
+        return threadLocalMap.get().get(key);
+    }
+
+    /**
+     * 在当前线程缓存值，必要时淘汰最久未使用的条目。
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     */
+    public void put(K key, V value) {
+        threadLocalMap.get().put(key, value);
+    }
+
+    /**
+     * 丢弃当前线程缓存的值。
+     *
+     * @param key 缓存键
+     */
+    public void remove(K key) {
+        threadLocalMap.get().remove(key);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Keel 内部各工具类共用的辅助实现，不属于公开 API。
+ */
+package io.github.sinri.keel.core.utils.internal;
@@ -0,0 +1,63 @@
+package io.github.sinri.keel.core.utils.io;
+
+import io.github.sinri.keel.base.async.Keel;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.jspecify.annotations.NullMarked;
+
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * 一个Vertx体系下 {@link ReadStream} 的实现，其将 {@link SeekableByteChannel} 封装来实现异步流式读取。
+ * <p>
+ * 按位置读取给定范围内的数据，不依赖也不改变 {@link FileChannel} 的当前位置；
+ * 对 {@link FileChannel} 可启用内存映射，以映射分段的切片作为数据交给数据处理器，不经过堆内存复制。
+ * <p>
+ * 与 Vert.x 的其他读取流一致，初始为暂停状态，需调用 {@link #resume()} 或 {@link #fetch(long)} 开始读取；
+ * 需求以分块计数。读取结束后不会关闭通道。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+public interface AsyncChannelReadStream extends ReadStream<Buffer> {
+    static AsyncChannelReadStream create(Keel keel, SeekableByteChannel channel) {
+        return new AsyncChannelReadStreamImpl(keel, channel);
+    }
+
+    /**
+     * 设置单次读取的最大字节数，默认为 64KB。
+     *
+     * @param chunkSize 单次读取的最大字节数，必须为正数
+     * @return 本实例
+     */
+    AsyncChannelReadStream setChunkSize(int chunkSize);
+
+    /**
+     * 设置读取范围，须在开始读取之前设置；默认从通道开头读到末尾。
+     *
+     * @param start 起始位置（含）
+     * @param end   结束位置（不含）；为负数时读到通道末尾
+     * @return 本实例
+     */
+    AsyncChannelReadStream setRange(long start, long end);
+
+    /**
+     * 设置是否以内存映射读取，默认不启用，仅对 {@link FileChannel} 有效。
+     * <p>
+     * 启用后按分段映射文件，交给数据处理器的 {@link Buffer} 直接引用映射内存，适用于传输数 GB 的大文件；
+     * 映射内存在相关的 {@link Buffer} 全部被回收后才会释放。
+     * 这些 {@link Buffer} 是映射内存的只读视图，不能修改或追加；需要修改时须先复制，例如 {@link Buffer#copy()}。
+     *
+     * @param memoryMapping 是否以内存映射读取
+     * @return 本实例
+     */
+    AsyncChannelReadStream setMemoryMapping(boolean memoryMapping);
+
+    /**
+     *
+     * @return a future of the number of bytes transferred
+     */
+    Future<Long> readOver();
+}
@@ -0,0 +1,241 @@
+package io.github.sinri.keel.core.utils.io;
+
+import io.github.sinri.keel.base.async.Keel;
+import io.github.sinri.keel.core.utils.io.internal.BufferIO;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@NullMarked
+class AsyncChannelReadStreamImpl implements AsyncChannelReadStream {
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    /**
+     * Size of each memory-mapped segment; chunks are sliced out of the current segment.
+     */
+    static final long MAPPED_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    private final Context context;
+    private final SeekableByteChannel channel;
+    private final Promise<Long> readOverPromise = Promise.promise();
+
+    // Flow control state, demand counted in chunks
+    private final AtomicLong demand = new AtomicLong(0);
+    private final AtomicBoolean reading = new AtomicBoolean(false);
+
+    // Handlers
+    private Handler<Throwable> exceptionHandler = t -> {
+    };
+    private Handler<Buffer> handler = b -> {
+    };
+    private Handler<Void> endHandler = v -> {
+    };
+
+    // Read configuration
+    private volatile int chunkSize = DEFAULT_CHUNK_SIZE;
+    private volatile boolean memoryMapping = false;
+    private volatile long end = -1;
+
+    // Reading state
+    private volatile long position = 0;
+    private volatile boolean ended = false;
+    private long totalBytesRead = 0;
+    private @Nullable MappedByteBuffer mappedSegment;
+    private long mappedSegmentStart = 0;
+
+    AsyncChannelReadStreamImpl(Keel keel, SeekableByteChannel channel) {
+        this.context = keel.getOrCreateContext();
+        this.channel = channel;
+    }
+
+    @Override
+    public AsyncChannelReadStream setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    @Override
+    public AsyncChannelReadStream setRange(long start, long end) {
+        if (start < 0 || (end >= 0 && end < start)) {
+            throw new IllegalArgumentException("Invalid range [" + start + ", " + end + ")");
+        }
+        this.position = start;
+        this.end = end;
+        return this;
+    }
+
+    @Override
+    public AsyncChannelReadStream setMemoryMapping(boolean memoryMapping) {
+        this.memoryMapping = memoryMapping;
+        return this;
+    }
+
+    @Override
+    public Future<Long> readOver() {
+        return readOverPromise.future();
+    }
+
+    private void readNextChunk() {
+        if (demand.get() <= 0 || ended || reading.get()) {
+            return;
+        }
+        if (!reading.compareAndSet(false, true)) {
+            return;
+        }
+
+        context.executeBlocking(this::readChunk, false)
+               .onComplete(ar -> {
+                   reading.set(false);
+
+                   if (ar.failed()) {
+                       ended = true;
+                       exceptionHandler.handle(ar.cause());
+                       readOverPromise.tryFail(ar.cause());
+                       return;
+                   }
+
+                   Buffer chunk = ar.result();
+                   if (chunk == null) {
+                       // End of range or channel
+                       ended = true;
+                       mappedSegment = null;
+                       endHandler.handle(null);
+                       readOverPromise.tryComplete(totalBytesRead);
+                       return;
+                   }
+
+                   totalBytesRead += chunk.length();
+                   if (demand.get() != Long.MAX_VALUE) {
+                       demand.decrementAndGet();
+                   }
+                   handler.handle(chunk);
+                   readNextChunk();
+               });
+    }
+
+    /**
+     * Read the chunk at the current position.
+     * This method should be called from a blocking execution context.
+     *
+     * @return the chunk read, or null at the end of range or channel
+     */
+    private @Nullable Buffer readChunk() throws IOException {
+        long limit = end < 0 ? channel.size() : Math.min(end, channel.size());
+        long readPosition = position;
+        if (readPosition >= limit) {
+            return null;
+        }
+        int readSize = (int) Math.min(chunkSize, limit - readPosition);
+
+        Buffer chunk;
+        if (memoryMapping && channel instanceof FileChannel fileChannel) {
+            chunk = readMapped(fileChannel, readPosition, readSize, limit);
+        } else {
+            ByteBuf byteBuf = Unpooled.buffer(readSize);
+            ByteBuffer target = byteBuf.nioBuffer(0, readSize);
+            int bytesRead = readFully(target, readPosition);
+            if (bytesRead <= 0) {
+                return null;
+            }
+            byteBuf.writerIndex(bytesRead);
+            chunk = BufferIO.wrap(byteBuf);
+        }
+        position = readPosition + chunk.length();
+        return chunk;
+    }
+
+    private Buffer readMapped(FileChannel fileChannel, long readPosition, int readSize, long limit) throws IOException {
+        MappedByteBuffer segment = this.mappedSegment;
+        if (segment == null
+                || readPosition < mappedSegmentStart
+                || readPosition + readSize > mappedSegmentStart + segment.capacity()) {
+            long segmentSize = Math.min(MAPPED_SEGMENT_SIZE, limit - readPosition);
+            segment = fileChannel.map(FileChannel.MapMode.READ_ONLY, readPosition, Math.max(segmentSize, readSize));
+            this.mappedSegment = segment;
+            this.mappedSegmentStart = readPosition;
+        }
+        ByteBuffer slice = segment.slice((int) (readPosition - mappedSegmentStart), readSize);
+        return BufferIO.wrap(slice);
+    }
+
+    private int readFully(ByteBuffer target, long readPosition) throws IOException {
+        int total = 0;
+        while (target.hasRemaining()) {
+            int bytesRead;
+            if (channel instanceof FileChannel fileChannel) {
+                // Positional read, leaving the position of the channel untouched
+                bytesRead = fileChannel.read(target, readPosition + total);
+            } else {
+                channel.position(readPosition + total);
+                bytesRead = channel.read(target);
+            }
+            if (bytesRead < 0) {
+                break;
+            }
+            total += bytesRead;
+        }
+        return total;
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(@Nullable Handler<Throwable> handler) {
+        this.exceptionHandler = handler != null ? handler : t -> {
+        };
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(@Nullable Handler<Buffer> handler) {
+        this.handler = handler != null ? handler : b -> {
+        };
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        demand.set(0);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+        if (amount <= 0) {
+            return this;
+        }
+        demand.accumulateAndGet(amount, (current, added) -> {
+            long sum = current + added;
+            return sum < 0 ? Long.MAX_VALUE : sum;
+        });
+        readNextChunk();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(@Nullable Handler<Void> endHandler) {
+        this.endHandler = endHandler != null ? endHandler : v -> {
+        };
+        return this;
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.sinri.keel.core.utils.io;
+
+import io.github.sinri.keel.base.async.Keel;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import org.jspecify.annotations.NullMarked;
+
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 一个Vertx体系下 {@link WriteStream} 的实现，其将 {@link WritableByteChannel} 封装来实现流式异步写入。
+ * <p>
+ * 排队中的写入在一次阻塞任务中合并写出；对 {@link GatheringByteChannel}（例如 {@code FileChannel}）以一次聚集写入完成，
+ * 数据直接取自 {@link Buffer} 的底层缓冲区，不经过复制。写入队列以待写出的字节数计量。
+ * 调用 {@link #end()} 后，写出全部数据并关闭通道。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+public interface AsyncChannelWriteStream extends WriteStream<Buffer> {
+    static AsyncChannelWriteStream create(Keel keel, WritableByteChannel channel) {
+        return new AsyncChannelWriteStreamImpl(keel, channel);
+    }
+
+    /**
+     *
+     * @return a future of the number of bytes written, completed when the stream is ended and the channel is closed
+     */
+    Future<Long> writeOver();
+}
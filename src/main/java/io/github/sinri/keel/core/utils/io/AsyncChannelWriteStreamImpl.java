@@ -0,0 +1,189 @@
+package io.github.sinri.keel.core.utils.io;
+
+import io.github.sinri.keel.base.async.Keel;
+import io.github.sinri.keel.core.utils.io.internal.BufferIO;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@NullMarked
+class AsyncChannelWriteStreamImpl implements AsyncChannelWriteStream {
+    static final int DEFAULT_WRITE_QUEUE_MAX_SIZE = 128 * 1024;
+
+    private final Context context;
+    private final WritableByteChannel channel;
+    private final ConcurrentLinkedQueue<PendingWrite> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final AtomicBoolean writing = new AtomicBoolean(false);
+    private final AtomicLong pendingBytes = new AtomicLong(0);
+    private final AtomicBoolean drainRequested = new AtomicBoolean(false);
+    private final Promise<Long> writeOverPromise = Promise.promise();
+
+    private volatile int maxSize = DEFAULT_WRITE_QUEUE_MAX_SIZE;
+    private Handler<Void> drainHandler = v -> {
+    };
+    private Handler<Throwable> exceptionHandler = t -> {
+    };
+    private long totalBytesWritten = 0;
+
+    AsyncChannelWriteStreamImpl(Keel keel, WritableByteChannel channel) {
+        this.context = keel.getOrCreateContext();
+        this.channel = channel;
+    }
+
+    @Override
+    public Future<Long> writeOver() {
+        return writeOverPromise.future();
+    }
+
+    @Override
+    public WriteStream<Buffer> exceptionHandler(@Nullable Handler<Throwable> handler) {
+        this.exceptionHandler = handler != null ? handler : t -> {
+        };
+        return this;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+        if (closed.get()) {
+            return Future.failedFuture(new IllegalStateException("Stream has been ended"));
+        }
+        Promise<Void> promise = Promise.promise();
+        pendingBytes.addAndGet(data.length());
+        queue.add(new PendingWrite(data, promise));
+        writeQueueFull();
+        scheduleWrite();
+        return promise.future();
+    }
+
+    @Override
+    public Future<Void> end() {
+        if (!closed.compareAndSet(false, true)) {
+            return writeOverPromise.future().mapEmpty();
+        }
+        Promise<Void> promise = Promise.promise();
+        queue.add(new PendingWrite(null, promise));
+        scheduleWrite();
+        return promise.future();
+    }
+
+    /**
+     * Starts the writer if it is not running; it writes all queued data in one blocking task.
+     */
+    private void scheduleWrite() {
+        if (queue.isEmpty() || !writing.compareAndSet(false, true)) {
+            return;
+        }
+
+        context.executeBlocking(this::writeBatch, false)
+               .onComplete(ar -> {
+                   WriteBatch batch = ar.result();
+                   Throwable failure = ar.failed() ? ar.cause() : batch.failure;
+                   if (batch != null) {
+                       pendingBytes.addAndGet(-batch.bytes);
+                       totalBytesWritten += batch.bytes;
+                       for (PendingWrite write : batch.writes) {
+                           if (failure == null) {
+                               write.completion.tryComplete();
+                           } else {
+                               write.completion.tryFail(failure);
+                           }
+                       }
+                   }
+                   if (failure != null) {
+                       exceptionHandler.handle(failure);
+                       if (batch != null && batch.ended) {
+                           writeOverPromise.tryFail(failure);
+                       }
+                   } else if (batch != null && batch.ended) {
+                       writeOverPromise.tryComplete(totalBytesWritten);
+                   }
+
+                   writing.set(false);
+                   scheduleWrite();
+                   checkDrain();
+               });
+    }
+
+    /**
+     * Writes all queued data to the channel as one batch.
+     * This method should be called from a blocking execution context.
+     */
+    private WriteBatch writeBatch() {
+        List<PendingWrite> writes = new ArrayList<>();
+        List<ByteBuffer> byteBuffers = new ArrayList<>();
+        long bytes = 0;
+        boolean ended = false;
+        PendingWrite write;
+        while ((write = queue.poll()) != null) {
+            writes.add(write);
+            if (write.data == null) {
+                ended = true;
+                break;
+            }
+            if (write.data.length() > 0) {
+                byteBuffers.add(BufferIO.readableByteBuffer(write.data));
+                bytes += write.data.length();
+            }
+        }
+
+        try {
+            BufferIO.writeFully(channel, byteBuffers.toArray(new ByteBuffer[0]));
+            if (ended) {
+                channel.close();
+            }
+            return new WriteBatch(writes, bytes, ended, null);
+        } catch (IOException e) {
+            return new WriteBatch(writes, bytes, ended, e);
+        }
+    }
+
+    @Override
+    public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        checkDrain();
+        return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+        boolean full = pendingBytes.get() >= maxSize;
+        if (full) {
+            drainRequested.set(true);
+        }
+        return full;
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(@Nullable Handler<Void> handler) {
+        this.drainHandler = handler != null ? handler : v -> {
+        };
+        return this;
+    }
+
+    private void checkDrain() {
+        if (pendingBytes.get() <= maxSize / 2 && drainRequested.compareAndSet(true, false)) {
+            context.runOnContext(v -> drainHandler.handle(null));
+        }
+    }
+
+    private record PendingWrite(@Nullable Buffer data, Promise<Void> completion) {
+    }
+
+    private record WriteBatch(List<PendingWrite> writes, long bytes, boolean ended, @Nullable Throwable failure) {
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.sinri.keel.core.utils.io;
 
 import io.github.sinri.keel.base.async.Keel;
+import io.github.sinri.keel.core.utils.io.internal.BufferIO;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -10,16 +11,24 @@ import io.vertx.core.streams.WriteStream;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A non-blocking implementation of AsyncInputWriteStream for Vert.x.
  * <p>
  * This class provides a fully asynchronous WriteStream that can buffer data
  * and transfer it to an OutputStream using Vert.x's executeBlocking mechanism.
+ * Writes queued while a transfer is running are coalesced into the next transfer,
+ * which writes them without copying and flushes once.
  * Unlike the blocking InputStream-based implementation, this version uses
  * asynchronous handlers and promises throughout.
  * <p>
@@ -30,13 +39,24 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 @NullMarked
 class AsyncInputWriteStreamImpl implements AsyncInputWriteStream {
+    static final int DEFAULT_WRITE_QUEUE_MAX_SIZE = 128 * 1024;
 
     private final Keel keel;
     private final Context context;
     private final ConcurrentLinkedQueue<PendingWrite> buffer = new ConcurrentLinkedQueue<>();
     private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
 
-    private volatile int maxSize = 1000;
+    /**
+     * Bytes written to this stream but not yet written to the OutputStream, in both buffered and direct modes.
+     */
+    private final AtomicLong pendingBytes = new AtomicLong(0);
+    /**
+     * Set once the queue has been seen full; the drain handler fires only when it then falls back below the low-water mark.
+     */
+    private final AtomicBoolean drainRequested = new AtomicBoolean(false);
+
+    private volatile int maxSize = DEFAULT_WRITE_QUEUE_MAX_SIZE;
     private volatile int maxBufferSize = Integer.MAX_VALUE;
     private volatile @Nullable OutputStream wrappedOutputStream;
     private Handler<Void> drainHandler = __ -> {
@@ -61,38 +81,12 @@ class AsyncInputWriteStreamImpl implements AsyncInputWriteStream {
     @Override
     public void wrap(OutputStream os) {
         this.wrappedOutputStream = os;
-        this.writeOverPromise = Promise.promise();
-
-        // Transfer any existing buffered data
-        if (!buffer.isEmpty()) {
-            context.executeBlocking(() -> {
-                       try {
-                           transferBufferedData(os);
-                           return null;
-                       } catch (Exception e) {
-                           throw new RuntimeException("Failed to transfer buffered data", e);
-                       }
-                   })
-                   .onFailure(t -> {
-                       exceptionHandler.handle(t);
-                       // Don't fail the promise yet, future writes might still succeed
-                   });
+        if (this.writeOverPromise == null) {
+            this.writeOverPromise = Promise.promise();
         }
-    }
 
-    /**
-     * Transfers all buffered data to the OutputStream.
-     */
-    private void transferBufferedData(OutputStream os) throws IOException {
-        PendingWrite write;
-        while ((write = buffer.poll()) != null) {
-            if (write.data != null) {
-                byte[] bytes = write.data.getBytes();
-                os.write(bytes);
-                os.flush();
-            }
-            write.completion.tryComplete();
-        }
+        // Transfer any existing buffered data
+        scheduleFlush();
     }
 
     /**
@@ -122,8 +116,8 @@ class AsyncInputWriteStreamImpl implements AsyncInputWriteStream {
     }
 
     /**
-     * Writes data asynchronously. If an OutputStream is wrapped, data is written directly to it.
-     * Otherwise, data is buffered until an OutputStream is wrapped or the stream is closed.
+     * Writes data asynchronously. If an OutputStream is wrapped, data is queued and written to it
+     * by the coalescing writer; otherwise, data is buffered until an OutputStream is wrapped or the stream is closed.
      *
      * @param data Buffer to write (null indicates end of stream)
      * @return Future that completes when the data is processed
@@ -136,88 +130,137 @@ class AsyncInputWriteStreamImpl implements AsyncInputWriteStream {
 
         Promise<Void> promise = Promise.promise();
 
-        OutputStream localWrappedOutputStream = this.wrappedOutputStream;
-        if (localWrappedOutputStream != null) {
-            // Write directly to wrapped OutputStream in blocking context
-            context.executeBlocking(() -> {
-                       try {
-                           if (data == null) {
-                               // End of stream - close the output stream
-                               localWrappedOutputStream.close();
+        if (data == null) {
+            // End of stream
+            closed.set(true);
+            buffer.add(new PendingWrite(null, promise));
+            if (wrappedOutputStream == null && writeOverPromise != null) {
+                // Without a wrapped OutputStream, the stream is over once all data is buffered
+                writeOverPromise.tryComplete();
+            }
+        } else {
+            // Split large buffers if needed, slicing instead of copying
+            for (int start = 0; start < data.length(); ) {
+                int chunkSize = Math.min(maxBufferSize, data.length() - start);
+                Buffer chunk = (start == 0 && chunkSize == data.length()) ? data : data.slice(start, start + chunkSize);
+                start += chunkSize;
+
+                boolean isLastChunk = start >= data.length();
+                Promise<Void> chunkPromise = isLastChunk ? promise : Promise.promise();
+                pendingBytes.addAndGet(chunk.length());
+                buffer.add(new PendingWrite(chunk, chunkPromise));
+
+                // Notify data handler asynchronously
+                final Buffer chunkToHandle = chunk;
+                context.runOnContext(new Handler<Void>() {
+                    @Override
+                    public void handle(Void event) {
+                        dataHandler.handle(chunkToHandle);
+                    }
+                });
+            }
+        }
+
+        // Remember that the queue was full, so that the drain handler fires once it is drained
+        writeQueueFull();
+
+        scheduleFlush();
+
+        return promise.future();
+    }
+
+    /**
+     * Starts the coalescing writer if an OutputStream is wrapped and the writer is not running.
+     * <p>
+     * The writer takes all queued writes in one blocking task, writes them with one gathering write
+     * (or one write per buffer, without copying, for streams that do not support gathering),
+     * and flushes once at the end of the batch; the end-of-stream marker closes the OutputStream.
+     */
+    private void scheduleFlush() {
+        OutputStream os = this.wrappedOutputStream;
+        if (os == null || buffer.isEmpty()) {
+            return;
+        }
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+
+        context.executeBlocking(() -> writeBatch(os), false)
+               .onComplete(ar -> {
+                   WriteBatch batch = ar.result();
+                   Throwable failure = ar.failed() ? ar.cause() : batch.failure;
+                   if (batch != null) {
+                       pendingBytes.addAndGet(-batch.bytes());
+                       for (PendingWrite write : batch.writes) {
+                           if (failure == null) {
+                               write.completion.tryComplete();
                            } else {
-                               // Split large buffers if needed
-                               for (int start = 0; start < data.length(); ) {
-                                   int chunkSize = Math.min(maxBufferSize, data.length() - start);
-                                   Buffer chunk = data.getBuffer(start, start + chunkSize);
-                                   start += chunkSize;
-
-                                   byte[] bytes = chunk.getBytes();
-                                   localWrappedOutputStream.write(bytes);
-                                   localWrappedOutputStream.flush();
-
-                                   // Notify data handler
-                                   final Buffer chunkToHandle = chunk;
-                                   context.runOnContext(new Handler<Void>() {
-                                       @Override
-                                       public void handle(Void event) {
-                                           dataHandler.handle(chunkToHandle);
-                                       }
-                                   });
-                               }
+                               write.completion.tryFail(failure);
                            }
-                           return null;
-                       } catch (Exception e) {
-                           throw new RuntimeException("Failed to write data to OutputStream", e);
                        }
-                   })
-                   .onFailure(t -> {
-                       exceptionHandler.handle(t);
-                       promise.fail(t);
-                   })
-                   .onSuccess(__ -> {
-                       // Complete the write promise
-                       promise.complete();
-                       // For end-of-stream, also complete the writeOver promise
-                       if (data == null && writeOverPromise != null) {
-                           writeOverPromise.complete();
+                   }
+                   if (failure != null) {
+                       exceptionHandler.handle(failure);
+                   }
+                   if (batch != null && batch.ended && writeOverPromise != null) {
+                       if (failure == null) {
+                           writeOverPromise.tryComplete();
+                       } else {
+                           writeOverPromise.tryFail(failure);
                        }
-                   });
-        } else {
-            // Buffer the data
-            if (data == null) {
-                // End of stream
-                buffer.add(new PendingWrite(null, promise));
-                closed.set(true);
-                if (writeOverPromise != null) {
-                    writeOverPromise.complete();
-                }
+                   }
+
+                   flushing.set(false);
+                   scheduleFlush();
+                   checkDrain();
+               });
+    }
+
+    /**
+     * Writes all queued data to the OutputStream as one batch.
+     * This method should be called from a blocking execution context.
+     */
+    private WriteBatch writeBatch(OutputStream os) {
+        List<PendingWrite> writes = new ArrayList<>();
+        boolean ended = false;
+        PendingWrite write;
+        while ((write = buffer.poll()) != null) {
+            writes.add(write);
+            if (write.data == null) {
+                ended = true;
+                break;
+            }
+        }
+
+        try {
+            if (os instanceof FileOutputStream fileOutputStream) {
+                gatheringWrite(fileOutputStream.getChannel(), writes);
             } else {
-                // Split large buffers if needed
-                for (int start = 0; start < data.length(); ) {
-                    int chunkSize = Math.min(maxBufferSize, data.length() - start);
-                    Buffer chunk = data.getBuffer(start, start + chunkSize);
-                    start += chunkSize;
-
-                    boolean isLastChunk = start >= data.length();
-                    Promise<Void> chunkPromise = isLastChunk ? promise : Promise.promise();
-                    buffer.add(new PendingWrite(chunk, chunkPromise));
-
-                    // Notify data handler asynchronously
-                    final Buffer chunkToHandle = chunk;
-                    context.runOnContext(new Handler<Void>() {
-                        @Override
-                        public void handle(Void event) {
-                            dataHandler.handle(chunkToHandle);
-                        }
-                    });
+                for (PendingWrite pendingWrite : writes) {
+                    if (pendingWrite.data != null) {
+                        BufferIO.writeTo(pendingWrite.data, os);
+                    }
                 }
             }
+            os.flush();
+            if (ended) {
+                // End of stream - close the output stream
+                os.close();
+            }
+            return new WriteBatch(writes, ended, null);
+        } catch (Exception e) {
+            return new WriteBatch(writes, ended, new RuntimeException("Failed to write data to OutputStream", e));
         }
+    }
 
-        // Check if we should trigger drain handler
-        checkDrain();
-
-        return promise.future();
+    private static void gatheringWrite(GatheringByteChannel channel, List<PendingWrite> writes) throws IOException {
+        List<ByteBuffer> byteBuffers = new ArrayList<>(writes.size());
+        for (PendingWrite pendingWrite : writes) {
+            if (pendingWrite.data != null && pendingWrite.data.length() > 0) {
+                byteBuffers.add(BufferIO.readableByteBuffer(pendingWrite.data));
+            }
+        }
+        BufferIO.writeFully(channel, byteBuffers.toArray(new ByteBuffer[0]));
     }
 
     /**
@@ -232,9 +275,11 @@ class AsyncInputWriteStreamImpl implements AsyncInputWriteStream {
     }
 
     /**
-     * Sets the maximum write queue size.
+     * Sets the maximum write queue size, in bytes pending to be written to the OutputStream.
+     * <p>
+     * The default is 128 KB. Once full, the drain handler is called when the pending bytes fall to half of this size.
      *
-     * @param maxSize Maximum queue size
+     * @param maxSize Maximum queue size in bytes
      * @return This stream instance
      */
     @Override
@@ -256,13 +301,18 @@ class AsyncInputWriteStreamImpl implements AsyncInputWriteStream {
     }
 
     /**
-     * Checks if the write queue is full.
+     * Checks if the write queue is full, i.e. the bytes written to this stream but not yet written
+     * to the OutputStream reach the maximum write queue size.
      *
      * @return true if the queue is full
      */
     @Override
     public boolean writeQueueFull() {
-        return buffer.size() >= maxSize;
+        boolean full = pendingBytes.get() >= maxSize;
+        if (full) {
+            drainRequested.set(true);
+        }
+        return full;
     }
 
     /**
@@ -291,31 +341,11 @@ class AsyncInputWriteStreamImpl implements AsyncInputWriteStream {
     }
 
     /**
-     * Transfers all buffered data to the given OutputStream.
-     * This method should be called from a blocking execution context.
-     *
-     * @param os OutputStream to write to
-     * @throws IOException if an I/O error occurs
-     */
-    private void transferTo(OutputStream os) throws IOException {
-        PendingWrite write;
-        while ((write = buffer.poll()) != null) {
-            if (write.data != null) {
-                // Write buffer data
-                byte[] bytes = write.data.getBytes();
-                os.write(bytes);
-                os.flush();
-            }
-            // Complete the write promise
-            write.completion.tryComplete();
-        }
-    }
-
-    /**
-     * Checks if the drain handler should be triggered.
+     * Checks if the drain handler should be triggered,
+     * i.e. the queue has been full and the pending bytes have fallen to the low-water mark since.
      */
     private void checkDrain() {
-        if (!writeQueueFull()) {
+        if (pendingBytes.get() <= maxSize / 2 && drainRequested.compareAndSet(true, false)) {
             context.runOnContext(new Handler<Void>() {
                 @Override
                 public void handle(Void event) {
@@ -325,6 +355,21 @@ class AsyncInputWriteStreamImpl implements AsyncInputWriteStream {
         }
     }
 
+    /**
+     * The writes taken and written by one run of the coalescing writer.
+     */
+    private record WriteBatch(List<PendingWrite> writes, boolean ended, @Nullable Throwable failure) {
+        long bytes() {
+            long bytes = 0;
+            for (PendingWrite write : writes) {
+                if (write.data != null) {
+                    bytes += write.data.length();
+                }
+            }
+            return bytes;
+        }
+    }
+
     /**
      * Represents a pending write operation.
      */
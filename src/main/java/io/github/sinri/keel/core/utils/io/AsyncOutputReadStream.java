@@ -22,6 +22,45 @@ public interface AsyncOutputReadStream extends ReadStream<Buffer> {
 
     void wrap(InputStream inputStream);
 
+    /**
+     * 设置单次读取的最大字节数，默认为 8KB。
+     * <p>
+     * 读取大文件时可设置为 64KB 或更大，以减少阻塞读取的调度次数。
+     *
+     * @param chunkSize 单次读取的最大字节数，必须为正数
+     * @return 本实例
+     */
+    AsyncOutputReadStream setChunkSize(int chunkSize);
+
+    /**
+     * 设置预读，默认预算为 1MB、时间片为 10 毫秒。
+     * <p>
+     * 在 {@link #resume()} 之后的无限需求下，一次阻塞任务连续读取多个分块，直至用尽字节预算或时间片、流被暂停或到达末尾，
+     * 再在一次上下文切换中将这批分块依次交给数据处理器；批次中途被 {@link #pause()} 时，未交付的分块保留至恢复后交付。
+     * 复用读取缓冲区时不进行预读。
+     *
+     * @param byteBudget      单次阻塞任务最多读取的字节数；为 0 时关闭预读，每个分块单独调度
+     * @param timeSliceMillis 单次阻塞任务最长的读取时长，单位毫秒
+     * @return 本实例
+     */
+    AsyncOutputReadStream setReadAhead(long byteBudget, long timeSliceMillis);
+
+    /**
+     * 设置是否复用读取缓冲区，默认不复用，须在 {@link #wrap(InputStream)} 之前设置。
+     * <p>
+     * 读取总是写入同一个池化的缓冲区。不复用时，每次读取到的字节被复制到一个恰好大小、可继续追加的 {@link Buffer}
+     * 中交给数据处理器，数据处理器可以任意保留或修改。
+     * <p>
+     * 复用时，所有读取均写入同一个池化的缓冲区，交给数据处理器的 {@link Buffer} 直接引用该缓冲区，不复制、不新分配；
+     * 因此该 {@link Buffer} 仅在数据处理器的本次调用内有效，下一次读取会覆盖其内容。
+     * 仅当数据处理器同步地消费数据（例如计算摘要、解析后丢弃）时才可启用；
+     * 需要保留数据或以 {@link ReadStream#pipeTo} 异步写出时不可启用。
+     *
+     * @param bufferReuse 是否复用读取缓冲区
+     * @return 本实例
+     */
+    AsyncOutputReadStream setBufferReuse(boolean bufferReuse);
+
     /**
      *
      * @return a promise of the number of bytes transferred
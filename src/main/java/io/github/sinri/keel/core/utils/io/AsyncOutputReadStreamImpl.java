@@ -1,6 +1,10 @@
 package io.github.sinri.keel.core.utils.io;
 
 import io.github.sinri.keel.base.async.Keel;
+import io.github.sinri.keel.core.utils.io.internal.BufferIO;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
@@ -10,11 +14,20 @@ import org.jspecify.annotations.Nullable;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 @NullMarked
 class AsyncOutputReadStreamImpl implements AsyncOutputReadStream {
+    static final int DEFAULT_CHUNK_SIZE = 8192;
+    static final long DEFAULT_READ_AHEAD_BUDGET = 1024 * 1024;
+    static final long DEFAULT_READ_AHEAD_TIME_SLICE = 10;
+
     private final Keel keel;
 
     // Flow control state
@@ -27,10 +40,20 @@ class AsyncOutputReadStreamImpl implements AsyncOutputReadStream {
     private Handler<Buffer> handler;
     private Handler<Void> endHandler;
 
+    // Read buffer configuration
+    private volatile int chunkSize = DEFAULT_CHUNK_SIZE;
+    private volatile boolean bufferReuse = false;
+    private @Nullable ByteBuf reusableByteBuf;
+    private volatile long readAheadBudget = DEFAULT_READ_AHEAD_BUDGET;
+    private volatile long readAheadTimeSlice = DEFAULT_READ_AHEAD_TIME_SLICE;
+
     // Reading state
     private @Nullable InputStream inputStream;
     private @Nullable Promise<Long> readOverPromise;
     private long totalBytesRead = 0;
+    private final Queue<Buffer> pendingChunks = new ConcurrentLinkedQueue<>();
+    private volatile boolean endOfStreamReached = false;
+    private boolean endHandled = false;
 
     public AsyncOutputReadStreamImpl(Keel keel) {
         this.keel = keel;
@@ -68,11 +91,16 @@ class AsyncOutputReadStreamImpl implements AsyncOutputReadStream {
      * Asynchronously read the next chunk from the InputStream.
      * This method ensures non-blocking operation by checking flow control state
      * and using executeBlocking for actual IO operations.
+     * <p>
+     * Under unlimited demand (after {@link #resume()}), one blocking task keeps reading chunks
+     * until the read-ahead byte budget or time slice is used up, the stream is paused or ends,
+     * and the whole batch is delivered in a single context switch.
      */
     private void readNextChunk() {
         // System.out.println("readNextChunk start");
         // Check if we should read (has demand and not paused and not already reading)
-        if (demand.get() <= 0 || paused.get() || reading.get() || inputStream == null) {
+        if (demand.get() <= 0 || paused.get() || reading.get() || inputStream == null
+                || endOfStreamReached || !pendingChunks.isEmpty()) {
             // System.out.println("readNextChunk should not read, died");
             return;
         }
@@ -86,28 +114,42 @@ class AsyncOutputReadStreamImpl implements AsyncOutputReadStream {
         // Use executeBlocking for the actual IO operation
         keel.executeBlocking(() -> {
             try {
-                // Read up to 8KB chunks
-                // If demand is unlimited (Long.MAX_VALUE), read 8KB chunks
+                // Read up to chunkSize bytes
+                // If demand is unlimited (Long.MAX_VALUE), read full chunks
                 // Otherwise read up to the remaining demand
                 long currentDemand = demand.get();
-                int chunkSize = (currentDemand == Long.MAX_VALUE) ? 8192 : (int) Math.min(8192, currentDemand);
-                if (chunkSize <= 0) {
+                boolean unlimited = currentDemand == Long.MAX_VALUE;
+                int readSize = unlimited ? chunkSize : (int) Math.min(chunkSize, currentDemand);
+                if (readSize <= 0) {
                     //System.out.println("readNextChunk demand is zero or less");
                     return null; // No demand
                 }
 
-                byte[] buffer = new byte[chunkSize];
-                int bytesRead = inputStream.read(buffer);
-
-                if (bytesRead == -1) {
-                    // End of stream
-                    return new ReadResult(null, 0, true);
-                } else {
-                    // Data read
-                    byte[] data = new byte[bytesRead];
-                    System.arraycopy(buffer, 0, data, 0, bytesRead);
-                    return new ReadResult(data, bytesRead, false);
-                }
+                // A reused buffer holds one chunk only, so read-ahead applies to chunks copied out of the read buffer
+                boolean readAhead = unlimited && !bufferReuse && readAheadBudget > 0;
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(readAheadTimeSlice);
+                List<Buffer> chunks = new ArrayList<>();
+                long batchBytes = 0;
+                do {
+                    // Read into the pooled read buffer, no per-read allocation of a full chunk
+                    ByteBuf byteBuf = acquireByteBuf(readSize);
+                    int bytesRead = byteBuf.writeBytes(inputStream, readSize);
+                    if (bytesRead == -1) {
+                        // End of stream
+                        return new ReadResult(chunks, batchBytes, true);
+                    }
+                    if (bufferReuse) {
+                        chunks.add(BufferIO.wrap(byteBuf));
+                    } else {
+                        // The handler may keep the chunk, so it gets a growable copy of exactly the bytes read
+                        chunks.add(BufferIO.wrap(Unpooled.buffer(bytesRead).writeBytes(byteBuf)));
+                    }
+                    batchBytes += bytesRead;
+                } while (readAhead
+                        && batchBytes < readAheadBudget
+                        && !paused.get()
+                        && System.nanoTime() < deadline);
+                return new ReadResult(chunks, batchBytes, false);
             } catch (IOException e) {
                 throw new RuntimeException("IO error while reading", e);
             }
@@ -117,6 +159,7 @@ class AsyncOutputReadStreamImpl implements AsyncOutputReadStream {
             if (ar.failed()) {
                 // Handle error
                 Throwable cause = ar.cause();
+                releaseReusableByteBuf();
                 keel.runOnContext(v -> exceptionHandler.handle(cause));
                 if (readOverPromise != null) {
                     readOverPromise.fail(cause);
@@ -131,42 +174,108 @@ class AsyncOutputReadStreamImpl implements AsyncOutputReadStream {
                 return;
             }
 
-            keel.runOnContext(new Handler<Void>() {
-                @Override
-                public void handle(Void v) {
-                    if (result.endOfStream) {
-                        // End of stream reached
-                        endHandler.handle(v);
-                        if (readOverPromise != null) {
-                            readOverPromise.complete(totalBytesRead);
-                        }
-                    } else {
-                        // Data available
-                        totalBytesRead += result.bytesRead;
-
-                        // Only decrease demand if it's not unlimited
-                        long currentDemand = demand.get();
-                        if (currentDemand != Long.MAX_VALUE) {
-                            demand.addAndGet(-result.bytesRead);
-                        }
-
-                        byte[] resultData = result.data;
-                        if (resultData != null) {
-                            Buffer buffer = Buffer.buffer(resultData);
-                            handler.handle(buffer);
-                        }
-
-                        // Continue reading if there's still demand and not paused
-                        // For unlimited demand, continue until end of stream
-                        if ((demand.get() > 0 || currentDemand == Long.MAX_VALUE) && !paused.get()) {
-                            AsyncOutputReadStreamImpl.this.readNextChunk();
-                        }
-                    }
+            keel.runOnContext(v -> {
+                totalBytesRead += result.bytesRead;
+
+                // Only decrease demand if it's not unlimited
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.addAndGet(-result.bytesRead);
+                }
+
+                pendingChunks.addAll(result.chunks);
+                if (result.endOfStream) {
+                    endOfStreamReached = true;
                 }
+                deliverPendingChunks();
             });
         });
     }
 
+    /**
+     * Deliver the chunks already read to the handler while not paused, then either end the stream
+     * or continue reading. Chunks left undelivered by a {@link #pause()} are kept until resumed.
+     * Must be called on the context.
+     */
+    private void deliverPendingChunks() {
+        Buffer chunk;
+        while (!paused.get() && (chunk = pendingChunks.poll()) != null) {
+            handler.handle(chunk);
+        }
+        if (!pendingChunks.isEmpty()) {
+            return;
+        }
+
+        if (endOfStreamReached) {
+            if (!endHandled) {
+                // End of stream reached
+                endHandled = true;
+                releaseReusableByteBuf();
+                endHandler.handle(null);
+                if (readOverPromise != null) {
+                    readOverPromise.complete(totalBytesRead);
+                }
+            }
+            return;
+        }
+
+        // Continue reading if there's still demand and not paused
+        // For unlimited demand, continue until end of stream
+        readNextChunk();
+    }
+
+    /**
+     * Acquire the ByteBuf for the next read.
+     * The same pooled ByteBuf is cleared and reused for every read; in buffer-reuse mode it is handed to
+     * the handler directly, otherwise the bytes read are copied out of it into a Buffer owned by the handler.
+     */
+    private ByteBuf acquireByteBuf(int readSize) {
+        ByteBuf byteBuf = this.reusableByteBuf;
+        if (byteBuf == null || byteBuf.capacity() < readSize) {
+            if (byteBuf != null) {
+                byteBuf.release();
+            }
+            int capacity = Math.max(readSize, chunkSize);
+            byteBuf = PooledByteBufAllocator.DEFAULT.heapBuffer(capacity, capacity);
+            this.reusableByteBuf = byteBuf;
+        }
+        byteBuf.clear();
+        // An independent view, so that the handler cannot disturb the indexes of the reused ByteBuf
+        return byteBuf.duplicate();
+    }
+
+    private void releaseReusableByteBuf() {
+        ByteBuf byteBuf = this.reusableByteBuf;
+        if (byteBuf != null) {
+            this.reusableByteBuf = null;
+            byteBuf.release();
+        }
+    }
+
+    @Override
+    public AsyncOutputReadStream setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    @Override
+    public AsyncOutputReadStream setReadAhead(long byteBudget, long timeSliceMillis) {
+        this.readAheadBudget = byteBudget;
+        this.readAheadTimeSlice = timeSliceMillis;
+        return this;
+    }
+
+    @Override
+    public AsyncOutputReadStream setBufferReuse(boolean bufferReuse) {
+        if (this.inputStream != null) {
+            throw new IllegalStateException("Buffer reuse must be configured before the stream is wrapped");
+        }
+        this.bufferReuse = bufferReuse;
+        return this;
+    }
+
     @Override
     public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
         this.exceptionHandler = handler;
@@ -190,8 +299,12 @@ class AsyncOutputReadStreamImpl implements AsyncOutputReadStream {
         if (paused.compareAndSet(true, false)) {
             // Set unlimited demand (Vert.x ReadStream resume() means unlimited demand)
             demand.set(Long.MAX_VALUE);
-            // Start reading
-            readNextChunk();
+            // Deliver what was read ahead before pausing, or start reading
+            if (pendingChunks.isEmpty() && !endOfStreamReached) {
+                readNextChunk();
+            } else {
+                keel.runOnContext(v -> deliverPendingChunks());
+            }
         }
         return this;
     }
@@ -223,12 +336,12 @@ class AsyncOutputReadStreamImpl implements AsyncOutputReadStream {
      */
     @NullMarked
     private static class ReadResult {
-        final byte @Nullable [] data;
-        final int bytesRead;
+        final List<Buffer> chunks;
+        final long bytesRead;
         final boolean endOfStream;
 
-        ReadResult(byte @Nullable [] data, int bytesRead, boolean endOfStream) {
-            this.data = data;
+        ReadResult(List<Buffer> chunks, long bytesRead, boolean endOfStream) {
+            this.chunks = chunks;
             this.bytesRead = bytesRead;
             this.endOfStream = endOfStream;
         }
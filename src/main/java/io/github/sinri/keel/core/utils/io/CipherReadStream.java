@@ -0,0 +1,233 @@
+package io.github.sinri.keel.core.utils.io;
+
+import io.github.sinri.keel.core.utils.io.internal.BufferIO;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import javax.crypto.Cipher;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+
+/**
+ * 一个在数据流经时加密或解密的 {@link ReadStream} 包装。
+ * <p>
+ * 流控操作全部委托给原始流；每个经过的数据块经 {@link Cipher#update(byte[], int, int)} 处理后交给下游，
+ * 原始流结束时以 {@link Cipher#doFinal()} 输出最后的数据块再结束，占用的内存与数据总量无关。
+ * 加解密出错时，错误交给异常处理器，此后不再输出数据，也不再结束。
+ * <p>
+ * 对于需要偏移量的工作模式，加密时可以在密文前输出一段头部（通常为偏移量），
+ * 解密时可以先读取固定长度的头部，再以其创建 Cipher 实例。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+public final class CipherReadStream implements ReadStream<Buffer> {
+    private final ReadStream<Buffer> source;
+    private final int headerLength;
+    private final @Nullable CipherFactory cipherFactory;
+    private @Nullable Cipher cipher;
+    /**
+     * 加密时尚未输出的头部。
+     */
+    private @Nullable Buffer headerToEmit;
+    /**
+     * 解密时已读取的头部。
+     */
+    private final Buffer headerReceived = Buffer.buffer();
+    private @Nullable Handler<Buffer> handler;
+    private @Nullable Handler<Throwable> exceptionHandler;
+    private @Nullable Handler<Void> endHandler;
+    private boolean failed = false;
+
+    /**
+     * @param source 原始流
+     * @param cipher 已初始化的 Cipher 实例，由本流独占
+     */
+    public CipherReadStream(ReadStream<Buffer> source, Cipher cipher) {
+        this(source, null, cipher, 0, null);
+    }
+
+    /**
+     * @param source 原始流
+     * @param header 在全部输出之前输出的头部
+     * @param cipher 已初始化的 Cipher 实例，由本流独占
+     */
+    public CipherReadStream(ReadStream<Buffer> source, Buffer header, Cipher cipher) {
+        this(source, header, cipher, 0, null);
+    }
+
+    /**
+     * @param source        原始流
+     * @param headerLength  原始流开头的头部长度，头部不参与加解密
+     * @param cipherFactory 以读取到的头部创建 Cipher 实例，由本流独占
+     */
+    public CipherReadStream(ReadStream<Buffer> source, int headerLength, CipherFactory cipherFactory) {
+        this(source, null, null, headerLength, cipherFactory);
+    }
+
+    private CipherReadStream(
+            ReadStream<Buffer> source,
+            @Nullable Buffer header,
+            @Nullable Cipher cipher,
+            int headerLength,
+            @Nullable CipherFactory cipherFactory
+    ) {
+        this.source = source;
+        this.headerToEmit = header;
+        this.cipher = cipher;
+        this.headerLength = headerLength;
+        this.cipherFactory = cipherFactory;
+        source.exceptionHandler(this::fail);
+        source.endHandler(v -> {
+            if (failed) {
+                return;
+            }
+            Cipher c = this.cipher;
+            if (c == null) {
+                fail(new GeneralSecurityException("Stream ended within the header"));
+                return;
+            }
+            Buffer last;
+            try {
+                last = BufferIO.wrap(c.doFinal());
+            } catch (GeneralSecurityException e) {
+                fail(e);
+                return;
+            }
+            emit(last);
+            Handler<Void> e = this.endHandler;
+            if (e != null) {
+                e.handle(null);
+            }
+        });
+    }
+
+    private void fail(Throwable throwable) {
+        failed = true;
+        Handler<Throwable> h = this.exceptionHandler;
+        if (h != null) {
+            h.handle(throwable);
+        }
+    }
+
+    private void emit(Buffer buffer) {
+        Handler<Buffer> h = this.handler;
+        if (h == null) {
+            return;
+        }
+        Buffer header = this.headerToEmit;
+        if (header != null) {
+            this.headerToEmit = null;
+            h.handle(header);
+        }
+        if (buffer.length() > 0) {
+            h.handle(buffer);
+        }
+    }
+
+    private void receive(Buffer buffer) throws GeneralSecurityException {
+        Cipher c = this.cipher;
+        if (c == null) {
+            CipherFactory factory = this.cipherFactory;
+            if (factory == null) {
+                throw new IllegalStateException("No cipher");
+            }
+            int needed = headerLength - headerReceived.length();
+            if (buffer.length() < needed) {
+                headerReceived.appendBuffer(buffer);
+                return;
+            }
+            headerReceived.appendBuffer(buffer, 0, needed);
+            c = factory.create(headerReceived.getBytes());
+            this.cipher = c;
+            buffer = buffer.slice(needed, buffer.length());
+        }
+        emit(transform(c, buffer));
+    }
+
+    /**
+     * 以 Cipher 自行分配恰好大小的输出，而不是按 {@link Cipher#getOutputSize(int)} 预先分配：
+     * 对于 GCM 解密等在内部缓存输入的模式，后者随已缓存的数据量增长，而实际输出为空。
+     */
+    private static Buffer transform(Cipher cipher, Buffer buffer) {
+        ByteBuffer input = BufferIO.readableByteBuffer(buffer);
+        byte[] output;
+        if (input.hasArray()) {
+            output = cipher.update(input.array(), input.arrayOffset() + input.position(), input.remaining());
+        } else {
+            byte[] bytes = new byte[input.remaining()];
+            input.get(bytes);
+            output = cipher.update(bytes);
+        }
+        if (output == null) {
+            return Buffer.buffer();
+        }
+        return BufferIO.wrap(output);
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(@Nullable Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(@Nullable Handler<Buffer> handler) {
+        this.handler = handler;
+        if (handler == null) {
+            source.handler(null);
+        } else {
+            source.handler(buffer -> {
+                if (failed) {
+                    return;
+                }
+                try {
+                    receive(buffer);
+                } catch (GeneralSecurityException e) {
+                    fail(e);
+                }
+            });
+        }
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        source.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        source.resume();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+        source.fetch(amount);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(@Nullable Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    /**
+     * 以流开头读取到的头部创建 Cipher 实例。
+     */
+    @FunctionalInterface
+    public interface CipherFactory {
+        /**
+         * @param header 读取到的头部
+         * @return 已初始化的 Cipher 实例
+         * @throws GeneralSecurityException 如果无法创建或初始化
+         */
+        Cipher create(byte[] header) throws GeneralSecurityException;
+    }
+}
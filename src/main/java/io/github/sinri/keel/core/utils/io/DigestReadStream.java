@@ -0,0 +1,106 @@
+package io.github.sinri.keel.core.utils.io;
+
+import io.github.sinri.keel.core.utils.DigestUtils;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 一个在数据流经时计算摘要的 {@link ReadStream} 包装。
+ * <p>
+ * 包装后的流照常用于 {@link ReadStream#pipeTo} 等场景，流控操作全部委托给原始流；
+ * 每个经过的数据块在交给下游前更新摘要，占用的内存与数据总量无关。
+ * 原始流结束时 {@link #digest()} 得到摘要值，原始流出错时 {@link #digest()} 随之失败。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+public final class DigestReadStream implements ReadStream<Buffer> {
+    private final ReadStream<Buffer> source;
+    private final MessageDigest messageDigest;
+    private final Promise<byte[]> digestPromise = Promise.promise();
+    private @Nullable Handler<Throwable> exceptionHandler;
+    private @Nullable Handler<Void> endHandler;
+
+    /**
+     * @param source    原始流
+     * @param algorithm 摘要算法名称（如 "SHA-256", "MD5" 等）
+     * @throws NoSuchAlgorithmException 如果指定的算法不可用
+     */
+    public DigestReadStream(ReadStream<Buffer> source, String algorithm) throws NoSuchAlgorithmException {
+        this.source = source;
+        // 数据流经的时间跨度不定，使用独占的摘要实例
+        this.messageDigest = MessageDigest.getInstance(algorithm);
+        source.exceptionHandler(throwable -> {
+            digestPromise.tryFail(throwable);
+            Handler<Throwable> handler = this.exceptionHandler;
+            if (handler != null) {
+                handler.handle(throwable);
+            }
+        });
+        source.endHandler(v -> {
+            digestPromise.tryComplete(messageDigest.digest());
+            Handler<Void> handler = this.endHandler;
+            if (handler != null) {
+                handler.handle(v);
+            }
+        });
+    }
+
+    /**
+     * @return 异步返回流经的全部数据的摘要值
+     */
+    public Future<byte[]> digest() {
+        return digestPromise.future();
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(@Nullable Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(@Nullable Handler<Buffer> handler) {
+        if (handler == null) {
+            source.handler(null);
+        } else {
+            source.handler(buffer -> {
+                DigestUtils.update(messageDigest, buffer);
+                handler.handle(buffer);
+            });
+        }
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        source.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        source.resume();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+        source.fetch(amount);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(@Nullable Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+}
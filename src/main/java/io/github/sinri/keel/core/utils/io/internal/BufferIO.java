@@ -0,0 +1,177 @@
+package io.github.sinri.keel.core.utils.io.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.buffer.UnpooledHeapByteBuf;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.buffer.BufferInternal;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keel 中唯一穿过 Vert.x {@link Buffer} 直接访问其底层 Netty {@link ByteBuf} 的地方。
+ * <p>
+ * 不是 Vert.x 内部实现的缓冲区始终通过公开的 {@link Buffer} API 处理。
+ *
+ * @since 5.0.0
+ */
+@NullMarked
+public final class BufferIO {
+    /**
+     * 通道暂时不接受数据时单次等待的上限，单位纳秒。
+     */
+    private static final long MAX_STALL_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private BufferIO() {
+    }
+
+    /**
+     * 以 {@link ByteBuffer} 的形式返回缓冲区中可读的字节。
+     * <p>
+     * 对于由单块内存支撑的 Vert.x 缓冲区，结果与其共享内存；否则为副本。结果只能读取，不得修改。
+     *
+     * @param buffer 待读取的缓冲区
+     * @return 位置指向第一个可读字节的 {@link ByteBuffer}
+     */
+    public static ByteBuffer readableByteBuffer(Buffer buffer) {
+        if (buffer instanceof BufferInternal bufferInternal) {
+            ByteBuf byteBuf = bufferInternal.getByteBuf();
+            return byteBuf.nioBuffer(byteBuf.readerIndex(), byteBuf.readableBytes());
+        }
+        return ByteBuffer.wrap(buffer.getBytes());
+    }
+
+    /**
+     * 不复制地将 Netty 缓冲区包装为 Vert.x 缓冲区，Netty 缓冲区中可读的字节即为结果的内容。
+     *
+     * @param byteBuf Netty 缓冲区
+     * @return 与 Netty 缓冲区共享内存的 Vert.x 缓冲区
+     */
+    public static Buffer wrap(ByteBuf byteBuf) {
+        return BufferInternal.buffer(byteBuf);
+    }
+
+    /**
+     * 不复制地将字节数组包装为 Vert.x 缓冲区。
+     * <p>
+     * 与 {@link Unpooled#wrappedBuffer(byte[])} 不同，结果与 {@link Buffer#buffer(byte[])} 一样可以增长：
+     * 追加数据时内容会被移入更大的数组。
+     *
+     * @param bytes 字节数组，其全部内容即为结果的内容
+     * @return 可增长的 Vert.x 缓冲区，在增长之前与字节数组共享内存
+     */
+    public static Buffer wrap(byte[] bytes) {
+        return BufferInternal.buffer(new UnpooledHeapByteBuf(UnpooledByteBufAllocator.DEFAULT, bytes, Integer.MAX_VALUE) {
+        });
+    }
+
+    /**
+     * 不复制地将 {@link ByteBuffer} 中剩余的字节包装为 Vert.x 缓冲区。
+     *
+     * @param byteBuffer NIO 缓冲区
+     * @return 与 NIO 缓冲区共享内存的 Vert.x 缓冲区
+     */
+    public static Buffer wrap(ByteBuffer byteBuffer) {
+        return BufferInternal.buffer(Unpooled.wrappedBuffer(byteBuffer));
+    }
+
+    /**
+     * 将写入器产生的至多 {@code maxLength} 个字节追加到目标缓冲区的末尾。
+     * <p>
+     * 目标为由单块内存支撑的 Vert.x 缓冲区时，写入器直接填充其末尾之后的空余容量，
+     * 写入器返回后再将目标的写入位置后移其报告的字节数；否则写入器先填充一块堆内存，再整体追加到目标。
+     * 无论哪种方式，写入器抛出异常时目标的长度保持不变。
+     *
+     * @param target    追加的目标缓冲区
+     * @param maxLength 写入器至多产生的字节数
+     * @param writer    从给定 {@link ByteBuffer} 的当前位置起填充数据，并返回写入的字节数
+     * @return 追加的字节数
+     */
+    public static int append(Buffer target, int maxLength, ToIntFunction<ByteBuffer> writer) {
+        if (maxLength > 0 && target instanceof BufferInternal bufferInternal) {
+            int position = target.length();
+            ByteBuf byteBuf = bufferInternal.getByteBuf();
+            byteBuf.ensureWritable(maxLength);
+            if (byteBuf.nioBufferCount() == 1) {
+                ByteBuffer window = byteBuf.nioBuffer(position, maxLength);
+                int written = writer.applyAsInt(window);
+                // Vert.x 缓冲区的长度即底层 ByteBuf 的写入位置，容量已预先确保，直接后移写入位置即可
+                byteBuf.writerIndex(position + written);
+                return written;
+            }
+        }
+        ByteBuffer heap = ByteBuffer.allocate(maxLength);
+        int written = writer.applyAsInt(heap);
+        target.appendBytes(heap.array(), 0, written);
+        return written;
+    }
+
+    /**
+     * 将缓冲区中可读的字节写入输出流；缓冲区允许时不经过中间数组复制。
+     *
+     * @param buffer       待写出的缓冲区
+     * @param outputStream 目标输出流
+     * @throws IOException 如果输出流出错
+     */
+    public static void writeTo(Buffer buffer, OutputStream outputStream) throws IOException {
+        if (buffer instanceof BufferInternal bufferInternal) {
+            ByteBuf byteBuf = bufferInternal.getByteBuf();
+            byteBuf.getBytes(byteBuf.readerIndex(), outputStream, byteBuf.readableBytes());
+        } else {
+            outputStream.write(buffer.getBytes());
+        }
+    }
+
+    /**
+     * 将各缓冲区中剩余的字节全部写入通道；通道支持时，每一轮以一次聚集写完成。
+     * <p>
+     * 非阻塞模式的通道在对端较慢时可能一个字节也不接受；此时调用线程不会空转，
+     * 而是以上限为 10 毫秒的指数退避挂起，直到通道重新接受数据。只能在允许阻塞的执行环境中调用。
+     *
+     * @param channel     目标通道
+     * @param byteBuffers 待写出的缓冲区，按顺序消费
+     * @return 写入的字节数
+     * @throws IOException 如果通道出错，或线程在等待期间被中断
+     */
+    public static long writeFully(WritableByteChannel channel, ByteBuffer[] byteBuffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer byteBuffer : byteBuffers) {
+            remaining += byteBuffer.remaining();
+        }
+        long total = remaining;
+        int offset = 0;
+        long backoff = 0;
+        while (remaining > 0) {
+            while (!byteBuffers[offset].hasRemaining()) {
+                offset++;
+            }
+            long written;
+            if (channel instanceof GatheringByteChannel gatheringByteChannel) {
+                written = gatheringByteChannel.write(byteBuffers, offset, byteBuffers.length - offset);
+            } else {
+                written = channel.write(byteBuffers[offset]);
+            }
+            if (written > 0) {
+                remaining -= written;
+                backoff = 0;
+            } else {
+                if (Thread.interrupted()) {
+                    throw new InterruptedIOException("Interrupted while waiting for the channel to accept data");
+                }
+                backoff = backoff == 0 ? 1_000L : Math.min(backoff * 2, MAX_STALL_BACKOFF_NANOS);
+                LockSupport.parkNanos(backoff);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * 访问 Vert.x {@link io.vertx.core.buffer.Buffer} 底层 Netty 缓冲区的低层实现，供 Keel 中的流适配器与编解码器共用。
+ * 不属于公开 API。
+ */
+package io.github.sinri.keel.core.utils.io.internal;
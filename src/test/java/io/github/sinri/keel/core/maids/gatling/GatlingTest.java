@@ -0,0 +1,238 @@
+package io.github.sinri.keel.core.maids.gatling;
+
+import io.github.sinri.keel.logger.api.factory.LoggerFactory;
+import io.github.sinri.keel.logger.api.logger.Logger;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@NullMarked
+public class GatlingTest extends KeelJUnit5Test {
+    /**
+     * 休眠期足够长，测试中的进展只能来自枪管空出时的唤醒。
+     */
+    private static final long LONG_REST_INTERVAL = 60_000L;
+
+    public GatlingTest() {
+        super();
+    }
+
+    /**
+     * 每 10 毫秒检查一次条件，满足时完成；超过 5 秒仍未满足则失败。
+     */
+    private Future<Void> waitUntil(BooleanSupplier condition) {
+        Promise<Void> promise = Promise.promise();
+        long deadline = System.currentTimeMillis() + 5_000L;
+        getKeel().setPeriodic(10L, timerID -> {
+            if (condition.getAsBoolean()) {
+                getKeel().cancelTimer(timerID);
+                promise.tryComplete();
+            } else if (System.currentTimeMillis() > deadline) {
+                getKeel().cancelTimer(timerID);
+                promise.tryFail("Condition not met in time");
+            }
+        });
+        return promise.future();
+    }
+
+    @Test
+    void testBatchCappedAtFreeBarrelsAndWakeUp(VertxTestContext testContext) {
+        List<Integer> requestedLimits = Collections.synchronizedList(new ArrayList<>());
+        List<ControlledBullet> bullets = Collections.synchronizedList(new ArrayList<>());
+        TestGatling gatling = new TestGatling(new GatlingOptions("GatlingTest-Batch")
+                .setBarrels(3)
+                .setAverageRestInterval(LONG_REST_INTERVAL)
+                .setExclusiveLoading(false)
+                .setBatchBulletLoader(limit -> {
+                    requestedLimits.add(limit);
+                    List<Bullet> batch = new ArrayList<>();
+                    for (int i = 0; i < limit; i++) {
+                        ControlledBullet bullet = new ControlledBullet("batch-" + bullets.size());
+                        bullets.add(bullet);
+                        batch.add(bullet);
+                    }
+                    return Future.succeededFuture(batch);
+                }));
+
+        gatling.deployMe(getKeel(), new DeploymentOptions())
+               .compose(deploymentId -> waitUntil(() -> ControlledBullet.fired(bullets) == 3)
+                       .compose(v -> {
+                           assertEquals(List.of(3), requestedLimits);
+                           // 空出一个枪管，休眠中的加特林被唤醒并只供弹一发
+                           bullets.get(0).finish();
+                           return waitUntil(() -> ControlledBullet.fired(bullets) == 4);
+                       })
+                       .compose(v -> {
+                           assertEquals(List.of(3, 1), requestedLimits);
+                           bullets.get(1).finish();
+                           bullets.get(2).finish();
+                           return waitUntil(() -> ControlledBullet.fired(bullets) == 6);
+                       })
+                       .compose(v -> {
+                           // 两个枪管空出后的供弹可能合为一批，也可能分为两批，但从不超过空闲枪管数
+                           assertEquals(6, bullets.size());
+                           assertTrue(requestedLimits.stream().allMatch(limit -> limit <= 3));
+                           bullets.forEach(ControlledBullet::finish);
+                           return getKeel().undeploy(deploymentId);
+                       }))
+               .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testUnfiredBulletsReturnedOnStop(VertxTestContext testContext) {
+        List<ControlledBullet> bullets = Collections.synchronizedList(new ArrayList<>());
+        TestGatling gatling = new TestGatling(new GatlingOptions("GatlingTest-Stop")
+                .setBarrels(1)
+                .setAverageRestInterval(LONG_REST_INTERVAL)
+                .setExclusiveLoading(false)
+                .setBatchBulletLoader(limit -> {
+                    if (!bullets.isEmpty()) {
+                        return Future.succeededFuture(List.of());
+                    }
+                    // 供弹器未遵守上限时，多出的任务留在弹匣中，停止时交还
+                    List<Bullet> batch = new ArrayList<>();
+                    for (int i = 0; i < 4; i++) {
+                        ControlledBullet bullet = new ControlledBullet("stop-" + i);
+                        bullets.add(bullet);
+                        batch.add(bullet);
+                    }
+                    return Future.succeededFuture(batch);
+                }));
+
+        gatling.deployMe(getKeel(), new DeploymentOptions())
+               .compose(deploymentId -> waitUntil(() -> ControlledBullet.fired(bullets) == 1)
+                       .compose(v -> getKeel().undeploy(deploymentId)))
+               .compose(v -> {
+                   assertEquals(1, ControlledBullet.fired(bullets));
+                   assertEquals(List.of("stop-1", "stop-2", "stop-3"), gatling.returnedBulletIDs);
+                   bullets.get(0).finish();
+                   return Future.succeededFuture();
+               })
+               .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testBlockedBulletsReturnedOnStop(VertxTestContext testContext) {
+        Set<String> lockSet = Set.of("GatlingTest-Blocked-Lock");
+        ControlledBullet holder = new ControlledBullet("holder", lockSet);
+        ControlledBullet blocked = new ControlledBullet("blocked", lockSet);
+        List<ControlledBullet> bullets = List.of(holder, blocked);
+        TestGatling gatling = new TestGatling(new GatlingOptions("GatlingTest-Blocked")
+                .setBarrels(2)
+                .setAverageRestInterval(LONG_REST_INTERVAL)
+                .setExclusiveLoading(false)
+                .setExclusiveLockRetries(Integer.MAX_VALUE)
+                .setBatchBulletLoader(new Function<>() {
+                    private boolean loaded = false;
+
+                    @Override
+                    public Future<List<Bullet>> apply(Integer limit) {
+                        if (loaded) {
+                            return Future.succeededFuture(List.of());
+                        }
+                        loaded = true;
+                        return Future.succeededFuture(List.of(holder, blocked));
+                    }
+                }));
+
+        gatling.deployMe(getKeel(), new DeploymentOptions())
+               // 持锁任务击发后，另一任务反复因独占锁冲突进入退避
+               .compose(deploymentId -> waitUntil(() -> blocked.getExclusiveLockBlockedTimes() >= 2)
+                       .compose(v -> getKeel().undeploy(deploymentId)))
+               // 退避中的任务在停止时交还，而不是随定时器一同被取消
+               .compose(v -> waitUntil(() -> gatling.returnedBulletIDs.contains("blocked")))
+               .compose(v -> {
+                   assertEquals(1, ControlledBullet.fired(bullets));
+                   assertEquals(List.of("blocked"), gatling.returnedBulletIDs);
+                   holder.finish();
+                   return Future.succeededFuture();
+               })
+               .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @NullMarked
+    private static final class TestGatling extends Gatling {
+        private final List<String> returnedBulletIDs = Collections.synchronizedList(new ArrayList<>());
+
+        private TestGatling(GatlingOptions options) {
+            super(options);
+        }
+
+        @Override
+        protected Logger buildGatlingLogger() {
+            return LoggerFactory.getShared().createLogger("GatlingTest");
+        }
+
+        @Override
+        protected Future<Void> returnUnfiredBullets(List<Bullet> bullets) {
+            bullets.forEach(bullet -> returnedBulletIDs.add(bullet.bulletID()));
+            return super.returnUnfiredBullets(bullets);
+        }
+    }
+
+    /**
+     * 由测试控制何时结束的任务。
+     */
+    @NullMarked
+    private static final class ControlledBullet extends Bullet {
+        private final String bulletID;
+        private final Set<String> exclusiveLockSet;
+        private final Promise<Object> done = Promise.promise();
+        private volatile boolean fired = false;
+
+        private ControlledBullet(String bulletID) {
+            this(bulletID, Set.of());
+        }
+
+        private ControlledBullet(String bulletID, Set<String> exclusiveLockSet) {
+            this.bulletID = bulletID;
+            this.exclusiveLockSet = exclusiveLockSet;
+        }
+
+        static int fired(List<ControlledBullet> bullets) {
+            synchronized (bullets) {
+                return (int) bullets.stream().filter(bullet -> bullet.fired).count();
+            }
+        }
+
+        void finish() {
+            done.tryComplete("done");
+        }
+
+        @Override
+        public String bulletID() {
+            return bulletID;
+        }
+
+        @Override
+        protected Set<String> exclusiveLockSet() {
+            return exclusiveLockSet;
+        }
+
+        @Override
+        protected Future<Object> fire() {
+            fired = true;
+            return done.future();
+        }
+
+        @Override
+        protected Future<Void> ejectShell(AsyncResult<Object> firedResult) {
+            return Future.succeededFuture();
+        }
+    }
+}
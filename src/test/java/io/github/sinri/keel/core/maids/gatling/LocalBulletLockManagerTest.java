@@ -0,0 +1,97 @@
+package io.github.sinri.keel.core.maids.gatling;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class LocalBulletLockManagerTest extends KeelJUnit5Test {
+    private final LocalBulletLockManager manager = LocalBulletLockManager.getInstance();
+
+    public LocalBulletLockManagerTest() {
+        super();
+    }
+
+    /**
+     * 覆盖全部 16 个分段的锁名集合。
+     */
+    private static Set<String> lockNamesAcrossStripes(String prefix) {
+        Set<String> lockNames = new HashSet<>();
+        Set<Integer> stripes = new HashSet<>();
+        for (int i = 0; stripes.size() < 16; i++) {
+            String lockName = prefix + i;
+            lockNames.add(lockName);
+            stripes.add(Math.floorMod(lockName.hashCode(), 16));
+        }
+        return lockNames;
+    }
+
+    @Test
+    void testAllOrNothing() {
+        Set<String> first = lockNamesAcrossStripes("all-or-nothing-");
+        assertTrue(manager.tryAcquire("first", first));
+        // 重复获取自己持有的锁
+        assertTrue(manager.tryAcquire("first", first));
+
+        String shared = first.iterator().next();
+        Set<String> second = new HashSet<>(lockNamesAcrossStripes("all-or-nothing-other-"));
+        second.add(shared);
+        assertFalse(manager.tryAcquire("second", second));
+
+        // 冲突时不占用其中任何一个锁：第三个任务可以取得第二个任务集合中除冲突锁以外的全部锁
+        Set<String> rest = new HashSet<>(second);
+        rest.remove(shared);
+        assertTrue(manager.tryAcquire("third", rest));
+        manager.release("third", rest);
+
+        // 非持有者的释放不生效
+        manager.release("second", second);
+        assertFalse(manager.tryAcquire("second", second));
+
+        manager.release("first", first);
+        assertTrue(manager.tryAcquire("second", second));
+        manager.release("second", second);
+        assertTrue(manager.tryAcquire("first", first));
+        manager.release("first", first);
+    }
+
+    @Test
+    void testConcurrentAcquire() throws InterruptedException {
+        Set<String> lockNames = lockNamesAcrossStripes("concurrent-");
+        int threads = 8;
+        int rounds = 10_000;
+        AtomicInteger holding = new AtomicInteger();
+        AtomicInteger overlapped = new AtomicInteger();
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            String holder = "holder-" + t;
+            new Thread(() -> {
+                for (int i = 0; i < rounds; i++) {
+                    if (manager.tryAcquire(holder, lockNames)) {
+                        acquired.incrementAndGet();
+                        if (holding.incrementAndGet() > 1) {
+                            overlapped.incrementAndGet();
+                        }
+                        holding.decrementAndGet();
+                        manager.release(holder, lockNames);
+                    }
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        assertEquals(0, overlapped.get());
+        assertTrue(acquired.get() > 0);
+        // 全部释放后锁表中不残留任何锁
+        assertTrue(manager.tryAcquire("final", lockNames));
+        manager.release("final", lockNames);
+    }
+}
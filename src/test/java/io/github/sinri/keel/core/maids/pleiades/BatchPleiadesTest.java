@@ -0,0 +1,220 @@
+package io.github.sinri.keel.core.maids.pleiades;
+
+import io.github.sinri.keel.logger.api.factory.LoggerFactory;
+import io.github.sinri.keel.logger.api.logger.Logger;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.eventbus.Message;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class BatchPleiadesTest extends KeelJUnit5Test {
+    /**
+     * 足够长的攒集等待时长，测试中的批次只能因攒满或停止而派发。
+     */
+    private static final long LONG_LINGER = 60_000L;
+
+    public BatchPleiadesTest() {
+        super();
+    }
+
+    /**
+     * 每 10 毫秒检查一次条件，满足时完成；超过 5 秒仍未满足则失败。
+     */
+    private Future<Void> waitUntil(BooleanSupplier condition) {
+        Promise<Void> promise = Promise.promise();
+        long deadline = System.currentTimeMillis() + 5_000L;
+        getKeel().setPeriodic(10L, timerID -> {
+            if (condition.getAsBoolean()) {
+                getKeel().cancelTimer(timerID);
+                promise.tryComplete();
+            } else if (System.currentTimeMillis() > deadline) {
+                getKeel().cancelTimer(timerID);
+                promise.tryFail("Condition not met in time");
+            }
+        });
+        return promise.future();
+    }
+
+    private void send(String address, int count) {
+        for (int i = 0; i < count; i++) {
+            getKeel().eventBus().send(address, i);
+        }
+    }
+
+    @Test
+    void testBatchSizeAndFlushOnStop(VertxTestContext testContext) {
+        ControlledBatchPleiades pleiades = new ControlledBatchPleiades("BatchPleiadesTest-Size", 5, LONG_LINGER, 10);
+        pleiades.deployMe(getKeel())
+                .compose(deploymentId -> {
+                    send(pleiades.getAddress(), 12);
+                    return waitUntil(() -> pleiades.batchSizes.size() == 2)
+                            .compose(v -> getKeel().asyncSleep(100L))
+                            .compose(v -> {
+                                // 攒满的批次立即派发，余下的消息等待攒集
+                                assertEquals(List.of(5, 5), pleiades.batchSizes);
+                                pleiades.completeImmediately.set(true);
+                                pleiades.completeAll();
+                                return getKeel().undeploy(deploymentId);
+                            });
+                })
+                .compose(v -> {
+                    // 停止时派发已攒集的批次
+                    assertEquals(List.of(5, 5, 2), pleiades.batchSizes);
+                    assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11), pleiades.bodies);
+                    return Future.succeededFuture();
+                })
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testLingerFlush(VertxTestContext testContext) {
+        ControlledBatchPleiades pleiades = new ControlledBatchPleiades("BatchPleiadesTest-Linger", 100, 50L, 10);
+        pleiades.completeImmediately.set(true);
+        pleiades.deployMe(getKeel())
+                .compose(deploymentId -> {
+                    send(pleiades.getAddress(), 3);
+                    // 未攒满的批次在等待时长后派发
+                    return waitUntil(() -> pleiades.batchSizes.size() == 1)
+                            .compose(v -> {
+                                assertEquals(List.of(3), pleiades.batchSizes);
+                                return getKeel().undeploy(deploymentId);
+                            });
+                })
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testInFlightCap(VertxTestContext testContext) {
+        ControlledBatchPleiades pleiades = new ControlledBatchPleiades("BatchPleiadesTest-InFlight", 1, 0L, 2);
+        pleiades.deployMe(getKeel())
+                .compose(deploymentId -> {
+                    send(pleiades.getAddress(), 5);
+                    return waitUntil(() -> pleiades.batchSizes.size() == 2)
+                            .compose(v -> getKeel().asyncSleep(200L))
+                            .compose(v -> {
+                                // 达到处理中批次数量上限后不再派发
+                                assertEquals(2, pleiades.batchSizes.size());
+                                pleiades.complete(0);
+                                return waitUntil(() -> pleiades.batchSizes.size() == 3);
+                            })
+                            .compose(v -> {
+                                pleiades.completeImmediately.set(true);
+                                pleiades.completeAll();
+                                return waitUntil(() -> pleiades.batchSizes.size() == 5);
+                            })
+                            .compose(v -> {
+                                assertEquals(2, pleiades.maxInFlight.get());
+                                return getKeel().undeploy(deploymentId);
+                            });
+                })
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testStopWaitsForInFlightBatches(VertxTestContext testContext) {
+        ControlledBatchPleiades pleiades = new ControlledBatchPleiades("BatchPleiadesTest-Stop", 1, 0L, 1);
+        AtomicBoolean undeployed = new AtomicBoolean(false);
+        pleiades.deployMe(getKeel())
+                .compose(deploymentId -> {
+                    send(pleiades.getAddress(), 1);
+                    return waitUntil(() -> pleiades.batchSizes.size() == 1)
+                            .compose(v -> {
+                                Future<Void> undeploy = getKeel().undeploy(deploymentId)
+                                                                 .andThen(ar -> undeployed.set(true));
+                                return getKeel().asyncSleep(200L)
+                                                .compose(slept -> {
+                                                    // 处理中的批次完成前不结束停止
+                                                    assertFalse(undeployed.get());
+                                                    pleiades.complete(0);
+                                                    return undeploy;
+                                                });
+                            });
+                })
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    /**
+     * 由测试控制每个批次何时处理完毕。
+     */
+    @NullMarked
+    private static final class ControlledBatchPleiades extends BatchPleiades<Integer> {
+        private final String address;
+        private final int maxBatchSize;
+        private final long maxBatchLinger;
+        private final int maxInFlightBatches;
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> bodies = Collections.synchronizedList(new ArrayList<>());
+        private final List<Promise<Void>> batches = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicBoolean completeImmediately = new AtomicBoolean(false);
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private ControlledBatchPleiades(String address, int maxBatchSize, long maxBatchLinger, int maxInFlightBatches) {
+            this.address = address;
+            this.maxBatchSize = maxBatchSize;
+            this.maxBatchLinger = maxBatchLinger;
+            this.maxInFlightBatches = maxInFlightBatches;
+        }
+
+        @Override
+        public String getAddress() {
+            return address;
+        }
+
+        @Override
+        protected int maxBatchSize() {
+            return maxBatchSize;
+        }
+
+        @Override
+        protected long maxBatchLinger() {
+            return maxBatchLinger;
+        }
+
+        @Override
+        protected int maxInFlightBatches() {
+            return maxInFlightBatches;
+        }
+
+        @Override
+        protected Future<Void> handleMessages(List<Message<Integer>> messages) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            messages.forEach(message -> bodies.add(message.body()));
+            batchSizes.add(messages.size());
+            Promise<Void> promise = Promise.promise();
+            batches.add(promise);
+            if (completeImmediately.get()) {
+                promise.complete();
+            }
+            return promise.future().andThen(ar -> inFlight.decrementAndGet());
+        }
+
+        @Override
+        protected Logger buildPleiadesLogger() {
+            return LoggerFactory.getShared().createLogger("BatchPleiadesTest");
+        }
+
+        void complete(int index) {
+            batches.get(index).tryComplete();
+        }
+
+        void completeAll() {
+            synchronized (batches) {
+                batches.forEach(Promise::tryComplete);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.sinri.keel.core.maids.pleiades;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.MessageProducer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 本地零拷贝编解码器的正确性，以及同一 JVM 内投递时与默认编解码器的内存分配对比。
+ */
+@NullMarked
+public class LocalMessageCodecTest extends KeelJUnit5Test {
+    private static final int MESSAGES = 100_000;
+
+    public LocalMessageCodecTest() {
+        super();
+    }
+
+    private static long allocatedBytesOfAllThreads() {
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long allocated : threadMXBean.getThreadAllocatedBytes(threadMXBean.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+
+    @Test
+    void testReferenceIsPassed(VertxTestContext testContext) {
+        JsonObject body = new JsonObject().put("k", "v");
+        String address = "LocalMessageCodecTest-Reference";
+        Promise<JsonObject> receivedBody = Promise.promise();
+        MessageConsumer<JsonObject> consumer = getKeel().eventBus().consumer(address, message -> receivedBody.tryComplete(message.body()));
+        DeliveryOptions deliveryOptions = new DeliveryOptions();
+        MessageProducer<JsonObject> producer = Pleiades.generateMessageProducer(
+                getKeel(), address, deliveryOptions, JsonObject.class, true);
+        // 调用方的投递配置不被修改
+        assertNull(deliveryOptions.getCodecName());
+        assertFalse(deliveryOptions.isLocalOnly());
+
+        consumer.completion()
+                .compose(registered -> {
+                    producer.write(body);
+                    return receivedBody.future();
+                })
+                .compose(received -> {
+                    assertSame(body, received);
+                    return consumer.unregister();
+                })
+                .andThen(ar -> LocalMessageCodec.unregisterAll(getKeel()))
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testUnregisterAll() {
+        LocalMessageCodec<JsonArray> codec = LocalMessageCodec.register(getKeel(), JsonArray.class);
+        assertSame(codec, LocalMessageCodec.register(getKeel(), JsonArray.class));
+        LocalMessageCodec.unregisterAll(getKeel());
+        // 注销后 EventBus 上不再有同名编解码器，可以重新注册
+        LocalMessageCodec<JsonArray> registeredAgain = LocalMessageCodec.register(getKeel(), JsonArray.class);
+        assertNotSame(codec, registeredAgain);
+        LocalMessageCodec.unregisterAll(getKeel());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkAllocation(VertxTestContext testContext) {
+        measure("default codec", false)
+                .compose(v -> measure("local codec", true))
+                .andThen(ar -> LocalMessageCodec.unregisterAll(getKeel()))
+                .andThen(testContext.succeedingThenComplete());
+    }
+
+    private Future<Void> measure(String mode, boolean zeroCopyLocal) {
+        String address = "LocalMessageCodecTest-Allocation-" + zeroCopyLocal;
+        JsonObject body = new JsonObject()
+                .put("id", 1)
+                .put("name", "pleiades")
+                .put("tags", new JsonArray().add("a").add("b").add("c"));
+        Promise<Void> allReceived = Promise.promise();
+        AtomicInteger received = new AtomicInteger();
+        MessageConsumer<JsonObject> consumer = getKeel().eventBus().consumer(address, message -> {
+            if (received.incrementAndGet() == MESSAGES) {
+                allReceived.complete();
+            }
+        });
+        consumer.setMaxBufferedMessages(MESSAGES);
+        MessageProducer<JsonObject> producer = Pleiades.generateMessageProducer(
+                getKeel(), address, new DeliveryOptions(), JsonObject.class, zeroCopyLocal);
+
+        return consumer.completion()
+                       .compose(registered -> {
+                           long allocatedBefore = allocatedBytesOfAllThreads();
+                           long startedAt = System.nanoTime();
+                           for (int i = 0; i < MESSAGES; i++) {
+                               producer.write(body);
+                           }
+                           return allReceived.future()
+                                             .compose(v -> {
+                                                 long elapsed = Math.max(1L, System.nanoTime() - startedAt);
+                                                 long allocated = allocatedBytesOfAllThreads() - allocatedBefore;
+                                                 getUnitTestLogger().info(mode + ": " + MESSAGES + " messages in "
+                                                         + (elapsed / 1_000_000) + " ms, "
+                                                         + (allocated / MESSAGES) + " bytes allocated per message");
+                                                 return consumer.unregister();
+                                             });
+                       });
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.sinri.keel.core.maids.pleiades;
+
+import io.github.sinri.keel.logger.api.factory.LoggerFactory;
+import io.github.sinri.keel.logger.api.logger.Logger;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageProducer;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地 EventBus 上逐条处理与微批次处理的吞吐量对比。
+ */
+@NullMarked
+@Tag("benchmark")
+public class PleiadesThroughputTest extends KeelJUnit5Test {
+    private static final int MESSAGES = 200_000;
+
+    public PleiadesThroughputTest() {
+        super();
+    }
+
+    @Test
+    void testPerMessageThroughput(VertxTestContext testContext) {
+        Promise<Void> allHandled = Promise.promise();
+        AtomicInteger handled = new AtomicInteger();
+        Pleiades<Integer> pleiades = new Pleiades<>() {
+            @Override
+            public String getAddress() {
+                return "PleiadesThroughputTest-PerMessage";
+            }
+
+            @Override
+            protected void handleMessage(Message<Integer> message) {
+                if (handled.incrementAndGet() == MESSAGES) {
+                    allHandled.complete();
+                }
+            }
+
+            @Override
+            protected Logger buildPleiadesLogger() {
+                return LoggerFactory.getShared().createLogger("PleiadesThroughputTest");
+            }
+        };
+        measure(pleiades, allHandled.future(), "per-message")
+                .andThen(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testBatchThroughput(VertxTestContext testContext) {
+        Promise<Void> allHandled = Promise.promise();
+        AtomicInteger handled = new AtomicInteger();
+        AtomicInteger batches = new AtomicInteger();
+        BatchPleiades<Integer> pleiades = new BatchPleiades<>() {
+            @Override
+            public String getAddress() {
+                return "PleiadesThroughputTest-Batch";
+            }
+
+            @Override
+            protected int maxBatchSize() {
+                return 500;
+            }
+
+            @Override
+            protected int maxInFlightBatches() {
+                return 4;
+            }
+
+            @Override
+            protected int maxBufferedMessages() {
+                return MESSAGES;
+            }
+
+            @Override
+            protected Future<Void> handleMessages(List<Message<Integer>> messages) {
+                batches.incrementAndGet();
+                if (handled.addAndGet(messages.size()) == MESSAGES) {
+                    allHandled.complete();
+                }
+                return Future.succeededFuture();
+            }
+
+            @Override
+            protected Logger buildPleiadesLogger() {
+                return LoggerFactory.getShared().createLogger("PleiadesThroughputTest");
+            }
+        };
+        measure(pleiades, allHandled.future(), "batch")
+                .andThen(ar -> getUnitTestLogger().info("batches: " + batches.get()))
+                .andThen(testContext.succeedingThenComplete());
+    }
+
+    private Future<Void> measure(Pleiades<Integer> pleiades, Future<Void> allHandled, String mode) {
+        return pleiades.deployMe(getKeel())
+                       .compose(deploymentId -> {
+                           MessageProducer<Integer> producer = Pleiades.generateMessageProducer(getKeel(), pleiades.getAddress());
+                           long startedAt = System.nanoTime();
+                           for (int i = 0; i < MESSAGES; i++) {
+                               producer.write(i);
+                           }
+                           return allHandled
+                                   .compose(v -> {
+                                       long elapsed = Math.max(1L, System.nanoTime() - startedAt);
+                                       getUnitTestLogger().info(mode + ": " + MESSAGES + " messages in "
+                                               + (elapsed / 1_000_000) + " ms, "
+                                               + (MESSAGES * 1_000_000_000L / elapsed) + " msg/s");
+                                       return getKeel().undeploy(deploymentId);
+                                   });
+                       });
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.sinri.keel.core.maids.watchman;
+
+import io.github.sinri.keel.logger.api.factory.LoggerFactory;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class CronWatchmanTest extends KeelJUnit5Test {
+    private static final String EVERY_MINUTE = "* * * * *";
+
+    public CronWatchmanTest() {
+        super();
+    }
+
+    /**
+     * 每 10 毫秒检查一次条件，满足时完成；超过 5 秒仍未满足则失败。
+     */
+    private Future<Void> waitUntil(BooleanSupplier condition) {
+        Promise<Void> promise = Promise.promise();
+        long deadline = System.currentTimeMillis() + 5_000L;
+        getKeel().setPeriodic(10L, timerID -> {
+            if (condition.getAsBoolean()) {
+                getKeel().cancelTimer(timerID);
+                promise.tryComplete();
+            } else if (System.currentTimeMillis() > deadline) {
+                getKeel().cancelTimer(timerID);
+                promise.tryFail("Condition not met in time");
+            }
+        });
+        return promise.future();
+    }
+
+    @Test
+    void testParseCronJobEntries(VertxTestContext testContext) {
+        String asyncMapName = "CronWatchmanTest-Parse";
+        Calendar calendar = new Calendar.Builder()
+                .setDate(2024, Calendar.JUNE, 15)
+                .setTimeOfDay(10, 30, 0)
+                .build();
+
+        CronWatchman.addCronJobToAsyncMap(getKeel(), asyncMapName, EVERY_MINUTE, RecordingHandler.class.getName())
+                    // 与当前时刻不匹配的任务不被触发
+                    .compose(v -> CronWatchman.addCronJobToAsyncMap(getKeel(), asyncMapName,
+                            "0 0 1 1 *", OtherRecordingHandler.class.getName()))
+                    // 无法解析的条目被忽略，不影响其他条目
+                    .compose(v -> CronWatchman.addCronJobToAsyncMap(getKeel(), asyncMapName,
+                            EVERY_MINUTE, String.class.getName()))
+                    .compose(v -> CronWatchman.addCronJobToAsyncMap(getKeel(), asyncMapName,
+                            "not a cron expression", RecordingHandler.class.getName()))
+                    .compose(v -> CronWatchman.getAllCronJobsFromAsyncMap(getKeel(), asyncMapName))
+                    .compose(cronJobs -> {
+                        // crontab 以 {cron, handler} 的 JsonObject 存储
+                        assertEquals(List.of(RecordingHandler.class.getName(), String.class.getName()),
+                                cronJobs.get(EVERY_MINUTE).stream().sorted().toList());
+                        return CronWatchman.readAsyncMapForEventHandlers(getKeel(), asyncMapName, calendar,
+                                LoggerFactory.getShared().createLogger("CronWatchmanTest"));
+                    })
+                    .compose(handlers -> {
+                        assertEquals(1, handlers.size());
+                        assertInstanceOf(RecordingHandler.class, handlers.get(0));
+                        return Future.succeededFuture();
+                    })
+                    .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testCachedUntilCronTabChanges(VertxTestContext testContext) {
+        CronWatchman watchman = new CronWatchman("CronWatchmanTest-Cache", asyncMapName -> Future.succeededFuture());
+        Calendar calendar = Calendar.getInstance();
+
+        watchman.deployMe(getKeel(), new DeploymentOptions())
+                .compose(deploymentId -> {
+                    String asyncMapName = watchman.eventBusAddress();
+                    List<WatchmanEventHandler> firstRead = new ArrayList<>();
+                    return CronWatchman.addCronJobToAsyncMap(getKeel(), asyncMapName, EVERY_MINUTE,
+                                               RecordingHandler.class.getName())
+                                       .compose(v -> watchman.readAsyncMapForEventHandlers(calendar))
+                                       .compose(handlers -> {
+                                           assertEquals(1, handlers.size());
+                                           firstRead.addAll(handlers);
+                                           // 绕过版本计数器直接修改 AsyncMap，缓存不会失效
+                                           return getKeel().sharedData().getAsyncMap(asyncMapName)
+                                                           .compose(asyncMap -> asyncMap.put(
+                                                                   EVERY_MINUTE + "@" + OtherRecordingHandler.class.getName(),
+                                                                   new JsonObject()
+                                                                           .put("cron", EVERY_MINUTE)
+                                                                           .put("handler", OtherRecordingHandler.class.getName())));
+                                       })
+                                       .compose(v -> watchman.readAsyncMapForEventHandlers(calendar))
+                                       .compose(handlers -> {
+                                           // 版本未变时复用缓存的解析结果与处理器实例
+                                           assertEquals(1, handlers.size());
+                                           assertSame(firstRead.get(0), handlers.get(0));
+                                           return CronWatchman.addCronJobToAsyncMap(getKeel(), asyncMapName,
+                                                   EVERY_MINUTE, OtherRecordingHandler.class.getName());
+                                       })
+                                       .compose(v -> watchman.readAsyncMapForEventHandlers(calendar))
+                                       .compose(handlers -> {
+                                           // 经由 operateCronTab 的修改递增版本，触发重新加载
+                                           assertEquals(2, handlers.size());
+                                           assertTrue(handlers.stream().noneMatch(handler -> handler == firstRead.get(0)));
+                                           return getKeel().undeploy(deploymentId);
+                                       });
+                })
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testHandlerInstanceReusedAcrossTicks(VertxTestContext testContext) {
+        CronWatchman watchman = new CronWatchman("CronWatchmanTest-Reuse", asyncMapName -> Future.succeededFuture());
+        RecordingHandler.handledBy.clear();
+
+        watchman.deployMe(getKeel(), new DeploymentOptions())
+                .compose(deploymentId -> CronWatchman.addCronJobToAsyncMap(getKeel(), watchman.eventBusAddress(),
+                                                             EVERY_MINUTE, RecordingHandler.class.getName())
+                                                     .compose(v -> {
+                                                         watchman.regularHandler().handle(System.currentTimeMillis());
+                                                         return waitUntil(() -> RecordingHandler.handledBy.size() >= 1);
+                                                     })
+                                                     .compose(v -> {
+                                                         watchman.regularHandler().handle(System.currentTimeMillis() + 60_000L);
+                                                         return waitUntil(() -> RecordingHandler.handledBy.size() >= 2);
+                                                     })
+                                                     .compose(v -> {
+                                                         // 处理器在解析时实例化一次，此后各次触发复用同一实例
+                                                         assertEquals(2, RecordingHandler.handledBy.size());
+                                                         assertSame(RecordingHandler.handledBy.get(0),
+                                                                 RecordingHandler.handledBy.get(1));
+                                                         return getKeel().undeploy(deploymentId);
+                                                     }))
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @NullMarked
+    public static class RecordingHandler implements WatchmanEventHandler {
+        private static final List<RecordingHandler> handledBy = Collections.synchronizedList(new ArrayList<>());
+
+        public RecordingHandler() {
+        }
+
+        @Override
+        public void handle(Long event) {
+            handledBy.add(this);
+        }
+    }
+
+    @NullMarked
+    public static class OtherRecordingHandler implements WatchmanEventHandler {
+        public OtherRecordingHandler() {
+        }
+
+        @Override
+        public void handle(Long event) {
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.sinri.keel.core.maids.watchman;
+
+import io.github.sinri.keel.logger.api.factory.LoggerFactory;
+import io.github.sinri.keel.logger.api.logger.Logger;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@NullMarked
+public class WatchmanTest extends KeelJUnit5Test {
+    private static final long INTERVAL = 200L;
+
+    public WatchmanTest() {
+        super();
+    }
+
+    /**
+     * 每 10 毫秒检查一次条件，满足时完成；超过 5 秒仍未满足则失败。
+     */
+    private Future<Void> waitUntil(BooleanSupplier condition) {
+        Promise<Void> promise = Promise.promise();
+        long deadline = System.currentTimeMillis() + 5_000L;
+        getKeel().setPeriodic(10L, timerID -> {
+            if (condition.getAsBoolean()) {
+                getKeel().cancelTimer(timerID);
+                promise.tryComplete();
+            } else if (System.currentTimeMillis() > deadline) {
+                getKeel().cancelTimer(timerID);
+                promise.tryFail("Condition not met in time");
+            }
+        });
+        return promise.future();
+    }
+
+    @Test
+    void testTicksAlignToIntervalBoundaries(VertxTestContext testContext) {
+        TestWatchman watchman = new TestWatchman("WatchmanTest-Aligned", false);
+
+        watchman.deployMe(getKeel(), new DeploymentOptions())
+                .compose(deploymentId -> waitUntil(() -> watchman.timestamps.size() >= 4)
+                        .compose(v -> getKeel().undeploy(deploymentId)))
+                .compose(v -> {
+                    List<Long> timestamps = new ArrayList<>(watchman.timestamps);
+                    for (int i = 0; i < timestamps.size(); i++) {
+                        // 触发时间戳是周期的整数倍
+                        assertEquals(0L, timestamps.get(i) % INTERVAL);
+                        if (i > 0) {
+                            // 相邻的触发落在相邻的周期上，既不重复也不跳过
+                            assertEquals(INTERVAL, timestamps.get(i) - timestamps.get(i - 1));
+                        }
+                    }
+                    return Future.succeededFuture();
+                })
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testLocalTicksBypassEventBus(VertxTestContext testContext) {
+        TestWatchman watchman = new TestWatchman("WatchmanTest-Local", false);
+        AtomicInteger eventBusMessages = new AtomicInteger();
+        MessageConsumer<Long> probe = getKeel().eventBus()
+                                               .consumer(watchman.eventBusAddress(), message -> eventBusMessages.incrementAndGet());
+
+        watchman.deployMe(getKeel(), new DeploymentOptions())
+                .compose(deploymentId -> waitUntil(() -> watchman.timestamps.size() >= 2)
+                        .compose(v -> getKeel().undeploy(deploymentId)))
+                .compose(v -> probe.unregister())
+                .compose(v -> {
+                    // 非分布式模式下触发直接调用处理器，不产生 EventBus 消息
+                    assertEquals(0, eventBusMessages.get());
+                    assertEquals(0, watchman.consumedMessages.get());
+                    return Future.succeededFuture();
+                })
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testDistributedTicksGoThroughEventBus(VertxTestContext testContext) {
+        TestWatchman watchman = new TestWatchman("WatchmanTest-Distributed", true);
+
+        watchman.deployMe(getKeel(), new DeploymentOptions())
+                .compose(deploymentId -> waitUntil(() -> watchman.timestamps.size() >= 2)
+                        .compose(v -> getKeel().undeploy(deploymentId)))
+                .compose(v -> {
+                    // 分布式模式下每次执行都来自 EventBus 消息，并在取得集群锁后进行
+                    assertTrue(watchman.consumedMessages.get() >= watchman.timestamps.size());
+                    return Future.succeededFuture();
+                })
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @NullMarked
+    private static final class TestWatchman extends PureWatchman {
+        private final List<Long> timestamps = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger consumedMessages = new AtomicInteger();
+        private final boolean distributed;
+
+        private TestWatchman(String watchmanName, boolean distributed) {
+            super(watchmanName, new Options().setInterval(INTERVAL));
+            this.distributed = distributed;
+        }
+
+        @Override
+        public WatchmanEventHandler regularHandler() {
+            return timestamps::add;
+        }
+
+        @Override
+        protected boolean isDistributed() {
+            return distributed;
+        }
+
+        @Override
+        protected void consumeHandleMassage(Message<Long> message) {
+            consumedMessages.incrementAndGet();
+            super.consumeHandleMassage(message);
+        }
+
+        @Override
+        protected Logger buildWatchmanLogger() {
+            return LoggerFactory.getShared().createLogger("WatchmanTest");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.sinri.keel.core.servant.sundial;
+
+import io.github.sinri.keel.logger.api.factory.LoggerFactory;
+import io.github.sinri.keel.logger.api.logger.SpecificLogger;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@NullMarked
+public class SundialLeaderLeaseTest extends KeelJUnit5Test {
+    private static final long LEASE_DURATION = 300L;
+
+    public SundialLeaderLeaseTest() {
+        super();
+    }
+
+    private SundialLeaderLease createLease(String leadershipName) {
+        SpecificLogger<SundialSpecificLog> logger = LoggerFactory.getShared()
+                                                                 .createLogger(SundialSpecificLog.TopicSundial, SundialSpecificLog::new);
+        return new SundialLeaderLease(getKeel(), leadershipName, LEASE_DURATION, logger);
+    }
+
+    /**
+     * 每 10 毫秒检查一次条件，满足时完成；超过 5 秒仍未满足则失败。
+     */
+    private Future<Void> waitUntil(BooleanSupplier condition) {
+        Promise<Void> promise = Promise.promise();
+        long deadline = System.currentTimeMillis() + 5_000L;
+        getKeel().setPeriodic(10L, timerID -> {
+            if (condition.getAsBoolean()) {
+                getKeel().cancelTimer(timerID);
+                promise.tryComplete();
+            } else if (System.currentTimeMillis() > deadline) {
+                getKeel().cancelTimer(timerID);
+                promise.tryFail("Condition not met in time");
+            }
+        });
+        return promise.future();
+    }
+
+    @Test
+    void testTakeoverAfterStop(VertxTestContext testContext) {
+        SundialLeaderLease first = createLease("takeover");
+        SundialLeaderLease second = createLease("takeover");
+
+        first.start();
+        waitUntil(first::isLeader)
+                .compose(v -> {
+                    second.start();
+                    // 跨越多个续约周期，领导权始终只属于先启动的节点
+                    return getKeel().asyncSleep(LEASE_DURATION * 2);
+                })
+                .compose(v -> {
+                    assertTrue(first.isLeader());
+                    assertFalse(second.isLeader());
+                    return first.stop();
+                })
+                .compose(v -> {
+                    assertFalse(first.isLeader());
+                    return waitUntil(second::isLeader);
+                })
+                .compose(v -> second.stop())
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testLostWhenTakenByOthers(VertxTestContext testContext) {
+        SundialLeaderLease lease = createLease("lost");
+
+        lease.start();
+        waitUntil(lease::isLeader)
+                .compose(v -> getKeel().sharedData().<String, String>getAsyncMap("KeelSundial-lost-Leadership"))
+                .compose(asyncMap -> asyncMap.put(SundialLeaderLease.LEADER_KEY, "intruder", LEASE_DURATION))
+                .compose(v -> {
+                    // 续约失败后立即放弃领导权，而不是等到本地记录的有效期结束
+                    return waitUntil(() -> !lease.isLeader());
+                })
+                .compose(v -> {
+                    // 其他节点的租约过期后重新取得领导权
+                    return waitUntil(lease::isLeader);
+                })
+                .compose(v -> lease.stop())
+                .onComplete(testContext.succeedingThenComplete());
+    }
+}
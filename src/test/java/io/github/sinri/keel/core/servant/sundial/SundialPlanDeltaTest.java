@@ -0,0 +1,111 @@
+package io.github.sinri.keel.core.servant.sundial;
+
+import io.github.sinri.keel.base.async.Keel;
+import io.github.sinri.keel.core.utils.cron.KeelCronExpression;
+import io.github.sinri.keel.logger.api.logger.SpecificLogger;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class SundialPlanDeltaTest extends KeelJUnit5Test {
+    private static final SundialPlan planA = new KeyedPlan("A");
+    private static final SundialPlan planB = new KeyedPlan("B");
+    private static final SundialPlan planB2 = new KeyedPlan("B");
+    private static final SundialPlan planC = new KeyedPlan("C");
+
+    public SundialPlanDeltaTest() {
+        super();
+    }
+
+    @Test
+    void testIncrementalRefresh(VertxTestContext testContext) {
+        ScriptedSundial sundial = new ScriptedSundial();
+        sundial.deployMe(getKeel())
+               .compose(deploymentId -> sundial.refreshedToV2.future())
+               .compose(v -> {
+                   assertEquals(Arrays.asList(null, "v1", "v2"), sundial.requestedVersions.subList(0, 3));
+
+                   // 全量快照 v1
+                   assertEquals(Set.of("A", "B"), sundial.snapshotAtV1.keySet());
+                   assertSame(planB, sundial.snapshotAtV1.get("B"));
+
+                   // 增量变更 v2：新增 C，修改 B，删除 A
+                   Map<String, SundialPlan> snapshot = sundial.getPlanSnapshot();
+                   assertEquals(Set.of("B", "C"), snapshot.keySet());
+                   assertSame(planB2, snapshot.get("B"));
+                   assertSame(planC, snapshot.get("C"));
+                   return sundial.undeployMe();
+               })
+               .onComplete(testContext.succeedingThenComplete());
+    }
+
+    /**
+     * 按版本依次返回全量快照、增量变更与未变更的日晷。
+     */
+    @NullMarked
+    private static final class ScriptedSundial extends Sundial {
+        private final List<@Nullable String> requestedVersions = Collections.synchronizedList(new ArrayList<>());
+        private final Promise<Void> refreshedToV2 = Promise.promise();
+        private volatile Map<String, SundialPlan> snapshotAtV1 = Map.of();
+
+        @Override
+        protected long planRefreshInterval() {
+            return 50L;
+        }
+
+        @Override
+        protected Future<@Nullable Collection<SundialPlan>> fetchPlans() {
+            return Future.failedFuture(new UnsupportedOperationException("Plans are fetched incrementally"));
+        }
+
+        @Override
+        protected Future<SundialPlanDelta> fetchPlansIfChangedSince(@Nullable String version) {
+            requestedVersions.add(version);
+            if (version == null) {
+                return Future.succeededFuture(SundialPlanDelta.snapshot("v1", List.of(planA, planB)));
+            }
+            if ("v1".equals(version)) {
+                snapshotAtV1 = Map.copyOf(getPlanSnapshot());
+                return Future.succeededFuture(SundialPlanDelta.changes("v2", List.of(planC), List.of(planB2), List.of("A")));
+            }
+            refreshedToV2.tryComplete();
+            return Future.succeededFuture(SundialPlanDelta.notModified(null));
+        }
+    }
+
+    /**
+     * 测试期间不会触发的计划。
+     */
+    @NullMarked
+    private static final class KeyedPlan implements SundialPlan {
+        private final String key;
+
+        private KeyedPlan(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public String key() {
+            return key;
+        }
+
+        @Override
+        public KeelCronExpression cronExpression() {
+            return new KeelCronExpression("0 0 1 1 *");
+        }
+
+        @Override
+        public Future<Void> execute(Keel keel, Calendar now, SpecificLogger<SundialSpecificLog> sundialSpecificLogger) {
+            return Future.succeededFuture();
+        }
+    }
+}
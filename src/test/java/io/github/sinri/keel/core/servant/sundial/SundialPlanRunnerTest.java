@@ -0,0 +1,313 @@
+package io.github.sinri.keel.core.servant.sundial;
+
+import io.github.sinri.keel.base.async.Keel;
+import io.github.sinri.keel.core.utils.cron.KeelCronExpression;
+import io.github.sinri.keel.logger.api.factory.LoggerFactory;
+import io.github.sinri.keel.logger.api.logger.SpecificLogger;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.ThreadingModel;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class SundialPlanRunnerTest extends KeelJUnit5Test {
+    public SundialPlanRunnerTest() {
+        super();
+    }
+
+    private SundialPlanRunner createRunner(int maxConcurrentRuns) {
+        SpecificLogger<SundialSpecificLog> logger = LoggerFactory.getShared()
+                                                                 .createLogger(SundialSpecificLog.TopicSundial, SundialSpecificLog::new);
+        return new SundialPlanRunner(getKeel(), logger, maxConcurrentRuns, getKeel().getOrCreateContext());
+    }
+
+    private static void fire(SundialPlanRunner runner, SundialPlan plan) {
+        Calendar now = Calendar.getInstance();
+        runner.dispatch(plan, now, now.getTimeInMillis());
+    }
+
+    /**
+     * 每 10 毫秒检查一次条件，满足时完成；超过 5 秒仍未满足则失败。
+     */
+    private Future<Void> waitUntil(BooleanSupplier condition) {
+        Promise<Void> promise = Promise.promise();
+        long deadline = System.currentTimeMillis() + 5_000L;
+        getKeel().setPeriodic(10L, timerID -> {
+            if (condition.getAsBoolean()) {
+                getKeel().cancelTimer(timerID);
+                promise.tryComplete();
+            } else if (System.currentTimeMillis() > deadline) {
+                getKeel().cancelTimer(timerID);
+                promise.tryFail("Condition not met in time");
+            }
+        });
+        return promise.future();
+    }
+
+    /**
+     * 计划执行结束后，运行器在事件循环上下文中稍后才释放运行状态。
+     */
+    private Future<Void> awaitReleased() {
+        return getKeel().asyncSleep(50L);
+    }
+
+    @Test
+    void testSkipIfRunning(VertxTestContext testContext) {
+        SundialPlanRunner runner = createRunner(0);
+        ControlledPlan plan = new ControlledPlan("skip", new SundialPlanOptions()
+                .setOverlapPolicy(SundialPlanOptions.OverlapPolicy.SKIP_IF_RUNNING));
+
+        fire(runner, plan);
+        fire(runner, plan);
+        fire(runner, plan);
+        waitUntil(() -> plan.startedRuns() == 1)
+                .compose(v -> getKeel().asyncSleep(200L))
+                .compose(v -> {
+                    assertEquals(1, plan.startedRuns());
+                    plan.completeRun(0);
+                    return waitUntil(plan::isIdle).compose(idle -> awaitReleased());
+                })
+                .compose(v -> {
+                    fire(runner, plan);
+                    return waitUntil(() -> plan.startedRuns() == 2);
+                })
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testQueue(VertxTestContext testContext) {
+        SundialPlanRunner runner = createRunner(0);
+        ControlledPlan plan = new ControlledPlan("queue", new SundialPlanOptions()
+                .setOverlapPolicy(SundialPlanOptions.OverlapPolicy.QUEUE)
+                .setMaxQueuedRuns(1));
+
+        fire(runner, plan);
+        fire(runner, plan);
+        // 超出排队上限，被丢弃
+        fire(runner, plan);
+        waitUntil(() -> plan.startedRuns() == 1)
+                .compose(v -> getKeel().asyncSleep(200L))
+                .compose(v -> {
+                    assertEquals(1, plan.startedRuns());
+                    plan.completeRun(0);
+                    return waitUntil(() -> plan.startedRuns() == 2);
+                })
+                .compose(v -> {
+                    plan.completeRun(1);
+                    return getKeel().asyncSleep(200L);
+                })
+                .compose(v -> {
+                    assertEquals(2, plan.startedRuns());
+                    return Future.succeededFuture();
+                })
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testConcurrentWithCap(VertxTestContext testContext) {
+        SundialPlanRunner runner = createRunner(0);
+        ControlledPlan plan = new ControlledPlan("concurrent", new SundialPlanOptions()
+                .setOverlapPolicy(SundialPlanOptions.OverlapPolicy.CONCURRENT)
+                .setMaxConcurrentRuns(2));
+
+        fire(runner, plan);
+        fire(runner, plan);
+        fire(runner, plan);
+        waitUntil(() -> plan.startedRuns() == 2)
+                .compose(v -> getKeel().asyncSleep(200L))
+                .compose(v -> {
+                    assertEquals(2, plan.startedRuns());
+                    plan.completeRun(0);
+                    return waitUntil(() -> plan.runningRuns() == 1).compose(idle -> awaitReleased());
+                })
+                .compose(v -> {
+                    fire(runner, plan);
+                    return waitUntil(() -> plan.startedRuns() == 3);
+                })
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testGlobalCap(VertxTestContext testContext) {
+        SundialPlanRunner runner = createRunner(1);
+        ControlledPlan first = new ControlledPlan("first", new SundialPlanOptions());
+        ControlledPlan second = new ControlledPlan("second", new SundialPlanOptions());
+
+        fire(runner, first);
+        fire(runner, second);
+        waitUntil(() -> first.startedRuns() == 1)
+                .compose(v -> getKeel().asyncSleep(200L))
+                .compose(v -> {
+                    // 全局仅有一个运行空位，第二个计划排队等待
+                    assertEquals(0, second.startedRuns());
+                    first.completeRun(0);
+                    return waitUntil(() -> second.startedRuns() == 1);
+                })
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testFailingPlanReleasesSlot(VertxTestContext testContext) {
+        SundialPlanRunner runner = createRunner(1);
+        ControlledPlan failing = new ControlledPlan("failing", new SundialPlanOptions()
+                .setOverlapPolicy(SundialPlanOptions.OverlapPolicy.SKIP_IF_RUNNING));
+        ControlledPlan other = new ControlledPlan("other", new SundialPlanOptions());
+
+        fire(runner, failing);
+        waitUntil(() -> failing.startedRuns() == 1)
+                .compose(v -> {
+                    failing.failRun(0);
+                    return waitUntil(failing::isIdle).compose(idle -> awaitReleased());
+                })
+                .compose(v -> {
+                    // 失败的运行释放了全局空位，也释放了计划自身的运行状态
+                    fire(runner, other);
+                    fire(runner, failing);
+                    return waitUntil(() -> other.startedRuns() == 1);
+                })
+                .compose(v -> {
+                    other.completeRun(0);
+                    return waitUntil(() -> failing.startedRuns() == 2);
+                })
+                .compose(v -> {
+                    failing.completeRun(1);
+                    return Future.succeededFuture();
+                })
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testDeploysOnlyForNonEventLoopPlans(VertxTestContext testContext) {
+        SundialPlanRunner runner = createRunner(0);
+        ContextRecordingPlan eventLoopPlan = new ContextRecordingPlan("event-loop", ThreadingModel.EVENT_LOOP);
+        ContextRecordingPlan workerPlan = new ContextRecordingPlan("worker", ThreadingModel.WORKER);
+
+        fire(runner, eventLoopPlan);
+        fire(runner, workerPlan);
+        Future.all(eventLoopPlan.executedOn.future(), workerPlan.executedOn.future())
+              .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                  // 事件循环计划在运行器持有的事件循环上下文中直接运行，不部署临时 Verticle
+                  Context eventLoopContext = eventLoopPlan.executedOn.future().result();
+                  assertTrue(eventLoopContext.isEventLoopContext());
+                  assertNull(eventLoopContext.deploymentID());
+                  // 工作线程计划仍在各自部署的临时 Verticle 中运行
+                  Context workerContext = workerPlan.executedOn.future().result();
+                  assertTrue(workerContext.isWorkerContext());
+                  assertNotNull(workerContext.deploymentID());
+                  testContext.completeNow();
+              })));
+    }
+
+    /**
+     * 记录执行时所在上下文的计划。
+     */
+    @NullMarked
+    private static final class ContextRecordingPlan implements SundialPlan {
+        private final String key;
+        private final ThreadingModel threadingModel;
+        private final Promise<Context> executedOn = Promise.promise();
+
+        private ContextRecordingPlan(String key, ThreadingModel threadingModel) {
+            this.key = key;
+            this.threadingModel = threadingModel;
+        }
+
+        @Override
+        public String key() {
+            return key;
+        }
+
+        @Override
+        public KeelCronExpression cronExpression() {
+            return new KeelCronExpression("* * * * *");
+        }
+
+        @Override
+        public Future<Void> execute(Keel keel, Calendar now, SpecificLogger<SundialSpecificLog> sundialSpecificLogger) {
+            executedOn.tryComplete(Vertx.currentContext());
+            return Future.succeededFuture();
+        }
+
+        @Override
+        public ThreadingModel expectedThreadingModel() {
+            return threadingModel;
+        }
+    }
+
+    /**
+     * 由测试控制每次运行何时结束的计划。
+     */
+    @NullMarked
+    private static final class ControlledPlan implements SundialPlan {
+        private final String key;
+        private final SundialPlanOptions options;
+        private final List<Promise<Void>> runs = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger finishedRuns = new AtomicInteger();
+
+        private ControlledPlan(String key, SundialPlanOptions options) {
+            this.key = key;
+            this.options = options;
+        }
+
+        @Override
+        public String key() {
+            return key;
+        }
+
+        @Override
+        public KeelCronExpression cronExpression() {
+            return new KeelCronExpression("* * * * *");
+        }
+
+        @Override
+        public Future<Void> execute(Keel keel, Calendar now, SpecificLogger<SundialSpecificLog> sundialSpecificLogger) {
+            Promise<Void> promise = Promise.promise();
+            runs.add(promise);
+            return promise.future().andThen(ar -> finishedRuns.incrementAndGet());
+        }
+
+        @Override
+        public ThreadingModel expectedThreadingModel() {
+            return ThreadingModel.EVENT_LOOP;
+        }
+
+        @Override
+        public SundialPlanOptions options() {
+            return options;
+        }
+
+        int startedRuns() {
+            return runs.size();
+        }
+
+        int runningRuns() {
+            return startedRuns() - finishedRuns.get();
+        }
+
+        boolean isIdle() {
+            return runningRuns() == 0;
+        }
+
+        void completeRun(int index) {
+            runs.get(index).complete();
+        }
+
+        void failRun(int index) {
+            runs.get(index).fail(new IllegalStateException("Plan failed on purpose"));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.sinri.keel.core.utils;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * 基准测试共用的计时工具。
+ * <p>
+ * 构建中没有 JMH，各基准测试以此近似：先执行若干轮预热，再以最后一轮的耗时计算吞吐量。
+ */
+@NullMarked
+public final class BenchmarkTimer {
+    /**
+     * 计时前的预热轮数。
+     */
+    public static final int WARM_UP_ROUNDS = 3;
+
+    private BenchmarkTimer() {
+    }
+
+    /**
+     * 预热后执行一轮并计时。
+     *
+     * @param operations 每轮完成的操作数（或字节数）
+     * @param round      执行一轮的任务
+     * @return 最后一轮每秒完成的操作数（或字节数）
+     * @throws Exception 任务抛出的异常
+     */
+    public static long perSecond(long operations, Round round) throws Exception {
+        for (int warmUp = 0; warmUp < WARM_UP_ROUNDS; warmUp++) {
+            round.run();
+        }
+        long startedAt = System.nanoTime();
+        round.run();
+        long elapsed = System.nanoTime() - startedAt;
+        return operations * 1_000_000_000L / Math.max(1L, elapsed);
+    }
+
+    /**
+     * 基准测试中的一轮执行，可以抛出受检异常。
+     */
+    @FunctionalInterface
+    public interface Round {
+        void run() throws Exception;
+    }
+}
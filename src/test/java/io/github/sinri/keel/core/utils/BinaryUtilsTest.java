@@ -0,0 +1,155 @@
+package io.github.sinri.keel.core.utils;
+
+import io.github.sinri.keel.core.utils.encryption.base32.Base32;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.buffer.Buffer;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class BinaryUtilsTest extends KeelJUnit5Test {
+    private static final int ROUNDS = 200_000;
+
+    public BinaryUtilsTest() {
+        super();
+    }
+
+    @Test
+    void testBase32Vectors() {
+        String[][] vectors = {
+                {"", ""}, {"f", "MY"}, {"fo", "MZXQ"}, {"foo", "MZXW6"},
+                {"foob", "MZXW6YQ"}, {"fooba", "MZXW6YTB"}, {"foobar", "MZXW6YTBOI"}
+        };
+        for (String[] vector : vectors) {
+            byte[] raw = vector[0].getBytes(StandardCharsets.US_ASCII);
+            assertEquals(vector[1], Base32.encode(raw));
+            assertArrayEquals(raw, Base32.decode(vector[1]));
+            assertArrayEquals(raw, Base32.decode(vector[1].toLowerCase()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> Base32.decode("MZX"));
+        assertThrows(IllegalArgumentException.class, () -> Base32.decode("MZ"));
+        assertThrows(IllegalArgumentException.class, () -> Base32.decode("M1"));
+    }
+
+    @Test
+    void testRoundTrips() {
+        Random random = new Random(42);
+        for (int round = 0; round < 1_000; round++) {
+            byte[] raw = new byte[random.nextInt(64)];
+            random.nextBytes(raw);
+            String base64 = Base64.getEncoder().encodeToString(raw);
+            String hex = HexFormat.of().formatHex(raw);
+            String base32 = Base32.encode(raw);
+
+            char[] chars = new char[128];
+            int length = BinaryUtils.encodeWithBase64(raw, 0, raw.length, chars, 1);
+            assertEquals(base64, new String(chars, 1, length));
+            length = BinaryUtils.encodeWithBase32(raw, 0, raw.length, chars, 0);
+            assertEquals(base32, new String(chars, 0, length));
+
+            byte[] bytes = new byte[64];
+            assertEquals(raw.length, BinaryUtils.decodeWithBase64(base64, 0, base64.length(), bytes, 0));
+            assertArrayEquals(raw, Arrays.copyOf(bytes, raw.length));
+            String unpadded = base64.replace("=", "");
+            assertEquals(raw.length, BinaryUtils.decodeWithBase64(unpadded, 0, unpadded.length(), bytes, 0));
+            assertArrayEquals(raw, Arrays.copyOf(bytes, raw.length));
+            assertEquals(raw.length, BinaryUtils.decodeHex(hex.toUpperCase(), 0, hex.length(), bytes, 0));
+            assertArrayEquals(raw, Arrays.copyOf(bytes, raw.length));
+
+            ByteBuffer encoded = ByteBuffer.allocateDirect(128);
+            BinaryUtils.encodeHexWithLowerDigits(ByteBuffer.wrap(raw), encoded);
+            encoded.flip();
+            assertEquals(hex, StandardCharsets.US_ASCII.decode(encoded.duplicate()).toString());
+            ByteBuffer decoded = ByteBuffer.allocate(64);
+            BinaryUtils.decodeHex(encoded, decoded);
+            assertArrayEquals(raw, Arrays.copyOf(decoded.array(), decoded.position()));
+
+            Buffer source = Buffer.buffer(raw);
+            Buffer target = Buffer.buffer("prefix:");
+            BinaryUtils.encodeWithBase64(source, target);
+            assertEquals("prefix:" + base64, target.toString());
+            Buffer back = Buffer.buffer();
+            BinaryUtils.decodeWithBase64(target.slice(7, target.length()), back);
+            assertArrayEquals(raw, back.getBytes());
+
+            target = Buffer.buffer();
+            BinaryUtils.encodeWithBase32(source, target);
+            assertEquals(base32, target.toString());
+            back = Buffer.buffer();
+            BinaryUtils.decodeWithBase32(target, back);
+            assertArrayEquals(raw, back.getBytes());
+
+            target = Buffer.buffer();
+            BinaryUtils.encodeHexWithUpperDigits(source, target);
+            assertEquals(hex.toUpperCase(), target.toString());
+        }
+        assertThrows(IllegalArgumentException.class, () -> BinaryUtils.decodeHex("abc", 0, 3, new byte[2], 0));
+        assertThrows(IllegalArgumentException.class, () -> BinaryUtils.decodeHex("zz", 0, 2, new byte[1], 0));
+        assertThrows(IllegalArgumentException.class, () -> BinaryUtils.decodeWithBase64("QQ=A", 0, 4, new byte[3], 0));
+    }
+
+    @Test
+    void testFailedDecodeLeavesTargetUnchanged() {
+        Buffer target = Buffer.buffer("x");
+        assertThrows(IllegalArgumentException.class, () -> BinaryUtils.decodeHex(Buffer.buffer("abc"), target));
+        assertThrows(IllegalArgumentException.class, () -> BinaryUtils.decodeHex(Buffer.buffer("0z"), target));
+        assertThrows(IllegalArgumentException.class, () -> BinaryUtils.decodeWithBase64(Buffer.buffer("QQ=A"), target));
+        assertThrows(IllegalArgumentException.class, () -> BinaryUtils.decodeWithBase32(Buffer.buffer("M1"), target));
+        assertEquals("x", target.toString());
+
+        // 解码成功时在原有内容之后追加
+        assertEquals(2, BinaryUtils.decodeHex(Buffer.buffer("6869"), target));
+        assertEquals("xhi", target.toString());
+    }
+
+    /**
+     * 产生中间字符串与数组的原有方法与写入给定目标的方法的吞吐量对比。
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkCodecs() throws Exception {
+        byte[] secret = new byte[20];
+        new Random(7).nextBytes(secret);
+        String base32Secret = Base32.encode(secret);
+        byte[] payload = new byte[1024];
+        new Random(8).nextBytes(payload);
+        char[] chars = new char[4096];
+        byte[] bytes = new byte[4096];
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(4096);
+
+        measure("Base32 decode TOTP secret: StringUtils", () -> StringUtils.decodeWithBase32ToBytes(base32Secret).length);
+        measure("Base32 decode TOTP secret: into byte[]", () -> BinaryUtils.decodeWithBase32(base32Secret, 0, base32Secret.length(), bytes, 0));
+        measure("Base32 encode 1 KiB: Base32.encode", () -> Base32.encode(payload).length());
+        measure("Base32 encode 1 KiB: into char[]", () -> BinaryUtils.encodeWithBase32(payload, 0, payload.length, chars, 0));
+        measure("Base64 encode 1 KiB: encodeWithBase64ToString", () -> BinaryUtils.encodeWithBase64ToString(payload).length());
+        measure("Base64 encode 1 KiB: into char[]", () -> BinaryUtils.encodeWithBase64(payload, 0, payload.length, chars, 0));
+        measure("Base64 encode 1 KiB: into direct ByteBuffer", () -> {
+            byteBuffer.clear();
+            return BinaryUtils.encodeWithBase64(ByteBuffer.wrap(payload), byteBuffer);
+        });
+        measure("Hex encode 1 KiB: encodeHexWithLowerDigits", () -> BinaryUtils.encodeHexWithLowerDigits(payload).length());
+        measure("Hex encode 1 KiB: into char[]", () -> BinaryUtils.encodeHexWithLowerDigits(payload, 0, payload.length, chars, 0));
+    }
+
+    private void measure(String name, IntSupplier operation) throws Exception {
+        long[] sink = new long[1];
+        long ops = BenchmarkTimer.perSecond(ROUNDS, () -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                sink[0] += operation.getAsInt();
+            }
+        });
+        assertTrue(sink[0] > 0);
+        getUnitTestLogger().info(name + ": " + ops + " ops/s");
+    }
+}
@@ -0,0 +1,233 @@
+package io.github.sinri.keel.core.utils;
+
+import io.github.sinri.keel.core.utils.io.AsyncChannelReadStream;
+import io.github.sinri.keel.core.utils.io.DigestReadStream;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@NullMarked
+public class DigestUtilsTest extends KeelJUnit5Test {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20_000;
+
+    public DigestUtilsTest() {
+        super();
+    }
+
+    @Test
+    void testConcurrentDigestsAreCorrect() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < ROUNDS; i++) {
+                        byte[] raw = new byte[random.nextInt(256)];
+                        random.nextBytes(raw);
+                        assertEquals(expected("MD5", raw), DigestUtils.md5(raw));
+                        assertEquals(expected("SHA-512", raw), DigestUtils.digestToLower(DigestUtils.DIGEST_ALGO_SHA_512, raw));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testBufferAndFileDigests() throws Exception {
+        byte[] raw = new byte[5 * 1024 * 1024 + 7];
+        new Random(1).nextBytes(raw);
+        String expected = expected("SHA-256", raw);
+
+        assertEquals(expected, HexFormat.of().formatHex(DigestUtils.digest("SHA-256", Buffer.buffer(raw))));
+        assertEquals(expected, HexFormat.of().formatHex(DigestUtils.digest("SHA-256", Buffer.buffer(raw).slice(0, raw.length))));
+
+        Path file = Files.createTempFile("keel-digest-", ".bin");
+        try {
+            Files.write(file, raw);
+            assertEquals(expected, HexFormat.of().formatHex(DigestUtils.digestFile("SHA-256", file)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testDigestTap(VertxTestContext testContext) throws Exception {
+        byte[] raw = new byte[300 * 1024 + 11];
+        new Random(2).nextBytes(raw);
+        String expected = expected("SHA-256", raw);
+        Path file = Files.createTempFile("keel-digest-", ".bin");
+        Files.write(file, raw);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        DigestReadStream tap = DigestUtils.tap(AsyncChannelReadStream.create(getKeel(), channel), "SHA-256");
+        Buffer received = Buffer.buffer();
+        tap.handler(received::appendBuffer);
+        tap.resume();
+        tap.digest()
+           .onComplete(testContext.succeeding(digested -> testContext.verify(() -> {
+               channel.close();
+               Files.deleteIfExists(file);
+               assertEquals(expected, HexFormat.of().formatHex(digested));
+               assertEquals(raw.length, received.length());
+               testContext.completeNow();
+           })));
+    }
+
+    @Test
+    void testHexIntoCharArray() {
+        byte[] data = {0x00, 0x0f, (byte) 0xa5, (byte) 0xff};
+        char[] target = new char[12];
+        assertEquals(8, BinaryUtils.encodeHexWithLowerDigits(data, 0, data.length, target, 2));
+        assertEquals("000fa5ff", new String(target, 2, 8));
+        assertEquals("000FA5FF", BinaryUtils.encodeHexWithUpperDigits(data));
+    }
+
+    @Test
+    void testCachedHmacMatchesFreshMac() throws Exception {
+        Random random = new Random(3);
+        for (String algorithm : List.of(DigestUtils.HMAC_ALGO_SHA_1, DigestUtils.HMAC_ALGO_SHA_256, DigestUtils.HMAC_ALGO_SHA_512)) {
+            // 密钥数量超过每线程缓存上限，覆盖淘汰后重新初始化的路径
+            for (int i = 0; i < 100; i++) {
+                byte[] key = new byte[1 + random.nextInt(128)];
+                random.nextBytes(key);
+                byte[] raw = new byte[random.nextInt(256)];
+                random.nextBytes(raw);
+                byte[] expected = freshHmac(algorithm, key, raw);
+                assertEquals(HexFormat.of().formatHex(expected), HexFormat.of().formatHex(DigestUtils.hmac(algorithm, key, raw)));
+                assertEquals(HexFormat.of().formatHex(expected), HexFormat.of().formatHex(DigestUtils.hmac(algorithm, key, raw)));
+            }
+        }
+
+        byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+        byte[] raw = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+        assertEquals("de7c9b85b8b78aa6bc8a7a36f70a90701c9db4d9", DigestUtils.hmac_sha1_hex(new String(raw, StandardCharsets.UTF_8), "key"));
+        assertEquals(HexFormat.of().formatHex(freshHmac("HmacSHA256", key, raw)),
+                DigestUtils.hmac_sha256_hex(new String(raw, StandardCharsets.UTF_8), "key"));
+        assertEquals(Base64.getEncoder().encodeToString(freshHmac("HmacSHA512", key, raw)),
+                DigestUtils.hmac_sha512_base64(new String(raw, StandardCharsets.UTF_8), "key"));
+    }
+
+    @Test
+    void testCachedHmacAcrossThreads() throws Exception {
+        byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+        byte[] raw = new byte[64];
+        new Random(5).nextBytes(raw);
+        String expected = HexFormat.of().formatHex(freshHmac(DigestUtils.HMAC_ALGO_SHA_256, key, raw));
+        // 断言失败由 runConcurrently 在测试线程中重新抛出
+        runConcurrently(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals(expected, HexFormat.of().formatHex(DigestUtils.hmac(DigestUtils.HMAC_ALGO_SHA_256, key, raw)));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 短消息 HMAC 每次新建并初始化 Mac 与使用线程缓存的 Mac 的吞吐量对比。
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkCachedHmac() throws Exception {
+        byte[] key = new byte[20];
+        byte[] raw = new byte[8];
+        new Random(4).nextBytes(key);
+        for (String algorithm : List.of(DigestUtils.HMAC_ALGO_SHA_1, DigestUtils.HMAC_ALGO_SHA_256, DigestUtils.HMAC_ALGO_SHA_512)) {
+            long fresh = BenchmarkTimer.perSecond(THREADS * (long) ROUNDS, () -> runHmac(() -> freshHmac(algorithm, key, raw)));
+            long cached = BenchmarkTimer.perSecond(THREADS * (long) ROUNDS, () -> runHmac(() -> DigestUtils.hmac(algorithm, key, raw)));
+            getUnitTestLogger().info(algorithm + " of 8 bytes, " + THREADS + " threads: fresh Mac "
+                    + fresh + " calls/s, cached Mac " + cached + " calls/s");
+        }
+    }
+
+    private static void runHmac(Callable<byte[]> call) throws Exception {
+        runConcurrently(() -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                call.call();
+            }
+            return null;
+        });
+    }
+
+    private static byte[] freshHmac(String algorithm, byte[] key, byte[] raw) throws Exception {
+        Mac mac = Mac.getInstance(algorithm);
+        mac.init(new SecretKeySpec(key, algorithm));
+        return mac.doFinal(raw);
+    }
+
+    /**
+     * 多线程摘要吞吐量。
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkConcurrentMd5() throws Exception {
+        byte[] raw = new byte[64];
+        new Random(0).nextBytes(raw);
+        long md5 = BenchmarkTimer.perSecond(THREADS * (long) ROUNDS, () -> runMd5(raw));
+        getUnitTestLogger().info("md5 of 64 bytes, " + THREADS + " threads: " + md5 + " ops/s");
+    }
+
+    private static void runMd5(byte[] raw) throws Exception {
+        runConcurrently(() -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                DigestUtils.md5(raw);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 在 {@link #THREADS} 个线程中同时执行任务，等待全部完成；任一任务抛出的异常都会在此重新抛出。
+     */
+    private static void runConcurrently(Callable<@Nullable Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<@Nullable Void>> futures = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<@Nullable Void> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String expected(String algorithm, byte[] raw) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(raw));
+    }
+}
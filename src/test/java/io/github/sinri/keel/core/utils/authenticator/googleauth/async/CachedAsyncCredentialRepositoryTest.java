@@ -0,0 +1,175 @@
+package io.github.sinri.keel.core.utils.authenticator.googleauth.async;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class CachedAsyncCredentialRepositoryTest extends KeelJUnit5Test {
+    public CachedAsyncCredentialRepositoryTest() {
+        super();
+    }
+
+    @Test
+    void testLookupsAreCoalescedBatchedAndCached(VertxTestContext testContext) {
+        CountingRepository repository = new CountingRepository();
+        CachedAsyncCredentialRepository cached = new CachedAsyncCredentialRepository(getKeel(), repository)
+                .setBatchWindow(20);
+
+        List<Future<String>> lookups = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            lookups.add(cached.getSecretKey("user-" + (i % 10)));
+        }
+        Future.all(lookups)
+              .compose(all -> {
+                  for (int i = 0; i < 100; i++) {
+                      assertEquals("secret-of-user-" + (i % 10), lookups.get(i).result());
+                  }
+                  assertEquals(1, repository.batchCalls.get());
+                  assertEquals(10, repository.lookedUpUsers.get());
+                  return cached.getSecretKey("user-3");
+              })
+              .compose(secretKey -> {
+                  assertEquals("secret-of-user-3", secretKey);
+                  assertEquals(1, repository.batchCalls.get());
+                  return cached.saveUserCredentials("user-3", "rotated", 0, List.of());
+              })
+              .compose(v -> cached.getSecretKey("user-3"))
+              .onComplete(testContext.succeeding(secretKey -> testContext.verify(() -> {
+                  assertEquals(1, repository.batchCalls.get());
+                  assertEquals(1, repository.singleCalls.get());
+                  testContext.completeNow();
+              })));
+    }
+
+    @Test
+    void testPerUserFailuresArePropagated(VertxTestContext testContext) {
+        IllegalStateException cause = new IllegalStateException("Database unavailable");
+        // 未覆盖 getSecretKeys，使用逐个查询的默认实现
+        AsyncICredentialRepository repository = new AsyncICredentialRepository() {
+            @Override
+            public Future<String> getSecretKey(String userName) {
+                if (userName.equals("broken")) {
+                    return Future.failedFuture(cause);
+                }
+                return Future.succeededFuture("secret-of-" + userName);
+            }
+
+            @Override
+            public Future<Void> saveUserCredentials(String userName, String secretKey, int validationCode, List<Integer> scratchCodes) {
+                return Future.succeededFuture();
+            }
+        };
+        CachedAsyncCredentialRepository cached = new CachedAsyncCredentialRepository(getKeel(), repository)
+                .setBatchWindow(20);
+
+        Future<String> ok = cached.getSecretKey("ok");
+        Future<String> broken = cached.getSecretKey("broken");
+        Future.join(ok, broken)
+              .onComplete(ar -> testContext.verify(() -> {
+                  assertEquals("secret-of-ok", ok.result());
+                  // 批量查询中失败的用户得到原始的失败原因，而不是空的密钥
+                  assertTrue(broken.failed());
+                  assertSame(cause, broken.cause());
+                  assertEquals(1, cached.cacheSize());
+                  testContext.completeNow();
+              }));
+    }
+
+    @Test
+    void testInvalidationDuringLookupIsNotCached(VertxTestContext testContext) {
+        CountingRepository repository = new CountingRepository();
+        Promise<String> slowLookup = Promise.promise();
+        repository.nextSingleLookup = slowLookup;
+        CachedAsyncCredentialRepository cached = new CachedAsyncCredentialRepository(getKeel(), repository)
+                .setBatchWindow(0);
+
+        Future<String> lookup = cached.getSecretKey("user-1");
+        // 查询尚未返回时密钥被轮换
+        cached.invalidate("user-1");
+        slowLookup.complete("stale-secret");
+        lookup.compose(secretKey -> {
+                  assertEquals("stale-secret", secretKey);
+                  assertEquals(0, cached.cacheSize());
+                  return cached.getSecretKey("user-1");
+              })
+              .onComplete(testContext.succeeding(secretKey -> testContext.verify(() -> {
+                  assertEquals("secret-of-user-1", secretKey);
+                  assertEquals(2, repository.singleCalls.get());
+                  testContext.completeNow();
+              })));
+    }
+
+    @Test
+    void testFullCacheEvictsOldest(VertxTestContext testContext) {
+        CountingRepository repository = new CountingRepository();
+        CachedAsyncCredentialRepository cached = new CachedAsyncCredentialRepository(getKeel(), repository)
+                .setBatchWindow(0)
+                .setMaxCacheSize(8);
+
+        Future<String> loaded = Future.succeededFuture();
+        for (int i = 0; i < 9; i++) {
+            String userName = "user-" + i;
+            loaded = loaded.compose(v -> cached.getSecretKey(userName));
+        }
+        loaded.compose(v -> {
+                  // 缓存已满时只淘汰最早的密钥，而不是清空缓存
+                  assertEquals(8, cached.cacheSize());
+                  assertEquals(9, repository.singleCalls.get());
+                  return cached.getSecretKey("user-2");
+              })
+              .compose(v -> cached.getSecretKey("user-8"))
+              .compose(v -> {
+                  assertEquals(9, repository.singleCalls.get());
+                  return cached.getSecretKey("user-0");
+              })
+              .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                  assertEquals(10, repository.singleCalls.get());
+                  testContext.completeNow();
+              })));
+    }
+
+    private static final class CountingRepository implements AsyncICredentialRepository {
+        private final AtomicInteger singleCalls = new AtomicInteger();
+        private final AtomicInteger batchCalls = new AtomicInteger();
+        private final AtomicInteger lookedUpUsers = new AtomicInteger();
+        /**
+         * 设置时，下一次单个查询返回此 Promise 的结果。
+         */
+        private volatile @Nullable Promise<String> nextSingleLookup;
+
+        @Override
+        public Future<String> getSecretKey(String userName) {
+            singleCalls.incrementAndGet();
+            Promise<String> promise = nextSingleLookup;
+            if (promise != null) {
+                nextSingleLookup = null;
+                return promise.future();
+            }
+            return Future.succeededFuture("secret-of-" + userName);
+        }
+
+        @Override
+        public Future<Map<String, String>> getSecretKeys(Collection<String> userNames) {
+            batchCalls.incrementAndGet();
+            lookedUpUsers.addAndGet(userNames.size());
+            Map<String, String> secretKeys = new HashMap<>();
+            userNames.forEach(userName -> secretKeys.put(userName, "secret-of-" + userName));
+            return Future.succeededFuture(secretKeys);
+        }
+
+        @Override
+        public Future<Void> saveUserCredentials(String userName, String secretKey, int validationCode, List<Integer> scratchCodes) {
+            return Future.succeededFuture();
+        }
+    }
+}
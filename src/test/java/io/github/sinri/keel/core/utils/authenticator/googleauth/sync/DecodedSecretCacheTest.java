@@ -0,0 +1,58 @@
+package io.github.sinri.keel.core.utils.authenticator.googleauth.sync;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@NullMarked
+public class DecodedSecretCacheTest extends KeelJUnit5Test {
+    private final List<String> decoded = new ArrayList<>();
+    private final Function<String, byte[]> decoder = secret -> {
+        decoded.add(secret);
+        return secret.getBytes(StandardCharsets.US_ASCII);
+    };
+
+    public DecodedSecretCacheTest() {
+        super();
+    }
+
+    @Test
+    void testEvictOldestWhenFull() {
+        DecodedSecretCache cache = new DecodedSecretCache(60_000L, 16);
+        for (int i = 0; i < 16; i++) {
+            cache.get("secret-" + i, decoder);
+        }
+        assertEquals(16, cache.size());
+
+        // 满时淘汰最早的八分之一，而不是清空全部缓存
+        cache.get("secret-16", decoder);
+        assertEquals(15, cache.size());
+
+        decoded.clear();
+        for (int i = 2; i <= 16; i++) {
+            cache.get("secret-" + i, decoder);
+        }
+        assertEquals(List.of(), decoded);
+        cache.get("secret-0", decoder);
+        cache.get("secret-1", decoder);
+        assertEquals(List.of("secret-0", "secret-1"), decoded);
+    }
+
+    @Test
+    void testPurgeExpiredFirst() throws InterruptedException {
+        DecodedSecretCache cache = new DecodedSecretCache(1L, 16);
+        for (int i = 0; i < 16; i++) {
+            cache.get("secret-" + i, decoder);
+        }
+        Thread.sleep(10L);
+        cache.get("secret-16", decoder);
+        assertEquals(1, cache.size());
+    }
+}
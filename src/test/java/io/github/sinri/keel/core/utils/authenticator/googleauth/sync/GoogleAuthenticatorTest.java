@@ -0,0 +1,127 @@
+package io.github.sinri.keel.core.utils.authenticator.googleauth.sync;
+
+import io.github.sinri.keel.core.utils.BenchmarkTimer;
+import io.github.sinri.keel.core.utils.authenticator.googleauth.GoogleAuthenticatorConfig;
+import io.github.sinri.keel.core.utils.authenticator.googleauth.TotpVerification;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@NullMarked
+public class GoogleAuthenticatorTest extends KeelJUnit5Test {
+    private static final int SECRETS = 1_000;
+    private static final int ROUNDS = 20;
+
+    public GoogleAuthenticatorTest() {
+        super();
+    }
+
+    @Test
+    void testCachedVerificationMatchesUncached() {
+        long now = System.currentTimeMillis();
+        GoogleAuthenticator uncached = new GoogleAuthenticator(new GoogleAuthenticatorConfig.GoogleAuthenticatorConfigBuilder()
+                .setSecretCacheTtlInMillis(0)
+                .build());
+        GoogleAuthenticator cached = new GoogleAuthenticator(new GoogleAuthenticatorConfig.GoogleAuthenticatorConfigBuilder()
+                .setSecretCacheTtlInMillis(60_000L)
+                .setWindowCodeCacheEnabled(true)
+                .build());
+
+        String secret = uncached.createCredentials().getKey();
+        for (long step = -3; step <= 3; step++) {
+            long time = now + step * 30_000L;
+            int code = uncached.getTotpPassword(secret, time);
+            assertEquals(code, cached.getTotpPassword(secret, time));
+            boolean inWindow = Math.abs(step) <= 1;
+            assertEquals(inWindow, uncached.authorize(secret, code, now));
+            assertEquals(inWindow, cached.authorize(secret, code, now));
+        }
+    }
+
+    @Test
+    void testAuthorizeAll() {
+        long now = System.currentTimeMillis();
+        GoogleAuthenticator authenticator = new GoogleAuthenticator();
+        List<TotpVerification> verifications = createVerifications(authenticator, now);
+
+        List<Boolean> results = authenticator.authorizeAll(verifications, now);
+        assertEquals(verifications.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            if (i % 2 == 0) {
+                assertTrue(results.get(i));
+            } else {
+                assertFalse(results.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testAuthorizeAllAtCurrentTime() {
+        GoogleAuthenticator authenticator = new GoogleAuthenticator();
+        List<TotpVerification> verifications = createVerifications(authenticator, System.currentTimeMillis());
+
+        // 不指定时间的重载由接口的默认方法委托给指定时间的并行实现
+        List<Boolean> results = authenticator.authorizeAll(verifications);
+        assertEquals(verifications.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i % 2 == 0, results.get(i));
+        }
+    }
+
+    /**
+     * 逐个校验与批量并行校验的吞吐量对比。
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkAuthorizeAll() throws Exception {
+        long now = System.currentTimeMillis();
+        GoogleAuthenticator authenticator = new GoogleAuthenticator(new GoogleAuthenticatorConfig.GoogleAuthenticatorConfigBuilder()
+                .setSecretCacheTtlInMillis(60_000L)
+                .setWindowCodeCacheEnabled(true)
+                .build());
+        List<TotpVerification> verifications = createVerifications(authenticator, now);
+
+        long total = (long) ROUNDS * verifications.size();
+        long sequential = BenchmarkTimer.perSecond(total, () -> {
+            for (int round = 0; round < ROUNDS; round++) {
+                for (TotpVerification verification : verifications) {
+                    authenticator.authorize(verification.secret(), verification.verificationCode(), now);
+                }
+            }
+        });
+        long batched = BenchmarkTimer.perSecond(total, () -> {
+            for (int round = 0; round < ROUNDS; round++) {
+                authenticator.authorizeAll(verifications, now);
+            }
+        });
+        getUnitTestLogger().info("TOTP verifications: sequential " + sequential + " ops/s, batched " + batched + " ops/s");
+    }
+
+    private static List<TotpVerification> createVerifications(GoogleAuthenticator authenticator, long time) {
+        List<TotpVerification> verifications = new ArrayList<>();
+        for (int i = 0; i < SECRETS; i++) {
+            String secret = authenticator.createCredentials().getKey();
+            int code = authenticator.getTotpPassword(secret, time);
+            if (i % 2 != 0) {
+                // 奇数位置使用不落在任何有效时间窗口内的错误校验码
+                int earlier = authenticator.getTotpPassword(secret, time - 30_000L);
+                int later = authenticator.getTotpPassword(secret, time + 30_000L);
+                int wrong = code;
+                while (wrong == code || wrong == earlier || wrong == later) {
+                    wrong = wrong % 999_999 + 1;
+                }
+                code = wrong;
+            }
+            verifications.add(new TotpVerification(secret, code));
+        }
+        return verifications;
+    }
+}
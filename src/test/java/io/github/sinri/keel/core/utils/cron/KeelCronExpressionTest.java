@@ -0,0 +1,48 @@
+package io.github.sinri.keel.core.utils.cron;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class KeelCronExpressionTest extends KeelJUnit5Test {
+    public KeelCronExpressionTest() {
+        super();
+    }
+
+    private static Calendar at(int year, int month, int day, int hour, int minute, int second) {
+        return new GregorianCalendar(year, month - 1, day, hour, minute, second);
+    }
+
+    @Test
+    void testNextMatchAfterForMinuteLevel() {
+        Calendar base = at(2026, 10, 19, 12, 34, 56);
+
+        assertEquals(at(2026, 10, 19, 12, 35, 0).getTimeInMillis(),
+                new KeelCronExpression("* * * * *").nextMatchAfter(base).getTimeInMillis());
+        assertEquals(at(2026, 10, 20, 3, 0, 0).getTimeInMillis(),
+                new KeelCronExpression("0 3 * * *").nextMatchAfter(base).getTimeInMillis());
+        assertEquals(at(2026, 10, 26, 10, 30, 0).getTimeInMillis(),
+                new KeelCronExpression("30 10 * * 1").nextMatchAfter(base).getTimeInMillis());
+        assertEquals(at(2028, 2, 29, 0, 0, 0).getTimeInMillis(),
+                new KeelCronExpression("0 0 29 2 *").nextMatchAfter(base).getTimeInMillis());
+        assertNull(new KeelCronExpression("0 0 30 2 *").nextMatchAfter(base));
+    }
+
+    @Test
+    void testNextMatchAfterForSecondLevel() {
+        Calendar base = at(2026, 10, 19, 12, 34, 56);
+        KeelCronExpression expression = new KeelCronExpression("*/15 * * * * *");
+
+        Calendar first = expression.nextMatchAfter(base);
+        assertEquals(at(2026, 10, 19, 12, 35, 0).getTimeInMillis(), first.getTimeInMillis());
+        assertEquals(at(2026, 10, 19, 12, 35, 15).getTimeInMillis(),
+                expression.nextMatchAfter(first).getTimeInMillis());
+        assertTrue(expression.match(base));
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.sinri.keel.core.utils.encryption.aes;
+
+import io.github.sinri.keel.core.utils.BenchmarkTimer;
+import io.github.sinri.keel.core.utils.io.AsyncChannelReadStream;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class KeelAesTest extends KeelJUnit5Test {
+    private static final String KEY = "0123456789abcdef";
+
+    public KeelAesTest() {
+        super();
+    }
+
+    @Test
+    void testCachedCipherMatchesFreshCipher() throws Exception {
+        KeelAes aes = KeelAes.create(KeelAes.SupportedCipherAlgorithm.AesCbcPkcs5Padding, KEY);
+        Cipher fresh = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        fresh.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY.getBytes(StandardCharsets.UTF_8), "AES"), new IvParameterSpec(new byte[16]));
+
+        Random random = new Random(0);
+        for (int i = 0; i < 100; i++) {
+            byte[] raw = new byte[random.nextInt(1000)];
+            random.nextBytes(raw);
+            byte[] encrypted = aes.encrypt(raw);
+            assertArrayEquals(fresh.doFinal(raw), encrypted);
+            assertArrayEquals(raw, aes.decrypt(encrypted));
+
+            ByteBuffer target = ByteBuffer.allocateDirect(aes.getEncryptedLength(raw.length));
+            assertEquals(encrypted.length, aes.encrypt(ByteBuffer.wrap(raw), target));
+            target.flip();
+            byte[] fromByteBuffer = new byte[target.remaining()];
+            target.get(fromByteBuffer);
+            assertArrayEquals(encrypted, fromByteBuffer);
+        }
+
+        String text = "abcd中文测试加标点符号！@#";
+        KeelAes ecb = KeelAes.create(KeelAes.SupportedCipherAlgorithm.AesEcbPkcs5Padding, KEY);
+        assertEquals(text, ecb.decrypt(ecb.encrypt(text)));
+    }
+
+    @Test
+    void testRandomIvModes() {
+        Random random = new Random(2);
+        for (KeelAes.SupportedCipherAlgorithm algorithm : new KeelAes.SupportedCipherAlgorithm[]{
+                KeelAes.SupportedCipherAlgorithm.AesGcmNoPadding,
+                KeelAes.SupportedCipherAlgorithm.AesCtrNoPadding,
+        }) {
+            KeelAesUsingRandomIv aes = (KeelAesUsingRandomIv) KeelAes.create(algorithm, KEY);
+            for (int length : new int[]{0, 1, 16, 17, 100_000}) {
+                byte[] raw = new byte[length];
+                random.nextBytes(raw);
+                byte[] encrypted = aes.encrypt(raw);
+                assertEquals(aes.getEncryptedLength(length), encrypted.length);
+                assertArrayEquals(raw, aes.decrypt(encrypted));
+                // 每次加密使用新的偏移量
+                assertFalse(Arrays.equals(encrypted, aes.encrypt(raw)));
+                for (int chunkSize : new int[]{7, 4096}) {
+                    assertArrayEquals(raw, aes.decryptInChunks(aes.encryptInChunks(raw, chunkSize)));
+                }
+            }
+        }
+
+        KeelAesGcmNoPadding gcm = new KeelAesGcmNoPadding(KEY);
+        byte[] raw = new byte[20_000];
+        random.nextBytes(raw);
+        byte[] chunked = gcm.encryptInChunks(raw, 4096);
+        assertThrows(RuntimeException.class, () -> gcm.decryptInChunks(Arrays.copyOf(chunked, 16 + 3 * (4096 + 16))));
+        chunked[100] ^= 1;
+        assertThrows(RuntimeException.class, () -> gcm.decryptInChunks(chunked));
+    }
+
+    /**
+     * 与现有 CBC 路径对比各模式的加密吞吐量。
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkModes() throws Exception {
+        byte[] raw = new byte[32 * 1024 * 1024];
+        new Random(3).nextBytes(raw);
+        KeelAes cbc = KeelAes.create(KeelAes.SupportedCipherAlgorithm.AesCbcPkcs5Padding, KEY);
+        KeelAesUsingRandomIv ctr = (KeelAesUsingRandomIv) KeelAes.create(KeelAes.SupportedCipherAlgorithm.AesCtrNoPadding, KEY);
+        KeelAesUsingRandomIv gcm = (KeelAesUsingRandomIv) KeelAes.create(KeelAes.SupportedCipherAlgorithm.AesGcmNoPadding, KEY);
+
+        logThroughput("AES/CBC/PKCS5Padding", raw.length, () -> cbc.encrypt(raw));
+        logThroughput("AES/CTR/NoPadding", raw.length, () -> ctr.encrypt(raw));
+        logThroughput("AES/CTR/NoPadding in chunks", raw.length, () -> ctr.encryptInChunks(raw));
+        logThroughput("AES/GCM/NoPadding", raw.length, () -> gcm.encrypt(raw));
+        logThroughput("AES/GCM/NoPadding in chunks", raw.length, () -> gcm.encryptInChunks(raw));
+    }
+
+    private void logThroughput(String name, int length, BenchmarkTimer.Round encryption) throws Exception {
+        getUnitTestLogger().info(name + ": " + (BenchmarkTimer.perSecond(length, encryption) / 1024 / 1024) + " MB/s");
+    }
+
+    @Test
+    void testStreamingRoundTrip(VertxTestContext testContext) throws Exception {
+        testStreamingRoundTrip(testContext, KeelAes.create(KeelAes.SupportedCipherAlgorithm.AesCbcPkcs5Padding, KEY));
+    }
+
+    @Test
+    void testCtrStreamingRoundTrip(VertxTestContext testContext) throws Exception {
+        testStreamingRoundTrip(testContext, KeelAes.create(KeelAes.SupportedCipherAlgorithm.AesCtrNoPadding, KEY));
+    }
+
+    @Test
+    void testGcmStreamingRoundTrip(VertxTestContext testContext) throws Exception {
+        testStreamingRoundTrip(testContext, KeelAes.create(KeelAes.SupportedCipherAlgorithm.AesGcmNoPadding, KEY));
+    }
+
+    @Test
+    void testChunkedStreamMatchesChunkedFormat(VertxTestContext testContext) throws Exception {
+        KeelAesGcmNoPadding gcm = new KeelAesGcmNoPadding(KEY);
+        byte[] raw = new byte[3 * 4096];
+        new Random(4).nextBytes(raw);
+        Path file = Files.createTempFile("keel-aes-", ".bin");
+        Files.write(file, raw);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        // 长度恰为分块大小整数倍时，最后一个分块是完整的分块
+        ReadStream<Buffer> encrypted = gcm.encryptStreamInChunks(AsyncChannelReadStream.create(getKeel(), channel), 4096);
+        Buffer received = Buffer.buffer();
+        encrypted.exceptionHandler(testContext::failNow);
+        encrypted.handler(received::appendBuffer);
+        encrypted.endHandler(v -> testContext.verify(() -> {
+            channel.close();
+            Files.deleteIfExists(file);
+            byte[] bytes = received.getBytes();
+            assertEquals(12 + 4 + raw.length + 3 * 16, bytes.length);
+            assertArrayEquals(raw, gcm.decryptInChunks(bytes));
+            // 截去最后一个分块后无法通过认证
+            byte[] truncated = Arrays.copyOf(bytes, 12 + 4 + 2 * (4096 + 16));
+            assertThrows(RuntimeException.class, () -> gcm.decryptInChunks(truncated));
+            testContext.completeNow();
+        }));
+        encrypted.resume();
+    }
+
+    private void testStreamingRoundTrip(VertxTestContext testContext, KeelAes aes) throws Exception {
+        byte[] raw = new byte[3 * 1024 * 1024 + 5];
+        new Random(1).nextBytes(raw);
+        Path file = Files.createTempFile("keel-aes-", ".bin");
+        Files.write(file, raw);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        ReadStream<Buffer> decrypted = aes.decryptStream(aes.encryptStream(AsyncChannelReadStream.create(getKeel(), channel)));
+        Buffer received = Buffer.buffer();
+        decrypted.exceptionHandler(testContext::failNow);
+        decrypted.handler(chunk -> testContext.verify(() -> {
+            received.appendBuffer(chunk);
+            // 输出的分块可以继续追加
+            int length = chunk.length();
+            chunk.appendByte((byte) 0);
+            assertEquals(length + 1, chunk.length());
+        }));
+        decrypted.endHandler(v -> testContext.verify(() -> {
+            channel.close();
+            Files.deleteIfExists(file);
+            assertArrayEquals(raw, received.getBytes());
+            testContext.completeNow();
+        }));
+        decrypted.resume();
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.sinri.keel.core.utils.encryption.bcrypt;
+
+import io.github.sinri.keel.core.utils.BenchmarkTimer;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.Future;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class BCryptServiceTest extends KeelJUnit5Test {
+    private static final int ROUNDS = 200;
+
+    public BCryptServiceTest() {
+        super();
+    }
+
+    @Test
+    void testKnownVectors() {
+        // 同一线程内连续计算，校验复用的 Blowfish 状态每次都被完整重置
+        assertTrue(BCrypt.checkpw("U*U", "$2a$05$CCCCCCCCCCCCCCCCCCCCC.E5YPO9kmyuRGyh0XouQYb4YMJKvyOeW"));
+        assertTrue(BCrypt.checkpw("U*U*", "$2a$05$CCCCCCCCCCCCCCCCCCCCC.VGOzA784oUp/Z0DY336zx7pLYAy0lwK"));
+        assertFalse(BCrypt.checkpw("U*U", "$2a$05$CCCCCCCCCCCCCCCCCCCCC.VGOzA784oUp/Z0DY336zx7pLYAy0lwK"));
+        assertTrue(BCrypt.checkpw("U*U", "$2a$05$CCCCCCCCCCCCCCCCCCCCC.E5YPO9kmyuRGyh0XouQYb4YMJKvyOeW"));
+    }
+
+    @Test
+    void testHashAndVerify(VertxTestContext testContext) {
+        BCryptService service = new BCryptService(getKeel(), 2).setLogRounds(6);
+        service.hash("secret")
+               .compose(hashed -> {
+                   assertTrue(hashed.startsWith("$2y$06$"));
+                   return Future.all(service.verify("secret", hashed), service.verify("wrong", hashed));
+               })
+               .onComplete(testContext.succeeding(results -> testContext.verify(() -> {
+                   assertTrue(results.<Boolean>resultAt(0));
+                   assertFalse(results.<Boolean>resultAt(1));
+                   assertEquals(0, service.getPendingTasks());
+                   service.close();
+                   testContext.completeNow();
+               })));
+    }
+
+    @Test
+    void testRejectWhenSaturated(VertxTestContext testContext) {
+        BCryptService service = new BCryptService(getKeel(), 1, 2).setLogRounds(8);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(service.hash("secret-" + i));
+        }
+        Future.join(futures)
+              .onComplete(ar -> testContext.verify(() -> {
+                  assertTrue(futures.get(0).succeeded());
+                  assertTrue(futures.get(1).succeeded());
+                  assertInstanceOf(RejectedExecutionException.class, futures.get(2).cause());
+                  assertInstanceOf(RejectedExecutionException.class, futures.get(3).cause());
+                  service.close();
+                  testContext.completeNow();
+              }));
+    }
+
+    @Test
+    void testInstancesUseSeparatePools(VertxTestContext testContext) {
+        // 第一个实例的线程池与排队上限都只有 1，被一次耗时较长的哈希占满
+        BCryptService first = new BCryptService(getKeel(), 1, 1).setLogRounds(14);
+        BCryptService second = new BCryptService(getKeel(), 1, 1).setLogRounds(4);
+        Future<String> busy = first.hash("slow-secret");
+        Future<String> rejected = first.hash("another-secret");
+
+        second.hash("secret")
+              .compose(hashed -> second.verify("secret", hashed))
+              .compose(verified -> {
+                  // 第一个实例饱和时，第二个实例照常接受并完成计算
+                  assertTrue(verified);
+                  assertInstanceOf(RejectedExecutionException.class, rejected.cause());
+                  assertFalse(busy.isComplete());
+                  return busy;
+              })
+              .compose(hashed -> first.close().compose(v -> second.close()))
+              .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testCalibrate() {
+        BCryptService service = new BCryptService(getKeel(), 1);
+        int logRounds = service.calibrate(50);
+        getUnitTestLogger().info("BCrypt log_rounds calibrated for 50 ms: " + logRounds);
+        assertTrue(logRounds >= BCryptService.MIN_LOG_ROUNDS && logRounds <= BCryptService.MAX_LOG_ROUNDS);
+        assertEquals(logRounds, service.getLogRounds());
+        service.close();
+    }
+
+    /**
+     * 复用线程内 Blowfish 状态的哈希吞吐量。
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkHash() throws Exception {
+        String salt = BCrypt.gensalt(4);
+        long hashes = BenchmarkTimer.perSecond(ROUNDS, () -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                BCrypt.hashpw("secret", salt);
+            }
+        });
+        getUnitTestLogger().info("BCrypt log_rounds=4: " + hashes + " ops/s");
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.sinri.keel.core.utils.encryption.rsa;
+
+import io.github.sinri.keel.core.utils.BenchmarkTimer;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class KeelRSATest extends KeelJUnit5Test {
+    private static final int ROUNDS = 2_000;
+
+    public KeelRSATest() {
+        super();
+    }
+
+    private static KeelRSA createKeelRSA() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        KeelRSA rsa = new KeelRSA();
+        rsa.setPublicKey((RSAPublicKey) keyPair.getPublic());
+        rsa.setPrivateKey((RSAPrivateKey) keyPair.getPrivate());
+        return rsa;
+    }
+
+    @Test
+    void testSignAndVerify() throws Exception {
+        KeelRSA rsa = createKeelRSA();
+        byte[] content = "webhook payload".getBytes(StandardCharsets.UTF_8);
+
+        assertArrayEquals(content, rsa.decryptWithPrivateKey(rsa.encryptWithPublicKey(content)));
+        assertArrayEquals(content, rsa.decryptWithPublicKey(rsa.encryptWithPrivateKey(content)));
+
+        String sha1Sign = rsa.signWithPrivateKey(content);
+        String sha256Sign = rsa.signWithPrivateKey(content, KeelRSA.SIGN_ALGORITHM_SHA256);
+        assertTrue(rsa.verifySignWithPublicKey(content, sha1Sign));
+        assertTrue(rsa.verifySignWithPublicKey(content, sha256Sign, KeelRSA.SIGN_ALGORITHM_SHA256));
+        assertFalse(rsa.verifySignWithPublicKey("tampered".getBytes(StandardCharsets.UTF_8), sha1Sign));
+        // 失败之后缓存的实例仍然可用
+        assertTrue(rsa.verifySignWithPublicKey(content, sha1Sign));
+    }
+
+    @Test
+    void testBatchVerify(VertxTestContext testContext) throws Exception {
+        KeelRSA rsa = createKeelRSA();
+        List<KeelRSA.SignedContent> signedContents = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            byte[] content = ("payload-" + i).getBytes(StandardCharsets.UTF_8);
+            String sign = switch (i % 3) {
+                case 0 -> rsa.signWithPrivateKey(content, KeelRSA.SIGN_ALGORITHM_SHA256);
+                case 1 -> rsa.signWithPrivateKey(content);
+                default -> "not a signature";
+            };
+            signedContents.add(new KeelRSA.SignedContent(content, sign));
+        }
+
+        rsa.verifySignsWithPublicKey(getKeel(), signedContents, KeelRSA.SIGN_ALGORITHM_SHA256)
+           .onComplete(testContext.succeeding(results -> testContext.verify(() -> {
+               assertEquals(signedContents.size(), results.size());
+               for (int i = 0; i < results.size(); i++) {
+                   assertEquals(i % 3 == 0, results.get(i));
+               }
+               testContext.completeNow();
+           })));
+    }
+
+    /**
+     * 每次新建 Signature 与使用线程缓存的 Signature 的签名校验吞吐量对比。
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkVerify() throws Exception {
+        KeelRSA rsa = createKeelRSA();
+        byte[] content = "webhook payload".getBytes(StandardCharsets.UTF_8);
+        String sign = rsa.signWithPrivateKey(content, KeelRSA.SIGN_ALGORITHM_SHA256);
+        byte[] signBytes = Base64.getDecoder().decode(sign);
+
+        long fresh = BenchmarkTimer.perSecond(ROUNDS, () -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                Signature signature = Signature.getInstance(KeelRSA.SIGN_ALGORITHM_SHA256);
+                signature.initVerify(rsa.getPublicKey());
+                signature.update(content);
+                signature.verify(signBytes);
+            }
+        });
+        long cached = BenchmarkTimer.perSecond(ROUNDS, () -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                rsa.verifySignWithPublicKey(content, sign, KeelRSA.SIGN_ALGORITHM_SHA256);
+            }
+        });
+        getUnitTestLogger().info("SHA256WithRSA verify: fresh Signature " + fresh + " ops/s, cached Signature " + cached + " ops/s");
+    }
+}
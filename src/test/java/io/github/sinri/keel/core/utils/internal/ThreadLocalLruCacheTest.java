@@ -0,0 +1,47 @@
+package io.github.sinri.keel.core.utils.internal;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class ThreadLocalLruCacheTest extends KeelJUnit5Test {
+    public ThreadLocalLruCacheTest() {
+        super();
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        ThreadLocalLruCache<String, Integer> cache = new ThreadLocalLruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        // 访问 a 之后，最久未使用的是 b
+        assertEquals(1, cache.get("a"));
+        cache.put("c", 3);
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+
+        cache.remove("a");
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void testEntriesArePerThread() throws Exception {
+        ThreadLocalLruCache<String, Integer> cache = new ThreadLocalLruCache<>(4);
+        cache.put("a", 1);
+
+        AtomicReference<@Nullable Integer> seenByOtherThread = new AtomicReference<>(-1);
+        Thread thread = new Thread(() -> seenByOtherThread.set(cache.get("a")));
+        thread.start();
+        thread.join();
+
+        assertNull(seenByOtherThread.get());
+        assertEquals(1, cache.get("a"));
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.sinri.keel.core.utils.io;
+
+import io.github.sinri.keel.core.utils.IOUtils;
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@NullMarked
+public class AsyncChannelStreamTest extends KeelJUnit5Test {
+    private static final int FILE_SIZE = 3 * 1024 * 1024 + 123;
+    private static Path source;
+    private static byte[] content;
+
+    public AsyncChannelStreamTest() {
+        super();
+    }
+
+    @BeforeAll
+    static void createFile() throws IOException {
+        content = new byte[FILE_SIZE];
+        new Random(0).nextBytes(content);
+        source = Files.createTempFile("keel-channel-source-", ".bin");
+        Files.write(source, content);
+    }
+
+    @AfterAll
+    static void deleteFile() throws IOException {
+        Files.deleteIfExists(source);
+    }
+
+    @Test
+    void testPipeWithPositionalReads(VertxTestContext testContext) {
+        copy(false, 0, -1)
+                .andThen(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testPipeWithMemoryMapping(VertxTestContext testContext) {
+        copy(true, 1000, FILE_SIZE - 1000)
+                .andThen(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testTransferTo(VertxTestContext testContext) throws IOException {
+        Path target = Files.createTempFile("keel-channel-target-", ".bin");
+        FileChannel sourceChannel = FileChannel.open(source, StandardOpenOption.READ);
+        FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.WRITE);
+        IOUtils.transferTo(getKeel(), sourceChannel, 0, FILE_SIZE, targetChannel)
+               .compose(transferred -> {
+                   try {
+                       sourceChannel.close();
+                       targetChannel.close();
+                       assertEquals(FILE_SIZE, transferred);
+                       assertArrayEquals(content, Files.readAllBytes(target));
+                       Files.deleteIfExists(target);
+                       return Future.<Void>succeededFuture();
+                   } catch (IOException e) {
+                       return Future.failedFuture(e);
+                   }
+               })
+               .andThen(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testChunksAreGrowable(VertxTestContext testContext) throws IOException {
+        FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+        AsyncChannelReadStream readStream = AsyncChannelReadStream.create(getKeel(), channel);
+        Buffer received = Buffer.buffer();
+        readStream.exceptionHandler(testContext::failNow);
+        readStream.handler(chunk -> testContext.verify(() -> {
+            received.appendBuffer(chunk);
+            int length = chunk.length();
+            // 交给数据处理器的分块可以继续追加
+            chunk.appendBytes(new byte[1024]);
+            assertEquals(length + 1024, chunk.length());
+        }));
+        readStream.endHandler(v -> testContext.verify(() -> {
+            channel.close();
+            assertArrayEquals(content, received.getBytes());
+            testContext.completeNow();
+        }));
+        readStream.resume();
+    }
+
+    private Future<Void> copy(boolean memoryMapping, long start, long end) {
+        try {
+            Path target = Files.createTempFile("keel-channel-target-", ".bin");
+            FileChannel sourceChannel = FileChannel.open(source, StandardOpenOption.READ);
+            FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.WRITE);
+            AsyncChannelWriteStream writeStream = AsyncChannelWriteStream.create(getKeel(), targetChannel);
+            AsyncChannelReadStream readStream = AsyncChannelReadStream.create(getKeel(), sourceChannel)
+                                                                      .setRange(start, end)
+                                                                      .setMemoryMapping(memoryMapping);
+            return readStream.pipeTo(writeStream)
+                             .compose(v -> writeStream.writeOver())
+                             .compose(written -> {
+                                 try {
+                                     sourceChannel.close();
+                                     byte[] expected = Arrays.copyOfRange(content, (int) start, end < 0 ? FILE_SIZE : (int) end);
+                                     assertEquals(expected.length, written);
+                                     assertArrayEquals(expected, Files.readAllBytes(target));
+                                     Files.deleteIfExists(target);
+                                     return Future.<Void>succeededFuture();
+                                 } catch (IOException e) {
+                                     return Future.failedFuture(e);
+                                 }
+                             });
+        } catch (IOException e) {
+            return Future.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.sinri.keel.core.utils.io;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class AsyncInputWriteStreamTest extends KeelJUnit5Test {
+    public AsyncInputWriteStreamTest() {
+        super();
+    }
+
+    @Test
+    void testByteBasedBackpressure(VertxTestContext testContext) {
+        AsyncInputWriteStream writeStream = AsyncInputWriteStream.create(getKeel());
+        writeStream.setWriteQueueMaxSize(1024);
+        AtomicInteger drained = new AtomicInteger();
+        writeStream.drainHandler(v -> drained.incrementAndGet());
+
+        Future<Void> first = writeStream.write(Buffer.buffer(new byte[600]));
+        assertFalse(writeStream.writeQueueFull());
+        Future<Void> second = writeStream.write(Buffer.buffer(new byte[600]));
+        assertTrue(writeStream.writeQueueFull());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeStream.wrap(outputStream);
+        Future.all(first, second)
+              .compose(v -> writeStream.end())
+              .compose(v -> getKeel().asyncSleep(100L))
+              .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                  assertFalse(writeStream.writeQueueFull());
+                  assertEquals(1, drained.get());
+                  assertEquals(1200, outputStream.size());
+                  testContext.completeNow();
+              })));
+    }
+}
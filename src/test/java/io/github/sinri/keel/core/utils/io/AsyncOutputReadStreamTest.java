@@ -0,0 +1,49 @@
+package io.github.sinri.keel.core.utils.io;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@NullMarked
+public class AsyncOutputReadStreamTest extends KeelJUnit5Test {
+    private static final int CHUNK_SIZE = 4096;
+
+    public AsyncOutputReadStreamTest() {
+        super();
+    }
+
+    @Test
+    void testChunksAreGrowableCopies(VertxTestContext testContext) {
+        byte[] content = new byte[100_000];
+        new Random(0).nextBytes(content);
+        AsyncOutputReadStream readStream = AsyncOutputReadStream.create(getKeel())
+                                                                .setChunkSize(CHUNK_SIZE);
+        Buffer received = Buffer.buffer();
+        readStream.exceptionHandler(testContext::failNow);
+        readStream.handler(chunk -> testContext.verify(() -> {
+            assertTrue(chunk.length() <= CHUNK_SIZE);
+            received.appendBuffer(chunk);
+            // 分块不与读取缓冲区共享内存，可以保留并继续追加
+            int length = chunk.length();
+            chunk.appendBytes(new byte[CHUNK_SIZE]);
+            assertEquals(length + CHUNK_SIZE, chunk.length());
+        }));
+        readStream.resume();
+        readStream.wrap(new ByteArrayInputStream(content));
+        readStream.readOver()
+                  .onComplete(testContext.succeeding(total -> testContext.verify(() -> {
+                      assertEquals(content.length, total);
+                      assertArrayEquals(content, received.getBytes());
+                      testContext.completeNow();
+                  })));
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.sinri.keel.core.utils.io;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.Future;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 以一个较大的 {@link FileInputStream} 测量不同读取配置下 {@link AsyncOutputReadStream} 的吞吐量（MB/s）。
+ */
+@NullMarked
+@Tag("benchmark")
+public class AsyncOutputReadStreamThroughputTest extends KeelJUnit5Test {
+    private static final int FILE_SIZE = 128 * 1024 * 1024;
+    private static Path file;
+
+    public AsyncOutputReadStreamThroughputTest() {
+        super();
+    }
+
+    @BeforeAll
+    static void createFile() throws IOException {
+        file = Files.createTempFile("keel-read-stream-", ".bin");
+        byte[] block = new byte[1024 * 1024];
+        new Random(0).nextBytes(block);
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            for (int i = 0; i < FILE_SIZE / block.length; i++) {
+                outputStream.write(block);
+            }
+        }
+    }
+
+    @AfterAll
+    static void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testThroughput(VertxTestContext testContext) {
+        measure("8KB chunks, no read-ahead", 8 * 1024, false, 0)
+                .compose(v -> measure("8KB chunks, 1MB read-ahead", 8 * 1024, false, 1024 * 1024))
+                .compose(v -> measure("64KB chunks, no read-ahead", 64 * 1024, false, 0))
+                .compose(v -> measure("64KB chunks, 1MB read-ahead", 64 * 1024, false, 1024 * 1024))
+                .compose(v -> measure("256KB chunks, 4MB read-ahead", 256 * 1024, false, 4 * 1024 * 1024))
+                .compose(v -> measure("64KB chunks, reused buffer", 64 * 1024, true, 0))
+                .andThen(testContext.succeedingThenComplete());
+    }
+
+    private Future<Void> measure(String mode, int chunkSize, boolean bufferReuse, long readAheadBudget) {
+        FileInputStream inputStream;
+        try {
+            inputStream = new FileInputStream(file.toFile());
+        } catch (FileNotFoundException e) {
+            return Future.failedFuture(e);
+        }
+        AtomicLong received = new AtomicLong();
+        AtomicLong chunks = new AtomicLong();
+        AsyncOutputReadStream readStream = AsyncOutputReadStream.create(getKeel())
+                                                                .setChunkSize(chunkSize)
+                                                                .setReadAhead(readAheadBudget, 10)
+                                                                .setBufferReuse(bufferReuse);
+        readStream.handler(buffer -> {
+            received.addAndGet(buffer.length());
+            chunks.incrementAndGet();
+        });
+        long startedAt = System.nanoTime();
+        readStream.resume();
+        readStream.wrap(inputStream);
+        return readStream.readOver()
+                         .compose(total -> {
+                             long elapsed = Math.max(1L, System.nanoTime() - startedAt);
+                             assertEquals(FILE_SIZE, total);
+                             assertEquals(FILE_SIZE, received.get());
+                             getUnitTestLogger().info(mode + ": "
+                                     + (FILE_SIZE / 1024.0 / 1024.0 * 1_000_000_000L / elapsed) + " MB/s, "
+                                     + chunks.get() + " chunks");
+                             return Future.<Void>succeededFuture();
+                         })
+                         .eventually(() -> {
+                             try {
+                                 inputStream.close();
+                             } catch (IOException ignored) {
+                             }
+                             return Future.succeededFuture();
+                         });
+    }
+}
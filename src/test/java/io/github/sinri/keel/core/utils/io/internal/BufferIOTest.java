@@ -0,0 +1,59 @@
+package io.github.sinri.keel.core.utils.io.internal;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.buffer.Buffer;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class BufferIOTest extends KeelJUnit5Test {
+    public BufferIOTest() {
+        super();
+    }
+
+    @Test
+    void testAppendMovesLengthByReportedBytes() {
+        Buffer target = Buffer.buffer(4).appendString("ab");
+        // 写入器在窗口中多写的字节不计入长度，只有报告的字节被追加
+        int written = BufferIO.append(target, 16, window -> {
+            window.put("cdefgh".getBytes(StandardCharsets.UTF_8));
+            return 2;
+        });
+
+        assertEquals(2, written);
+        assertEquals(4, target.length());
+        assertEquals("abcd", target.toString(StandardCharsets.UTF_8));
+        // 追加后的缓冲区照常可以继续增长
+        target.appendString("xy");
+        assertEquals("abcdxy", target.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testAppendNothingKeepsLength() {
+        Buffer target = Buffer.buffer("ab");
+        assertEquals(0, BufferIO.append(target, 8, window -> 0));
+        assertEquals("ab", target.toString(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalStateException.class, () -> BufferIO.append(target, 8, window -> {
+            window.put((byte) 'z');
+            throw new IllegalStateException("Writer failed on purpose");
+        }));
+        assertEquals("ab", target.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testAppendToWrappedArray() {
+        Buffer target = BufferIO.wrap("ab".getBytes(StandardCharsets.UTF_8));
+        int written = BufferIO.append(target, 3, window -> {
+            window.put("cde".getBytes(StandardCharsets.UTF_8));
+            return 3;
+        });
+
+        assertEquals(3, written);
+        assertEquals("abcde", target.toString(StandardCharsets.UTF_8));
+    }
+}